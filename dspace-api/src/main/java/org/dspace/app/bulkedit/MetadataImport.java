@@ -354,7 +354,7 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
 
         // Make the changes
         Context.Mode originalMode = c.getCurrentMode();
-        c.setMode(Context.Mode.BATCH_EDIT);
+        c.setMode(Context.Mode.BULK);
 
         // Process each change
         rowCount = 1;
@@ -15,6 +15,7 @@ import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
@@ -28,8 +29,10 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -38,6 +41,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.itemexport.service.ItemExportService;
 import org.dspace.content.Bitstream;
+import org.dspace.content.BitstreamFormat;
 import org.dspace.content.Bundle;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
@@ -90,6 +94,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 public class ItemExportServiceImpl implements ItemExportService {
     protected final int SUBDIR_LIMIT = 0;
 
+    /**
+     * MIME types of already compressed formats, which are stored without compression in zip exports
+     */
+    protected static final String[] DEFAULT_UNCOMPRESSED_MIME_TYPES = {
+        "application/pdf", "image/jpeg", "image/png", "image/gif", "image/webp", "image/jp2", "audio/*", "video/*",
+        "application/zip", "application/gzip", "application/x-gzip", "application/x-7z-compressed",
+        "application/x-bzip2",
+        "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+        "application/vnd.openxmlformats-officedocument.presentationml.presentation",
+        "application/vnd.oasis.opendocument.text", "application/epub+zip"
+    };
+
     @Autowired(required = true)
     protected BitstreamService bitstreamService;
     @Autowired(required = true)
@@ -224,101 +241,121 @@ public class ItemExportServiceImpl implements ItemExportService {
      */
     protected void writeMetadata(Context c, String schema, Item i,
                                  File destDir, boolean migrate) throws Exception {
-        String filename;
-        if (schema.equals(MetadataSchemaEnum.DC.getName())) {
-            filename = "dublin_core.xml";
-        } else {
-            filename = "metadata_" + schema + ".xml";
-        }
+        String filename = getMetadataFileName(schema);
 
         File outFile = new File(destDir, filename);
 
         logInfo("Attempting to create file " + outFile);
 
         if (outFile.createNewFile()) {
-            BufferedOutputStream out = new BufferedOutputStream(
-                new FileOutputStream(outFile));
-
-            List<MetadataValue> dcorevalues = itemService.getMetadata(i, schema, Item.ANY, Item.ANY,
-                                                                      Item.ANY);
+            try (BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(outFile))) {
+                writeMetadata(c, schema, i, out, migrate);
+            }
+        } else {
+            throw new Exception("Cannot create dublin_core.xml in " + destDir);
+        }
+    }
 
-            // XML preamble
-            byte[] utf8 = "<?xml version=\"1.0\" encoding=\"utf-8\" standalone=\"no\"?>\n"
-                .getBytes("UTF-8");
-            out.write(utf8, 0, utf8.length);
+    /**
+     * @param schema metadata schema name
+     * @return the name of the file holding the metadata of the given schema in an item's export directory
+     */
+    protected String getMetadataFileName(String schema) {
+        if (schema.equals(MetadataSchemaEnum.DC.getName())) {
+            return "dublin_core.xml";
+        } else {
+            return "metadata_" + schema + ".xml";
+        }
+    }
 
-            String dcTag = "<dublin_core schema=\"" + schema + "\">\n";
-            utf8 = dcTag.getBytes("UTF-8");
-            out.write(utf8, 0, utf8.length);
+    /**
+     * Write the item's metadata of the given schema to a stream. The stream is not closed.
+     *
+     * @param c       DSpace context
+     * @param schema  schema
+     * @param i       DSpace Item
+     * @param out     stream to write the metadata file to
+     * @param migrate Whether to use the migrate option or not
+     * @throws Exception if error
+     */
+    protected void writeMetadata(Context c, String schema, Item i,
+                                 OutputStream out, boolean migrate) throws Exception {
+        List<MetadataValue> dcorevalues = itemService.getMetadata(i, schema, Item.ANY, Item.ANY,
+                                                                  Item.ANY);
 
-            String dateIssued = null;
-            String dateAccessioned = null;
+        // XML preamble
+        byte[] utf8 = "<?xml version=\"1.0\" encoding=\"utf-8\" standalone=\"no\"?>\n"
+            .getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
 
-            for (MetadataValue dcv : dcorevalues) {
-                MetadataField metadataField = dcv.getMetadataField();
-                String qualifier = metadataField.getQualifier();
+        String dcTag = "<dublin_core schema=\"" + schema + "\">\n";
+        utf8 = dcTag.getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
 
-                if (qualifier == null) {
-                    qualifier = "none";
-                }
+        String dateIssued = null;
+        String dateAccessioned = null;
 
-                String language = dcv.getLanguage();
+        for (MetadataValue dcv : dcorevalues) {
+            MetadataField metadataField = dcv.getMetadataField();
+            String qualifier = metadataField.getQualifier();
 
-                if (language != null) {
-                    language = " language=\"" + language + "\"";
-                } else {
-                    language = "";
-                }
+            if (qualifier == null) {
+                qualifier = "none";
+            }
 
-                utf8 = ("  <dcvalue element=\"" + metadataField.getElement() + "\" "
-                    + "qualifier=\"" + qualifier + "\""
-                    + language + ">"
-                    + Utils.addEntities(dcv.getValue()) + "</dcvalue>\n")
-                    .getBytes("UTF-8");
-
-                if (!migrate ||
-                    (migrate && !(
-                        ("date".equals(metadataField.getElement()) && "issued".equals(qualifier)) ||
-                            ("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier)) ||
-                            ("date".equals(metadataField.getElement()) && "available".equals(qualifier)) ||
-                            ("identifier".equals(metadataField.getElement()) && "uri".equals(qualifier) &&
-                                (dcv.getValue() != null && dcv.getValue().startsWith(
-                                    handleService.getCanonicalPrefix() + handleService.getPrefix() + "/"))) ||
-                            ("description".equals(metadataField.getElement()) && "provenance".equals(qualifier)) ||
-                            ("format".equals(metadataField.getElement()) && "extent".equals(qualifier)) ||
-                            ("format".equals(metadataField.getElement()) && "mimetype".equals(qualifier))))) {
-                    out.write(utf8, 0, utf8.length);
-                }
+            String language = dcv.getLanguage();
 
-                // Store the date issued and accession to see if they are different
-                // because we need to keep date.issued if they are, when migrating
-                if (("date".equals(metadataField.getElement()) && "issued".equals(qualifier))) {
-                    dateIssued = dcv.getValue();
-                }
-                if (("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier))) {
-                    dateAccessioned = dcv.getValue();
-                }
+            if (language != null) {
+                language = " language=\"" + language + "\"";
+            } else {
+                language = "";
             }
 
-            // When migrating, only keep date.issued if it is different to date.accessioned
-            if (migrate &&
-                (dateIssued != null) &&
-                (dateAccessioned != null) &&
-                !dateIssued.equals(dateAccessioned)) {
-                utf8 = ("  <dcvalue element=\"date\" "
-                    + "qualifier=\"issued\">"
-                    + Utils.addEntities(dateIssued) + "</dcvalue>\n")
-                    .getBytes("UTF-8");
+            utf8 = ("  <dcvalue element=\"" + metadataField.getElement() + "\" "
+                + "qualifier=\"" + qualifier + "\""
+                + language + ">"
+                + Utils.addEntities(dcv.getValue()) + "</dcvalue>\n")
+                .getBytes("UTF-8");
+
+            if (!migrate ||
+                (migrate && !(
+                    ("date".equals(metadataField.getElement()) && "issued".equals(qualifier)) ||
+                        ("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier)) ||
+                        ("date".equals(metadataField.getElement()) && "available".equals(qualifier)) ||
+                        ("identifier".equals(metadataField.getElement()) && "uri".equals(qualifier) &&
+                            (dcv.getValue() != null && dcv.getValue().startsWith(
+                                handleService.getCanonicalPrefix() + handleService.getPrefix() + "/"))) ||
+                        ("description".equals(metadataField.getElement()) && "provenance".equals(qualifier)) ||
+                        ("format".equals(metadataField.getElement()) && "extent".equals(qualifier)) ||
+                        ("format".equals(metadataField.getElement()) && "mimetype".equals(qualifier))))) {
                 out.write(utf8, 0, utf8.length);
             }
 
-            utf8 = "</dublin_core>\n".getBytes("UTF-8");
-            out.write(utf8, 0, utf8.length);
+            // Store the date issued and accession to see if they are different
+            // because we need to keep date.issued if they are, when migrating
+            if (("date".equals(metadataField.getElement()) && "issued".equals(qualifier))) {
+                dateIssued = dcv.getValue();
+            }
+            if (("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier))) {
+                dateAccessioned = dcv.getValue();
+            }
+        }
 
-            out.close();
-        } else {
-            throw new Exception("Cannot create dublin_core.xml in " + destDir);
+        // When migrating, only keep date.issued if it is different to date.accessioned
+        if (migrate &&
+            (dateIssued != null) &&
+            (dateAccessioned != null) &&
+            !dateIssued.equals(dateAccessioned)) {
+            utf8 = ("  <dcvalue element=\"date\" "
+                + "qualifier=\"issued\">"
+                + Utils.addEntities(dateIssued) + "</dcvalue>\n")
+                .getBytes("UTF-8");
+            out.write(utf8, 0, utf8.length);
         }
+
+        utf8 = "</dublin_core>\n".getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
+        out.flush();
     }
 
     /**
@@ -404,24 +441,10 @@ public class ItemExportServiceImpl implements ItemExportService {
                 // bundles can have multiple bitstreams now...
                 List<Bitstream> bitstreams = bundle.getBitstreams();
 
-                String bundleName = bundle.getName();
-
                 for (Bitstream bitstream : bitstreams) {
                     String myName = bitstream.getName();
                     String oldName = myName;
 
-                    String description = bitstream.getDescription();
-                    if (!StringUtils.isEmpty(description)) {
-                        description = "\tdescription:" + description;
-                    } else {
-                        description = "";
-                    }
-
-                    String primary = "";
-                    if (bitstream.equals(bundle.getPrimaryBitstream())) {
-                        primary = "\tprimary:true ";
-                    }
-
                     int myPrefix = 1; // only used with name conflict
 
                     boolean isDone = false; // done when bitstream is finally
@@ -460,15 +483,7 @@ public class ItemExportServiceImpl implements ItemExportService {
                     }
 
                     // write the manifest file entry
-                    if (bitstreamService.isRegisteredBitstream(bitstream)) {
-                        out.println("-r -s " + bitstream.getStoreNumber()
-                                        + " -f " + myName +
-                                        "\tbundle:" + bundleName +
-                                        primary + description);
-                    } else {
-                        out.println(myName + "\tbundle:" + bundleName +
-                                        primary + description);
-                    }
+                    out.println(getContentsLine(bundle, bitstream, myName));
 
                 }
             }
@@ -480,39 +495,233 @@ public class ItemExportServiceImpl implements ItemExportService {
         }
     }
 
+    /**
+     * Get the line describing a bitstream in the 'contents' file. Bitstreams that were originally registered are
+     * marked as such.
+     *
+     * @param bundle    the bundle holding the bitstream
+     * @param bitstream the bitstream
+     * @param name      the name the bitstream is exported as
+     * @return the line, without line separator
+     */
+    protected String getContentsLine(Bundle bundle, Bitstream bitstream, String name) {
+        String description = bitstream.getDescription();
+        if (!StringUtils.isEmpty(description)) {
+            description = "\tdescription:" + description;
+        } else {
+            description = "";
+        }
+
+        String primary = "";
+        if (bitstream.equals(bundle.getPrimaryBitstream())) {
+            primary = "\tprimary:true ";
+        }
+
+        if (bitstreamService.isRegisteredBitstream(bitstream)) {
+            return "-r -s " + bitstream.getStoreNumber() + " -f " + name
+                + "\tbundle:" + bundle.getName() + primary + description;
+        } else {
+            return name + "\tbundle:" + bundle.getName() + primary + description;
+        }
+    }
+
+    /**
+     * Export items to a zip archive, streaming the metadata files and the bitstreams straight from the bitstore
+     * into the archive. Each item is written to a directory named by its sequence number, below the given prefix.
+     *
+     * @param c                 the DSpace context
+     * @param i                 the items to export
+     * @param zip               the archive to write to
+     * @param prefix            path of the items' parent directory in the archive, empty or ending with "/"
+     * @param seqStart          the first number in the sequence
+     * @param migrate           whether to use the migrate option or not
+     * @param excludeBitstreams whether to exclude bitstreams
+     * @throws Exception if error
+     */
+    protected void exportItem(Context c, Iterator<Item> i, ZipOutputStream zip, String prefix,
+                              int seqStart, boolean migrate, boolean excludeBitstreams) throws Exception {
+        int mySequenceNumber = seqStart;
+
+        logInfo("Beginning export");
+
+        while (i.hasNext()) {
+            logInfo("Exporting item to " + prefix + mySequenceNumber);
+            Item item = i.next();
+            exportItem(c, item, zip, prefix + mySequenceNumber + "/", migrate, excludeBitstreams);
+            c.uncacheEntity(item);
+            mySequenceNumber++;
+        }
+    }
+
+    /**
+     * Export a single item to a zip archive, in the same layout as {@link #exportItem(Context, Item, String, int,
+     * boolean, boolean)} uses on disk.
+     *
+     * @param c                 the DSpace context
+     * @param myItem            the item to export
+     * @param zip               the archive to write to
+     * @param itemDir           path of the item's directory in the archive, ending with "/"
+     * @param migrate           whether to use the migrate option or not
+     * @param excludeBitstreams whether to exclude bitstreams
+     * @throws Exception if error
+     */
+    protected void exportItem(Context c, Item myItem, ZipOutputStream zip, String itemDir,
+                              boolean migrate, boolean excludeBitstreams) throws Exception {
+        logInfo("Exporting Item " + myItem.getID() +
+                    (myItem.getHandle() != null ? ", handle " + myItem.getHandle() : "") +
+                    " to " + itemDir);
+
+        // names already used in the item directory, to keep bitstream names unique
+        Set<String> names = new HashSet<>();
+
+        Set<String> schemas = new HashSet<>();
+        for (MetadataValue metadataValue : itemService.getMetadata(myItem, Item.ANY, Item.ANY, Item.ANY, Item.ANY)) {
+            schemas.add(metadataValue.getMetadataField().getMetadataSchema().getName());
+        }
+        for (String schema : schemas) {
+            String name = getMetadataFileName(schema);
+            names.add(name);
+            putNextEntry(zip, itemDir + name, getCompressionLevel());
+            writeMetadata(c, schema, myItem, zip, migrate);
+            zip.closeEntry();
+        }
+
+        names.add("contents");
+        names.add("collections");
+        names.add("handle");
+        StringBuilder contents = new StringBuilder();
+        for (Bundle bundle : myItem.getBundles()) {
+            for (Bitstream bitstream : bundle.getBitstreams()) {
+                String myName = bitstream.getName();
+                if (!excludeBitstreams) {
+                    // keep prepending numbers to the filename until unique
+                    int myPrefix = 1;
+                    while (!names.add(myName)) {
+                        myName = myPrefix + "_" + bitstream.getName();
+                        myPrefix++;
+                    }
+                    putNextEntry(zip, itemDir + myName, getCompressionLevel(c, bitstream));
+                    try (InputStream is = bitstreamService.retrieve(c, bitstream)) {
+                        Utils.bufferedCopy(is, zip);
+                    }
+                    zip.closeEntry();
+                }
+                contents.append(getContentsLine(bundle, bitstream, myName)).append(System.lineSeparator());
+            }
+        }
+        putNextEntry(zip, itemDir + "contents", getCompressionLevel());
+        zip.write(contents.toString().getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+
+        StringBuilder collections = new StringBuilder();
+        String ownerHandle = myItem.getOwningCollection().getHandle();
+        collections.append(ownerHandle).append(System.lineSeparator());
+        for (Collection collection : myItem.getCollections()) {
+            if (!collection.getHandle().equals(ownerHandle)) {
+                collections.append(collection.getHandle()).append(System.lineSeparator());
+            }
+        }
+        putNextEntry(zip, itemDir + "collections", getCompressionLevel());
+        zip.write(collections.toString().getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+
+        if (!migrate && myItem.getHandle() != null) {
+            putNextEntry(zip, itemDir + "handle", getCompressionLevel());
+            zip.write((myItem.getHandle() + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+    }
+
+    /**
+     * Start a new entry of a zip archive, compressed with the given level.
+     */
+    protected void putNextEntry(ZipOutputStream zip, String name, int level) throws IOException {
+        zip.setLevel(level);
+        zip.putNextEntry(new ZipEntry(name));
+    }
+
+    /**
+     * @return the compression level used for the metadata files, and for bitstreams that are not already
+     * compressed
+     */
+    protected int getCompressionLevel() {
+        return configurationService.getIntProperty("org.dspace.app.itemexport.zip.level",
+                                                   Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Get the compression level of a bitstream. Bitstreams whose MIME type is listed in
+     * "org.dspace.app.itemexport.zip.uncompressed" are already compressed (e.g. images, audio, video or archives),
+     * so they are written without compression, which costs no CPU and hardly any space.
+     *
+     * @param c         the DSpace context
+     * @param bitstream the bitstream
+     * @return the compression level to use for the bitstream
+     * @throws SQLException if database error
+     */
+    protected int getCompressionLevel(Context c, Bitstream bitstream) throws SQLException {
+        BitstreamFormat format = bitstream.getFormat(c);
+        String mimeType = format != null ? format.getMIMEType() : null;
+        if (StringUtils.isNotBlank(mimeType)) {
+            String[] uncompressed = configurationService.getArrayProperty(
+                "org.dspace.app.itemexport.zip.uncompressed", DEFAULT_UNCOMPRESSED_MIME_TYPES);
+            for (String type : uncompressed) {
+                boolean matches = type.endsWith("/*")
+                    ? StringUtils.startsWithIgnoreCase(mimeType, type.substring(0, type.length() - 1))
+                    : StringUtils.equalsIgnoreCase(mimeType, type);
+                if (matches) {
+                    return Deflater.NO_COMPRESSION;
+                }
+            }
+        }
+        return getCompressionLevel();
+    }
+
     @Override
     public void exportAsZip(Context context, Iterator<Item> items,
                             String destDirName, String zipFileName,
                             int seqStart, boolean migrate,
                             boolean excludeBitstreams) throws Exception {
-        String workDir = getExportWorkDirectory() +
-            System.getProperty("file.separator") +
-            zipFileName;
-
-        File wkDir = new File(workDir);
-        if (!wkDir.exists() && !wkDir.mkdirs()) {
-            logError("Unable to create working directory");
-        }
-
         File dnDir = new File(destDirName);
         if (!dnDir.exists() && !dnDir.mkdirs()) {
             logError("Unable to create destination directory");
         }
 
+        // stream the items straight into the zip file, there is no need to export them to a work directory first
+        String target = destDirName + System.getProperty("file.separator") + zipFileName;
+        File tempFile = new File(target + "_tmp");
         try {
-            // export the items using normal export method (this exports items to our workDir)
-            exportItem(context, items, workDir, seqStart, migrate, excludeBitstreams);
-
-            // now zip up the workDir directory created above
-            zip(workDir, destDirName + System.getProperty("file.separator") + zipFileName);
-        } finally {
-            // Cleanup workDir created above, if it still exists
-            if (wkDir.exists()) {
-                deleteDirectory(wkDir);
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+                exportAsZip(context, items, out, seqStart, migrate, excludeBitstreams);
             }
+            if (!tempFile.renameTo(new File(target))) {
+                logError("Unable to rename file");
+            }
+        } finally {
+            deleteTemporaryFile(tempFile);
         }
     }
 
+    /**
+     * Delete the temporary file of a zip export, if it was left behind because the export failed.
+     *
+     * @param tempFile the temporary file
+     */
+    protected void deleteTemporaryFile(File tempFile) {
+        if (tempFile.exists() && !tempFile.delete()) {
+            logError("Unable to delete file: " + tempFile.getName());
+        }
+    }
+
+    @Override
+    public void exportAsZip(Context context, Iterator<Item> items, OutputStream out,
+                            int seqStart, boolean migrate, boolean excludeBitstreams) throws Exception {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        exportItem(context, items, zip, "", seqStart, migrate, excludeBitstreams);
+        zip.finish();
+        zip.flush();
+    }
+
     @Override
     public void createDownloadableExport(DSpaceObject dso,
                                          Context context, boolean migrate) throws Exception {
@@ -673,50 +882,20 @@ public class ItemExportServiceImpl implements ItemExportService {
                 @Override
                 public void run() {
                     Context context = new Context();
-                    Iterator<Item> iitems = null;
                     try {
                         // ignore auths
                         context.turnOffAuthorisationSystem();
 
                         String fileName = assembleFileName("item", eperson,
                                                            LocalDate.now());
-                        String workParentDir = getExportWorkDirectory()
-                            + System.getProperty("file.separator")
-                            + fileName;
                         String downloadDir = getExportDownloadDirectory(eperson);
                         File dnDir = new File(downloadDir);
                         if (!dnDir.exists() && !dnDir.mkdirs()) {
                             logError("Unable to create download directory");
                         }
 
-                        Iterator<String> iter = itemsMap.keySet().iterator();
-                        while (iter.hasNext()) {
-                            String keyName = iter.next();
-                            List<UUID> uuids = itemsMap.get(keyName);
-                            List<Item> items = new ArrayList<>();
-                            for (UUID uuid : uuids) {
-                                items.add(itemService.find(context, uuid));
-                            }
-                            iitems = items.iterator();
-
-                            String workDir = workParentDir
-                                + System.getProperty("file.separator")
-                                + keyName;
-
-                            File wkDir = new File(workDir);
-                            if (!wkDir.exists() && !wkDir.mkdirs()) {
-                                logError("Unable to create working directory");
-                            }
-
-
-                            // export the items using normal export method
-                            exportItem(context, iitems, workDir, 1, migrate, false);
-                        }
-
-                        // now zip up the export directory created above
-                        zip(workParentDir, downloadDir
-                            + System.getProperty("file.separator")
-                            + fileName + ".zip");
+                        String target = downloadDir + System.getProperty("file.separator") + fileName + ".zip";
+                        writeDownloadableExport(context, itemsMap, new File(target), migrate);
                         // email message letting user know the file is ready for
                         // download
                         emailSuccessMessage(context, eperson, fileName + ".zip");
@@ -749,6 +928,41 @@ public class ItemExportServiceImpl implements ItemExportService {
         }
     }
 
+    /**
+     * Write the zip file of a downloadable export, with one directory per entry of the given map. The archive is
+     * written to a temporary file, which is renamed to the target once complete and deleted if the export fails.
+     *
+     * @param context  the DSpace context
+     * @param itemsMap the UUIDs of the items to export, by name of their directory in the archive
+     * @param target   the zip file
+     * @param migrate  whether to use the migrate option or not
+     * @throws Exception if error
+     */
+    protected void writeDownloadableExport(Context context, Map<String, List<UUID>> itemsMap, File target,
+                                           boolean migrate) throws Exception {
+        File tempFile = new File(target.getPath() + "_tmp");
+        try {
+            // stream the items straight into the zip file, one directory per key
+            try (ZipOutputStream zip = new ZipOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                for (Map.Entry<String, List<UUID>> entry : itemsMap.entrySet()) {
+                    List<Item> items = new ArrayList<>();
+                    for (UUID uuid : entry.getValue()) {
+                        items.add(itemService.find(context, uuid));
+                    }
+
+                    // export the items using the streaming export method
+                    exportItem(context, items.iterator(), zip, entry.getKey() + "/", 1, migrate, false);
+                }
+            }
+            if (!tempFile.renameTo(target)) {
+                logError("Unable to rename file");
+            }
+        } finally {
+            deleteTemporaryFile(tempFile);
+        }
+    }
+
     @Override
     public String assembleFileName(String type, EPerson eperson,
                                    LocalDate date) throws Exception {
@@ -1011,7 +1225,7 @@ public class ItemExportServiceImpl implements ItemExportService {
 
             FileOutputStream fos = new FileOutputStream(tempFileName);
             cpZipOutputStream = new ZipOutputStream(fos);
-            cpZipOutputStream.setLevel(9);
+            cpZipOutputStream.setLevel(getCompressionLevel());
             zipFiles(cpFile, strSource, tempFileName, cpZipOutputStream);
             cpZipOutputStream.finish();
             cpZipOutputStream.close();
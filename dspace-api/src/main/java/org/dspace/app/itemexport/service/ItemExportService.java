@@ -8,6 +8,7 @@
 package org.dspace.app.itemexport.service;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.Iterator;
 import java.util.List;
@@ -68,6 +69,22 @@ public interface ItemExportService {
                             int seqStart, boolean migrate,
                             boolean excludeBitstreams) throws Exception;
 
+    /**
+     * Method to perform an export and write it as a zip archive to a stream, e.g. an HTTP response. The items'
+     * metadata and bitstreams are streamed straight into the archive, nothing is written to disk. The stream
+     * is not closed.
+     *
+     * @param context           The DSpace Context
+     * @param items             The items to export
+     * @param out               The stream to write the zip archive to
+     * @param seqStart          The first number in the sequence
+     * @param migrate           Whether to use the migrate option or not
+     * @param excludeBitstreams Whether to exclude bitstreams or not
+     * @throws Exception if error
+     */
+    public void exportAsZip(Context context, Iterator<Item> items, OutputStream out,
+                            int seqStart, boolean migrate, boolean excludeBitstreams) throws Exception;
+
     /**
      * Convenience method to create export a single Community, Collection, or
      * Item
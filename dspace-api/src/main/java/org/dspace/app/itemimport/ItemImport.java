@@ -158,7 +158,7 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
         }
 
         Instant startTime = Instant.now();
-        Context context = new Context(Context.Mode.BATCH_EDIT);
+        Context context = new Context(Context.Mode.BULK);
 
         setMapFile();
 
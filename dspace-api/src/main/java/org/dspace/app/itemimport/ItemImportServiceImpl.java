@@ -29,6 +29,10 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -42,9 +46,15 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import javax.xml.parsers.DocumentBuilder;
@@ -192,6 +202,18 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
     //remember which folder item was imported from
     Map<String, Item> itemFolderMap = null;
 
+    /**
+     * Entries of the last unzipped archive which are only extracted when their item is imported, by item
+     * directory name. Filled by {@link #unzip(File, String)} when extraction on demand is enabled.
+     */
+    protected Map<String, List<String>> deferredZipEntries = new HashMap<>();
+    protected File deferredZipFile = null;
+    protected String deferredZipDir = null;
+    protected String deferredSourceDir = null;
+    private ZipFile deferredZip = null;
+    private ExecutorService deferredExecutor = null;
+    private final Map<String, Future<Void>> deferredExtractions = new ConcurrentHashMap<>();
+
     @Override
     public void afterPropertiesSet() throws Exception {
         tempWorkDir = configurationService.getProperty("org.dspace.app.batchitemimport.work.dir");
@@ -221,6 +243,12 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         }
     };
 
+    /**
+     * Files describing an item in the Simple Archive Format, besides the metadata_[schema].xml files
+     */
+    protected static final Set<String> SAF_CONTROL_FILES =
+        Set.of("dublin_core.xml", "contents", "collections", "handle", "relationships");
+
     protected ItemImportServiceImpl() {
         //Protected consumer to ensure that we use spring to create a bean, NEVER make this public
     }
@@ -283,7 +311,17 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
 
             Arrays.sort(dircontents, ComparatorUtils.naturalComparator());
 
+            // when importing from a zip archive whose bitstreams are extracted on demand, extract the content
+            // of the next items in the background while the current one is added
+            int prefetch = hasDeferredContent(sourceDir)
+                ? configurationService.getIntProperty("org.dspace.app.batchitemimport.zip.prefetch", 2) : 0;
+
             for (int i = 0; i < dircontents.length; i++) {
+                for (int j = i; j <= i + prefetch && j < dircontents.length; j++) {
+                    if (!skipItems.containsKey(dircontents[j])) {
+                        prefetchDeferredContent(dircontents[j], prefetch);
+                    }
+                }
                 if (skipItems.containsKey(dircontents[i])) {
                     logInfo("Skipping import of " + dircontents[i]);
 
@@ -328,6 +366,7 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
                 mapOut.flush();
                 mapOut.close();
             }
+            closeDeferredZip();
         }
     }
 
@@ -682,9 +721,13 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
             handleOut.close();
 
             deleteItem(c, oldItem);
-            Item newItem = addItem(c, mycollections, sourceDir, newItemName, null, template);
+            try {
+                Item newItem = addItem(c, mycollections, sourceDir, newItemName, null, template);
+                c.uncacheEntity(newItem);
+            } finally {
+                closeDeferredZip();
+            }
             c.uncacheEntity(oldItem);
-            c.uncacheEntity(newItem);
         }
     }
 
@@ -733,6 +776,11 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
 
         logDebug("adding item from directory " + itemname);
 
+        // make sure the bitstreams of the item are on disk
+        if (hasDeferredContent(path)) {
+            extractDeferredContent(itemname);
+        }
+
         // create workspace item
         Item myitem = null;
         WorkspaceItem wi = null;
@@ -817,6 +865,11 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         c.uncacheEntity(wi);
         c.uncacheEntity(wfi);
 
+        // the extracted bitstreams are in the assetstore now
+        if (hasDeferredContent(path)) {
+            deleteDeferredContent(itemname);
+        }
+
         return myitem;
     }
 
@@ -1953,6 +2006,16 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
 
 
         // 3
+        // With extraction on demand, only the SAF control files are extracted now, the other files are extracted
+        // when their item is imported (see extractDeferredContent)
+        boolean onDemand = configurationService.getBooleanProperty(
+            "org.dspace.app.batchitemimport.zip.extract-on-demand", false);
+        List<String> deferred = new ArrayList<>();
+        closeDeferredZip();
+        deferredZipEntries = new HashMap<>();
+        deferredZipFile = null;
+        deferredSourceDir = null;
+
         String sourceDirForZip = sourcedir;
         ZipFile zf = new ZipFile(zipfile);
         ZipEntry entry;
@@ -2001,6 +2064,11 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
                             }
                         }
                     }
+                    if (onDemand && !isControlFile(entryName)) {
+                        deferred.add(entryName);
+                        continue;
+                    }
+
                     byte[] buffer = new byte[1024];
                     int len;
                     InputStream in = zf.getInputStream(entry);
@@ -2023,9 +2091,155 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
             logInfo("Set sourceDir using path inside of Zip: " + sourcedir);
         }
 
+        if (!deferred.isEmpty()) {
+            deferredZipFile = zipfile;
+            deferredZipDir = zipDir;
+            deferredSourceDir = sourcedir;
+            Path sourcePath = Paths.get(sourcedir).normalize();
+            for (String entryName : deferred) {
+                Path relative = sourcePath.relativize(Paths.get(zipDir + entryName).normalize());
+                if (relative.getNameCount() > 1 && !relative.startsWith("..")) {
+                    deferredZipEntries.computeIfAbsent(relative.getName(0).toString(), k -> new ArrayList<>())
+                                      .add(entryName);
+                } else {
+                    // not part of an item directory, extract it right away
+                    extractZipEntries(List.of(entryName));
+                }
+            }
+        }
+
         return sourcedir;
     }
 
+    /**
+     * @param entryName name of a zip entry
+     * @return whether the entry is one of the files describing an item in the Simple Archive Format, rather
+     * than content
+     */
+    protected boolean isControlFile(String entryName) {
+        String name = entryName.substring(Math.max(entryName.lastIndexOf('/'), entryName.lastIndexOf('\\')) + 1);
+        return SAF_CONTROL_FILES.contains(name) || metadataFileFilter.accept(null, name);
+    }
+
+    /**
+     * @param sourceDir import source directory
+     * @return whether the bitstreams of items in the source directory are extracted on demand
+     */
+    protected boolean hasDeferredContent(String sourceDir) {
+        return deferredSourceDir != null && deferredSourceDir.equals(sourceDir);
+    }
+
+    /**
+     * Start extracting the deferred entries of an item in the background, unless this is already done.
+     *
+     * @param itemname item directory name
+     * @param threads  number of threads extracting in the background
+     */
+    protected synchronized void prefetchDeferredContent(String itemname, int threads) {
+        if (threads <= 0 || !deferredZipEntries.containsKey(itemname)
+            || deferredExtractions.containsKey(itemname)) {
+            return;
+        }
+        if (deferredExecutor == null) {
+            deferredExecutor = Executors.newFixedThreadPool(threads);
+        }
+        List<String> entries = deferredZipEntries.get(itemname);
+        deferredExtractions.put(itemname, deferredExecutor.submit(() -> {
+            extractZipEntries(entries);
+            return null;
+        }));
+    }
+
+    /**
+     * Extract the deferred entries of an item, or wait until their extraction in the background is done.
+     *
+     * @param itemname item directory name
+     * @throws IOException if an entry cannot be extracted
+     */
+    protected void extractDeferredContent(String itemname) throws IOException {
+        Future<Void> extraction = deferredExtractions.get(itemname);
+        if (extraction == null) {
+            List<String> entries = deferredZipEntries.get(itemname);
+            if (entries != null) {
+                extractZipEntries(entries);
+            }
+            return;
+        }
+        try {
+            extraction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while extracting " + itemname, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Unable to extract " + itemname, e.getCause());
+        }
+    }
+
+    /**
+     * Delete the extracted deferred entries of an item, once it has been imported.
+     *
+     * @param itemname item directory name
+     */
+    protected void deleteDeferredContent(String itemname) {
+        deferredExtractions.remove(itemname);
+        List<String> entries = deferredZipEntries.get(itemname);
+        if (entries != null) {
+            for (String entryName : entries) {
+                File file = new File(deferredZipDir + entryName);
+                if (file.exists() && !file.delete()) {
+                    logWarn("Unable to delete extracted file: " + file.getAbsolutePath());
+                }
+            }
+        }
+    }
+
+    /**
+     * Extract entries of the archive last passed to {@link #unzip(File, String)}.
+     *
+     * @param entryNames names of the entries to extract
+     * @throws IOException if an entry cannot be extracted
+     */
+    protected void extractZipEntries(List<String> entryNames) throws IOException {
+        ZipFile zf = getDeferredZip();
+        for (String entryName : entryNames) {
+            File outFile = new File(deferredZipDir + entryName);
+            File dir = outFile.getParentFile();
+            if (!dir.exists() && !dir.mkdirs() && !dir.exists()) {
+                logError("Unable to create directory: " + dir.getAbsolutePath());
+            }
+            logInfo("Extracting file: " + entryName);
+            try (InputStream in = zf.getInputStream(zf.getEntry(entryName))) {
+                Files.copy(in, outFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private synchronized ZipFile getDeferredZip() throws IOException {
+        if (deferredZip == null) {
+            deferredZip = new ZipFile(deferredZipFile);
+        }
+        return deferredZip;
+    }
+
+    /**
+     * Stop any background extraction and close the archive. It is opened again if more entries are needed.
+     */
+    protected synchronized void closeDeferredZip() {
+        if (deferredExecutor != null) {
+            deferredExecutor.shutdownNow();
+            deferredExecutor = null;
+        }
+        deferredExtractions.clear();
+        if (deferredZip != null) {
+            try {
+                deferredZip.close();
+            } catch (IOException e) {
+                logWarn("Unable to close " + deferredZipFile, e);
+            }
+            deferredZip = null;
+        }
+    }
+
     @Override
     public String unzip(String sourcedir, String zipfilename) throws IOException {
         File zipfile = new File(sourcedir + File.separator + zipfilename);
@@ -12,7 +12,11 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.zip.GZIPOutputStream;
 
 /**
@@ -62,6 +66,11 @@ public abstract class AbstractGenerator {
      */
     protected PrintStream currentOutput;
 
+    /**
+     * Current file
+     */
+    private File currentFile;
+
     /**
      * Size in bytes of trailing boilerplate
      */
@@ -89,14 +98,8 @@ public abstract class AbstractGenerator {
     protected void startNewFile() throws IOException {
         String lbp = getLeadingBoilerPlate();
 
-        OutputStream fo = new FileOutputStream(new File(outputDir,
-                                                        getFilename(fileCount)));
-
-        if (useCompression()) {
-            fo = new GZIPOutputStream(fo);
-        }
-
-        currentOutput = new PrintStream(fo);
+        currentFile = new File(outputDir, getFilename(fileCount));
+        currentOutput = openFile(currentFile);
         currentOutput.print(lbp);
         bytesWritten = lbp.length();
         urlsWritten = 0;
@@ -118,8 +121,7 @@ public abstract class AbstractGenerator {
 
         String newURLText = getURLText(url, lastMod);
 
-        if (bytesWritten + newURLText.length() + trailingByteCount > getMaxSize()
-            || urlsWritten + 1 > getMaxURLs()) {
+        if (!hasRoom(newURLText)) {
             closeCurrentFile();
             startNewFile();
         }
@@ -129,6 +131,56 @@ public abstract class AbstractGenerator {
         urlsWritten++;
     }
 
+    /**
+     * Write the sitemap file at the given index with the first of the given
+     * URLs, as many as fit in a sitemap file, replacing the existing file. This
+     * is used to update some of the sitemap files without writing all of them
+     * again, and must not be mixed with
+     * {@link AbstractGenerator#addURL(String, Instant)}.
+     *
+     * @param number   index of the sitemap file (zero is first).
+     * @param urls     Full URLs to add
+     * @param lastMods Dates the URLs were last modified, or {@code null}
+     *                 elements
+     * @return the number of URLs written, at least one unless there are none.
+     * @throws IOException if IO error
+     *                     if an error occurs writing
+     */
+    public int writeFile(int number, List<String> urls, List<Instant> lastMods) throws IOException {
+        int filesWritten = Math.max(fileCount, number + 1);
+        fileCount = number;
+        startNewFile();
+
+        int written = 0;
+        while (written < urls.size()) {
+            String newURLText = getURLText(urls.get(written), lastMods.get(written));
+            if (written > 0 && !hasRoom(newURLText)) {
+                break;
+            }
+            currentOutput.print(newURLText);
+            bytesWritten += newURLText.length();
+            urlsWritten++;
+            written++;
+        }
+
+        closeCurrentFile();
+        currentOutput = null;
+        fileCount = filesWritten;
+        return written;
+    }
+
+    /**
+     * Whether the given URL text can be added to the current sitemap file
+     * without exceeding its maximum size or number of URLs.
+     *
+     * @param newURLText the mark-up of the URL
+     * @return true if the URL fits in the current file
+     */
+    private boolean hasRoom(String newURLText) {
+        return bytesWritten + newURLText.length() + trailingByteCount <= getMaxSize()
+            && urlsWritten + 1 <= getMaxURLs();
+    }
+
     /**
      * Finish with the current sitemap file.
      *
@@ -137,7 +189,7 @@ public abstract class AbstractGenerator {
      */
     protected void closeCurrentFile() throws IOException {
         currentOutput.print(getTrailingBoilerPlate());
-        currentOutput.close();
+        closeFile(currentOutput, currentFile);
         fileCount++;
     }
 
@@ -155,18 +207,117 @@ public abstract class AbstractGenerator {
             closeCurrentFile();
         }
 
-        OutputStream fo = new FileOutputStream(new File(outputDir,
-                                                        getIndexFilename()));
+        File indexFile = new File(outputDir, getIndexFilename());
+        PrintStream out = openFile(indexFile);
+        writeIndex(out, fileCount);
+        closeFile(out, indexFile);
+
+        return fileCount;
+    }
+
+    /**
+     * Complete writing sitemap files, without writing the index file. This is
+     * used when the sitemap files of several generators (e.g. one per type of
+     * object) are listed in a single index, see
+     * {@link AbstractGenerator#finish(List)}. Invalidates the generator.
+     *
+     * @return the URLs of the sitemap files written.
+     * @throws IOException if IO error
+     *                     if an error occurs writing
+     */
+    public List<String> finishFiles() throws IOException {
+        if (null != currentOutput) {
+            closeCurrentFile();
+            currentOutput = null;
+        }
+
+        List<String> sitemapURLs = new ArrayList<>(fileCount);
+        for (int i = 0; i < fileCount; i++) {
+            sitemapURLs.add(getSitemapURL(i));
+        }
+        return sitemapURLs;
+    }
+
+    /**
+     * Write the index file listing the given sitemap files, which have been
+     * written by other generators, see {@link AbstractGenerator#finishFiles()}.
+     *
+     * @param sitemapURLs URLs of the sitemap files
+     * @param lastMods    Dates the sitemap files were last written, see
+     *                    {@link AbstractGenerator#getLastModified(int)}, or
+     *                    {@code null} elements
+     * @return number of sitemap files in the index.
+     * @throws IOException if IO error
+     *                     if an error occurs writing
+     */
+    public int finish(List<String> sitemapURLs, List<Instant> lastMods) throws IOException {
+        File indexFile = new File(outputDir, getIndexFilename());
+        PrintStream out = openFile(indexFile);
+        writeIndex(out, sitemapURLs, lastMods);
+        closeFile(out, indexFile);
+
+        return sitemapURLs.size();
+    }
+
+    /**
+     * Open a sitemap or index file for writing. The file is written to a
+     * temporary file first, which replaces the file when it is closed with
+     * {@link AbstractGenerator#closeFile(PrintStream, File)}, so that the
+     * sitemaps can be served while they are being written.
+     *
+     * @param file the file to write
+     * @return the stream to write the file to
+     * @throws IOException if IO error
+     *                     if an error occurs creating the file
+     */
+    private PrintStream openFile(File file) throws IOException {
+        OutputStream fo = new FileOutputStream(getTemporaryFile(file));
 
         if (useCompression()) {
             fo = new GZIPOutputStream(fo);
         }
 
-        PrintStream out = new PrintStream(fo);
-        writeIndex(out, fileCount);
+        return new PrintStream(fo);
+    }
+
+    /**
+     * Close a file opened with {@link AbstractGenerator#openFile(File)},
+     * replacing the previous version of the file.
+     *
+     * @param out  the stream the file was written to
+     * @param file the file
+     * @throws IOException if IO error
+     *                     if an error occurs writing the file
+     */
+    private void closeFile(PrintStream out, File file) throws IOException {
         out.close();
+        if (out.checkError()) {
+            throw new IOException("Unable to write sitemap file " + file.getName());
+        }
+        Files.move(getTemporaryFile(file).toPath(), file.toPath(),
+                   StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
 
-        return fileCount;
+    /**
+     * Return the date the sitemap file at the given index was last written,
+     * which is unchanged by runs which do not write the file again.
+     *
+     * @param number index of the sitemap file (zero is first).
+     * @return the date of the file, or {@code null} if it does not exist.
+     */
+    public Instant getLastModified(int number) {
+        File file = new File(outputDir, getFilename(number));
+        return file.isFile() ? Instant.ofEpochMilli(file.lastModified()) : null;
+    }
+
+    /**
+     * Return the temporary file a sitemap file is written to before it replaces the file.
+     *
+     * @param file the sitemap file
+     * @return the temporary file next to it
+     */
+    private File getTemporaryFile(File file) {
+        return new File(file.getParentFile(), file.getName() + ".tmp");
     }
 
     /**
@@ -226,6 +377,14 @@ public abstract class AbstractGenerator {
      */
     public abstract String getFilename(int number);
 
+    /**
+     * Return the URL the sitemap at the given index will eventually appear at.
+     *
+     * @param number index of the sitemap file (zero is first).
+     * @return the URL of the sitemap.
+     */
+    public abstract String getSitemapURL(int number);
+
     /**
      * Get the filename the index should be written to.
      *
@@ -243,4 +402,17 @@ public abstract class AbstractGenerator {
      */
     public abstract void writeIndex(PrintStream output, int sitemapCount)
         throws IOException;
+
+    /**
+     * Write the index file.
+     *
+     * @param output      stream to write the index to
+     * @param sitemapURLs URLs of the sitemaps to list
+     * @param lastMods    Dates the sitemaps were last written, or {@code null}
+     *                    elements
+     * @throws IOException if IO error
+     *                     if an IO error occurs
+     */
+    public abstract void writeIndex(PrintStream output, List<String> sitemapURLs, List<Instant> lastMods)
+        throws IOException;
 }
@@ -9,8 +9,28 @@ package org.dspace.app.sitemap;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -22,15 +42,10 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
-import org.dspace.content.factory.ContentServiceFactory;
-import org.dspace.content.service.CollectionService;
-import org.dspace.content.service.CommunityService;
-import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
 import org.dspace.core.LogHelper;
 import org.dspace.discovery.DiscoverQuery;
 import org.dspace.discovery.DiscoverResult;
-import org.dspace.discovery.IndexableObject;
 import org.dspace.discovery.SearchService;
 import org.dspace.discovery.SearchServiceException;
 import org.dspace.discovery.SearchUtils;
@@ -49,14 +64,85 @@ public class GenerateSitemaps {
      */
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(GenerateSitemaps.class);
 
-    private static final CommunityService communityService = ContentServiceFactory.getInstance().getCommunityService();
-    private static final CollectionService collectionService =
-        ContentServiceFactory.getInstance().getCollectionService();
-    private static final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
     private static final ConfigurationService configurationService =
         DSpaceServicesFactory.getInstance().getConfigurationService();
     private static final SearchService searchService = SearchUtils.getSearchService();
-    private static final int PAGE_SIZE = 100;
+    private static final int PAGE_SIZE = 1000;
+
+    /**
+     * Directory of the sitemaps directory where the manifests are stored
+     */
+    static final String MANIFEST_DIR = "manifest";
+
+    /**
+     * File of the manifest directory where the start of the last run is stored
+     */
+    static final String LAST_RUN_FILE = "last-run";
+
+    /**
+     * The objects modified this long before the start of the previous run are considered modified since, as they may
+     * have been indexed after the previous run read them from Discovery
+     */
+    static final Duration LAST_MODIFIED_OVERLAP = Duration.ofMinutes(10);
+
+    /**
+     * The types of objects listed in the sitemaps
+     */
+    private enum ObjectType {
+        COMMUNITY("Community", "communities", "sitemap_communities"),
+        COLLECTION("Collection", "collections", "sitemap_collections"),
+        ITEM("Item", "items", "sitemap_items");
+
+        private final String resourceType;
+        private final String urlPath;
+        private final String fileStem;
+
+        ObjectType(String resourceType, String urlPath, String fileStem) {
+            this.resourceType = resourceType;
+            this.urlPath = urlPath;
+            this.fileStem = fileStem;
+        }
+    }
+
+    /**
+     * The sitemap of one type of object in one format, with the manifest of its files
+     */
+    private static class Sitemap {
+        private final AbstractGenerator generator;
+        private final File manifestFile;
+        private final boolean withLastMod;
+        private SitemapManifest manifest;
+
+        Sitemap(AbstractGenerator generator, File manifestFile, boolean withLastMod) {
+            this.generator = generator;
+            this.manifestFile = manifestFile;
+            this.withLastMod = withLastMod;
+        }
+    }
+
+    /**
+     * An object listed in the sitemaps
+     */
+    private static class SitemapEntry {
+        private final UUID id;
+        private final String url;
+        private final Instant lastMod;
+
+        SitemapEntry(ObjectType type, String uiURLStem, DiscoverResult.SearchDocument doc) {
+            String resourceId = doc.getSearchFieldValues(SearchUtils.RESOURCE_ID_FIELD).get(0);
+            List<String> entityTypeFieldValues = doc.getSearchFieldValues("search.entitytype");
+            if (type == ObjectType.ITEM && CollectionUtils.isNotEmpty(entityTypeFieldValues)) {
+                url = uiURLStem + "entities/" + StringUtils.lowerCase(entityTypeFieldValues.get(0)) + "/"
+                    + resourceId;
+            } else {
+                url = uiURLStem + type.urlPath + "/" + resourceId;
+            }
+            List<String> lastModifiedFieldValues = doc.getSearchFieldValues("lastModified");
+            lastMod = type == ObjectType.ITEM && CollectionUtils.isNotEmpty(lastModifiedFieldValues)
+                ? Instant.parse(lastModifiedFieldValues.get(0)) : null;
+            id = UUID.fromString(resourceId);
+        }
+    }
 
     /**
      * Default constructor
@@ -79,6 +165,8 @@ public class GenerateSitemaps {
         options
             .addOption("d", "delete", false,
                 "delete sitemaps dir and its contents");
+        options.addOption("f", "full", false,
+                          "write all the sitemap files, instead of only those which changed since the previous run");
 
         CommandLine line = null;
 
@@ -113,7 +201,7 @@ public class GenerateSitemaps {
 
         // Note the negation (CLI options indicate NOT to generate a sitemap)
         if (!line.hasOption('b') || !line.hasOption('s')) {
-            generateSitemaps(!line.hasOption('b'), !line.hasOption('s'));
+            generateSitemaps(!line.hasOption('b'), !line.hasOption('s'), line.hasOption('f'));
         }
 
         if (line.hasOption('d')) {
@@ -147,7 +235,8 @@ public class GenerateSitemaps {
     }
 
     /**
-     * Generate sitemap.org protocol and/or basic HTML sitemaps.
+     * Generate sitemap.org protocol and/or basic HTML sitemaps, only writing
+     * again the sitemap files which changed since the previous run.
      *
      * @param makeHTMLMap    if {@code true}, generate an HTML sitemap.
      * @param makeSitemapOrg if {@code true}, generate an sitemap.org sitemap.
@@ -157,135 +246,390 @@ public class GenerateSitemaps {
      *                      if IO error occurs.
      */
     public static void generateSitemaps(boolean makeHTMLMap, boolean makeSitemapOrg) throws SQLException, IOException {
-        String uiURLStem = configurationService.getProperty("dspace.ui.url");
-        if (!uiURLStem.endsWith("/")) {
-            uiURLStem = uiURLStem + '/';
-        }
+        generateSitemaps(makeHTMLMap, makeSitemapOrg, false);
+    }
+
+    /**
+     * Generate sitemap.org protocol and/or basic HTML sitemaps.
+     * <p>
+     * The sitemaps of communities, collections and items are generated in parallel, each into their own sitemap
+     * files, which are listed in a single index. The objects are read from Discovery with a cursor, fetching only
+     * their identifier (and entity type and last modification date for items), without loading them from the
+     * database. Sitemaps.org sitemap files are GZIP-compressed unless "sitemap.compress" is false, and list at most
+     * "sitemap.max-urls" URLs.
+     * <p>
+     * The objects listed in each sitemap file are recorded in a manifest (see {@link SitemapManifest}). Unless a full
+     * generation is requested, only the sitemap files listing objects which were modified since the previous run, or
+     * which are not in Discovery anymore, are written again, and new objects are added to the last sitemap file or to
+     * new files. Every file, including the index, is replaced atomically. The index gives the date each sitemap file
+     * was last written, so that crawlers only fetch the files which changed, and leaves out the files whose objects
+     * are all gone. The manifests of the formats which are not generated are deleted, as they would not follow the
+     * changes, so that these formats are generated in full the next time.
+     *
+     * @param makeHTMLMap    if {@code true}, generate an HTML sitemap.
+     * @param makeSitemapOrg if {@code true}, generate an sitemap.org sitemap.
+     * @param full           if {@code true}, write all the sitemap files again.
+     * @throws SQLException if database error
+     *                      if a database error occurs.
+     * @throws IOException  if IO error
+     *                      if IO error occurs.
+     */
+    public static void generateSitemaps(boolean makeHTMLMap, boolean makeSitemapOrg, boolean full)
+        throws SQLException, IOException {
+        String uiURL = configurationService.getProperty("dspace.ui.url");
+        String uiURLStem = uiURL.endsWith("/") ? uiURL : uiURL + '/';
         String sitemapStem = uiURLStem + "sitemap";
 
         File outputDir = new File(configurationService.getProperty("sitemap.dir"));
         if (!outputDir.exists() && !outputDir.mkdir()) {
             log.error("Unable to create output directory");
         }
+        File manifestDir = new File(outputDir, MANIFEST_DIR);
+        if (!manifestDir.exists() && !manifestDir.mkdir()) {
+            log.error("Unable to create manifest directory");
+        }
+
+        // The start of the previous run, which is removed until this run completes, so that the next run is a full
+        // one if this one fails half way
+        Instant start = Instant.now();
+        File lastRunFile = new File(manifestDir, LAST_RUN_FILE);
+        Instant since = full ? null : readLastRun(lastRunFile);
+        Files.deleteIfExists(lastRunFile.toPath());
+
+        boolean compress = configurationService.getBooleanProperty("sitemap.compress", true);
+        int maxURLs = configurationService.getIntProperty("sitemap.max-urls", 50000);
+        Map<ObjectType, List<Sitemap>> sitemaps = new EnumMap<>(ObjectType.class);
+        for (ObjectType type : ObjectType.values()) {
+            List<Sitemap> typeSitemaps = new ArrayList<>();
+            if (makeHTMLMap) {
+                typeSitemaps.add(new Sitemap(new HTMLSitemapGenerator(outputDir, uiURLStem, type.fileStem, false),
+                                             new File(manifestDir, type.fileStem + ".html"), false));
+            } else {
+                // the manifest would not follow the changes of this run, so the next HTML sitemap is a full one
+                Files.deleteIfExists(new File(manifestDir, type.fileStem + ".html").toPath());
+            }
+            if (makeSitemapOrg) {
+                SitemapsOrgGenerator generator = new SitemapsOrgGenerator(outputDir, uiURLStem, type.fileStem,
+                                                                          compress);
+                generator.setMaxURLs(maxURLs);
+                typeSitemaps.add(new Sitemap(generator,
+                                             new File(manifestDir, type.fileStem + (compress ? ".xml.gz" : ".xml")),
+                                             true));
+            }
+            // likewise for the sitemaps.org manifests which are not used by this run
+            if (!makeSitemapOrg || compress) {
+                Files.deleteIfExists(new File(manifestDir, type.fileStem + ".xml").toPath());
+            }
+            if (!makeSitemapOrg || !compress) {
+                Files.deleteIfExists(new File(manifestDir, type.fileStem + ".xml.gz").toPath());
+            }
+            sitemaps.put(type, typeSitemaps);
+        }
+        // Only update the sitemaps incrementally if they all have a manifest
+        for (List<Sitemap> typeSitemaps : sitemaps.values()) {
+            for (Sitemap sitemap : typeSitemaps) {
+                if (since != null) {
+                    sitemap.manifest = SitemapManifest.read(sitemap.manifestFile);
+                    if (sitemap.manifest == null) {
+                        since = null;
+                    }
+                }
+            }
+        }
 
-        AbstractGenerator html = null;
-        AbstractGenerator sitemapsOrg = null;
+        Map<ObjectType, Long> counts = new EnumMap<>(ObjectType.class);
+        ExecutorService executor = Executors.newFixedThreadPool(ObjectType.values().length);
+        try {
+            Map<ObjectType, Future<Long>> results = new EnumMap<>(ObjectType.class);
+            for (ObjectType type : ObjectType.values()) {
+                Instant typeSince = since;
+                results.put(type, executor.submit(() -> generateSitemaps(type, uiURLStem, sitemaps.get(type),
+                                                                        typeSince)));
+            }
+            for (ObjectType type : ObjectType.values()) {
+                counts.put(type, results.get(type).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
 
+        // the files which were not written again keep their date in the index, and the empty files are left out
+        List<String> htmlURLs = new ArrayList<>();
+        List<Instant> htmlLastMods = new ArrayList<>();
+        List<String> sitemapsOrgURLs = new ArrayList<>();
+        List<Instant> sitemapsOrgLastMods = new ArrayList<>();
+        Set<String> filenames = new HashSet<>();
+        for (ObjectType type : ObjectType.values()) {
+            for (Sitemap sitemap : sitemaps.get(type)) {
+                for (int i = 0; i < sitemap.manifest.getFileCount(); i++) {
+                    if (sitemap.manifest.getIds(i).isEmpty()) {
+                        continue;
+                    }
+                    (sitemap.withLastMod ? sitemapsOrgURLs : htmlURLs).add(sitemap.generator.getSitemapURL(i));
+                    (sitemap.withLastMod ? sitemapsOrgLastMods : htmlLastMods)
+                        .add(sitemap.generator.getLastModified(i));
+                    filenames.add(sitemap.generator.getFilename(i));
+                }
+            }
+        }
+
+        String stats = ",mode=" + (since == null ? "full" : "incremental")
+            + ",communities=" + counts.get(ObjectType.COMMUNITY)
+            + ",collections=" + counts.get(ObjectType.COLLECTION)
+            + ",items=" + counts.get(ObjectType.ITEM);
         if (makeHTMLMap) {
-            html = new HTMLSitemapGenerator(outputDir, sitemapStem, ".html");
+            AbstractGenerator index = new HTMLSitemapGenerator(outputDir, sitemapStem, ".html");
+            int files = index.finish(htmlURLs, htmlLastMods);
+            filenames.add(index.getIndexFilename());
+            log.info(LogHelper.getHeader(null, "write_sitemap", "type=html,num_files=" + files + stats));
         }
 
         if (makeSitemapOrg) {
-            sitemapsOrg = new SitemapsOrgGenerator(outputDir, sitemapStem, ".xml");
+            AbstractGenerator index = new SitemapsOrgGenerator(outputDir, sitemapStem, ".xml");
+            int files = index.finish(sitemapsOrgURLs, sitemapsOrgLastMods);
+            filenames.add(index.getIndexFilename());
+            log.info(LogHelper.getHeader(null, "write_sitemap", "type=sitemaps.org,num_files=" + files + stats));
         }
 
-        Context c = new Context(Context.Mode.READ_ONLY);
-        int offset = 0;
-        long commsCount = 0;
-        long collsCount = 0;
-        long itemsCount = 0;
+        deleteStaleSitemaps(outputDir, filenames, makeHTMLMap, makeSitemapOrg);
+
+        for (List<Sitemap> typeSitemaps : sitemaps.values()) {
+            for (Sitemap sitemap : typeSitemaps) {
+                sitemap.manifest.write(sitemap.manifestFile);
+            }
+        }
+        Files.writeString(lastRunFile.toPath(), start.toString(), StandardCharsets.UTF_8);
+    }
 
+    /**
+     * Write the sitemap files of one type of object, all of them or only those which changed.
+     *
+     * @param type      the type of object
+     * @param uiURLStem the URL of the user interface, ending with a slash
+     * @param sitemaps  the sitemaps to write, one per format
+     * @param since     the start of the previous run if only the sitemap files which changed since must be written,
+     *                  or null to write all of them
+     * @return the number of objects in the sitemaps
+     */
+    private static long generateSitemaps(ObjectType type, String uiURLStem, List<Sitemap> sitemaps, Instant since)
+        throws IOException, SearchServiceException {
+        Context c = new Context(Context.Mode.READ_ONLY);
         try {
-            DiscoverQuery discoveryQuery = new DiscoverQuery();
-            discoveryQuery.setMaxResults(PAGE_SIZE);
-            discoveryQuery.setQuery("search.resourcetype:Community");
-            do {
-                discoveryQuery.setStart(offset);
-                DiscoverResult discoverResult = searchService.search(c, discoveryQuery);
-                List<IndexableObject> docs = discoverResult.getIndexableObjects();
-                commsCount = discoverResult.getTotalSearchResults();
-
-                for (IndexableObject doc : docs) {
-                    String url = uiURLStem + "communities/" + doc.getID();
-                    c.uncacheEntity(doc.getIndexedObject());
-
-                    if (makeHTMLMap) {
-                        html.addURL(url, null);
-                    }
-                    if (makeSitemapOrg) {
-                        sitemapsOrg.addURL(url, null);
-                    }
-                }
-                offset += PAGE_SIZE;
-            } while (offset < commsCount);
-
-            offset = 0;
-            discoveryQuery = new DiscoverQuery();
-            discoveryQuery.setMaxResults(PAGE_SIZE);
-            discoveryQuery.setQuery("search.resourcetype:Collection");
-            do {
-                discoveryQuery.setStart(offset);
-                DiscoverResult discoverResult = searchService.search(c, discoveryQuery);
-                List<IndexableObject> docs = discoverResult.getIndexableObjects();
-                collsCount = discoverResult.getTotalSearchResults();
-
-                for (IndexableObject doc : docs) {
-                    String url = uiURLStem + "collections/" + doc.getID();
-                    c.uncacheEntity(doc.getIndexedObject());
-
-                    if (makeHTMLMap) {
-                        html.addURL(url, null);
-                    }
-                    if (makeSitemapOrg) {
-                        sitemapsOrg.addURL(url, null);
+            if (since == null) {
+                return writeSitemaps(c, type, uiURLStem, sitemaps);
+            } else {
+                return updateSitemaps(c, type, uiURLStem, sitemaps, since.minus(LAST_MODIFIED_OVERLAP));
+            }
+        } finally {
+            c.abort();
+        }
+    }
+
+    /**
+     * Write all the sitemap files of one type of object.
+     */
+    private static long writeSitemaps(Context c, ObjectType type, String uiURLStem, List<Sitemap> sitemaps)
+        throws IOException, SearchServiceException {
+        for (Sitemap sitemap : sitemaps) {
+            sitemap.manifest = new SitemapManifest();
+        }
+        long count = 0;
+        Iterator<DiscoverResult.SearchDocument> docs = searchService.iteratorSearchDocuments(c, createQuery(type));
+        while (docs.hasNext()) {
+            SitemapEntry entry = new SitemapEntry(type, uiURLStem, docs.next());
+            for (Sitemap sitemap : sitemaps) {
+                sitemap.generator.addURL(entry.url, sitemap.withLastMod ? entry.lastMod : null);
+                // the URL is in the file being written, which is the one after the files written so far
+                sitemap.manifest.add(sitemap.generator.fileCount, entry.id);
+            }
+            count++;
+        }
+        for (Sitemap sitemap : sitemaps) {
+            sitemap.generator.finishFiles();
+        }
+        return count;
+    }
+
+    /**
+     * Write the sitemap files of one type of object which list objects modified since the given date or objects which
+     * are not in Discovery anymore, and add the new objects to the last sitemap file or to new files.
+     */
+    private static long updateSitemaps(Context c, ObjectType type, String uiURLStem, List<Sitemap> sitemaps,
+                                       Instant since)
+        throws IOException, SearchServiceException {
+        List<Set<Integer>> changedFiles = new ArrayList<>();
+        List<int[]> foundCounts = new ArrayList<>();
+        List<List<SitemapEntry>> newEntries = new ArrayList<>();
+        for (Sitemap sitemap : sitemaps) {
+            changedFiles.add(new TreeSet<>());
+            foundCounts.add(new int[sitemap.manifest.getFileCount()]);
+            newEntries.add(new ArrayList<>());
+        }
+
+        long count = 0;
+        Iterator<DiscoverResult.SearchDocument> docs = searchService.iteratorSearchDocuments(c, createQuery(type));
+        while (docs.hasNext()) {
+            SitemapEntry entry = new SitemapEntry(type, uiURLStem, docs.next());
+            boolean modified = entry.lastMod != null && entry.lastMod.isAfter(since);
+            for (int i = 0; i < sitemaps.size(); i++) {
+                Integer fileNumber = sitemaps.get(i).manifest.getFileNumber(entry.id);
+                if (fileNumber == null) {
+                    newEntries.get(i).add(entry);
+                } else {
+                    foundCounts.get(i)[fileNumber]++;
+                    if (modified) {
+                        changedFiles.get(i).add(fileNumber);
                     }
                 }
-                offset += PAGE_SIZE;
-            } while (offset < collsCount);
+            }
+            count++;
+        }
 
-            offset = 0;
-            discoveryQuery = new DiscoverQuery();
-            discoveryQuery.setMaxResults(PAGE_SIZE);
-            discoveryQuery.setQuery("search.resourcetype:Item");
-            discoveryQuery.addSearchField("search.entitytype");
-            do {
-
-                discoveryQuery.setStart(offset);
-                DiscoverResult discoverResult = searchService.search(c, discoveryQuery);
-                List<IndexableObject> docs = discoverResult.getIndexableObjects();
-                itemsCount = discoverResult.getTotalSearchResults();
-
-                for (IndexableObject doc : docs) {
-                    String url;
-                    List<String> entityTypeFieldValues = discoverResult.getSearchDocument(doc).get(0)
-                                            .getSearchFieldValues("search.entitytype");
-                    if (CollectionUtils.isNotEmpty(entityTypeFieldValues)) {
-                        url = uiURLStem + "entities/" + StringUtils.lowerCase(entityTypeFieldValues.get(0)) + "/"
-                                + doc.getID();
-                    } else {
-                        url = uiURLStem + "items/" + doc.getID();
-                    }
-                    c.uncacheEntity(doc.getIndexedObject());
+        for (int i = 0; i < sitemaps.size(); i++) {
+            Sitemap sitemap = sitemaps.get(i);
+            SitemapManifest manifest = sitemap.manifest;
+            Set<Integer> changed = changedFiles.get(i);
+            // the files listing objects which were deleted, withdrawn, made private...
+            for (int fileNumber = 0; fileNumber < manifest.getFileCount(); fileNumber++) {
+                if (foundCounts.get(i)[fileNumber] != manifest.getIds(fileNumber).size()) {
+                    changed.add(fileNumber);
+                }
+            }
 
-                    if (makeHTMLMap) {
-                        html.addURL(url, null);
-                    }
-                    if (makeSitemapOrg) {
-                        sitemapsOrg.addURL(url, null);
-                    }
+            // the entries which do not fit in their file anymore (e.g. longer URLs) go with the new ones
+            int last = manifest.getFileCount() - 1;
+            List<SitemapEntry> pending = new ArrayList<>();
+            for (int fileNumber : changed) {
+                if (fileNumber != last) {
+                    List<SitemapEntry> entries = findEntries(c, type, uiURLStem, manifest.getIds(fileNumber));
+                    int written = writeFile(sitemap, fileNumber, entries);
+                    pending.addAll(entries.subList(written, entries.size()));
                 }
-                offset += PAGE_SIZE;
-            } while (offset < itemsCount);
+            }
+            pending.addAll(newEntries.get(i));
 
-            if (makeHTMLMap) {
-                int files = html.finish();
-                log.info(LogHelper.getHeader(c, "write_sitemap",
-                                              "type=html,num_files=" + files + ",communities="
-                                                  + commsCount + ",collections=" + collsCount
-                                                  + ",items=" + itemsCount));
+            boolean rewriteLast = last >= 0 && (changed.contains(last) || !pending.isEmpty());
+            if (rewriteLast) {
+                List<SitemapEntry> entries = findEntries(c, type, uiURLStem, manifest.getIds(last));
+                entries.addAll(pending);
+                pending = entries;
             }
+            if (rewriteLast || !pending.isEmpty()) {
+                int fileNumber = rewriteLast ? last : last + 1;
+                do {
+                    int written = writeFile(sitemap, fileNumber++, pending);
+                    pending = pending.subList(written, pending.size());
+                } while (!pending.isEmpty());
+            }
+        }
+        return count;
+    }
 
-            if (makeSitemapOrg) {
-                int files = sitemapsOrg.finish();
-                log.info(LogHelper.getHeader(c, "write_sitemap",
-                                              "type=html,num_files=" + files + ",communities="
-                                                  + commsCount + ",collections=" + collsCount
-                                                  + ",items=" + itemsCount));
+    /**
+     * Find the current entries of the given objects, in the same order. The objects which are not in Discovery
+     * anymore are left out.
+     */
+    private static List<SitemapEntry> findEntries(Context c, ObjectType type, String uiURLStem, List<UUID> ids)
+        throws SearchServiceException {
+        Map<UUID, SitemapEntry> entries = new HashMap<>();
+        for (int start = 0; start < ids.size(); start += PAGE_SIZE) {
+            DiscoverQuery discoveryQuery = createQuery(type);
+            discoveryQuery.addFilterQueries("{!terms f=" + SearchUtils.RESOURCE_ID_FIELD + "}"
+                + ids.subList(start, Math.min(start + PAGE_SIZE, ids.size())).stream()
+                     .map(UUID::toString)
+                     .collect(Collectors.joining(",")));
+            Iterator<DiscoverResult.SearchDocument> docs = searchService.iteratorSearchDocuments(c, discoveryQuery);
+            while (docs.hasNext()) {
+                SitemapEntry entry = new SitemapEntry(type, uiURLStem, docs.next());
+                entries.put(entry.id, entry);
+            }
+        }
+        return ids.stream()
+                  .map(entries::get)
+                  .filter(Objects::nonNull)
+                  .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Write a sitemap file with the first of the given entries, as many as fit, and record them in the manifest.
+     * Without entries, no file is written and the previous one is deleted with the stale sitemap files.
+     *
+     * @return the number of entries written
+     */
+    private static int writeFile(Sitemap sitemap, int fileNumber, List<SitemapEntry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            sitemap.manifest.set(fileNumber, List.of());
+            return 0;
+        }
+        List<String> urls = new ArrayList<>(entries.size());
+        List<Instant> lastMods = new ArrayList<>(entries.size());
+        for (SitemapEntry entry : entries) {
+            urls.add(entry.url);
+            lastMods.add(sitemap.withLastMod ? entry.lastMod : null);
+        }
+        int written = sitemap.generator.writeFile(fileNumber, urls, lastMods);
+        sitemap.manifest.set(fileNumber, entries.subList(0, written).stream()
+                                                .map(entry -> entry.id)
+                                                .collect(Collectors.toList()));
+        return written;
+    }
+
+    private static DiscoverQuery createQuery(ObjectType type) {
+        DiscoverQuery discoveryQuery = new DiscoverQuery();
+        discoveryQuery.setMaxResults(PAGE_SIZE);
+        discoveryQuery.setQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + type.resourceType);
+        discoveryQuery.addSearchField(SearchUtils.RESOURCE_ID_FIELD);
+        if (type == ObjectType.ITEM) {
+            discoveryQuery.addSearchField("search.entitytype");
+            discoveryQuery.addSearchField("lastModified");
+        }
+        return discoveryQuery;
+    }
+
+    /**
+     * @return the start of the previous run recorded in the given file, or null if unknown
+     */
+    private static Instant readLastRun(File lastRunFile) throws IOException {
+        if (!lastRunFile.isFile()) {
+            return null;
+        }
+        try {
+            return Instant.parse(Files.readString(lastRunFile.toPath(), StandardCharsets.UTF_8).trim());
+        } catch (DateTimeParseException e) {
+            log.warn("Invalid sitemap last run file " + lastRunFile + ", generating all the sitemap files");
+            return null;
+        }
+    }
+
+    /**
+     * Delete the sitemap files left by previous runs which are not part of the sitemaps anymore, e.g. because they
+     * were named differently, and the temporary files left by failed runs.
+     *
+     * @param outputDir   the sitemaps directory
+     * @param filenames   the names of the files of the current sitemaps
+     * @param html        whether HTML sitemaps were generated
+     * @param sitemapsOrg whether sitemaps.org sitemaps were generated
+     */
+    private static void deleteStaleSitemaps(File outputDir, Set<String> filenames, boolean html,
+                                            boolean sitemapsOrg) {
+        File[] files = outputDir.listFiles((dir, name) -> name.startsWith("sitemap") && !filenames.contains(name)
+            && (html && (name.endsWith(".html") || name.endsWith(".html.gz"))
+                || sitemapsOrg && (name.endsWith(".xml") || name.endsWith(".xml.gz"))
+                || name.endsWith(".tmp")));
+        if (files != null) {
+            for (File file : files) {
+                if (file.isFile() && !file.delete()) {
+                    log.warn("Unable to delete stale sitemap file " + file.getName());
+                }
             }
-        } catch (SearchServiceException e) {
-            throw new RuntimeException(e);
-        } finally {
-            c.abort();
         }
     }
 }
@@ -11,6 +11,8 @@ import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Class for generating HTML "sitemaps" which contain links to various pages in
@@ -31,6 +33,16 @@ public class HTMLSitemapGenerator extends AbstractGenerator {
      */
     protected String indexURLTail;
 
+    /**
+     * Start of the names of the sitemap files
+     */
+    protected String fileStem = "sitemap";
+
+    /**
+     * Whether the sitemap files are GZIP-compressed
+     */
+    protected boolean compress = false;
+
     /**
      * Construct an HTML sitemap generator, writing files to the given
      * directory, and with the sitemaps eventually exposed at starting with the
@@ -49,9 +61,28 @@ public class HTMLSitemapGenerator extends AbstractGenerator {
         indexURLTail = (urlTail == null ? "" : urlTail);
     }
 
+    /**
+     * Construct an HTML sitemap generator writing the sitemap files of a
+     * part of the site (e.g. one type of object) to the given directory, with
+     * names starting with the given stem. The sitemap files of several parts
+     * are listed in a single index, see {@link AbstractGenerator#finish(List, List)}.
+     *
+     * @param outputDirIn Directory to write sitemap files to
+     * @param urlBase     URL the files of the directory will eventually appear
+     *                    under, e.g. {@code http://dspace.myu.edu/}
+     * @param fileStem    start of the names of the sitemap files, e.g.
+     *                    {@code sitemap_items}
+     * @param compress    whether to GZIP-compress the sitemap files
+     */
+    public HTMLSitemapGenerator(File outputDirIn, String urlBase, String fileStem, boolean compress) {
+        this(outputDirIn, urlBase + fileStem, compress ? ".html.gz" : ".html");
+        this.fileStem = fileStem;
+        this.compress = compress;
+    }
+
     @Override
     public String getFilename(int number) {
-        return "sitemap" + number + ".html";
+        return fileStem + number + (compress ? ".html.gz" : ".html");
     }
 
     @Override
@@ -88,7 +119,12 @@ public class HTMLSitemapGenerator extends AbstractGenerator {
 
     @Override
     public boolean useCompression() {
-        return false;
+        return compress;
+    }
+
+    @Override
+    public String getSitemapURL(int number) {
+        return indexURLStem + number + indexURLTail;
     }
 
     @Override
@@ -98,11 +134,23 @@ public class HTMLSitemapGenerator extends AbstractGenerator {
 
     @Override
     public void writeIndex(PrintStream output, int sitemapCount)
+        throws IOException {
+        List<String> sitemapURLs = new ArrayList<>(sitemapCount);
+        List<Instant> lastMods = new ArrayList<>(sitemapCount);
+        for (int i = 0; i < sitemapCount; i++) {
+            sitemapURLs.add(getSitemapURL(i));
+            lastMods.add(null);
+        }
+        writeIndex(output, sitemapURLs, lastMods);
+    }
+
+    @Override
+    public void writeIndex(PrintStream output, List<String> sitemapURLs, List<Instant> lastMods)
         throws IOException {
         output.println(getLeadingBoilerPlate());
 
-        for (int i = 0; i < sitemapCount; i++) {
-            output.print("<li><a href=\"" + indexURLStem + i + indexURLTail
+        for (int i = 0; i < sitemapURLs.size(); i++) {
+            output.print("<li><a href=\"" + sitemapURLs.get(i)
                              + "\">sitemap " + i);
             output.print("</a></li>\n");
         }
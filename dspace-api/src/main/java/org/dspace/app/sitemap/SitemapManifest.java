@@ -0,0 +1,137 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.sitemap;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Record of the objects listed in each sitemap file of a sitemap (one type of object in one format), so that the
+ * sitemap files can be updated incrementally: only the files listing objects which changed or disappeared since the
+ * previous run are written again, see {@link GenerateSitemaps}.
+ * <p>
+ * The manifest is stored as a text file with one line per object: the index of its sitemap file and its UUID,
+ * separated by a tab.
+ */
+public class SitemapManifest {
+
+    private final List<List<UUID>> files = new ArrayList<>();
+
+    private final Map<UUID, Integer> fileNumbers = new HashMap<>();
+
+    /**
+     * Record that an object is listed in a sitemap file.
+     *
+     * @param fileNumber index of the sitemap file
+     * @param id         UUID of the object
+     */
+    public void add(int fileNumber, UUID id) {
+        while (files.size() <= fileNumber) {
+            files.add(new ArrayList<>());
+        }
+        files.get(fileNumber).add(id);
+        fileNumbers.put(id, fileNumber);
+    }
+
+    /**
+     * Record the objects listed in a sitemap file, replacing the objects it listed before.
+     *
+     * @param fileNumber index of the sitemap file
+     * @param ids        UUIDs of the objects
+     */
+    public void set(int fileNumber, List<UUID> ids) {
+        if (fileNumber < files.size()) {
+            for (UUID id : files.get(fileNumber)) {
+                if (Integer.valueOf(fileNumber).equals(fileNumbers.get(id))) {
+                    fileNumbers.remove(id);
+                }
+            }
+            files.get(fileNumber).clear();
+        }
+        for (UUID id : ids) {
+            add(fileNumber, id);
+        }
+    }
+
+    /**
+     * @param id UUID of an object
+     * @return the index of the sitemap file listing the object, or null if it is not listed
+     */
+    public Integer getFileNumber(UUID id) {
+        return fileNumbers.get(id);
+    }
+
+    /**
+     * @param fileNumber index of a sitemap file
+     * @return the UUIDs of the objects listed in the file
+     */
+    public List<UUID> getIds(int fileNumber) {
+        return files.get(fileNumber);
+    }
+
+    /**
+     * @return the number of sitemap files
+     */
+    public int getFileCount() {
+        return files.size();
+    }
+
+    /**
+     * Read a manifest.
+     *
+     * @param file the manifest file
+     * @return the manifest, or null if the file does not exist
+     * @throws IOException if the file cannot be read
+     */
+    public static SitemapManifest read(File file) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        SitemapManifest manifest = new SitemapManifest();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                if (tab > 0) {
+                    manifest.add(Integer.parseInt(line.substring(0, tab)), UUID.fromString(line.substring(tab + 1)));
+                }
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Write this manifest, replacing the file atomically.
+     *
+     * @param file the manifest file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(File file) throws IOException {
+        File temporaryFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile.toPath(), StandardCharsets.UTF_8)) {
+            for (int i = 0; i < files.size(); i++) {
+                for (UUID id : files.get(i)) {
+                    writer.write(i + "\t" + id);
+                    writer.newLine();
+                }
+            }
+        }
+        Files.move(temporaryFile.toPath(), file.toPath(),
+                   StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -12,6 +12,8 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Class for generating <a href="http://sitemaps.org/">Sitemaps</a> to improve
@@ -32,6 +34,21 @@ public class SitemapsOrgGenerator extends AbstractGenerator {
      */
     protected String indexURLTail;
 
+    /**
+     * Start of the names of the sitemap files
+     */
+    protected String fileStem = "sitemap";
+
+    /**
+     * Whether the sitemap files are GZIP-compressed
+     */
+    protected boolean compress = false;
+
+    /**
+     * Maximum number of URLs of a sitemap file
+     */
+    protected int maxURLs = 50000;
+
     /**
      * The correct date format
      */
@@ -55,9 +72,28 @@ public class SitemapsOrgGenerator extends AbstractGenerator {
         indexURLTail = (urlTail == null ? "" : urlTail);
     }
 
+    /**
+     * Construct a sitemaps.org protocol sitemap generator writing the sitemap files of a
+     * part of the site (e.g. one type of object) to the given directory, with
+     * names starting with the given stem. The sitemap files of several parts
+     * are listed in a single index, see {@link AbstractGenerator#finish(List, List)}.
+     *
+     * @param outputDirIn Directory to write sitemap files to
+     * @param urlBase     URL the files of the directory will eventually appear
+     *                    under, e.g. {@code http://dspace.myu.edu/}
+     * @param fileStem    start of the names of the sitemap files, e.g.
+     *                    {@code sitemap_items}
+     * @param compress    whether to GZIP-compress the sitemap files
+     */
+    public SitemapsOrgGenerator(File outputDirIn, String urlBase, String fileStem, boolean compress) {
+        this(outputDirIn, urlBase + fileStem, compress ? ".xml.gz" : ".xml");
+        this.fileStem = fileStem;
+        this.compress = compress;
+    }
+
     @Override
     public String getFilename(int number) {
-        return "sitemap" + number + ".xml";
+        return fileStem + number + (compress ? ".xml.gz" : ".xml");
     }
 
     @Override
@@ -74,7 +110,17 @@ public class SitemapsOrgGenerator extends AbstractGenerator {
 
     @Override
     public int getMaxURLs() {
-        return 50000;
+        return maxURLs;
+    }
+
+    /**
+     * Set the maximum number of URLs of a sitemap file, which the sitemaps.org
+     * protocol limits to 50,000.
+     *
+     * @param maxURLs the maximum number of URLs
+     */
+    public void setMaxURLs(int maxURLs) {
+        this.maxURLs = Math.max(1, Math.min(maxURLs, 50000));
     }
 
     @Override
@@ -98,7 +144,12 @@ public class SitemapsOrgGenerator extends AbstractGenerator {
 
     @Override
     public boolean useCompression() {
-        return false;
+        return compress;
+    }
+
+    @Override
+    public String getSitemapURL(int number) {
+        return indexURLStem + number + indexURLTail;
     }
 
     @Override
@@ -109,16 +160,29 @@ public class SitemapsOrgGenerator extends AbstractGenerator {
     @Override
     public void writeIndex(PrintStream output, int sitemapCount)
         throws IOException {
-        String now = w3dtfFormat.format(Instant.now());
+        List<String> sitemapURLs = new ArrayList<>(sitemapCount);
+        List<Instant> lastMods = new ArrayList<>(sitemapCount);
+        for (int i = 0; i < sitemapCount; i++) {
+            sitemapURLs.add(getSitemapURL(i));
+            lastMods.add(getLastModified(i));
+        }
+        writeIndex(output, sitemapURLs, lastMods);
+    }
 
+    @Override
+    public void writeIndex(PrintStream output, List<String> sitemapURLs, List<Instant> lastMods)
+        throws IOException {
         output.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
         output
             .println("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">");
 
-        for (int i = 0; i < sitemapCount; i++) {
-            output.print("<sitemap><loc>" + indexURLStem + i + indexURLTail
-                             + "</loc>");
-            output.print("<lastmod>" + now + "</lastmod></sitemap>\n");
+        for (int i = 0; i < sitemapURLs.size(); i++) {
+            output.print("<sitemap><loc>" + sitemapURLs.get(i) + "</loc>");
+            // the date the sitemap file was last written, so that crawlers only fetch the files which changed
+            if (lastMods.get(i) != null) {
+                output.print("<lastmod>" + w3dtfFormat.format(lastMods.get(i)) + "</lastmod>");
+            }
+            output.print("</sitemap>\n");
         }
 
         output.println("</sitemapindex>");
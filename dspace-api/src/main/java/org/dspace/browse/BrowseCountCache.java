@@ -0,0 +1,106 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Shared, bounded cache of the expensive counts computed by the {@link SolrBrowseDAO}: the number of distinct
+ * values of a browse index (a "numBuckets" facet over the whole field) and the offsets used to jump to a value.
+ * These only depend on the browse index, scope, filters and the permissions of the current user, so they can be
+ * reused by every page of the same browse.
+ * <p>
+ * Entries expire after "browse.solr.count-cache.ttl" seconds and the cache holds at most
+ * "browse.solr.count-cache.size" entries, least recently used first out. The whole cache is cleared when the
+ * discovery index is committed by this JVM; the time to live bounds how long changes indexed by other processes
+ * (e.g. the command line tools) can go unnoticed. Solr always remains the source of the counts.
+ */
+public class BrowseCountCache {
+
+    private static final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static class Entry {
+        private final int count;
+        private final long expires;
+
+        Entry(int count, long expires) {
+            this.count = count;
+            this.expires = expires;
+        }
+    }
+
+    /**
+     * Default constructor
+     */
+    private BrowseCountCache() { }
+
+    private static ConfigurationService getConfigurationService() {
+        return DSpaceServicesFactory.getInstance().getConfigurationService();
+    }
+
+    private static long getTimeToLive() {
+        return getConfigurationService().getLongProperty("browse.solr.count-cache.ttl", 300);
+    }
+
+    /**
+     * @param key cache key, identifying the query the count belongs to
+     * @return the cached count, or null if there is no valid entry for this key
+     */
+    public static Integer get(String key) {
+        if (getTimeToLive() <= 0) {
+            return null;
+        }
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expires < System.currentTimeMillis()) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.count;
+        }
+    }
+
+    /**
+     * Cache a count, evicting the least recently used entries if the cache is full.
+     *
+     * @param key   cache key, identifying the query the count belongs to
+     * @param count the count computed by Solr
+     */
+    public static void put(String key, int count) {
+        long ttl = getTimeToLive();
+        if (ttl <= 0) {
+            return;
+        }
+        int maxSize = getConfigurationService().getIntProperty("browse.solr.count-cache.size", 1000);
+        synchronized (entries) {
+            entries.put(key, new Entry(count, System.currentTimeMillis() + ttl * 1000));
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Forget all cached counts, e.g. because the discovery index has changed.
+     */
+    public static void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+}
@@ -173,6 +173,10 @@ public class SolrBrowseDAO implements BrowseDAO {
 
     private DiscoverResult sResponse = null;
 
+    private String distinctCountKey = null;
+
+    private Integer distinctCount = null;
+
     private boolean showFrequencies;
 
     private DiscoverResult getSolrResponse() throws BrowseException {
@@ -208,7 +212,14 @@ public class SolrBrowseDAO implements BrowseDAO {
                 query.addFacetField(dff);
                 query.setFacetMinCount(1);
                 query.setMaxResults(0);
-                query.addProperty("json.facet", jsonFacet.toString());
+
+                // The number of distinct values is the same for every page of this browse, so only
+                // compute it when it is not already cached
+                distinctCountKey = getCountCacheKey(query, "distinct", facetField, startsWith);
+                distinctCount = BrowseCountCache.get(distinctCountKey);
+                if (distinctCount == null) {
+                    query.addProperty("json.facet", jsonFacet.toString());
+                }
             } else {
                 query.setMaxResults(limit/* > 0 ? limit : 20*/);
                 if (offset > 0) {
@@ -241,10 +252,35 @@ public class SolrBrowseDAO implements BrowseDAO {
             } catch (SearchServiceException e) {
                 throw new BrowseException(e);
             }
+            if (distinct) {
+                if (distinctCount != null) {
+                    sResponse.setTotalEntries(distinctCount);
+                } else {
+                    BrowseCountCache.put(distinctCountKey, (int) sResponse.getTotalEntries());
+                }
+            }
         }
         return sResponse;
     }
 
+    /**
+     * Build the key under which a count is cached in the {@link BrowseCountCache}. Besides the given parts, the
+     * key contains the filter queries of the query (scope and default filters) and the identity of the current
+     * user, as the discovery results are restricted to what the current user is allowed to see.
+     */
+    private String getCountCacheKey(DiscoverQuery query, String... parts) {
+        StringBuilder key = new StringBuilder();
+        for (String part : parts) {
+            key.append(part).append('\u0000');
+        }
+        for (String filterQuery : query.getFilterQueries()) {
+            key.append(filterQuery).append('\u0000');
+        }
+        key.append(context.getCurrentUser() != null ? context.getCurrentUser().getID() : "anonymous");
+        context.getSpecialGroupUuids().stream().sorted().forEach(group -> key.append(',').append(group));
+        return key.toString();
+    }
+
     private void addLocationScopeFilter(DiscoverQuery query) {
         if (container != null) {
             if (containerIDField.startsWith("collection")) {
@@ -367,13 +403,20 @@ public class SolrBrowseDAO implements BrowseDAO {
             query.setQuery("bi_" + column + "_sort" + ": {\"" + value + "\" TO *]");
             query.addFilterQueries("-(bi_" + column + "_sort" + ":" + value + "*)");
         }
+        String key = getCountCacheKey(query, "offset", query.getQuery());
+        Integer cached = BrowseCountCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
         DiscoverResult resp = null;
         try {
             resp = searcher.search(context, query);
         } catch (SearchServiceException e) {
             throw new BrowseException(e);
         }
-        return (int) resp.getTotalSearchResults();
+        int count = (int) resp.getTotalSearchResults();
+        BrowseCountCache.put(key, count);
+        return count;
     }
 
     @Override
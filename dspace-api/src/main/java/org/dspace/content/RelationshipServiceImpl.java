@@ -232,51 +232,66 @@ public class RelationshipServiceImpl implements RelationshipService {
         Item leftItem = relationship.getLeftItem();
         Item rightItem = relationship.getRightItem();
 
+        // For new relationships added to the end, this will be -1.
+        // For new relationships added at a specific position, this will contain that position.
+        // For existing relationships, this will contain the place before it was moved.
+        // For deleted relationships, this will contain the place before it was deleted.
+        int oldLeftPlace = relationship.getLeftPlace();
+        int oldRightPlace = relationship.getRightPlace();
+
+        // Appending to the end of a list never shifts any siblings, so only the last place is needed on that side.
+        // This avoids loading every sibling relationship of items with a large number of relationships.
+        boolean appendLeft = insertLeft && newLeftPlace == null && oldLeftPlace == -1;
+        boolean appendRight = insertRight && newRightPlace == null && oldRightPlace == -1;
+
         // These list also include the non-latest. This is relevant to determine whether it's deleted.
         // This can also imply there may be overlapping places, and/or the given relationship will overlap
         // But the shift will allow this, and only happen when needed based on the latest status
-        List<Relationship> leftRelationships = findByItemAndRelationshipType(
+        List<Relationship> leftRelationships = appendLeft ? new ArrayList<>() : findByItemAndRelationshipType(
             context, leftItem, relationship.getRelationshipType(), true, -1, -1, false
         );
-        List<Relationship> rightRelationships = findByItemAndRelationshipType(
+        List<Relationship> rightRelationships = appendRight ? new ArrayList<>() : findByItemAndRelationshipType(
             context, rightItem, relationship.getRelationshipType(), false, -1, -1, false
         );
 
         // These relationships are only deleted from the temporary lists in case they're present in them so that we can
         // properly perform our place calculation later down the line in this method.
-        boolean deletedFromLeft = !leftRelationships.contains(relationship);
-        boolean deletedFromRight = !rightRelationships.contains(relationship);
+        boolean deletedFromLeft = !appendLeft && !leftRelationships.contains(relationship);
+        boolean deletedFromRight = !appendRight && !rightRelationships.contains(relationship);
         leftRelationships.remove(relationship);
         rightRelationships.remove(relationship);
 
         List<MetadataValue> leftMetadata = getSiblingMetadata(leftItem, relationship, true);
         List<MetadataValue> rightMetadata = getSiblingMetadata(rightItem, relationship, false);
 
-        // For new relationships added to the end, this will be -1.
-        // For new relationships added at a specific position, this will contain that position.
-        // For existing relationships, this will contain the place before it was moved.
-        // For deleted relationships, this will contain the place before it was deleted.
-        int oldLeftPlace = relationship.getLeftPlace();
-        int oldRightPlace = relationship.getRightPlace();
-
-
-        boolean movedUpLeft = resolveRelationshipPlace(
-            relationship, true, leftRelationships, leftMetadata, oldLeftPlace, newLeftPlace
-        );
-        boolean movedUpRight = resolveRelationshipPlace(
-            relationship, false, rightRelationships, rightMetadata, oldRightPlace, newRightPlace
-        );
+        boolean movedUpLeft = false;
+        boolean movedUpRight = false;
+        if (appendLeft) {
+            setPlace(relationship, true, getNextPlace(context, leftItem, relationship, leftMetadata, true));
+        } else {
+            movedUpLeft = resolveRelationshipPlace(
+                relationship, true, leftRelationships, leftMetadata, oldLeftPlace, newLeftPlace
+            );
+        }
+        if (appendRight) {
+            setPlace(relationship, false, getNextPlace(context, rightItem, relationship, rightMetadata, false));
+        } else {
+            movedUpRight = resolveRelationshipPlace(
+                relationship, false, rightRelationships, rightMetadata, oldRightPlace, newRightPlace
+            );
+        }
 
         context.turnOffAuthorisationSystem();
 
         //only shift if the place is relevant for the latest relationships
-        if (relationshipVersioningUtils.otherSideIsLatest(true, relationship.getLatestVersionStatus())) {
+        if (!appendLeft && relationshipVersioningUtils.otherSideIsLatest(true, relationship.getLatestVersionStatus())) {
             shiftSiblings(
                 relationship, true, oldLeftPlace, movedUpLeft, insertLeft, deletedFromLeft,
                 leftRelationships, leftMetadata
             );
         }
-        if (relationshipVersioningUtils.otherSideIsLatest(false, relationship.getLatestVersionStatus())) {
+        if (!appendRight
+            && relationshipVersioningUtils.otherSideIsLatest(false, relationship.getLatestVersionStatus())) {
             shiftSiblings(
                 relationship, false, oldRightPlace, movedUpRight, insertRight, deletedFromRight,
                 rightRelationships, rightMetadata
@@ -409,6 +424,28 @@ public class RelationshipServiceImpl implements RelationshipService {
                      .orElse(0);
     }
 
+    /**
+     * Return the index of the next place in the given Item for Relationships of the type of the given Relationship,
+     * taking the sibling MDVs into account. Unlike {@link #getNextPlace(List, List, boolean)} the sibling
+     * Relationships are not loaded; only their highest place is queried.
+     * @param item          the Item on the given side of the Relationship
+     * @param relationship  the Relationship that's being appended; its own place is ignored
+     * @param metadata      the list of sibling MDVs
+     * @param isLeft        whether to take the left or right place of each Relationship
+     */
+    private int getNextPlace(
+        Context context, Item item, Relationship relationship, List<MetadataValue> metadata, boolean isLeft
+    ) throws SQLException {
+        Integer maxRelationshipPlace = relationshipDAO.findMaxPlaceByItemAndRelationshipType(
+            context, item, relationship.getRelationshipType(), isLeft, relationship
+        );
+        int nextPlace = maxRelationshipPlace != null ? maxRelationshipPlace + 1 : 0;
+        for (MetadataValue mdv : metadata) {
+            nextPlace = Math.max(nextPlace, mdv.getPlace() + 1);
+        }
+        return nextPlace;
+    }
+
     /**
      * Adjust the left/right place of sibling Relationships and MDVs
      *
@@ -623,23 +660,15 @@ public class RelationshipServiceImpl implements RelationshipService {
     public List<Relationship> findByItem(
         Context context, Item item, Integer limit, Integer offset, boolean excludeTilted, boolean excludeNonLatest
     ) throws SQLException {
-        List<Relationship> list =
-            relationshipDAO.findByItem(context, item, limit, offset, excludeTilted, excludeNonLatest);
-
-        list.sort((o1, o2) -> {
-            int relationshipType = o1.getRelationshipType().getLeftwardType()
-                .compareTo(o2.getRelationshipType().getLeftwardType());
-            if (relationshipType != 0) {
-                return relationshipType;
-            } else {
-                if (o1.getLeftItem() == item) {
-                    return o1.getLeftPlace() - o2.getLeftPlace();
-                } else {
-                    return o1.getRightPlace() - o2.getRightPlace();
-                }
-            }
-        });
-        return list;
+        // The DAO orders by relationship type, place within the item and id, so that pages are consistent
+        return relationshipDAO.findByItem(context, item, limit, offset, excludeTilted, excludeNonLatest);
+    }
+
+    @Override
+    public List<Relationship> findByItemAfter(
+        Context context, Item item, Relationship after, int limit, boolean excludeTilted, boolean excludeNonLatest
+    ) throws SQLException {
+        return relationshipDAO.findByItemAfter(context, item, after, limit, excludeTilted, excludeNonLatest);
     }
 
     @Override
@@ -1024,6 +1053,16 @@ public class RelationshipServiceImpl implements RelationshipService {
             .findByItemAndRelationshipType(context, item, relationshipType, isLeft, limit, offset, excludeNonLatest);
     }
 
+    @Override
+    public List<Relationship> findByItemAndRelationshipTypeAfter(
+        Context context, Item item, RelationshipType relationshipType, boolean isLeft, Relationship after, int limit,
+        boolean excludeNonLatest
+    ) throws SQLException {
+        return relationshipDAO.findByItemAndRelationshipTypeAfter(
+            context, item, relationshipType, isLeft, after, limit, excludeNonLatest
+        );
+    }
+
     @Override
     public List<ItemUuidAndRelationshipId> findByLatestItemAndRelationshipType(
         Context context, Item latestItem, RelationshipType relationshipType, boolean isLeft
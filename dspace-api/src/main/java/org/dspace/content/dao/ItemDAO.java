@@ -11,6 +11,7 @@ import java.sql.SQLException;
 import java.time.Instant;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import org.dspace.content.Collection;
@@ -215,4 +216,15 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
                    boolean discoverable)
         throws SQLException;
 
+    /**
+     * Load the items with the given ids together with their bundles, and the bitstreams of these bundles, using
+     * two queries. The bundles of items already in the session are initialized as well.
+     *
+     * @param context context
+     * @param ids     ids of the items
+     * @return the items found
+     * @throws SQLException if database error
+     */
+    List<Item> findByIdsWithBundles(Context context, Set<UUID> ids) throws SQLException;
+
 }
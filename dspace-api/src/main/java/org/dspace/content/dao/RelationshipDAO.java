@@ -62,6 +62,27 @@ public interface RelationshipDAO extends GenericDAO<Relationship> {
         Context context, Item item, Integer limit, Integer offset, boolean excludeTilted, boolean excludeNonLatest
     ) throws SQLException;
 
+    /**
+     * This method returns a page of Relationship objects that have the given Item object as a leftItem or a
+     * rightItem, using keyset pagination instead of an offset. Relationships are ordered by relationship type,
+     * then by their place on the side of the given item, then by id. Only relationships that come strictly after
+     * the given relationship in that order are returned. Each side is read with a query that starts at the given
+     * relationship in the (item, type, place, id) index of that side, so deep pages cost the same as the first one.
+     * @param context           The relevant DSpace context
+     * @param item              The item that should be either a leftItem or a rightItem of all
+     *                          the Relationship objects in the returned list
+     * @param after             The last relationship of the previous page, or null to start at the first page
+     * @param limit             The maximum number of relationships to return
+     * @param excludeTilted     If true, excludes tilted relationships
+     * @param excludeNonLatest  If true, excludes all relationships for which the other item has a more recent version
+     *                          that is relevant for this relationship
+     * @return                  The page of Relationship objects following the given relationship
+     * @throws SQLException     If something goes wrong
+     */
+    List<Relationship> findByItemAfter(
+        Context context, Item item, Relationship after, int limit, boolean excludeTilted, boolean excludeNonLatest
+    ) throws SQLException;
+
     /**
      * This method returns a list of Relationship objects for the given RelationshipType object.
      * It will construct a list of all Relationship objects that have the given RelationshipType object
@@ -130,6 +151,40 @@ public interface RelationshipDAO extends GenericDAO<Relationship> {
         boolean excludeNonLatest
     ) throws SQLException;
 
+    /**
+     * This method returns a page of Relationship objects of the given RelationshipType for which the given Item is
+     * on the given side, using keyset pagination on (place, id) instead of an offset.
+     * @param context           The relevant DSpace context
+     * @param item              item to filter by
+     * @param relationshipType  The RelationshipType object to be checked on
+     * @param isLeft            Is item left or right
+     * @param after             The last relationship of the previous page, or null to start at the first page
+     * @param limit             The maximum number of relationships to return
+     * @param excludeNonLatest  If true, excludes all relationships for which the other item has a more recent version
+     *                          that is relevant for this relationship
+     * @return  The page of Relationship objects following the given relationship, ordered by place and id
+     * @throws SQLException If something goes wrong
+     */
+    List<Relationship> findByItemAndRelationshipTypeAfter(
+        Context context, Item item, RelationshipType relationshipType, boolean isLeft, Relationship after, int limit,
+        boolean excludeNonLatest
+    ) throws SQLException;
+
+    /**
+     * This method returns the highest place used by the relationships of the given RelationshipType for which the
+     * given Item is on the given side, ignoring the given relationship. Non-latest relationships are included.
+     * @param context           The relevant DSpace context
+     * @param item              item to filter by
+     * @param relationshipType  The RelationshipType object to be checked on
+     * @param isLeft            Is item left or right
+     * @param excluded          The relationship to ignore, e.g. the one whose place is being calculated
+     * @return  The highest place, or null if there are no such relationships
+     * @throws SQLException If something goes wrong
+     */
+    Integer findMaxPlaceByItemAndRelationshipType(
+        Context context, Item item, RelationshipType relationshipType, boolean isLeft, Relationship excluded
+    ) throws SQLException;
+
     /**
      * This method returns the UUIDs of all items that have a relationship with the given item, from the perspective
      * of the other item. In other words, given a relationship with the given item, the given item should have
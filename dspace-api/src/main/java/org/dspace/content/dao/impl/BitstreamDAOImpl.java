@@ -98,9 +98,7 @@ public class BitstreamDAOImpl extends AbstractHibernateDSODAO<Bitstream> impleme
 
         // Transform into a query object to execute
         Query query = createQuery(context, criteriaQuery);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Bitstream>(context, uuids, Bitstream.class, this);
+        return new UUIDIterator<Bitstream>(context, query, Bitstream.class, this);
     }
 
     @Override
@@ -119,9 +117,7 @@ public class BitstreamDAOImpl extends AbstractHibernateDSODAO<Bitstream> impleme
 
         // Transform into a query object to execute
         Query query = createQuery(context, criteriaQuery);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Bitstream>(context, uuids, Bitstream.class, this);
+        return new UUIDIterator<Bitstream>(context, query, Bitstream.class, this);
     }
 
     @Override
@@ -139,18 +135,14 @@ public class BitstreamDAOImpl extends AbstractHibernateDSODAO<Bitstream> impleme
 
         // Transform into a query object to execute
         Query query = createQuery(context, criteriaQuery);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Bitstream>(context, uuids, Bitstream.class, this);
+        return new UUIDIterator<Bitstream>(context, query, Bitstream.class, this);
     }
 
     @Override
     public Iterator<Bitstream> findByStoreNumber(Context context, Integer storeNumber) throws SQLException {
         Query query = createQuery(context, "select b.id from Bitstream b where b.storeNumber = :storeNumber");
         query.setParameter("storeNumber", storeNumber);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Bitstream>(context, uuids, Bitstream.class, this);
+        return new UUIDIterator<Bitstream>(context, query, Bitstream.class, this);
     }
 
     @Override
@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import jakarta.persistence.Query;
@@ -56,9 +57,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
     public Iterator<Item> findAll(Context context, boolean archived) throws SQLException {
         Query query = createQuery(context, "SELECT i.id FROM Item i WHERE inArchive=:in_archive ORDER BY id");
         query.setParameter("in_archive", archived);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, query, Item.class, this);
     }
 
     @Override
@@ -67,9 +66,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         query.setParameter("in_archive", archived);
         query.setFirstResult(offset);
         query.setMaxResults(limit);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, query, Item.class, this);
     }
 
 
@@ -79,9 +76,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
                 "SELECT i.id FROM Item i WHERE inArchive=:in_archive or withdrawn=:withdrawn ORDER BY id");
         query.setParameter("in_archive", archived);
         query.setParameter("withdrawn", withdrawn);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, query, Item.class, this);
     }
 
     @Override
@@ -95,9 +90,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
             "WHERE i.inArchive=true or i.withdrawn=true or (i.inArchive=false and v.id IS NOT NULL) " +
             "ORDER BY i.id"
         );
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, query, Item.class, this);
     }
 
     @Override
@@ -121,9 +114,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         if (lastModified != null) {
             query.setParameter("last_modified", lastModified);
         }
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, query, Item.class, this);
     }
 
     @Override
@@ -132,9 +123,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
                 "SELECT i.id FROM Item i WHERE inArchive=:in_archive and submitter=:submitter ORDER BY id");
         query.setParameter("in_archive", true);
         query.setParameter("submitter", eperson);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, query, Item.class, this);
     }
 
     @Override
@@ -145,9 +134,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         }
         Query query = createQuery(context, "SELECT i.id FROM Item i WHERE submitter=:submitter ORDER BY id");
         query.setParameter("submitter", eperson);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, query, Item.class, this);
     }
 
     @Override
@@ -166,9 +153,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         hibernateQuery.setParameter("in_archive", true);
         hibernateQuery.setParameter("submitter", eperson);
         hibernateQuery.setMaxResults(limit);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = hibernateQuery.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, hibernateQuery, Item.class, this);
     }
 
     @Override
@@ -186,9 +171,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         if (value != null) {
             query.setParameter("text_value", value);
         }
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, query, Item.class, this);
     }
 
     @Override
@@ -299,9 +282,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         query.setParameter("in_archive", inArchive);
         query.setParameter("metadata_field", metadataField);
         query.setParameter("authority", authority);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, query, Item.class, this);
     }
 
     @Override
@@ -325,24 +306,29 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         if (limit != null) {
             query.setMaxResults(limit);
         }
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, query, Item.class, this);
     }
 
     @Override
     public Iterator<Item> findArchivedByCollectionExcludingOwning(Context context, Collection collection, Integer limit,
                                                                   Integer offset) throws SQLException {
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
-        CriteriaQuery<Item> criteriaQuery = getCriteriaQuery(criteriaBuilder, Item.class);
+        CriteriaQuery<UUID> criteriaQuery = criteriaBuilder.createQuery(UUID.class);
         Root<Item> itemRoot = criteriaQuery.from(Item.class);
-        criteriaQuery.select(itemRoot);
+        criteriaQuery.select(itemRoot.get(Item_.id));
         criteriaQuery.where(criteriaBuilder.and(
                 criteriaBuilder.notEqual(itemRoot.get(Item_.owningCollection), collection),
                 criteriaBuilder.isMember(collection, itemRoot.get(Item_.collections)),
                 criteriaBuilder.isTrue(itemRoot.get(Item_.inArchive))));
         criteriaQuery.orderBy(criteriaBuilder.asc(itemRoot.get(DSpaceObject_.id)));
-        return list(context, criteriaQuery, false, Item.class, limit, offset).iterator();
+        Query query = createQuery(context, criteriaQuery);
+        if (offset != null) {
+            query.setFirstResult(offset);
+        }
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        return new UUIDIterator<Item>(context, query, Item.class, this);
     }
 
     @Override
@@ -370,9 +356,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
 
         // Transform into a query object to execute
         Query query = createQuery(context, criteriaQuery);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, query, Item.class, this);
     }
 
     @Override
@@ -394,9 +378,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         if (limit != null) {
             query.setMaxResults(limit);
         }
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, query, Item.class, this);
     }
 
     @Override
@@ -442,9 +424,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         Query query = createQuery(context,
                 "SELECT i.id FROM Item i WHERE lastModified > :last_modified ORDER BY id");
         query.setParameter("last_modified", since);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, query, Item.class, this);
     }
 
     @Override
@@ -479,4 +459,22 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         return count(query);
 
     }
+
+    @Override
+    public List<Item> findByIdsWithBundles(Context context, Set<UUID> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Query query = createQuery(context,
+                "SELECT DISTINCT i FROM Item i LEFT JOIN FETCH i.bundles WHERE i.id IN (:ids)");
+        query.setParameter("ids", ids);
+        List<Item> items = list(query);
+
+        // Fetching the bitstreams in the same query would multiply the rows returned for each item
+        Query bundleQuery = createQuery(context,
+                "SELECT DISTINCT b FROM Bundle b JOIN b.items i LEFT JOIN FETCH b.bitstreams WHERE i.id IN (:ids)");
+        bundleQuery.setParameter("ids", ids);
+        bundleQuery.getResultList();
+        return items;
+    }
 }
@@ -9,6 +9,7 @@ package org.dspace.content.dao.impl;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -17,6 +18,9 @@ import jakarta.persistence.Query;
 import jakarta.persistence.Tuple;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import org.dspace.content.Item;
@@ -56,8 +60,145 @@ public class RelationshipDAOImpl extends AbstractHibernateDAO<Relationship> impl
                 getRightItemPredicate(criteriaBuilder, relationshipRoot, item, excludeTilted, excludeNonLatest)
             )
         );
+        criteriaQuery.orderBy(getItemOrder(criteriaBuilder, relationshipRoot, item));
 
-        return list(context, criteriaQuery, false, Relationship.class, limit, offset);
+        return list(context, criteriaQuery, false, Relationship.class, limit, offset, false);
+    }
+
+    @Override
+    public List<Relationship> findByItemAfter(
+        Context context, Item item, Relationship after, int limit, boolean excludeTilted, boolean excludeNonLatest
+    ) throws SQLException {
+        // each side is read with its own query, which the (item, type, place, id) index of that side can serve,
+        // and the two sorted pages are merged
+        List<Relationship> leftPage =
+            findBySideAfter(context, item, true, after, limit, excludeTilted, excludeNonLatest);
+        List<Relationship> rightPage =
+            findBySideAfter(context, item, false, after, limit, excludeTilted, excludeNonLatest);
+
+        List<Relationship> relationships = new ArrayList<>(leftPage.size() + rightPage.size());
+        relationships.addAll(leftPage);
+        relationships.addAll(rightPage);
+        relationships.sort(getItemComparator(item));
+        if (limit >= 0 && relationships.size() > limit) {
+            return new ArrayList<>(relationships.subList(0, limit));
+        }
+        return relationships;
+    }
+
+    /**
+     * Get a page of the relationships which have the given item on the given side, in the order of
+     * {@link #getItemOrder}, starting right after the given relationship.
+     * @param context           the DSpace context.
+     * @param item              the item that is being searched for.
+     * @param isLeft            whether the item is the left item or the right item of the relationships.
+     * @param after             the last relationship of the previous page, or null to start at the first page.
+     * @param limit             the maximum number of relationships to return.
+     * @param excludeTilted     if true, exclude tilted relationships.
+     * @param excludeNonLatest  if true, exclude relationships for which the opposite item is not the latest version
+     *                          that is relevant.
+     * @return the page of relationships.
+     * @throws SQLException if database error
+     */
+    protected List<Relationship> findBySideAfter(
+        Context context, Item item, boolean isLeft, Relationship after, int limit, boolean excludeTilted,
+        boolean excludeNonLatest
+    ) throws SQLException {
+        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
+        CriteriaQuery<Relationship> criteriaQuery = getCriteriaQuery(criteriaBuilder, Relationship.class);
+        Root<Relationship> relationshipRoot = criteriaQuery.from(Relationship.class);
+        criteriaQuery.select(relationshipRoot);
+
+        Path<Integer> typePath = relationshipRoot.get(Relationship_.relationshipType).get(RelationshipType_.id);
+        Path<Integer> placePath = relationshipRoot.get(isLeft ? Relationship_.leftPlace : Relationship_.rightPlace);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (isLeft) {
+            predicates.add(getLeftItemPredicate(criteriaBuilder, relationshipRoot, item, excludeTilted,
+                                                excludeNonLatest));
+        } else {
+            predicates.add(getRightItemPredicate(criteriaBuilder, relationshipRoot, item, excludeTilted,
+                                                 excludeNonLatest));
+            // a relationship of the item with itself is listed once, with its left place
+            predicates.add(criteriaBuilder.notEqual(relationshipRoot.get(Relationship_.leftItem), item));
+        }
+
+        if (after != null) {
+            // only return relationships that sort strictly after (type, place, id) of the given relationship; the
+            // bound on the type alone lets the database start the index scan at the type of the given relationship
+            int afterType = after.getRelationshipType().getID();
+            int afterPlace = item.equals(after.getLeftItem()) ? after.getLeftPlace() : after.getRightPlace();
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(typePath, afterType));
+            predicates.add(
+                criteriaBuilder.or(
+                    criteriaBuilder.greaterThan(typePath, afterType),
+                    criteriaBuilder.greaterThan(placePath, afterPlace),
+                    criteriaBuilder.and(
+                        criteriaBuilder.equal(placePath, afterPlace),
+                        criteriaBuilder.greaterThan(relationshipRoot.get(Relationship_.id), after.getID())
+                    )
+                )
+            );
+        }
+
+        criteriaQuery.where(predicates.toArray(new Predicate[]{}));
+        criteriaQuery.orderBy(
+            criteriaBuilder.asc(typePath),
+            criteriaBuilder.asc(placePath),
+            criteriaBuilder.asc(relationshipRoot.get(Relationship_.id))
+        );
+
+        return list(context, criteriaQuery, false, Relationship.class, limit, -1, false);
+    }
+
+    /**
+     * Get the place of a relationship on the side of the given item, i.e. the left place if the item is the left
+     * item and the right place otherwise.
+     * @param criteriaBuilder   the criteria builder.
+     * @param relationshipRoot  the relationship root.
+     * @param item              the item that is being searched for.
+     * @return an expression resolving to the place of the relationship within the given item.
+     */
+    protected Expression<Integer> getPlaceExpression(
+        CriteriaBuilder criteriaBuilder, Root<Relationship> relationshipRoot, Item item
+    ) {
+        return criteriaBuilder.<Integer>selectCase()
+            .when(
+                criteriaBuilder.equal(relationshipRoot.get(Relationship_.leftItem), item),
+                relationshipRoot.get(Relationship_.leftPlace)
+            )
+            .otherwise(relationshipRoot.get(Relationship_.rightPlace));
+    }
+
+    /**
+     * Get the ordering used when listing the relationships of an item: by relationship type, then by the place on
+     * the side of the given item, then by id to make the order total. This is the order of the indexes on
+     * (left_id, type_id, left_place, id) and (right_id, type_id, right_place, id).
+     * @param criteriaBuilder   the criteria builder.
+     * @param relationshipRoot  the relationship root.
+     * @param item              the item that is being searched for.
+     * @return the list of orders to apply to the criteria query.
+     */
+    protected List<Order> getItemOrder(
+        CriteriaBuilder criteriaBuilder, Root<Relationship> relationshipRoot, Item item
+    ) {
+        return List.of(
+            criteriaBuilder.asc(relationshipRoot.get(Relationship_.relationshipType).get(RelationshipType_.id)),
+            criteriaBuilder.asc(getPlaceExpression(criteriaBuilder, relationshipRoot, item)),
+            criteriaBuilder.asc(relationshipRoot.get(Relationship_.id))
+        );
+    }
+
+    /**
+     * Get the comparator matching {@link #getItemOrder}, to merge sorted lists of relationships of an item.
+     * @param item  the item that is being searched for.
+     * @return the comparator of the relationships of the given item.
+     */
+    protected Comparator<Relationship> getItemComparator(Item item) {
+        return Comparator.<Relationship, Integer>comparing(relationship -> relationship.getRelationshipType().getID())
+            .thenComparing(relationship -> item.equals(relationship.getLeftItem()) ? relationship.getLeftPlace()
+                                                                                   : relationship.getRightPlace())
+            .thenComparing(Relationship::getID);
     }
 
     /**
@@ -249,6 +390,79 @@ public class RelationshipDAOImpl extends AbstractHibernateDAO<Relationship> impl
         return list(context, criteriaQuery, true, Relationship.class, limit, offset);
     }
 
+    @Override
+    public List<Relationship> findByItemAndRelationshipTypeAfter(
+        Context context, Item item, RelationshipType relationshipType, boolean isLeft, Relationship after, int limit,
+        boolean excludeNonLatest
+    ) throws SQLException {
+        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
+        CriteriaQuery<Relationship> criteriaQuery = getCriteriaQuery(criteriaBuilder, Relationship.class);
+        Root<Relationship> relationshipRoot = criteriaQuery.from(Relationship.class);
+        criteriaQuery.select(relationshipRoot);
+
+        Path<Integer> placePath = relationshipRoot.get(isLeft ? Relationship_.leftPlace : Relationship_.rightPlace);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(
+            criteriaBuilder.equal(relationshipRoot.get(Relationship_.relationshipType), relationshipType)
+        );
+        if (isLeft) {
+            predicates.add(getLeftItemPredicate(criteriaBuilder, relationshipRoot, item, false, excludeNonLatest));
+        } else {
+            predicates.add(getRightItemPredicate(criteriaBuilder, relationshipRoot, item, false, excludeNonLatest));
+        }
+
+        if (after != null) {
+            // only return relationships that sort strictly after (place, id) of the given relationship
+            int afterPlace = isLeft ? after.getLeftPlace() : after.getRightPlace();
+            predicates.add(
+                criteriaBuilder.or(
+                    criteriaBuilder.greaterThan(placePath, afterPlace),
+                    criteriaBuilder.and(
+                        criteriaBuilder.equal(placePath, afterPlace),
+                        criteriaBuilder.greaterThan(relationshipRoot.get(Relationship_.id), after.getID())
+                    )
+                )
+            );
+        }
+
+        criteriaQuery.where(predicates.toArray(new Predicate[]{}));
+        criteriaQuery.orderBy(
+            criteriaBuilder.asc(placePath),
+            criteriaBuilder.asc(relationshipRoot.get(Relationship_.id))
+        );
+
+        return list(context, criteriaQuery, false, Relationship.class, limit, -1, false);
+    }
+
+    @Override
+    public Integer findMaxPlaceByItemAndRelationshipType(
+        Context context, Item item, RelationshipType relationshipType, boolean isLeft, Relationship excluded
+    ) throws SQLException {
+        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
+        CriteriaQuery<Integer> criteriaQuery = criteriaBuilder.createQuery(Integer.class);
+        Root<Relationship> relationshipRoot = criteriaQuery.from(Relationship.class);
+        criteriaQuery.select(
+            criteriaBuilder.max(relationshipRoot.get(isLeft ? Relationship_.leftPlace : Relationship_.rightPlace))
+        );
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(
+            criteriaBuilder.equal(relationshipRoot.get(Relationship_.relationshipType), relationshipType)
+        );
+        predicates.add(
+            criteriaBuilder.equal(relationshipRoot.get(isLeft ? Relationship_.leftItem : Relationship_.rightItem), item)
+        );
+        if (excluded != null && excluded.getID() != null) {
+            predicates.add(
+                criteriaBuilder.notEqual(relationshipRoot.get(Relationship_.id), excluded.getID())
+            );
+        }
+        criteriaQuery.where(predicates.toArray(new Predicate[]{}));
+
+        return getHibernateSession(context).createQuery(criteriaQuery).getSingleResult();
+    }
+
     @Override
     public List<ItemUuidAndRelationshipId> findByLatestItemAndRelationshipType(
         Context context, Item latestItem, RelationshipType relationshipType, boolean isLeft
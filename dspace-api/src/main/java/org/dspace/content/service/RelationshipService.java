@@ -70,6 +70,26 @@ public interface RelationshipService extends DSpaceCRUDService<Relationship> {
         Context context, Item item, Integer limit, Integer offset, boolean excludeTilted, boolean excludeNonLatest
     ) throws SQLException;
 
+    /**
+     * Retrieves a page of Relationships for which the given Item is either a leftItem or a rightItem object, using
+     * keyset pagination. Relationships are ordered by relationship type, then by their place within the given Item,
+     * then by id; the page starts right after the given relationship. Unlike offset based paging the cost of a page
+     * does not depend on how deep it is.
+     * @param context           The relevant DSpace context
+     * @param item              The Item that has to be the left or right item for the relationship to be
+     *                          included in the list
+     * @param after             The last relationship of the previous page, or null for the first page
+     * @param limit             The maximum number of relationships to return
+     * @param excludeTilted     If true, excludes tilted relationships
+     * @param excludeNonLatest  If true, excludes all relationships for which the other item has a more recent version
+     *                          that is relevant for this relationship
+     * @return                  The page of relationships following the given relationship
+     * @throws SQLException     If something goes wrong
+     */
+    List<Relationship> findByItemAfter(
+        Context context, Item item, Relationship after, int limit, boolean excludeTilted, boolean excludeNonLatest
+    ) throws SQLException;
+
     /**
      * Retrieves the full list of relationships currently in the system
      * @param context   The relevant DSpace context
@@ -227,6 +247,26 @@ public interface RelationshipService extends DSpaceCRUDService<Relationship> {
         boolean excludeNonLatest
     ) throws SQLException;
 
+    /**
+     * This method returns a page of Relationships of the given RelationshipType for which the given Item is on the
+     * given side, ordered by place and id, starting right after the given relationship (keyset pagination).
+     * NOTE: tilted relationships are NEVER excluded when fetching one relationship type
+     * @param context            The relevant DSpace context
+     * @param item               The Item object to be matched on the leftItem or rightItem for the relationship
+     * @param relationshipType   The RelationshipType object that will be used to check the Relationship on
+     * @param isLeft             Is the item left or right
+     * @param after              The last relationship of the previous page, or null for the first page
+     * @param limit              The maximum number of relationships to return
+     * @param excludeNonLatest   If true, excludes all relationships for which the other item has a more recent version
+     *                           that is relevant for this relationship
+     * @return  The page of Relationship objects following the given relationship
+     * @throws SQLException If something goes wrong
+     */
+    public List<Relationship> findByItemAndRelationshipTypeAfter(
+        Context context, Item item, RelationshipType relationshipType, boolean isLeft, Relationship after, int limit,
+        boolean excludeNonLatest
+    ) throws SQLException;
+
     /**
      * This method returns the UUIDs of all items that have a relationship with the given item, from the perspective
      * of the other item. In other words, given a relationship with the given item, the given item should have
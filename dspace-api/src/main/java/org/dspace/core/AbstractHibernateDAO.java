@@ -12,7 +12,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Stream;
 
 import com.google.common.collect.AbstractIterator;
 import jakarta.persistence.Query;
@@ -21,6 +20,8 @@ import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Root;
 import org.apache.commons.collections.CollectionUtils;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 
 /**
@@ -40,12 +41,14 @@ public abstract class AbstractHibernateDAO<T> implements GenericDAO<T> {
     @Override
     public T create(Context context, T t) throws SQLException {
         getHibernateSession(context).persist(t);
+        context.entityWritten();
         return t;
     }
 
     @Override
     public void save(Context context, T t) throws SQLException {
         //Isn't required, is just here for other DB implementation. Hibernate auto keeps track of changes.
+        context.entityWritten();
     }
 
    /**
@@ -302,7 +305,9 @@ public abstract class AbstractHibernateDAO<T> implements GenericDAO<T> {
     }
 
     /**
-     * This method will return an Iterator for the given Query
+     * This method will return an Iterator for the given Query. The results are read with a forward-only database
+     * cursor, "db.iterate.fetch-size" rows at a time, instead of being loaded in memory all at once. The cursor is
+     * closed once the last result has been read, so the iterator must be used within the current transaction.
      *
      * @param query
      *         The query for which an Iterator will be made
@@ -310,17 +315,17 @@ public abstract class AbstractHibernateDAO<T> implements GenericDAO<T> {
      */
     public Iterator<T> iterate(Query query) {
         @SuppressWarnings("unchecked")
-        org.hibernate.query.Query hquery = query.unwrap(org.hibernate.query.Query.class);
-        Stream<T> stream = hquery.stream();
-        Iterator<T> iter = stream.iterator();
+        org.hibernate.query.Query<T> hquery = query.unwrap(org.hibernate.query.Query.class);
+        hquery.setFetchSize(UUIDIterator.getFetchSize());
+        ScrollableResults<T> results = hquery.scroll(ScrollMode.FORWARD_ONLY);
         return new AbstractIterator<T>() {
             @Override
             protected T computeNext() {
-                return iter.hasNext() ? iter.next() : endOfData();
-            }
-            @Override
-            public void finalize() {
-                stream.close();
+                if (results.next()) {
+                    return results.get();
+                }
+                results.close();
+                return endOfData();
             }
         };
     }
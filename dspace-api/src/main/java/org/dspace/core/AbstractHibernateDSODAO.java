@@ -10,6 +10,7 @@ package org.dspace.core;
 import java.sql.SQLException;
 import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
@@ -18,6 +19,7 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.DSpaceObject_;
 import org.dspace.content.MetadataField;
 
 /**
@@ -51,6 +53,23 @@ public abstract class AbstractHibernateDSODAO<T extends DSpaceObject> extends Ab
         return uniqueResult(context, criteriaQuery, false, clazz);
     }
 
+    /**
+     * Find the DSOs with the given UUIDs using a single query. UUIDs which do not exist (anymore) are ignored.
+     * @param context current DSpace context.
+     * @param clazz DSO subtype of the records.
+     * @param ids the UUIDs of the records.
+     * @return the records found, in no particular order.
+     * @throws SQLException
+     */
+    public List<T> findByIds(Context context, Class<T> clazz, Collection<UUID> ids) throws SQLException {
+        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
+        CriteriaQuery<T> criteriaQuery = getCriteriaQuery(criteriaBuilder, clazz);
+        Root<T> root = criteriaQuery.from(clazz);
+        criteriaQuery.select(root);
+        criteriaQuery.where(root.get(DSpaceObject_.id).in(ids));
+        return list(context, criteriaQuery, false, clazz, -1, -1, false);
+    }
+
     /**
      * Add left outer join on all metadata fields which are passed to this function.
      * The identifier of the join will be the toString() representation of the metadata field.
@@ -10,10 +10,12 @@ package org.dspace.core;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
@@ -30,6 +32,7 @@ import org.dspace.event.Dispatcher;
 import org.dspace.event.Event;
 import org.dspace.event.factory.EventServiceFactory;
 import org.dspace.event.service.EventService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.storage.rdbms.DatabaseConfigVO;
 import org.dspace.storage.rdbms.DatabaseUtils;
 import org.dspace.utils.DSpace;
@@ -109,6 +112,32 @@ public class Context implements AutoCloseable {
      */
     private LinkedList<Event> events = null;
 
+    /**
+     * Queued events by merge key, to merge repeated events when they are added (see Event#merge)
+     */
+    private Map<Event.MergeKey, Event> eventIndex = null;
+
+    /**
+     * Number of events added since the last dispatch, before and after merging repeated events
+     */
+    private int rawEventCount = 0;
+    private int compactedEventCount = 0;
+
+    /**
+     * Whether repeated events are merged ("event.compaction.enabled"), read on first use
+     */
+    private Boolean eventCompaction = null;
+
+    /**
+     * Number of entities created or saved in BULK mode since changes were last flushed
+     */
+    private int bulkWrites = 0;
+
+    /**
+     * Asynchronous consumers with events stored in the outbox by the current transaction
+     */
+    private Set<String> outboxConsumers = null;
+
     /**
      * Event dispatcher name
      */
@@ -136,7 +165,14 @@ public class Context implements AutoCloseable {
     public enum Mode {
         READ_ONLY,
         READ_WRITE,
-        BATCH_EDIT
+        BATCH_EDIT,
+        /**
+         * Creating or updating a large number of objects: statements are sent to the database in JDBC batches and
+         * pending changes are flushed every "db.bulk.flush-interval" created or saved entities. As in any mode,
+         * the cache is only emptied on commit (or by {@link #uncacheEntities()}), so long running jobs should
+         * commit at regular intervals.
+         */
+        BULK
     }
 
     protected Context(EventService eventService, DBConnection dbConnection) {
@@ -446,11 +482,34 @@ public class Context implements AutoCloseable {
             if (dbConnection != null) {
                 // Commit our changes (this closes the transaction but leaves database connection open)
                 dbConnection.commit();
+                bulkWrites = 0;
                 reloadContextBoundEntities();
+                deliverOutboxEvents();
             }
         }
     }
 
+    /**
+     * Record that events for an asynchronous consumer have been stored in the outbox by the current transaction,
+     * so that they are delivered once it has been committed.
+     *
+     * @param consumer name of the consumer
+     */
+    public void addOutboxConsumer(String consumer) {
+        if (outboxConsumers == null) {
+            outboxConsumers = new HashSet<>();
+        }
+        outboxConsumers.add(consumer);
+    }
+
+    private void deliverOutboxEvents() {
+        if (outboxConsumers != null) {
+            Set<String> consumers = outboxConsumers;
+            outboxConsumers = null;
+            eventService.deliverOutboxEvents(consumers);
+        }
+    }
+
 
     /**
      * Dispatch any events (cached in current Context) to configured EventListeners (consumers)
@@ -467,11 +526,16 @@ public class Context implements AutoCloseable {
                     dispName = EventService.DEFAULT_DISPATCHER;
                 }
 
+                if (log.isDebugEnabled()) {
+                    log.debug("Dispatching " + compactedEventCount + " events (" + rawEventCount
+                                  + " before merging repeated events)");
+                }
                 dispatcher = eventService.getDispatcher(dispName);
                 dispatcher.dispatch(this);
             }
         } finally {
             events = null;
+            eventIndex = null;
             if (dispatcher != null) {
                 eventService.returnDispatcher(dispName, dispatcher);
             }
@@ -507,9 +571,51 @@ public class Context implements AutoCloseable {
         }
         if (events == null) {
             events = new LinkedList<>();
+            rawEventCount = 0;
+            compactedEventCount = 0;
+        }
+        rawEventCount++;
+
+        if (event.isMergeable() && isEventCompactionEnabled()) {
+            if (eventIndex == null) {
+                eventIndex = new HashMap<>();
+            }
+            Event queued = eventIndex.putIfAbsent(event.getMergeKey(), event);
+            if (queued != null && queued.merge(event)) {
+                return;
+            }
         }
 
         events.add(event);
+        compactedEventCount++;
+    }
+
+    private boolean isEventCompactionEnabled() {
+        if (eventCompaction == null) {
+            eventCompaction = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                                   .getBooleanProperty("event.compaction.enabled", true);
+        }
+        return eventCompaction;
+    }
+
+    /**
+     * Get the number of events added to this context since the last dispatch (or being dispatched), including
+     * the events which have been merged into an earlier one.
+     *
+     * @return number of added events
+     */
+    public int getRawEventCount() {
+        return rawEventCount;
+    }
+
+    /**
+     * Get the number of events actually queued for the consumers since the last dispatch (or being dispatched),
+     * once repeated events have been merged.
+     *
+     * @return number of queued events
+     */
+    public int getCompactedEventCount() {
+        return compactedEventCount;
     }
 
     /**
@@ -537,7 +643,12 @@ public class Context implements AutoCloseable {
      */
     public Event pollEvent() {
         if (hasEvents()) {
-            return events.poll();
+            Event event = events.poll();
+            if (eventIndex != null) {
+                // Later events must not be merged into an event which has already been dispatched
+                eventIndex.remove(event.getMergeKey(), event);
+            }
+            return event;
         } else {
             return null;
         }
@@ -570,6 +681,8 @@ public class Context implements AutoCloseable {
             }
         } finally {
             events = null;
+            eventIndex = null;
+            outboxConsumers = null;
         }
     }
 
@@ -608,6 +721,8 @@ public class Context implements AutoCloseable {
                 log.error("Error closing the database connection", ex);
             }
             events = null;
+            eventIndex = null;
+            outboxConsumers = null;
         }
     }
 
@@ -801,6 +916,9 @@ public class Context implements AutoCloseable {
                 case READ_WRITE:
                     dbConnection.setConnectionMode(false, false);
                     break;
+                case BULK:
+                    dbConnection.setBulkConnectionMode(true);
+                    break;
                 default:
                     log.warn("New context mode detected that has not been configured.");
                     break;
@@ -828,6 +946,21 @@ public class Context implements AutoCloseable {
         mode = newMode;
     }
 
+    /**
+     * Record that an entity has been created or saved. In BULK mode, pending changes are flushed to the database
+     * every "db.bulk.flush-interval" entities, which sends them as a few JDBC batches and keeps the queue of pending
+     * statements small.
+     *
+     * @throws SQLException if flushing the changes fails
+     */
+    void entityWritten() throws SQLException {
+        if (mode == Mode.BULK && ++bulkWrites >= DSpaceServicesFactory.getInstance().getConfigurationService()
+                                                                      .getIntProperty("db.bulk.flush-interval", 500)) {
+            bulkWrites = 0;
+            dbConnection.flushSession();
+        }
+    }
+
     /**
      * The current database mode of this context.
      *
@@ -115,6 +115,15 @@ public interface DBConnection<T> {
      */
     public boolean isOptimizedForBatchProcessing();
 
+    /**
+     * Configure the connection for bulk processing, i.e. creating or updating a large number of records in few
+     * transactions. Typically this means grouping the resulting statements in JDBC batches.
+     *
+     * @param bulkOptimized if true, optimize for bulk use, otherwise restore the normal read-write behaviour.
+     * @throws SQLException
+     */
+    public void setBulkConnectionMode(boolean bulkOptimized) throws SQLException;
+
     /**
      * How many entities are cached in this session?
      *
@@ -0,0 +1,283 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.orm.hibernate5.SessionFactoryUtils;
+
+/**
+ * Keeps the Hibernate second level caches of several DSpace instances (e.g. a cluster of webapps, or a webapp and
+ * the command line tools) sharing one database consistent.
+ * <p>
+ * The second level cache of each instance is local to its JVM. With "db.cache.invalidation = polling", the changes
+ * to cached entities committed by this instance are recorded in the "cache_invalidation" table, and every
+ * "db.cache.invalidation.poll-interval" seconds each instance evicts the entities changed by the other instances
+ * from its own cache, together with all cached collections and query results. Other instances may therefore serve
+ * stale entities for up to about twice the poll interval.
+ * <p>
+ * Bulk HQL or SQL statements bypass the Hibernate entity events and are not propagated; the expiry of the caches
+ * configured in hibernate-ehcache-config.xml bounds how long such changes can go unnoticed.
+ */
+public class HibernateCacheInvalidator {
+
+    private static final Logger log = LogManager.getLogger(HibernateCacheInvalidator.class);
+
+    private static final AtomicBoolean registered = new AtomicBoolean(false);
+
+    /**
+     * Identifiers are assigned when a change is recorded, but the rows may become visible in a different order. Each
+     * poll therefore looks again at this many identifiers before the last one seen.
+     */
+    private static final long OVERLAP = 1000;
+
+    private static final long CLEANUP_INTERVAL = 3600 * 1000;
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final ConfigurationService configurationService;
+
+    /**
+     * Identifies the rows recorded by this instance, whose own cache is already up to date.
+     */
+    private final String node = UUID.randomUUID().toString();
+
+    /**
+     * Changes committed by this instance and not yet recorded, as "entity name#identifier".
+     */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Identifiers of the rows already processed, within the overlap.
+     */
+    private final NavigableSet<Long> seen = new TreeSet<>();
+
+    private long lastId = -1;
+
+    private long lastCleanup = System.currentTimeMillis();
+
+    protected HibernateCacheInvalidator(SessionFactoryImplementor sessionFactory,
+                                        ConfigurationService configurationService) {
+        this.sessionFactory = sessionFactory;
+        this.configurationService = configurationService;
+    }
+
+    /**
+     * Start recording and polling changes to cached entities if "db.cache.invalidation" is set to "polling". Only the
+     * first call has any effect.
+     *
+     * @param sessionFactory the session factory whose second level cache must be kept consistent
+     */
+    static void register(SessionFactory sessionFactory) {
+        if (registered.get() || !registered.compareAndSet(false, true)) {
+            return;
+        }
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        String mode = configurationService.getProperty("db.cache.invalidation", "none");
+        if ("polling".equalsIgnoreCase(mode)) {
+            new HibernateCacheInvalidator((SessionFactoryImplementor) sessionFactory, configurationService).start();
+        } else if (!"none".equalsIgnoreCase(mode)) {
+            log.warn("Unknown db.cache.invalidation mode '{}', the second level cache will not be synchronized", mode);
+        }
+    }
+
+    protected void start() {
+        listen();
+
+        long interval = Math.max(1, configurationService.getLongProperty("db.cache.invalidation.poll-interval", 10));
+        ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::synchronize, 0, interval, TimeUnit.SECONDS);
+        log.info("Synchronizing the second level cache with other DSpace instances every {} seconds", interval);
+    }
+
+    /**
+     * Record the changes to cached entities committed through the session factory, until they are published by
+     * {@link #synchronize()}.
+     */
+    protected void listen() {
+        Listener listener = new Listener();
+        EventListenerRegistry registry = sessionFactory.getEventEngine().getListenerRegistry();
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    /**
+     * Record the changes made by this instance, then evict the changes made by the other instances.
+     */
+    protected void synchronize() {
+        try (Connection connection = SessionFactoryUtils.getDataSource(sessionFactory).getConnection()) {
+            connection.setAutoCommit(true);
+            publish(connection);
+            poll(connection);
+            if (System.currentTimeMillis() - lastCleanup > CLEANUP_INTERVAL) {
+                cleanup(connection);
+                lastCleanup = System.currentTimeMillis();
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.error("Unable to synchronize the second level cache with other DSpace instances", e);
+        }
+    }
+
+    private void publish(Connection connection) throws SQLException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO cache_invalidation (id, node, entity_name, entity_id, created) " +
+                    "VALUES (nextval('cache_invalidation_id_seq'), ?, ?, ?, ?)")) {
+            Timestamp now = Timestamp.from(Instant.now());
+            Iterator<String> iterator = pending.iterator();
+            while (iterator.hasNext()) {
+                String change = iterator.next();
+                iterator.remove();
+                int separator = change.indexOf('#');
+                statement.setString(1, node);
+                statement.setString(2, change.substring(0, separator));
+                statement.setString(3, change.substring(separator + 1));
+                statement.setTimestamp(4, now);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void poll(Connection connection) throws SQLException {
+        boolean initial = lastId < 0;
+        boolean changed = false;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id, node, entity_name, entity_id FROM cache_invalidation WHERE id > ? ORDER BY id")) {
+            // The first poll only determines where to start: this instance's cache was empty until now
+            statement.setLong(1, initial ? 0 : Math.max(0, lastId - OVERLAP));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    long id = resultSet.getLong(1);
+                    lastId = Math.max(lastId, id);
+                    if (!seen.add(id) || initial || node.equals(resultSet.getString(2))) {
+                        continue;
+                    }
+                    evict(resultSet.getString(3), resultSet.getString(4));
+                    changed = true;
+                }
+            }
+        }
+        lastId = Math.max(lastId, 0);
+        seen.headSet(lastId - OVERLAP, true).clear();
+        if (changed) {
+            sessionFactory.getCache().evictCollectionData();
+            sessionFactory.getCache().evictQueryRegions();
+        }
+    }
+
+    private void evict(String entityName, String entityId) {
+        EntityPersister persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(entityName);
+        if (persister == null || !persister.canWriteToCache()) {
+            return;
+        }
+        Class<?> idType = persister.getIdentifierType().getReturnedClass();
+        Object id;
+        if (UUID.class.equals(idType)) {
+            id = UUID.fromString(entityId);
+        } else if (Integer.class.equals(idType)) {
+            id = Integer.valueOf(entityId);
+        } else if (Long.class.equals(idType)) {
+            id = Long.valueOf(entityId);
+        } else {
+            id = entityId;
+        }
+        sessionFactory.getCache().evictEntityData(entityName, id);
+    }
+
+    private void cleanup(Connection connection) throws SQLException {
+        long retention = configurationService.getLongProperty("db.cache.invalidation.retention", 86400);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "DELETE FROM cache_invalidation WHERE created < ?")) {
+            statement.setTimestamp(1, Timestamp.from(Instant.now().minusSeconds(retention)));
+            statement.executeUpdate();
+        }
+    }
+
+    private void record(EntityPersister persister, Object id) {
+        if (id != null) {
+            pending.add(persister.getEntityName() + "#" + id);
+        }
+    }
+
+    /**
+     * Records the committed changes to entities stored in the second level cache.
+     */
+    private class Listener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            record(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            record(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            record(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return persister.canWriteToCache();
+        }
+    }
+}
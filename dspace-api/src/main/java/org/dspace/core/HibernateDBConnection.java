@@ -20,6 +20,7 @@ import org.dspace.content.Community;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.handle.Handle;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.storage.rdbms.DatabaseConfigVO;
 import org.hibernate.FlushMode;
 import org.hibernate.Hibernate;
@@ -62,6 +63,7 @@ public class HibernateDBConnection implements DBConnection<Session> {
 
     private boolean batchModeEnabled = false;
     private boolean readOnlyEnabled = false;
+    private boolean bulkModeEnabled = false;
 
     /**
      * Retrieves the current Session from Hibernate (per our settings, Hibernate is configured to create one Session
@@ -75,6 +77,7 @@ public class HibernateDBConnection implements DBConnection<Session> {
         // If we don't yet have a live transaction, start a new one
         // NOTE: a Session cannot be used until a Transaction is started.
         if (!isTransActionAlive()) {
+            HibernateCacheInvalidator.register(sessionFactory);
             sessionFactory.getCurrentSession().beginTransaction();
             configureDatabaseMode();
         }
@@ -224,6 +227,15 @@ public class HibernateDBConnection implements DBConnection<Session> {
     public void setConnectionMode(final boolean batchOptimized, final boolean readOnlyOptimized) throws SQLException {
         this.batchModeEnabled = batchOptimized;
         this.readOnlyEnabled = readOnlyOptimized;
+        this.bulkModeEnabled = false;
+        configureDatabaseMode();
+    }
+
+    @Override
+    public void setBulkConnectionMode(final boolean bulkOptimized) throws SQLException {
+        this.batchModeEnabled = false;
+        this.readOnlyEnabled = false;
+        this.bulkModeEnabled = bulkOptimized;
         configureDatabaseMode();
     }
 
@@ -233,6 +245,15 @@ public class HibernateDBConnection implements DBConnection<Session> {
     }
 
     private void configureDatabaseMode() throws SQLException {
+        if (bulkModeEnabled) {
+            // Only flush when a query needs it, so that inserts and updates are sent in large JDBC batches
+            getSession().setHibernateFlushMode(FlushMode.AUTO);
+            getSession().setJdbcBatchSize(DSpaceServicesFactory.getInstance().getConfigurationService()
+                                                               .getIntProperty("db.bulk.jdbc-batch-size", 100));
+            return;
+        }
+        // Use the default batch size of the session factory
+        getSession().setJdbcBatchSize(null);
         if (batchModeEnabled) {
             getSession().setHibernateFlushMode(FlushMode.ALWAYS);
         } else if (readOnlyEnabled) {
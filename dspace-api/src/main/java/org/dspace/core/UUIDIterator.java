@@ -8,18 +8,32 @@
 package org.dspace.core;
 
 import java.sql.SQLException;
-import java.util.Iterator;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import com.google.common.collect.AbstractIterator;
+import jakarta.persistence.Query;
 import org.dspace.content.DSpaceObject;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Iterator implementation which allows to iterate over items and commit while
  * iterating. Using an iterator over previous retrieved UUIDs the iterator doesn't
  * get invalidated after a commit that would instead close the database ResultSet
+ * <p>
+ * The UUIDs are kept as pairs of longs, and the objects are loaded in batches of
+ * "db.iterate.batch-size" with a single query each. In BULK mode (see {@link Context.Mode#BULK}),
+ * the objects of a batch are removed from the cache once the iterator moves past them, so
+ * memory stays flat however many objects are iterated.
  *
  * @author Andrea Bollini (andrea.bollini at 4science.com)
  * @param  <T> class type
@@ -27,7 +41,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 public class UUIDIterator<T extends DSpaceObject> extends AbstractIterator<T> {
     private Class<T> clazz;
 
-    private Iterator<UUID> iterator;
+    /**
+     * The UUIDs to iterate over, most significant bits followed by least significant bits
+     */
+    private long[] uuids;
+
+    private int size;
+
+    private int position = 0;
+
+    private final Deque<T> batch = new ArrayDeque<>();
+
+    private final List<T> previousBatch = new ArrayList<>();
 
     @Autowired
     private AbstractHibernateDSODAO<T> dao;
@@ -39,25 +64,91 @@ public class UUIDIterator<T extends DSpaceObject> extends AbstractIterator<T> {
         this.ctx = ctx;
         this.clazz = clazz;
         this.dao = dao;
-        this.iterator = uuids.iterator();
+        this.uuids = new long[uuids.size() * 2];
+        for (UUID uuid : uuids) {
+            add(uuid);
+        }
+    }
+
+    /**
+     * Iterate over the objects whose UUIDs are returned by the given query. The query results are read with a
+     * forward-only cursor, "db.iterate.fetch-size" rows at a time, so the UUIDs are never held twice in memory.
+     *
+     * @param ctx   the DSpace context
+     * @param query a query selecting the UUIDs of the objects
+     * @param clazz the class of the objects
+     * @param dao   the DAO used to load the objects
+     */
+    public UUIDIterator(Context ctx, Query query, Class<T> clazz, AbstractHibernateDSODAO<T> dao) {
+        this.ctx = ctx;
+        this.clazz = clazz;
+        this.dao = dao;
+        this.uuids = new long[256];
+        org.hibernate.query.Query<?> hquery = query.unwrap(org.hibernate.query.Query.class);
+        hquery.setFetchSize(getFetchSize());
+        try (ScrollableResults<?> results = hquery.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                add((UUID) results.get());
+            }
+        }
+    }
+
+    static int getFetchSize() {
+        return DSpaceServicesFactory.getInstance().getConfigurationService()
+                                    .getIntProperty("db.iterate.fetch-size", 1000);
+    }
+
+    private void add(UUID uuid) {
+        if (size * 2 + 2 > uuids.length) {
+            uuids = Arrays.copyOf(uuids, Math.max(uuids.length * 2, 2));
+        }
+        uuids[size * 2] = uuid.getMostSignificantBits();
+        uuids[size * 2 + 1] = uuid.getLeastSignificantBits();
+        size++;
     }
 
     @Override
     protected T computeNext() {
         try {
-            if (iterator.hasNext()) {
-                T item = dao.findByID(ctx, clazz, iterator.next());
-                if (item != null) {
-                    return item;
-                } else {
-                    return computeNext();
-                }
-            } else {
-                return endOfData();
+            if (batch.isEmpty()) {
+                loadNextBatch();
             }
+            return batch.isEmpty() ? endOfData() : batch.poll();
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Load the objects of the next UUIDs, keeping their order and skipping the objects which no longer exist.
+     */
+    private void loadNextBatch() throws SQLException {
+        if (ctx.getCurrentMode() == Context.Mode.BULK) {
+            for (T object : previousBatch) {
+                ctx.uncacheEntity(object);
+            }
+        }
+        previousBatch.clear();
+
+        int batchSize = Math.max(1, DSpaceServicesFactory.getInstance().getConfigurationService()
+                                                         .getIntProperty("db.iterate.batch-size", 100));
+        while (batch.isEmpty() && position < size) {
+            List<UUID> ids = new ArrayList<>(batchSize);
+            for (; position < size && ids.size() < batchSize; position++) {
+                ids.add(new UUID(uuids[position * 2], uuids[position * 2 + 1]));
+            }
+            Map<UUID, T> objects = new HashMap<>();
+            for (T object : dao.findByIds(ctx, clazz, ids)) {
+                objects.put(object.getID(), object);
+            }
+            for (UUID id : ids) {
+                T object = objects.get(id);
+                if (object != null) {
+                    batch.add(object);
+                    previousBatch.add(object);
+                }
+            }
+        }
+    }
+
 }
@@ -12,6 +12,7 @@ import java.util.List;
 
 import org.dspace.content.Item;
 import org.dspace.content.MetadataValue;
+import org.dspace.curate.ThreadSafe;
 
 /**
  * A link checker that builds upon the BasicLinkChecker to check URLs that
@@ -21,6 +22,7 @@ import org.dspace.content.MetadataValue;
  *
  * @author Stuart Lewis
  */
+@ThreadSafe
 public class MetadataValueLinkChecker extends BasicLinkChecker {
 
     @Override
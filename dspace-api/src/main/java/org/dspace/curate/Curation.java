@@ -21,6 +21,7 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import org.apache.commons.cli.ParseException;
@@ -36,6 +37,7 @@ import org.dspace.eperson.service.EPersonService;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
 
 /**
@@ -56,6 +58,7 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
     private String queue;
     private String scope;
     private String reporter;
+    private int threads;
     private Map<String, String> parameters;
     private boolean verbose;
 
@@ -146,19 +149,31 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
     private long runQueue(TaskQueue queue, Curator curator) throws SQLException, AuthorizeException, IOException {
         // use current time as our reader 'ticket'
         long ticket = Instant.now().toEpochMilli();
-        Iterator<TaskQueueEntry> entryIter = queue.dequeue(this.queue, ticket).iterator();
-        while (entryIter.hasNext()) {
-            TaskQueueEntry entry = entryIter.next();
-            if (verbose) {
-                super.handler.logInfo("Curating id: " + entry.getObjectId());
+        if (verbose) {
+            long oldest = queue.oldestSubmitTime(context, this.queue);
+            super.handler.logInfo("Queue " + this.queue + ": " + queue.size(context, this.queue) + " entries"
+                + (oldest >= 0 ? ", oldest waiting for " + (ticket - oldest) + " ms" : ""));
+        }
+        // the queue may hand out its entries in several batches
+        while (true) {
+            Set<TaskQueueEntry> entries = queue.dequeue(context, this.queue, ticket);
+            Iterator<TaskQueueEntry> entryIter = entries.iterator();
+            while (entryIter.hasNext()) {
+                TaskQueueEntry entry = entryIter.next();
+                if (verbose) {
+                    super.handler.logInfo("Curating id: " + entry.getObjectId());
+                }
+                curator.clear();
+                for (String taskName : entry.getTaskNames()) {
+                    curator.addTask(taskName);
+                }
+                curator.curate(context, entry.getObjectId());
             }
-            curator.clear();
-            for (String taskName : entry.getTaskNames()) {
-                curator.addTask(taskName);
+            queue.release(context, this.queue, ticket, true);
+            if (entries.isEmpty()) {
+                break;
             }
-            curator.curate(context, entry.getObjectId());
         }
-        queue.release(this.queue, ticket, true);
         return ticket;
     }
 
@@ -199,6 +214,7 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
             Curator.TxScope txScope = Curator.TxScope.valueOf(this.scope.toUpperCase());
             curator.setTransactionScope(txScope);
         }
+        curator.setThreads(this.threads);
 
         curator.addParameters(parameters);
         // we are operating in batch mode, if anyone cares.
@@ -247,7 +263,7 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
     protected void assignCurrentUserInContext() throws ParseException {
         UUID currentUserUuid = this.getEpersonIdentifier();
         try {
-            this.context = new Context(Context.Mode.BATCH_EDIT);
+            this.context = new Context(Context.Mode.BULK);
             EPerson eperson = ePersonService.find(context, currentUserUuid);
             if (eperson == null) {
                 super.handler.logError("EPerson not found: " + currentUserUuid);
@@ -292,6 +308,19 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
             }
         }
 
+        // threads
+        this.threads = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                            .getIntProperty("curate.threads", 1);
+        if (this.commandLine.hasOption('n')) {
+            try {
+                this.threads = Integer.parseInt(this.commandLine.getOptionValue('n'));
+            } catch (NumberFormatException e) {
+                this.handler.logError("Bad number of threads '" + this.commandLine.getOptionValue('n') + "'");
+                throw new IllegalArgumentException(
+                    "Bad number of threads '" + this.commandLine.getOptionValue('n') + "'");
+            }
+        }
+
         // verbose
         verbose = false;
         if (commandLine.hasOption('v')) {
@@ -30,7 +30,7 @@ public class CurationCli extends Curation {
     protected void assignCurrentUserInContext() throws ParseException {
         if (this.commandLine.hasOption('e')) {
             String ePersonEmail = this.commandLine.getOptionValue('e');
-            this.context = new Context(Context.Mode.BATCH_EDIT);
+            this.context = new Context(Context.Mode.BULK);
             try {
                 EPerson ePerson = ePersonService.findByEmail(this.context, ePersonEmail);
                 if (ePerson == null) {
@@ -64,6 +64,9 @@ public enum CurationClientOptions {
             "reporting");
         options.addOption("s", "scope", true,
             "transaction scope to impose: use 'object', 'curation', or 'open'. If absent, 'open' applies");
+        options.addOption("n", "threads", true,
+            "number of threads curating the items of a collection at the same time, for the thread safe tasks. If " +
+            "absent, 'curate.threads' applies");
         options.addOption("v", "verbose", false, "report activity to stdout");
         options.addOption("h", "help", false, "help");
 
@@ -16,6 +16,14 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -30,6 +38,8 @@ import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.factory.CoreServiceFactory;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.EPersonService;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
@@ -80,6 +90,9 @@ public class Curator {
 
     private static final Logger log = LogManager.getLogger();
 
+    /** number of items curated by a worker at once, in parallel curations */
+    protected static final int PARALLEL_BATCH_SIZE = 100;
+
     protected static final ThreadLocal<Context> curationCtx = new ThreadLocal<>();
 
     protected final Map<String, String> runParameters = new HashMap<>();
@@ -90,9 +103,11 @@ public class Curator {
     protected Invoked iMode = null;
     protected TaskResolver resolver = new TaskResolver();
     protected TxScope txScope = TxScope.OPEN;
+    protected int threads = 1;
     protected CommunityService communityService;
     protected ItemService itemService;
     protected HandleService handleService;
+    protected EPersonService ePersonService;
     protected DSpaceRunnableHandler handler;
 
     /**
@@ -112,6 +127,7 @@ public class Curator {
         communityService = ContentServiceFactory.getInstance().getCommunityService();
         itemService = ContentServiceFactory.getInstance().getItemService();
         handleService = HandleServiceFactory.getInstance().getHandleService();
+        ePersonService = EPersonServiceFactory.getInstance().getEPersonService();
         resolver = new TaskResolver();
     }
 
@@ -228,6 +244,25 @@ public class Curator {
         return this;
     }
 
+    /**
+     * Sets the number of threads curating the items of a collection
+     * at the same time. Only the tasks annotated as {@link ThreadSafe}
+     * are performed in parallel, each thread with its own Context
+     * (with the same user and special groups as the curation context).
+     * The transactional scope applies to each of these contexts: a
+     * scope of 'object' commits for each item, and the other scopes
+     * commit once the thread has curated its share of the items. The
+     * default is 1, meaning that all the objects are curated in turn,
+     * within the curation context.
+     *
+     * @param threads number of threads
+     * @return return self (Curator instance) with given number of threads set
+     */
+    public Curator setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+        return this;
+    }
+
     /**
      * Performs all configured tasks upon object identified by id. If
      * the object can be resolved as a handle, the DSO will be the
@@ -317,7 +352,9 @@ public class Curator {
 
     /**
      * Places a curation request for the object identified by id on a
-     * managed queue named by the queueId.
+     * managed queue named by the queueId. Depending on the queue
+     * implementation, the request is only queued when the context is
+     * committed.
      *
      * @param c       A DSpace context
      * @param id      an object Id
@@ -330,8 +367,8 @@ public class Curator {
             taskQ = (TaskQueue) CoreServiceFactory.getInstance().getPluginService().getSinglePlugin(TaskQueue.class);
         }
         if (taskQ != null) {
-            taskQ.enqueue(queueId, new TaskQueueEntry(c.getCurrentUser().getName(),
-                                                      Instant.now().toEpochMilli(), perfList, id));
+            taskQ.enqueue(c, queueId, Set.of(new TaskQueueEntry(c.getCurrentUser().getName(),
+                                                                Instant.now().toEpochMilli(), perfList, id)));
         } else {
             System.out.println("curate - no TaskQueue implemented");
         }
@@ -357,7 +394,10 @@ public class Curator {
         }
 
         try {
-            reporter.append(message);
+            // tasks performed in parallel report at the same time
+            synchronized (reporter) {
+                reporter.append(message);
+            }
         } catch (IOException ex) {
             System.out.println("Task reporting failure: " +  ex);
         }
@@ -513,6 +553,10 @@ public class Curator {
                 return false;
             }
             Context context = curationContext();
+            int taskThreads = tr.task.getMaxThreads() > 0 ? Math.min(threads, tr.task.getMaxThreads()) : threads;
+            if (tr.task.isThreadSafe() && taskThreads > 1) {
+                return doItems(tr, context, itemService.findByCollection(context, coll), taskThreads);
+            }
             Iterator<Item> iter = itemService.findByCollection(context, coll);
             while (iter.hasNext()) {
                 Item item = iter.next();
@@ -528,6 +572,127 @@ public class Curator {
         return true;
     }
 
+    /**
+     * Run task for items in parallel. The items are curated by batches, each
+     * batch by a worker with its own Context.
+     *
+     * @param tr      TaskRunner
+     * @param context the curation context
+     * @param items   the items
+     * @param threads number of workers
+     * @return true if successful, false otherwise
+     * @throws IOException if IO error
+     */
+    protected boolean doItems(TaskRunner tr, Context context, Iterator<Item> items, int threads)
+        throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // at most two batches per worker are waiting, so that the ids of all the items are not loaded at once
+        Semaphore pending = new Semaphore(threads * 2);
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Future<Void>> workers = new ArrayList<>();
+        // the workers must not use the curation context, whose session is used by this thread
+        Context.Mode mode = context.getCurrentMode();
+        UUID userId = context.getCurrentUser() != null ? context.getCurrentUser().getID() : null;
+        Set<UUID> specialGroups = Set.copyOf(context.getSpecialGroupUuids());
+        boolean ignoreAuthorization = context.ignoreAuthorization();
+        try {
+            List<UUID> batch = new ArrayList<>();
+            while (items.hasNext() && !stop.get()) {
+                Item item = items.next();
+                batch.add(item.getID());
+                context.uncacheEntity(item);
+                if (batch.size() == PARALLEL_BATCH_SIZE || !items.hasNext()) {
+                    List<UUID> ids = batch;
+                    pending.acquire();
+                    workers.add(executor.submit(() -> {
+                        try {
+                            doItemBatch(tr, mode, userId, specialGroups, ignoreAuthorization, ids, stop);
+                            return null;
+                        } catch (IOException | SQLException | RuntimeException e) {
+                            stop.set(true);
+                            throw e;
+                        } finally {
+                            pending.release();
+                        }
+                    }));
+                    batch = new ArrayList<>();
+                }
+            }
+            for (Future<Void> worker : workers) {
+                worker.get();
+            }
+        } catch (SQLException sqlE) {
+            throw new IOException(sqlE.getMessage(), sqlE);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while curating items", ie);
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof IOException) {
+                throw (IOException) ee.getCause();
+            }
+            throw new IOException(ee.getCause().getMessage(), ee.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return !stop.get();
+    }
+
+    /**
+     * Run task for a batch of items, in a Context of the worker's own, with
+     * the user and authorizations of the curation context.
+     *
+     * @param tr                  TaskRunner
+     * @param mode                the mode of the curation context
+     * @param userId              the id of the current user of the curation context, or null
+     * @param specialGroups       the ids of the special groups of the curation context
+     * @param ignoreAuthorization whether the curation context ignores authorization
+     * @param ids                 the ids of the items
+     * @param stop                set when the curation is suspended
+     * @throws IOException if IO error
+     * @throws SQLException if database error
+     */
+    protected void doItemBatch(TaskRunner tr, Context.Mode mode, UUID userId, Set<UUID> specialGroups,
+                               boolean ignoreAuthorization, List<UUID> ids, AtomicBoolean stop)
+        throws IOException, SQLException {
+        Context context = new Context(mode);
+        try {
+            if (userId != null) {
+                context.setCurrentUser(ePersonService.find(context, userId));
+            }
+            for (UUID groupId : specialGroups) {
+                context.setSpecialGroup(groupId);
+            }
+            if (ignoreAuthorization) {
+                context.turnOffAuthorisationSystem();
+            }
+            //Save the context on the worker thread
+            curationCtx.set(context);
+            for (UUID id : ids) {
+                if (stop.get()) {
+                    break;
+                }
+                Item item = itemService.find(context, id);
+                if (item == null) {
+                    continue;
+                }
+                boolean shouldContinue = tr.run(item);
+                if (txScope.equals(TxScope.OBJECT)) {
+                    context.commit();
+                }
+                context.uncacheEntity(item);
+                if (!shouldContinue) {
+                    stop.set(true);
+                }
+            }
+            context.complete();
+        } finally {
+            curationCtx.remove();
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
     /**
      * Record a 'visit' to a DSpace object and enforce any policies set
      * on this curator.
@@ -546,8 +711,9 @@ public class Curator {
 
     protected class TaskRunner {
         ResolvedTask task = null;
-        int statusCode = CURATE_UNSET;
-        String result = null;
+        // latest performance, of any thread
+        volatile int statusCode = CURATE_UNSET;
+        volatile String result = null;
 
         public TaskRunner(ResolvedTask task) {
             this.task = task;
@@ -558,11 +724,12 @@ public class Curator {
                 if (dso == null) {
                     throw new IOException("DSpaceObject is null");
                 }
-                statusCode = task.perform(dso);
+                int status = task.perform(dso);
+                statusCode = status;
                 String id = (dso.getHandle() != null) ? dso.getHandle() : "workflow item: " + dso.getID();
-                logInfo(logMessage(id));
+                logInfo(logMessage(id, status));
                 visit(dso);
-                return !suspend(statusCode);
+                return !suspend(status);
             } catch (IOException ioe) {
                 //log error & pass exception upwards
                 System.out.println("Error executing curation task '" + task.getName() + "'; " + ioe);
@@ -609,10 +776,21 @@ public class Curator {
          * @return log message text
          */
         protected String logMessage(String id) {
+            return logMessage(id, statusCode);
+        }
+
+        /**
+         * Builds a useful log message for a curation task.
+         *
+         * @param id     ID of DSpace Object
+         * @param status status code of the performance
+         * @return log message text
+         */
+        protected String logMessage(String id, int status) {
             StringBuilder mb = new StringBuilder();
             mb.append("Curation task: ").append(task.getName()).
                 append(" performed on: ").append(id).
-                  append(" with status: ").append(statusCode);
+                  append(" with status: ").append(status);
             if (result != null) {
                 mb.append(". Result: '").append(result).append("'");
             }
@@ -0,0 +1,231 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.curate.dao.QueuedTaskDAO;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.utils.DSpace;
+
+/**
+ * DBTaskQueue provides a TaskQueue implementation based on a database table,
+ * which can be shared by several DSpace nodes.
+ * <p>
+ * Unlike {@link FileTaskQueue}, the queues are not locked by their readers:
+ * several readers can dequeue at the same time, each reader getting different
+ * entries (the oldest ones which are not locked by other readers). A dequeue
+ * returns at most "curate.taskqueue.dequeue-size" entries, which are hidden
+ * from the other readers until they are released, or at most
+ * "curate.taskqueue.visibility-timeout" seconds, in case their reader died.
+ * <p>
+ * The methods taking a Context work in the caller's transaction: entries are
+ * enqueued when the caller commits, while dequeue and release commit the
+ * caller's context. The methods without a Context use a Context of their own,
+ * which shares the database session of any Context open on the same thread:
+ * callers holding a Context must use the methods taking it.
+ */
+public class DBTaskQueue implements TaskQueue {
+    private static final Logger log = LogManager.getLogger(TaskQueue.class);
+
+    protected QueuedTaskDAO queuedTaskDAO = new DSpace().getSingletonService(QueuedTaskDAO.class);
+
+    protected ConfigurationService configurationService
+        = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    // ids of the entries dequeued by this reader, by ticket
+    protected final Map<Long, List<Integer>> readLists = new HashMap<>();
+
+    @Override
+    public String[] queueNames() {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            return queuedTaskDAO.findQueueNames(context).toArray(new String[0]);
+        } catch (SQLException sqlE) {
+            log.error("Unable to list the task queues", sqlE);
+            return new String[0];
+        } finally {
+            context.abort();
+        }
+    }
+
+    @Override
+    public void enqueue(String queueName, TaskQueueEntry entry)
+        throws IOException {
+        enqueue(queueName, Set.of(entry));
+    }
+
+    @Override
+    public void enqueue(String queueName, Set<TaskQueueEntry> entrySet)
+        throws IOException {
+        Context context = new Context();
+        try {
+            enqueue(context, queueName, entrySet);
+            context.complete();
+        } catch (SQLException sqlE) {
+            throw new IOException(sqlE.getMessage(), sqlE);
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    @Override
+    public void enqueue(Context context, String queueName, Set<TaskQueueEntry> entrySet)
+        throws IOException {
+        try {
+            for (TaskQueueEntry entry : entrySet) {
+                queuedTaskDAO.create(context, new QueuedTask(queueName, entry));
+            }
+        } catch (SQLException sqlE) {
+            throw new IOException(sqlE.getMessage(), sqlE);
+        }
+    }
+
+    @Override
+    public Set<TaskQueueEntry> dequeue(String queueName, long ticket)
+        throws IOException {
+        Context context = new Context();
+        try {
+            Set<TaskQueueEntry> entrySet = dequeue(context, queueName, ticket);
+            context.complete();
+            return entrySet;
+        } catch (SQLException sqlE) {
+            throw new IOException(sqlE.getMessage(), sqlE);
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    @Override
+    public Set<TaskQueueEntry> dequeue(Context context, String queueName, long ticket)
+        throws IOException {
+        int limit = configurationService.getIntProperty("curate.taskqueue.dequeue-size", 100);
+        long timeout = configurationService.getLongProperty("curate.taskqueue.visibility-timeout", 3600);
+        Set<TaskQueueEntry> entrySet = new LinkedHashSet<>();
+        List<Integer> ids = new ArrayList<>();
+        try {
+            Instant now = Instant.now();
+            // the entries are locked until the lease is committed, hiding them from the other readers
+            for (QueuedTask task : queuedTaskDAO.findAvailable(context, queueName, now, limit)) {
+                task.setTicket(ticket);
+                task.setLeasedUntil(now.plusSeconds(timeout));
+                queuedTaskDAO.save(context, task);
+                entrySet.add(task.toEntry());
+                ids.add(task.getID());
+            }
+            context.commit();
+        } catch (SQLException sqlE) {
+            throw new IOException(sqlE.getMessage(), sqlE);
+        }
+        synchronized (readLists) {
+            readLists.computeIfAbsent(ticket, t -> new ArrayList<>()).addAll(ids);
+        }
+        return entrySet;
+    }
+
+    @Override
+    public void release(String queueName, long ticket, boolean remove) {
+        Context context = new Context();
+        try {
+            release(context, queueName, ticket, remove);
+            context.complete();
+        } catch (SQLException sqlE) {
+            log.error("Unable to release the entries of task queue " + queueName, sqlE);
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    @Override
+    public void release(Context context, String queueName, long ticket, boolean remove) {
+        List<Integer> ids;
+        synchronized (readLists) {
+            ids = readLists.remove(ticket);
+        }
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        try {
+            for (Integer id : ids) {
+                QueuedTask task = queuedTaskDAO.findByID(context, QueuedTask.class, id);
+                // skip the entries dequeued by another reader since their lease expired
+                if (task == null || !Objects.equals(task.getTicket(), ticket)) {
+                    continue;
+                }
+                if (remove) {
+                    queuedTaskDAO.delete(context, task);
+                } else {
+                    task.setTicket(null);
+                    task.setLeasedUntil(null);
+                    queuedTaskDAO.save(context, task);
+                }
+            }
+            context.commit();
+        } catch (SQLException sqlE) {
+            log.error("Unable to release the entries of task queue " + queueName, sqlE);
+        }
+    }
+
+    @Override
+    public long size(String queueName) throws IOException {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            return size(context, queueName);
+        } finally {
+            context.abort();
+        }
+    }
+
+    @Override
+    public long size(Context context, String queueName) throws IOException {
+        try {
+            return queuedTaskDAO.countByQueue(context, queueName);
+        } catch (SQLException sqlE) {
+            throw new IOException(sqlE.getMessage(), sqlE);
+        }
+    }
+
+    @Override
+    public long oldestSubmitTime(String queueName) throws IOException {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            return oldestSubmitTime(context, queueName);
+        } finally {
+            context.abort();
+        }
+    }
+
+    @Override
+    public long oldestSubmitTime(Context context, String queueName) throws IOException {
+        try {
+            Instant oldest = queuedTaskDAO.findOldestSubmitted(context, queueName);
+            return oldest != null ? oldest.toEpochMilli() : -1L;
+        } catch (SQLException sqlE) {
+            throw new IOException(sqlE.getMessage(), sqlE);
+        }
+    }
+}
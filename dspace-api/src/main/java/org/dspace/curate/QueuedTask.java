@@ -0,0 +1,121 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.core.ReloadableEntity;
+import org.hibernate.Length;
+
+/**
+ * Entity modelling a {@link TaskQueueEntry} waiting in a queue of the {@link DBTaskQueue}.
+ */
+@Entity
+@Table(name = "curation_task_queue")
+public class QueuedTask implements ReloadableEntity<Integer> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "curation_task_queue_id_seq")
+    @SequenceGenerator(name = "curation_task_queue_id_seq", sequenceName = "curation_task_queue_id_seq",
+                       allocationSize = 1)
+    private Integer id;
+
+    @Column(name = "queue_name", nullable = false)
+    private String queueName;
+
+    /**
+     * The name of the EPerson who queued the tasks.
+     */
+    @Column(name = "eperson")
+    private String eperson;
+
+    @Column(name = "submitted")
+    private Instant submitted;
+
+    /**
+     * The names of the tasks, separated by commas.
+     */
+    @Column(name = "tasks", length = Length.LONG32)
+    private String tasks;
+
+    /**
+     * Usually a handle or workflow id.
+     */
+    @Column(name = "object_id")
+    private String objectId;
+
+    /**
+     * The ticket of the reader who dequeued the tasks, if any.
+     */
+    @Column(name = "ticket")
+    private Long ticket;
+
+    /**
+     * The tasks are not dequeued again before this time, unless they are released.
+     */
+    @Column(name = "leased_until")
+    private Instant leasedUntil;
+
+    /**
+     * Protected constructor, create object using {@link DBTaskQueue#enqueue(String, TaskQueueEntry)}
+     */
+    protected QueuedTask() {
+    }
+
+    protected QueuedTask(String queueName, TaskQueueEntry entry) {
+        this.queueName = queueName;
+        this.eperson = entry.getEpersonId();
+        this.submitted = Instant.ofEpochMilli(entry.getSubmitTime());
+        this.tasks = String.join(",", entry.getTaskNames());
+        this.objectId = entry.getObjectId();
+    }
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public String getQueueName() {
+        return queueName;
+    }
+
+    public Instant getSubmitted() {
+        return submitted;
+    }
+
+    public Long getTicket() {
+        return ticket;
+    }
+
+    public void setTicket(Long ticket) {
+        this.ticket = ticket;
+    }
+
+    public Instant getLeasedUntil() {
+        return leasedUntil;
+    }
+
+    public void setLeasedUntil(Instant leasedUntil) {
+        this.leasedUntil = leasedUntil;
+    }
+
+    /**
+     * @return a new {@link TaskQueueEntry} equal to the one stored in the queue
+     */
+    public TaskQueueEntry toEntry() {
+        return new TaskQueueEntry(eperson, submitted.toEpochMilli(), Arrays.asList(tasks.split(",")), objectId);
+    }
+}
@@ -28,6 +28,8 @@ public class ResolvedTask {
     // annotation data
     private boolean distributive = false;
     private boolean mutative = false;
+    private boolean threadSafe = false;
+    private int maxThreads = 0;
     private Curator.Invoked mode = null;
     private int[] codes = null;
 
@@ -39,6 +41,11 @@ public class ResolvedTask {
         Class ctClass = cTask.getClass();
         distributive = ctClass.isAnnotationPresent(Distributive.class);
         mutative = ctClass.isAnnotationPresent(Mutative.class);
+        ThreadSafe threadSafeAnno = (ThreadSafe) ctClass.getAnnotation(ThreadSafe.class);
+        if (threadSafeAnno != null) {
+            threadSafe = true;
+            maxThreads = threadSafeAnno.maxThreads();
+        }
         Suspendable suspendAnno = (Suspendable) ctClass.getAnnotation(Suspendable.class);
         if (suspendAnno != null) {
             mode = suspendAnno.invoked();
@@ -119,6 +126,24 @@ public class ResolvedTask {
         return mutative;
     }
 
+    /**
+     * Returns whether task can be performed upon several objects at the same time
+     *
+     * @return whether task can be performed upon several objects at the same time
+     */
+    public boolean isThreadSafe() {
+        return threadSafe;
+    }
+
+    /**
+     * Returns the maximum number of threads performing the task at the same time
+     *
+     * @return maximum number of threads, or 0 if not limited by the task
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
     public Curator.Invoked getMode() {
         return mode;
     }
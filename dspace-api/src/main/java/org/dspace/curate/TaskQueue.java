@@ -10,6 +10,8 @@ package org.dspace.curate;
 import java.io.IOException;
 import java.util.Set;
 
+import org.dspace.core.Context;
+
 /**
  * TaskQueue objects manage access to named queues of task entries.
  * Entries represent curation task requests that have been deferred.
@@ -17,6 +19,13 @@ import java.util.Set;
  * read access to a single reader possessing a ticket (first come,
  * first serve). After the read, the queue remains locked until
  * released by the reader, after which it is typically purged.
+ * Implementations may also hand out the entries in several batches, to
+ * several concurrent readers (see {@link DBTaskQueue}).
+ * <p>
+ * Callers which hold a DSpace Context use the methods taking it, so that
+ * implementations storing the queues in the database work in the caller's
+ * transaction instead of opening a Context of their own. The default
+ * implementations of these methods ignore the Context.
  *
  * @author richardrodgers
  */
@@ -48,6 +57,20 @@ public interface TaskQueue {
      */
     void enqueue(String queueName, Set<TaskQueueEntry> entrySet) throws IOException;
 
+    /**
+     * Queues a set of task entries to a named queue, in the transaction of
+     * the given context: the entries may not be visible to the readers before
+     * the context is committed.
+     *
+     * @param context   the DSpace context of the caller
+     * @param queueName the name of the queue on which to write
+     * @param entrySet  the set of task entries
+     * @throws IOException if IO error
+     */
+    default void enqueue(Context context, String queueName, Set<TaskQueueEntry> entrySet) throws IOException {
+        enqueue(queueName, entrySet);
+    }
+
     /**
      * Returns the set of task entries from the named queue. The operation locks
      * the queue from any further enqueue or dequeue operations until a
@@ -62,6 +85,22 @@ public interface TaskQueue {
      */
     Set<TaskQueueEntry> dequeue(String queueName, long ticket) throws IOException;
 
+    /**
+     * Returns the set of task entries from the named queue, see
+     * {@link #dequeue(String, long)}, using the given context. The context
+     * may be committed, to hide the entries from the other readers.
+     *
+     * @param context   the DSpace context of the caller
+     * @param queueName the name of the queue to read
+     * @param ticket    a token which must be presented to release the queue
+     * @return set
+     * the current set of queued task entries
+     * @throws IOException if IO error
+     */
+    default Set<TaskQueueEntry> dequeue(Context context, String queueName, long ticket) throws IOException {
+        return dequeue(queueName, ticket);
+    }
+
     /**
      * Releases the lock upon the named queue, deleting it if <code>removeEntries</code>
      * is set to true.
@@ -71,4 +110,70 @@ public interface TaskQueue {
      * @param removeEntries flag to indicate whether entries may be deleted
      */
     void release(String queueName, long ticket, boolean removeEntries);
+
+    /**
+     * Releases the lock upon the named queue, see
+     * {@link #release(String, long, boolean)}, using the given context. The
+     * context may be committed.
+     *
+     * @param context       the DSpace context of the caller
+     * @param queueName     the name of the queue to release
+     * @param ticket        a token that was presented when queue was dequeued.
+     * @param removeEntries flag to indicate whether entries may be deleted
+     */
+    default void release(Context context, String queueName, long ticket, boolean removeEntries) {
+        release(queueName, ticket, removeEntries);
+    }
+
+    /**
+     * Returns the number of task entries in the named queue, including the
+     * entries dequeued but not released yet.
+     *
+     * @param queueName the name of the queue
+     * @return number of entries, or -1 if not known by the implementation
+     * @throws IOException if IO error
+     */
+    default long size(String queueName) throws IOException {
+        return -1L;
+    }
+
+    /**
+     * Returns the number of task entries in the named queue, see
+     * {@link #size(String)}, using the given context.
+     *
+     * @param context   the DSpace context of the caller
+     * @param queueName the name of the queue
+     * @return number of entries, or -1 if not known by the implementation
+     * @throws IOException if IO error
+     */
+    default long size(Context context, String queueName) throws IOException {
+        return size(queueName);
+    }
+
+    /**
+     * Returns the submission time of the oldest task entry of the named queue,
+     * telling how long the entries wait before they are performed.
+     *
+     * @param queueName the name of the queue
+     * @return time (Instant.now().toEpochMilli()), or -1 if the queue is empty
+     * or the time is not known by the implementation
+     * @throws IOException if IO error
+     */
+    default long oldestSubmitTime(String queueName) throws IOException {
+        return -1L;
+    }
+
+    /**
+     * Returns the submission time of the oldest task entry of the named
+     * queue, see {@link #oldestSubmitTime(String)}, using the given context.
+     *
+     * @param context   the DSpace context of the caller
+     * @param queueName the name of the queue
+     * @return time (Instant.now().toEpochMilli()), or -1 if the queue is empty
+     * or the time is not known by the implementation
+     * @throws IOException if IO error
+     */
+    default long oldestSubmitTime(Context context, String queueName) throws IOException {
+        return oldestSubmitTime(queueName);
+    }
 }
@@ -0,0 +1,25 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Annotation type for CurationTasks. A task is thread safe if it
+ * can be performed upon several objects at the same time, from
+ * several threads. The items of a collection are then curated in
+ * parallel when the Curator is given more than one thread.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ThreadSafe {
+    // by default, the task is performed by as many threads as the curator has
+    int maxThreads() default 0;
+}
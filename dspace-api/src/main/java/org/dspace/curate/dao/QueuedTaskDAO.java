@@ -0,0 +1,69 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate.dao;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.curate.QueuedTask;
+
+/**
+ * Database Access Object interface class for the QueuedTask object. The
+ * implementation of this class is responsible for all database calls for the
+ * QueuedTask object and is autowired by spring. This class should only be
+ * accessed from a single service and should never be exposed outside of the API
+ */
+public interface QueuedTaskDAO extends GenericDAO<QueuedTask> {
+
+    /**
+     * Get the oldest tasks of a queue which are not leased, in the order they were queued, locking them until the
+     * end of the transaction. The tasks locked by other transactions are skipped, so that several readers can
+     * dequeue different tasks at the same time.
+     *
+     * @param  context      DSpace context object
+     * @param  queueName    the queue name
+     * @param  now          the leases ending before this time have expired
+     * @param  limit        maximum number of tasks to return
+     * @return              the queued tasks
+     * @throws SQLException if an SQL error occurs
+     */
+    public List<QueuedTask> findAvailable(Context context, String queueName, Instant now, int limit)
+        throws SQLException;
+
+    /**
+     * Get the names of the queues having tasks.
+     *
+     * @param  context      DSpace context object
+     * @return              the queue names
+     * @throws SQLException if an SQL error occurs
+     */
+    public List<String> findQueueNames(Context context) throws SQLException;
+
+    /**
+     * Count the tasks of a queue, leased or not.
+     *
+     * @param  context      DSpace context object
+     * @param  queueName    the queue name
+     * @return              the number of tasks
+     * @throws SQLException if an SQL error occurs
+     */
+    public long countByQueue(Context context, String queueName) throws SQLException;
+
+    /**
+     * Get the time the oldest task of a queue was queued.
+     *
+     * @param  context      DSpace context object
+     * @param  queueName    the queue name
+     * @return              the submission time of the oldest task, or null if the queue is empty
+     * @throws SQLException if an SQL error occurs
+     */
+    public Instant findOldestSubmitted(Context context, String queueName) throws SQLException;
+}
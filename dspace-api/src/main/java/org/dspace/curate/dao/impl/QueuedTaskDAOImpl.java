@@ -0,0 +1,61 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate.dao.impl;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.curate.QueuedTask;
+import org.dspace.curate.dao.QueuedTaskDAO;
+import org.hibernate.LockOptions;
+
+/**
+ * Implementation of {@link QueuedTaskDAO}.
+ */
+@SuppressWarnings("unchecked")
+public class QueuedTaskDAOImpl extends AbstractHibernateDAO<QueuedTask> implements QueuedTaskDAO {
+
+    @Override
+    public List<QueuedTask> findAvailable(Context context, String queueName, Instant now, int limit)
+        throws SQLException {
+        Query query = createQuery(context, "FROM QueuedTask WHERE queueName = :queueName"
+            + " AND (leasedUntil IS NULL OR leasedUntil < :now) ORDER BY id");
+        query.setParameter("queueName", queueName);
+        query.setParameter("now", now);
+        // SELECT ... FOR UPDATE SKIP LOCKED
+        query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        query.setHint("jakarta.persistence.lock.timeout", LockOptions.SKIP_LOCKED);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    @Override
+    public List<String> findQueueNames(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT DISTINCT queueName FROM QueuedTask");
+        return query.getResultList();
+    }
+
+    @Override
+    public long countByQueue(Context context, String queueName) throws SQLException {
+        Query query = createQuery(context, "SELECT COUNT(*) FROM QueuedTask WHERE queueName = :queueName");
+        query.setParameter("queueName", queueName);
+        return (Long) query.getSingleResult();
+    }
+
+    @Override
+    public Instant findOldestSubmitted(Context context, String queueName) throws SQLException {
+        Query query = createQuery(context, "SELECT MIN(submitted) FROM QueuedTask WHERE queueName = :queueName");
+        query.setParameter("queueName", queueName);
+        return (Instant) query.getSingleResult();
+    }
+}
@@ -67,6 +67,21 @@ public interface SearchService {
     Iterator<Item> iteratorSearch(Context context, IndexableObject dso, DiscoverQuery query)
         throws SearchServiceException;
 
+    /**
+     * Iterate over the search documents matching a query, without loading the matching objects from the database.
+     * Unlike {@link #iteratorSearch(Context, IndexableObject, DiscoverQuery)}, the results are walked with a cursor
+     * sorted on their unique index id instead of being paged by offset, so that iterating over the whole index does
+     * not get slower as it progresses.
+     *
+     * @param context DSpace context object
+     * @param query   the discovery query object. Its search fields are the values returned for each document, its
+     *                max results is the number of documents fetched at once. Its start and sort are ignored.
+     * @return an iterator over the search documents, fetching them page by page as it goes
+     * @throws SearchServiceException if search error
+     */
+    Iterator<DiscoverResult.SearchDocument> iteratorSearchDocuments(Context context, DiscoverQuery query)
+        throws SearchServiceException;
+
 
     List<IndexableObject> search(Context context, String query, String orderfield, boolean ascending, int offset,
                                  int max, String... filterquery);
@@ -18,12 +18,14 @@ import java.sql.SQLException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -43,6 +45,7 @@ import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.FacetParams;
 import org.apache.solr.common.params.HighlightParams;
 import org.apache.solr.common.params.MoreLikeThisParams;
@@ -50,6 +53,7 @@ import org.apache.solr.common.params.SpellingParams;
 import org.apache.solr.common.util.NamedList;
 import org.dspace.authorize.ResourcePolicy;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.browse.BrowseCountCache;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.DSpaceObject;
@@ -774,6 +778,94 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    @Override
+    public Iterator<DiscoverResult.SearchDocument> iteratorSearchDocuments(Context context, DiscoverQuery query)
+        throws SearchServiceException {
+        return new SearchDocumentIterator(resolveToSolrQuery(context, query), query.getSearchFields());
+    }
+
+    /**
+     * This class implements an iterator over the search documents matching a query, using a cursor (deep paging)
+     */
+    private class SearchDocumentIterator implements Iterator<DiscoverResult.SearchDocument> {
+        private final SolrQuery solrQuery;
+        private final List<String> searchFields;
+        private Iterator<SolrDocument> page = Collections.emptyIterator();
+        private DiscoverResult.SearchDocument nextDocument;
+        private String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        private boolean lastPage = false;
+
+        SearchDocumentIterator(SolrQuery solrQuery, List<String> searchFields) throws SearchServiceException {
+            this.solrQuery = solrQuery;
+            this.searchFields = searchFields;
+            // a cursor can only be used from the start, sorted on the unique key of the index
+            solrQuery.setStart(0);
+            if (solrQuery.getRows() == null) {
+                solrQuery.setRows(100);
+            }
+            solrQuery.setSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+            fetchNext();
+        }
+
+        private void fetchNext() throws SearchServiceException {
+            nextDocument = null;
+            while (nextDocument == null) {
+                if (!page.hasNext()) {
+                    if (lastPage) {
+                        return;
+                    }
+                    fetchPage();
+                    continue;
+                }
+                SolrDocument doc = page.next();
+                // skip the items which were indexed before being committed to the database
+                if (STATUS_FIELD_PREDB.equals(doc.getFirstValue(STATUS_FIELD))) {
+                    continue;
+                }
+                DiscoverResult.SearchDocument searchDocument = new DiscoverResult.SearchDocument();
+                for (String field : searchFields) {
+                    List<String> valuesAsString = new ArrayList<>();
+                    Optional.ofNullable(doc.getFieldValues(field))
+                            .ifPresent(l -> l.forEach(o -> valuesAsString.add(o instanceof Date
+                                ? ((Date) o).toInstant().toString() : String.valueOf(o))));
+                    searchDocument.addSearchField(field, valuesAsString.toArray(new String[valuesAsString.size()]));
+                }
+                nextDocument = searchDocument;
+            }
+        }
+
+        private void fetchPage() throws SearchServiceException {
+            solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            try {
+                QueryResponse response = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
+                page = response.getResults().iterator();
+                lastPage = cursorMark.equals(response.getNextCursorMark());
+                cursorMark = response.getNextCursorMark();
+            } catch (SolrServerException | IOException e) {
+                throw new SearchServiceException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextDocument != null;
+        }
+
+        @Override
+        public DiscoverResult.SearchDocument next() {
+            if (nextDocument == null) {
+                throw new NoSuchElementException();
+            }
+            DiscoverResult.SearchDocument current = nextDocument;
+            try {
+                fetchNext();
+            } catch (SearchServiceException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            return current;
+        }
+    }
+
     protected SolrQuery resolveToSolrQuery(Context context, DiscoverQuery discoveryQuery)
         throws SearchServiceException {
         SolrQuery solrQuery = new SolrQuery();
@@ -1512,6 +1604,8 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             if (solrSearchCore.getSolr() != null) {
                 solrSearchCore.getSolr().commit();
             }
+            // counts cached for browsing may have changed with this commit
+            BrowseCountCache.clear();
         } catch (IOException | SolrServerException e) {
             throw new SearchServiceException(e.getMessage(), e);
         }
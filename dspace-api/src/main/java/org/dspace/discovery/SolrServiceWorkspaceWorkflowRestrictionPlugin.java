@@ -89,13 +89,13 @@ public class SolrServiceWorkspaceWorkflowRestrictionPlugin implements SolrServic
                 throw new SearchServiceException(e.getMessage(), e);
             }
 
-            // insert filter by controllers
+            // insert filter by controllers. The terms query parser matches the (possibly many) groups as a set,
+            // instead of a boolean clause per group which could exceed the max clause count of Solr
             StringBuilder controllerQuery = new StringBuilder();
-            controllerQuery.append("taskfor:(e").append(currentUser.getID());
+            controllerQuery.append("{!terms f=taskfor}e").append(currentUser.getID());
             for (Group group : groups) {
-                controllerQuery.append(" OR g").append(group.getID());
+                controllerQuery.append(",g").append(group.getID());
             }
-            controllerQuery.append(")");
             solrQuery.addFilterQuery(controllerQuery.toString());
         }
     }
@@ -12,11 +12,17 @@ import java.util.Iterator;
 import org.apache.logging.log4j.Logger;
 import org.dspace.core.Context;
 import org.dspace.core.Utils;
+import org.dspace.event.factory.EventServiceFactory;
+import org.dspace.event.service.EventService;
 
 /**
  * BasicDispatcher implements the primary task of a Dispatcher: it delivers a
  * filtered list of events, synchronously, to a configured list of consumers. It
  * may be extended for more elaborate behavior.
+ * <p>
+ * Events for consumers configured as asynchronous ("event.consumer.&lt;name&gt;.async")
+ * are not delivered here but stored in the outbox, in the transaction being
+ * committed, and delivered by the {@link EventService} once it has been committed.
  *
  * @version $Revision$
  */
@@ -31,6 +37,10 @@ public class BasicDispatcher extends Dispatcher {
      */
     private static Logger log = org.apache.logging.log4j.LogManager.getLogger(BasicDispatcher.class);
 
+    protected EventService getEventService() {
+        return EventServiceFactory.getInstance().getEventService();
+    }
+
     @Override
     public void addConsumerProfile(ConsumerProfile cp)
         throws IllegalArgumentException {
@@ -101,6 +111,13 @@ public class BasicDispatcher extends Dispatcher {
                         }
 
                         try {
+                            if (cp.isAsync()) {
+                                // Stored with the changes, delivered once they have been committed
+                                getEventService().enqueue(ctx, cp.getName(), event);
+                                event.setBitSet(cp.getName());
+                                continue;
+                            }
+
                             cp.getConsumer().consume(ctx, event);
 
                             // Record that the event has been consumed by this
@@ -118,7 +135,7 @@ public class BasicDispatcher extends Dispatcher {
             // Call end on the consumers that got synchronous events.
             for (Iterator ci = consumers.values().iterator(); ci.hasNext(); ) {
                 ConsumerProfile cp = (ConsumerProfile) ci.next();
-                if (cp != null) {
+                if (cp != null && !cp.isAsync()) {
                     if (log.isDebugEnabled()) {
                         log.debug("Calling end for consumer \"" + cp.getName()
                                       + "\"");
@@ -43,6 +43,11 @@ public class ConsumerProfile {
      */
     private List<int[]> filters;
 
+    /**
+     * Whether events are delivered to the consumer asynchronously, through the outbox
+     */
+    private boolean async;
+
     // Prefix of keys in DSpace Configuration.
     private static final String CONSUMER_PREFIX = "event.consumer.";
 
@@ -104,6 +109,8 @@ public class ConsumerProfile {
                 "No filters configured for consumer named: " + name);
         }
 
+        async = configurationService.getBooleanProperty(CONSUMER_PREFIX + name + ".async", false);
+
         consumer = Class.forName(className.trim())
                 .asSubclass(Consumer.class)
                 .getDeclaredConstructor().newInstance();
@@ -163,4 +170,12 @@ public class ConsumerProfile {
     public String getName() {
         return name;
     }
+
+    /**
+     * @return true if events are stored in the outbox and delivered to the consumer after the transaction has been
+     * committed, false if the consumer receives them synchronously, before the commit.
+     */
+    public boolean isAsync() {
+        return async;
+    }
 }
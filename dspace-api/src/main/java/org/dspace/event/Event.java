@@ -11,10 +11,14 @@ import java.io.Serializable;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -225,6 +229,11 @@ public class Event implements Serializable {
 
     private BitSet consumedBy = new BitSet();
 
+    /**
+     * cached key identifying the events this event can be merged with
+     */
+    private transient MergeKey mergeKey;
+
     /**
      * log4j category
      */
@@ -636,6 +645,120 @@ public class Event implements Serializable {
         return consumedBy;
     }
 
+    /**
+     * Whether repeated events like this one can be merged (see {@link #merge(Event)}). Only MODIFY and
+     * MODIFY_METADATA events are, because consumers depend on the order and number of the other events, e.g. an
+     * object added, removed and added again.
+     *
+     * @return true for MODIFY and MODIFY_METADATA events
+     */
+    public boolean isMergeable() {
+        return eventType == MODIFY || eventType == MODIFY_METADATA;
+    }
+
+    /**
+     * Get the key identifying the events which can be merged into this one (see {@link #merge(Event)}). Events
+     * have the same key when they have the same type, subject, object and detail, except MODIFY_METADATA events,
+     * whose key ignores the detail.
+     *
+     * @return the merge key of this event
+     */
+    public MergeKey getMergeKey() {
+        if (mergeKey == null) {
+            mergeKey = new MergeKey(eventType, subjectType, subjectID, objectType, objectID,
+                                    eventType == MODIFY_METADATA ? null : detail);
+        }
+        return mergeKey;
+    }
+
+    /**
+     * Merge an event which only repeats this one, so that consumers only need to receive this event. The details
+     * of MODIFY_METADATA events (the list of modified fields) and the identifiers are combined.
+     *
+     * @param other a later event
+     * @return true if the other event has been merged into this one, false if both events are needed
+     */
+    public boolean merge(Event other) {
+        if (this == other || !isMergeable() || !getMergeKey().equals(other.getMergeKey())) {
+            return false;
+        }
+        if (eventType == MODIFY_METADATA && !Objects.equals(detail, other.detail)) {
+            if (detail == null || other.detail == null) {
+                detail = detail == null ? other.detail : detail;
+            } else {
+                Set<String> fields = new LinkedHashSet<>(Arrays.asList(detail.split(", ")));
+                fields.addAll(Arrays.asList(other.detail.split(", ")));
+                detail = String.join(", ", fields);
+            }
+        }
+        for (String identifier : other.identifiers) {
+            if (!identifiers.contains(identifier)) {
+                identifiers.add(identifier);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compact, hashable representation of the identity of an event, used to find events which can be merged
+     * without comparing every pair of queued events.
+     */
+    public static final class MergeKey {
+        private final int eventType;
+        private final int subjectType;
+        private final long subjectMostSigBits;
+        private final long subjectLeastSigBits;
+        private final int objectType;
+        private final long objectMostSigBits;
+        private final long objectLeastSigBits;
+        private final String detail;
+        private final int hash;
+
+        private MergeKey(int eventType, int subjectType, UUID subjectID, int objectType, UUID objectID,
+                         String detail) {
+            this.eventType = eventType;
+            this.subjectType = subjectType;
+            this.subjectMostSigBits = subjectID != null ? subjectID.getMostSignificantBits() : 0;
+            this.subjectLeastSigBits = subjectID != null ? subjectID.getLeastSignificantBits() : 0;
+            this.objectType = objectType;
+            this.objectMostSigBits = objectID != null ? objectID.getMostSignificantBits() : 0;
+            this.objectLeastSigBits = objectID != null ? objectID.getLeastSignificantBits() : 0;
+            this.detail = detail;
+            int result = eventType;
+            result = 31 * result + subjectType;
+            result = 31 * result + Long.hashCode(subjectMostSigBits ^ subjectLeastSigBits);
+            result = 31 * result + objectType;
+            result = 31 * result + Long.hashCode(objectMostSigBits ^ objectLeastSigBits);
+            result = 31 * result + (detail != null ? detail.hashCode() : 0);
+            this.hash = result;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof MergeKey)) {
+                return false;
+            }
+            MergeKey key = (MergeKey) other;
+            return hash == key.hash
+                && eventType == key.eventType
+                && subjectType == key.subjectType
+                && subjectMostSigBits == key.subjectMostSigBits
+                && subjectLeastSigBits == key.subjectLeastSigBits
+                && objectType == key.objectType
+                && objectMostSigBits == key.objectMostSigBits
+                && objectLeastSigBits == key.objectLeastSigBits
+                && Objects.equals(detail, key.detail);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     /**
      * @return Detailed string representation of contents of this event, to
      * help in logging and debugging.
@@ -9,10 +9,22 @@ package org.dspace.event;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.pool2.KeyedObjectPool;
@@ -24,9 +36,13 @@ import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
 import org.apache.logging.log4j.Logger;
 import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.service.EPersonService;
+import org.dspace.event.dao.OutboxEventDAO;
 import org.dspace.event.service.EventService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Class for managing the content event environment. The EventManager mainly
@@ -56,10 +72,34 @@ public class EventServiceImpl implements EventService {
     private static final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
                                                                                           .getConfigurationService();
 
+    @Autowired(required = true)
+    protected OutboxEventDAO outboxEventDAO;
+
+    @Autowired(required = true)
+    protected EPersonService ePersonService;
+
+    /**
+     * Delivery of the outbox events of asynchronous consumers, by consumer name
+     */
+    protected final Map<String, OutboxWorker> outboxWorkers = new ConcurrentHashMap<>();
+
+    /**
+     * Periodically delivers the outbox events left behind, e.g. by command line processes or failed deliveries
+     */
+    private ScheduledExecutorService outboxPoller;
+
 
     protected EventServiceImpl() {
         initPool();
         log.info("EventService dispatcher pool initialized");
+
+        // Deliver the events left in the outbox of asynchronous consumers, e.g. by command line processes
+        for (String key : configurationService.getPropertyKeys(CONSUMER_PFX)) {
+            if (key.endsWith(".async") && configurationService.getBooleanProperty(key, false)) {
+                startOutboxPoller();
+                break;
+            }
+        }
     }
 
     private void initPool() {
@@ -128,6 +168,239 @@ public class EventServiceImpl implements EventService {
 
     }
 
+    @Override
+    public void enqueue(Context context, String consumer, Event event) throws SQLException {
+        EPerson currentUser = context.getCurrentUser();
+        outboxEventDAO.create(context, new OutboxEvent(consumer, event,
+                                                       currentUser != null ? currentUser.getID() : null));
+        context.addOutboxConsumer(consumer);
+    }
+
+    @Override
+    public void deliverOutboxEvents(Collection<String> consumers) {
+        startOutboxPoller();
+        for (String consumer : consumers) {
+            OutboxWorker worker = getOutboxWorker(consumer);
+            if (worker != null) {
+                worker.schedule();
+            }
+        }
+    }
+
+    /**
+     * Deliver the events waiting in the outbox of every consumer.
+     */
+    protected void deliverAllOutboxEvents() {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            deliverOutboxEvents(outboxEventDAO.findConsumers(context));
+        } catch (Exception e) {
+            log.error("Unable to read the event outbox", e);
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    /**
+     * Start polling the outbox every "event.outbox.poll-interval" seconds, if not done yet.
+     */
+    protected synchronized void startOutboxPoller() {
+        long interval = configurationService.getLongProperty("event.outbox.poll-interval", 60);
+        if (outboxPoller != null || interval <= 0) {
+            return;
+        }
+        outboxPoller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-outbox-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        outboxPoller.scheduleWithFixedDelay(this::deliverAllOutboxEvents, interval, interval, TimeUnit.SECONDS);
+    }
+
+    protected OutboxWorker getOutboxWorker(String consumer) {
+        return outboxWorkers.computeIfAbsent(consumer, name -> {
+            try {
+                ConsumerProfile profile = ConsumerProfile.makeConsumerProfile(name);
+                profile.getConsumer().initialize();
+                return new OutboxWorker(profile);
+            } catch (Exception e) {
+                log.error("Unable to create consumer \"" + name + "\" to deliver its outbox events", e);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Delivers the outbox events of a single consumer. A worker owns its own consumer instance and delivers events
+     * on a single thread, strictly in the order they were stored, so consumers do not need to be thread safe and
+     * see the same order of events as synchronous consumers. Events are delivered at least once: a failed batch is
+     * rolled back and delivered again, one event at a time up to the event which failed, waiting longer after every
+     * failed attempt. The consumer is replaced by a new instance after a failure, so that it does not carry the
+     * state of the rolled back batch into the next one.
+     */
+    protected class OutboxWorker {
+        private ConsumerProfile profile;
+
+        private final ExecutorService executor;
+
+        /**
+         * Whether a delivery is already waiting to run, so that a burst of commits results in a single delivery
+         */
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        protected OutboxWorker(ConsumerProfile profile) {
+            this.profile = profile;
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "event-outbox-" + profile.getName());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        protected void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this::deliver);
+            }
+        }
+
+        /**
+         * Deliver batches of events until the outbox of the consumer is empty, or until the oldest event is not
+         * due yet.
+         */
+        protected void deliver() {
+            scheduled.set(false);
+            int batchSize = configurationService.getIntProperty("event.outbox.batch-size", 100);
+            // While not null, events are delivered one at a time, up to this event which made a batch fail
+            Integer failedID = null;
+            while (true) {
+                List<Integer> delivered = new ArrayList<>();
+                try {
+                    if (!deliverBatch(failedID != null ? 1 : Math.max(batchSize, 1), delivered)) {
+                        return;
+                    }
+                } catch (Exception e) {
+                    // The consumer may hold the state of the rolled back batch
+                    resetConsumer();
+                    if (failedID == null && delivered.size() > 1) {
+                        // Find out which event caused the failure
+                        failedID = delivered.get(delivered.size() - 1);
+                        continue;
+                    } else if (delivered.isEmpty() || !recordFailure(delivered.get(0), e)) {
+                        log.error("Unable to deliver the outbox events of consumer \"" + profile.getName() + "\"", e);
+                        return;
+                    }
+                }
+                if (failedID != null && !delivered.isEmpty() && delivered.get(0) >= failedID) {
+                    // The event which made the batch fail has been delivered, postponed or dropped
+                    failedID = null;
+                }
+            }
+        }
+
+        /**
+         * Replace the consumer by a new instance, discarding whatever it collected from a batch which failed.
+         */
+        private void resetConsumer() {
+            try {
+                ConsumerProfile newProfile = ConsumerProfile.makeConsumerProfile(profile.getName());
+                newProfile.getConsumer().initialize();
+                profile = newProfile;
+            } catch (Exception e) {
+                log.error("Unable to create a new instance of consumer \"" + profile.getName() + "\"", e);
+            }
+        }
+
+        /**
+         * Deliver the oldest events of the outbox which are due and were caused by the same user, in one
+         * transaction, and remove them from the outbox.
+         *
+         * @param limit     maximum number of events to deliver
+         * @param delivered receives the ids of the events passed to the consumer
+         * @return false if there was no event to deliver
+         */
+        private boolean deliverBatch(int limit, List<Integer> delivered) throws Exception {
+            Context context = new Context();
+            try {
+                context.turnOffAuthorisationSystem();
+                List<OutboxEvent> batch = new ArrayList<>();
+                Instant now = Instant.now();
+                for (OutboxEvent outboxEvent : outboxEventDAO.findOldestByConsumer(context, profile.getName(), limit)) {
+                    if (outboxEvent.getNextAttempt() != null && outboxEvent.getNextAttempt().isAfter(now)
+                        || !batch.isEmpty() && !Objects.equals(batch.get(0).getEPersonID(),
+                                                               outboxEvent.getEPersonID())) {
+                        break;
+                    }
+                    batch.add(outboxEvent);
+                }
+                if (batch.isEmpty()) {
+                    return false;
+                }
+
+                UUID epersonID = batch.get(0).getEPersonID();
+                if (epersonID != null) {
+                    context.setCurrentUser(ePersonService.find(context, epersonID));
+                }
+                for (OutboxEvent outboxEvent : batch) {
+                    delivered.add(outboxEvent.getID());
+                    Event event = outboxEvent.toEvent();
+                    event.setDispatcher(profile.getName().hashCode());
+                    profile.getConsumer().consume(context, event);
+                }
+                profile.getConsumer().end(context);
+
+                for (OutboxEvent outboxEvent : batch) {
+                    outboxEventDAO.delete(context, outboxEvent);
+                }
+                context.complete();
+                return true;
+            } finally {
+                if (context.isValid()) {
+                    context.abort();
+                }
+            }
+        }
+
+        /**
+         * Postpone the next delivery of an event which could not be delivered, or drop it once it has failed
+         * "event.outbox.max-attempts" times.
+         *
+         * @return false if the failure could not be recorded
+         */
+        private boolean recordFailure(Integer id, Exception cause) {
+            Context context = new Context();
+            try {
+                OutboxEvent outboxEvent = outboxEventDAO.findByID(context, OutboxEvent.class, id);
+                if (outboxEvent == null) {
+                    return true;
+                }
+                int attempts = outboxEvent.getAttempts() + 1;
+                if (attempts >= configurationService.getIntProperty("event.outbox.max-attempts", 5)) {
+                    log.error("Giving up delivering event " + outboxEvent.toEvent() + " to consumer \""
+                                  + profile.getName() + "\" after " + attempts + " attempts", cause);
+                    outboxEventDAO.delete(context, outboxEvent);
+                } else {
+                    long delay = configurationService.getLongProperty("event.outbox.retry-delay", 60);
+                    log.warn("Unable to deliver event " + outboxEvent.toEvent() + " to consumer \""
+                                 + profile.getName() + "\", attempt " + attempts, cause);
+                    outboxEvent.setAttempts(attempts);
+                    outboxEvent.setNextAttempt(Instant.now().plusSeconds(delay << Math.min(attempts - 1, 16)));
+                    outboxEventDAO.save(context, outboxEvent);
+                }
+                context.complete();
+                return true;
+            } catch (SQLException e) {
+                log.error("Unable to record the failed delivery of outbox event " + id, e);
+                return false;
+            } finally {
+                if (context.isValid()) {
+                    context.abort();
+                }
+            }
+        }
+    }
+
     protected void enumerateConsumers() {
         // Get all configs starting with CONSUMER_PFX
         List<String> propertyNames = configurationService.getPropertyKeys(CONSUMER_PFX);
@@ -0,0 +1,158 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.core.ReloadableEntity;
+import org.hibernate.Length;
+
+/**
+ * Entity modelling an {@link Event} waiting in the outbox for delivery to an asynchronous consumer. Outbox events
+ * are stored in the same transaction as the changes that caused them, and are delivered once that transaction has
+ * been committed (see {@link ConsumerProfile#isAsync()}).
+ */
+@Entity
+@Table(name = "event_outbox")
+public class OutboxEvent implements ReloadableEntity<Integer> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_outbox_id_seq")
+    @SequenceGenerator(name = "event_outbox_id_seq", sequenceName = "event_outbox_id_seq", allocationSize = 1)
+    private Integer id;
+
+    /**
+     * The name of the consumer the event is to be delivered to.
+     */
+    @Column(name = "consumer", nullable = false)
+    private String consumer;
+
+    @Column(name = "event_type")
+    private int eventType;
+
+    @Column(name = "subject_type")
+    private int subjectType;
+
+    @Column(name = "subject_id")
+    private UUID subjectID;
+
+    @Column(name = "object_type")
+    private int objectType;
+
+    @Column(name = "object_id")
+    private UUID objectID;
+
+    @Column(name = "detail", length = Length.LONG32)
+    private String detail;
+
+    /**
+     * The identifiers of the subject, separated by new lines.
+     */
+    @Column(name = "identifiers", length = Length.LONG32)
+    private String identifiers;
+
+    /**
+     * The user who caused the event, if any.
+     */
+    @Column(name = "eperson_id")
+    private UUID epersonID;
+
+    @Column(name = "created")
+    private Instant created;
+
+    /**
+     * Delivery attempts already made for this event.
+     */
+    @Column(name = "attempts")
+    private Integer attempts = 0;
+
+    /**
+     * The event is not delivered before this time.
+     */
+    @Column(name = "next_attempt")
+    private Instant nextAttempt;
+
+    /**
+     * Protected constructor, create object using
+     * {@link org.dspace.event.service.EventService#enqueue(org.dspace.core.Context, String, Event)}
+     */
+    protected OutboxEvent() {
+    }
+
+    protected OutboxEvent(String consumer, Event event, UUID epersonID) {
+        this.consumer = consumer;
+        this.eventType = event.getEventType();
+        this.subjectType = event.getSubjectType();
+        this.subjectID = event.getSubjectID();
+        this.objectType = event.getObjectType();
+        this.objectID = event.getObjectID();
+        this.detail = event.getDetail();
+        this.identifiers = StringUtils.join(event.getIdentifiers(), "\n");
+        this.epersonID = epersonID;
+        this.created = Instant.ofEpochMilli(event.getTimeStamp());
+        this.nextAttempt = created;
+    }
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public String getConsumer() {
+        return consumer;
+    }
+
+    public UUID getEPersonID() {
+        return epersonID;
+    }
+
+    public Instant getCreated() {
+        return created;
+    }
+
+    public int getAttempts() {
+        return attempts != null ? attempts : 0;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getNextAttempt() {
+        return nextAttempt;
+    }
+
+    public void setNextAttempt(Instant nextAttempt) {
+        this.nextAttempt = nextAttempt;
+    }
+
+    /**
+     * @return a new {@link Event} equal to the one stored in the outbox
+     */
+    public Event toEvent() {
+        ArrayList<String> identifierList = new ArrayList<>();
+        if (StringUtils.isNotEmpty(identifiers)) {
+            identifierList.addAll(Arrays.asList(identifiers.split("\n")));
+        }
+        if (objectType < 0) {
+            return new Event(eventType, subjectType, subjectID, detail, identifierList);
+        }
+        return new Event(eventType, subjectType, subjectID, objectType, objectID, detail, identifierList);
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event.dao;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.event.OutboxEvent;
+
+/**
+ * Database Access Object interface class for the OutboxEvent object. The
+ * implementation of this class is responsible for all database calls for the
+ * OutboxEvent object and is autowired by spring. This class should only be
+ * accessed from a single service and should never be exposed outside of the API
+ */
+public interface OutboxEventDAO extends GenericDAO<OutboxEvent> {
+
+    /**
+     * Get the oldest outbox events of a consumer, in the order they were stored, locking them until the end of
+     * the transaction so that they are delivered by a single process at a time.
+     *
+     * @param  context      DSpace context object
+     * @param  consumer     the consumer name
+     * @param  limit        maximum number of events to return
+     * @return              the outbox events
+     * @throws SQLException if an SQL error occurs
+     */
+    public List<OutboxEvent> findOldestByConsumer(Context context, String consumer, int limit) throws SQLException;
+
+    /**
+     * Get the names of the consumers having events in the outbox.
+     *
+     * @param  context      DSpace context object
+     * @return              the consumer names
+     * @throws SQLException if an SQL error occurs
+     */
+    public List<String> findConsumers(Context context) throws SQLException;
+}
@@ -0,0 +1,41 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event.dao.impl;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.event.OutboxEvent;
+import org.dspace.event.dao.OutboxEventDAO;
+
+/**
+ * Implementation of {@link OutboxEventDAO}.
+ */
+@SuppressWarnings("unchecked")
+public class OutboxEventDAOImpl extends AbstractHibernateDAO<OutboxEvent> implements OutboxEventDAO {
+
+    @Override
+    public List<OutboxEvent> findOldestByConsumer(Context context, String consumer, int limit)
+        throws SQLException {
+        Query query = createQuery(context, "FROM OutboxEvent WHERE consumer = :consumer ORDER BY id");
+        query.setParameter("consumer", consumer);
+        query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    @Override
+    public List<String> findConsumers(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT DISTINCT consumer FROM OutboxEvent");
+        return query.getResultList();
+    }
+}
@@ -7,7 +7,12 @@
  */
 package org.dspace.event.service;
 
+import java.sql.SQLException;
+import java.util.Collection;
+
+import org.dspace.core.Context;
 import org.dspace.event.Dispatcher;
+import org.dspace.event.Event;
 
 /**
  * Class for managing the content event environment. The EventManager mainly
@@ -34,4 +39,23 @@ public interface EventService {
     public void returnDispatcher(String key, Dispatcher disp);
 
     public int getConsumerIndex(String consumerClass);
+
+    /**
+     * Store an event in the outbox of an asynchronous consumer. The event is saved in the current transaction of
+     * the context, and is only delivered once that transaction has been committed.
+     *
+     * @param context  The relevant DSpace Context.
+     * @param consumer name of the consumer the event is for
+     * @param event    the event
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public void enqueue(Context context, String consumer, Event event) throws SQLException;
+
+    /**
+     * Deliver the events waiting in the outbox of the given consumers, in the background. Events of a consumer are
+     * delivered one after the other, in the order they were stored.
+     *
+     * @param consumers names of the consumers
+     */
+    public void deliverOutboxEvents(Collection<String> consumers);
 }
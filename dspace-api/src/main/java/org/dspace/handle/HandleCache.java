@@ -0,0 +1,220 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.handle;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Shared, bounded cache of the handle resolutions done by the {@link HandleServiceImpl}: handle to the type and UUID
+ * of the object it identifies, and UUID of an object to its handle. The two directions are filled separately, since
+ * an object may have several handles but only one of them is its handle. Handles hardly ever change once assigned,
+ * while resolving them is done for almost every request addressing an object by its handle.
+ * <p>
+ * Entries expire after "handle.cache.ttl" seconds and each direction holds at most "handle.cache.size" entries,
+ * least recently used first out. Handles which do not resolve to any object are cached too, but only for
+ * "handle.cache.negative-ttl" seconds, so that floods of requests for invalid handles do not all reach the database.
+ * Entries are evicted when this JVM changes a handle (see {@link HandleCacheConsumer}); the time to live bounds how
+ * long changes made by other processes can go unnoticed.
+ */
+public class HandleCache {
+
+    private static final LinkedHashMap<String, Entry> handles = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static final LinkedHashMap<UUID, Entry> objects = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * A cached resolution. The type and id are null if the handle does not resolve to any object.
+     */
+    public static class Entry {
+        private final String handle;
+        private final Integer type;
+        private final UUID id;
+        private final long expires;
+
+        Entry(String handle, Integer type, UUID id, long expires) {
+            this.handle = handle;
+            this.type = type;
+            this.id = id;
+            this.expires = expires;
+        }
+
+        public String getHandle() {
+            return handle;
+        }
+
+        public Integer getType() {
+            return type;
+        }
+
+        public UUID getID() {
+            return id;
+        }
+
+        public boolean isNotFound() {
+            return id == null;
+        }
+    }
+
+    /**
+     * Default constructor
+     */
+    private HandleCache() { }
+
+    private static ConfigurationService getConfigurationService() {
+        return DSpaceServicesFactory.getInstance().getConfigurationService();
+    }
+
+    private static long getTimeToLive() {
+        return getConfigurationService().getLongProperty("handle.cache.ttl", 3600);
+    }
+
+    private static long getNegativeTimeToLive() {
+        return getConfigurationService().getLongProperty("handle.cache.negative-ttl", 60);
+    }
+
+    /**
+     * @param handle the handle to resolve
+     * @return the cached resolution of the handle, or null if there is no valid entry for it
+     */
+    public static Entry get(String handle) {
+        synchronized (handles) {
+            return valid(handles, handle);
+        }
+    }
+
+    /**
+     * @param id UUID of an object
+     * @return the cached resolution of the handle of this object, or null if there is no valid entry for it
+     */
+    public static Entry get(UUID id) {
+        synchronized (handles) {
+            return valid(objects, id);
+        }
+    }
+
+    /**
+     * Cache the object a handle resolves to. The handle is not cached as the handle of the object, since an object
+     * may have several handles (e.g. version handles), see {@link #putHandleOf(UUID, int, String)}.
+     *
+     * @param handle the handle
+     * @param type   the type of the object identified by the handle
+     * @param id     the UUID of the object identified by the handle
+     */
+    public static void put(String handle, int type, UUID id) {
+        long ttl = getTimeToLive();
+        if (ttl <= 0) {
+            return;
+        }
+        synchronized (handles) {
+            handles.put(handle, new Entry(handle, type, id, System.currentTimeMillis() + ttl * 1000));
+            trim();
+        }
+    }
+
+    /**
+     * Cache the handle of an object, as chosen among its handles by
+     * {@link HandleServiceImpl#findHandle(org.dspace.core.Context, org.dspace.content.DSpaceObject)}.
+     *
+     * @param id     the UUID of the object
+     * @param type   the type of the object
+     * @param handle the handle of the object
+     */
+    public static void putHandleOf(UUID id, int type, String handle) {
+        long ttl = getTimeToLive();
+        if (ttl <= 0) {
+            return;
+        }
+        synchronized (handles) {
+            objects.put(id, new Entry(handle, type, id, System.currentTimeMillis() + ttl * 1000));
+            trim();
+        }
+    }
+
+    /**
+     * Cache that a handle does not resolve to any object.
+     *
+     * @param handle the handle
+     */
+    public static void putNotFound(String handle) {
+        long ttl = getNegativeTimeToLive();
+        if (ttl <= 0) {
+            return;
+        }
+        synchronized (handles) {
+            handles.put(handle, new Entry(handle, null, null, System.currentTimeMillis() + ttl * 1000));
+            trim();
+        }
+    }
+
+    /**
+     * Forget a handle, and the object it was resolved to.
+     *
+     * @param handle the handle
+     */
+    public static void evict(String handle) {
+        synchronized (handles) {
+            Entry entry = handles.remove(handle);
+            if (entry != null && entry.id != null) {
+                objects.remove(entry.id);
+            }
+        }
+    }
+
+    /**
+     * Forget the handle of an object.
+     *
+     * @param id UUID of the object
+     */
+    public static void evict(UUID id) {
+        synchronized (handles) {
+            Entry entry = objects.remove(id);
+            if (entry != null) {
+                handles.remove(entry.handle);
+            }
+        }
+    }
+
+    /**
+     * Forget all cached resolutions, e.g. because the handle prefix has changed.
+     */
+    public static void clear() {
+        synchronized (handles) {
+            handles.clear();
+            objects.clear();
+        }
+    }
+
+    private static <K> Entry valid(Map<K, Entry> entries, K key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expires < System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private static void trim() {
+        int maxSize = getConfigurationService().getIntProperty("handle.cache.size", 10000);
+        trim(handles, maxSize);
+        trim(objects, maxSize);
+    }
+
+    private static void trim(Map<?, Entry> entries, int maxSize) {
+        Iterator<? extends Map.Entry<?, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
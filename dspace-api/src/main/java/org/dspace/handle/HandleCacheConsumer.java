@@ -0,0 +1,58 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.handle;
+
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.handle.factory.HandleServiceFactory;
+import org.dspace.handle.service.HandleService;
+
+/**
+ * Consumer evicting the handles of created, modified and deleted objects from the {@link HandleCache}.
+ * <p>
+ * The {@link HandleServiceImpl} already evicts the handles it changes, but other threads may resolve (and cache)
+ * a handle again before that change is committed. Events are only dispatched after the commit, so evicting them
+ * again here guarantees that no stale resolution is kept.
+ */
+public class HandleCacheConsumer implements Consumer {
+
+    private HandleService handleService;
+
+    @Override
+    public void initialize() throws Exception {
+        handleService = HandleServiceFactory.getInstance().getHandleService();
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        if (event.getSubjectID() != null) {
+            HandleCache.evict(event.getSubjectID());
+        }
+        // Deleted objects no longer have their handle, but the event still carries it
+        if (event.getEventType() == Event.DELETE && event.getDetail() != null) {
+            HandleCache.evict(event.getDetail());
+        }
+        for (String identifier : event.getIdentifiers()) {
+            String handle = handleService.parseHandle(identifier);
+            if (handle != null) {
+                HandleCache.evict(handle);
+            }
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        // No-op
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+        // No-op
+    }
+}
@@ -19,12 +19,14 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.SiteService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.handle.dao.HandleDAO;
 import org.dspace.handle.service.HandleService;
 import org.dspace.services.ConfigurationService;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -146,6 +148,8 @@ public class HandleServiceImpl implements HandleService {
         dso.addHandle(handle);
         handle.setResourceTypeId(dso.getType());
         handleDAO.save(context, handle);
+        HandleCache.evict(handleId);
+        HandleCache.evict(dso.getID());
 
         log.debug("Created new handle for {} (ID={}) {}",
             () -> Constants.typeText[dso.getType()],
@@ -200,6 +204,8 @@ public class HandleServiceImpl implements HandleService {
         handle.setDSpaceObject(dso);
         dso.addHandle(handle);
         handleDAO.save(context, handle);
+        HandleCache.evict(suppliedHandle);
+        HandleCache.evict(dso.getID());
 
         log.debug("Created new handle for {} (ID={}) {}",
             () -> Constants.typeText[dso.getType()],
@@ -212,6 +218,7 @@ public class HandleServiceImpl implements HandleService {
     @Override
     public void unbindHandle(Context context, DSpaceObject dso)
         throws SQLException {
+        HandleCache.evict(dso.getID());
         Iterator<Handle> handles = dso.getHandles().iterator();
         if (handles.hasNext()) {
             while (handles.hasNext()) {
@@ -225,6 +232,7 @@ public class HandleServiceImpl implements HandleService {
 
 
                 handleDAO.save(context, handle);
+                HandleCache.evict(handle.getHandle());
 
                 log.debug("Unbound Handle {} from object {} id={}",
                     () -> handle.getHandle(),
@@ -241,6 +249,20 @@ public class HandleServiceImpl implements HandleService {
     @Override
     public DSpaceObject resolveToObject(Context context, String handle)
         throws IllegalStateException, SQLException {
+        HandleCache.Entry cached = HandleCache.get(handle);
+        if (cached != null) {
+            if (cached.isNotFound()) {
+                return null;
+            }
+            DSpaceObject dso = ContentServiceFactory.getInstance().getDSpaceObjectService(cached.getType())
+                                                    .find(context, cached.getID());
+            if (dso != null) {
+                return dso;
+            }
+            // The object is gone, check the handle again
+            HandleCache.evict(handle);
+        }
+
         Handle dbhandle = findHandleInternal(context, handle);
         // check if handle was allocated previously, but is currently not
         // associated with a DSpaceObject
@@ -248,15 +270,25 @@ public class HandleServiceImpl implements HandleService {
         if (dbhandle == null || (dbhandle.getDSpaceObject() == null)
             || (dbhandle.getResourceTypeId() == null)) {
             //if handle has been unbound, just return null (as this will result in a PageNotFound)
+            HandleCache.putNotFound(handle);
             return null;
         }
 
-        return dbhandle.getDSpaceObject();
+        DSpaceObject dso = dbhandle.getDSpaceObject();
+        HandleCache.put(handle, dso.getType(), dso.getID());
+        return dso;
     }
 
     @Override
     public String findHandle(Context context, DSpaceObject dso)
         throws SQLException {
+        // Avoid loading the handles of the object if its handle is already known
+        if (dso.getID() != null && !Hibernate.isInitialized(dso.getHandles())) {
+            HandleCache.Entry cached = HandleCache.get(dso.getID());
+            if (cached != null) {
+                return cached.getHandle();
+            }
+        }
         List<Handle> handles = dso.getHandles();
         if (CollectionUtils.isEmpty(handles)) {
             return null;
@@ -272,6 +304,9 @@ public class HandleServiceImpl implements HandleService {
                 }
             }
 
+            if (dso.getID() != null) {
+                HandleCache.putHandleOf(dso.getID(), dso.getType(), result);
+            }
             return result;
         }
     }
@@ -304,6 +339,7 @@ public class HandleServiceImpl implements HandleService {
 
     @Override
     public int updateHandlesWithNewPrefix(Context context, String newPrefix, String oldPrefix) throws SQLException {
+        HandleCache.clear();
         return handleDAO.updateHandlesWithNewPrefix(context, newPrefix, oldPrefix);
     }
 
@@ -316,12 +352,15 @@ public class HandleServiceImpl implements HandleService {
             if (dbHandle.getDSpaceObject() != null) {
                 // Remove the old handle from the current handle list
                 dbHandle.getDSpaceObject().getHandles().remove(dbHandle);
+                HandleCache.evict(dbHandle.getDSpaceObject().getID());
             }
             // Transfer the current handle to the new object
             dbHandle.setDSpaceObject(newOwner);
             dbHandle.setResourceTypeId(newOwner.getType());
             newOwner.getHandles().add(0, dbHandle);
             handleDAO.save(context, dbHandle);
+            HandleCache.evict(handle);
+            HandleCache.evict(newOwner.getID());
         }
 
     }
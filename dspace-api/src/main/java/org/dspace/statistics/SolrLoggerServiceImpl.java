@@ -34,6 +34,8 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -41,6 +43,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import com.maxmind.geoip2.DatabaseReader;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
@@ -69,6 +75,7 @@ import org.apache.solr.client.solrj.request.LukeRequest;
 import org.apache.solr.client.solrj.response.CoreAdminResponse;
 import org.apache.solr.client.solrj.response.FacetField;
 import org.apache.solr.client.solrj.response.LukeResponse;
+import org.apache.solr.client.solrj.response.PivotField;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.RangeFacet;
 import org.apache.solr.client.solrj.response.SolrPingResponse;
@@ -130,9 +137,15 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     protected boolean useProxies;
 
-    private static final List<String> statisticYearCores = new ArrayList<>();
+    private static final List<String> statisticYearCores = new CopyOnWriteArrayList<>();
     private static boolean statisticYearCoresInit = false;
 
+    /** The statistics cores of each year, which receive the usage events of that year when partitioned. */
+    private static final Map<Integer, SolrClient> statisticPartitions = new ConcurrentHashMap<>();
+
+    private static final Pattern TIME_RANGE_PATTERN =
+        Pattern.compile("(^|[\\s(+])time:([\\[{])(\\S+) TO (\\S+?)[\\]}]");
+
     private static final String IP_V4_REGEX = "^((?:\\d{1,3}\\.){3})\\d{1,3}$";
     private static final String IP_V6_REGEX = "^(.*):.*:.*$";
 
@@ -253,11 +266,12 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
 
-            solr.add(doc1);
+            SolrClient client = getWriteClient(doc1);
+            client.add(doc1);
             // commits are executed automatically using the solr autocommit
             boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
             if (!useAutoCommit) {
-                solr.commit(false, false);
+                client.commit(false, false);
             }
 
         } catch (RuntimeException re) {
@@ -299,11 +313,12 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
-            solr.add(doc1);
+            SolrClient client = getWriteClient(doc1);
+            client.add(doc1);
             // commits are executed automatically using the solr autocommit
             boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
             if (!useAutoCommit) {
-                solr.commit(false, false);
+                client.commit(false, false);
             }
 
         } catch (RuntimeException re) {
@@ -568,7 +583,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("page", page);
             }
 
-            solr.add(solrDoc);
+            getWriteClient(solrDoc).add(solrDoc);
         } catch (RuntimeException re) {
             throw re;
         } catch (Exception e) {
@@ -617,7 +632,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("actor", usageWorkflowEvent.getActor().getID().toString());
             }
 
-            solr.add(solrDoc);
+            getWriteClient(solrDoc).add(solrDoc);
         } catch (Exception e) {
             //Log the exception, no need to send it through, the workflow shouldn't crash because of this !
             log.error("Error saving WORKFLOW event to Solr", e);
@@ -670,8 +685,8 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     @Override
     public void removeIndex(String query) throws IOException,
         SolrServerException {
-        solr.deleteByQuery(query);
-        solr.commit();
+        deleteByQuery(query);
+        commit();
     }
 
     @Override
@@ -742,7 +757,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         }
 
         public void commit() throws IOException, SolrServerException {
-            solr.commit();
+            SolrLoggerServiceImpl.this.commit();
         }
 
         /**
@@ -783,7 +798,11 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 if (SpiderDetector.isSpider(clientIP, null, hostname, agent)) {
                     doc.removeField("isBot");
                     doc.addField("isBot", true);
-                    solr.add(doc);
+                    if (isPartitioned()) {
+                        // The event may be stored in another core than the one of its year
+                        deleteByQuery("uid:" + doc.getFieldValue("uid"));
+                    }
+                    getWriteClient(doc).add(doc);
                     log.info("Marked {} / {} / {} as a robot in record {}.",
                             clientIP, hostname, agent,
                             doc.getField("uid").getValue());
@@ -793,7 +812,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
         try {
             processor.execute("-isBot:true");
-            solr.commit();
+            commit();
         } catch (SolrServerException | IOException ex) {
             log.error("Failed while marking robot accesses.", ex);
         }
@@ -802,7 +821,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     @Override
     public void deleteRobots() {
         try {
-            solr.deleteByQuery("isBot:true");
+            deleteByQuery("isBot:true");
         } catch (IOException | SolrServerException e) {
             log.error("Failed while deleting robot accesses.", e);
         }
@@ -841,7 +860,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             SolrInputDocument solrDocument = docsToUpdate.get(i);
 
             // Delete the document from the solr client
-            solr.deleteByQuery("uid:" + solrDocument.getFieldValue("uid"));
+            deleteByQuery("uid:" + solrDocument.getFieldValue("uid"));
 
             // Now loop over our fieldname actions
             for (int j = 0; j < fieldNames.size(); j++) {
@@ -873,7 +892,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             // see https://stackoverflow.com/questions/26941260/normalizing-solr-records-for-sharding-version-issues
             solrDocument.removeField("_version_");
 
-            solr.add(solrDocument);
+            getWriteClient(solrDocument).add(solrDocument);
 
             if (commit) {
                 commit();
@@ -931,8 +950,13 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                                         String filterQuery, int max, String dateType, String dateStart,
                                         String dateEnd, boolean showTotal, Context context, int facetMinCount)
             throws SolrServerException, IOException {
-        QueryResponse queryResponse = query(query, filterQuery, null, 0, max,
-                                            dateType, dateStart, dateEnd, null, null, false, facetMinCount);
+        TimeRange timeRange = getTimeRange(query, filterQuery);
+        if (!showTotal) {
+            // Only the date facet is used, which counts nothing in the cores of the other years
+            timeRange = timeRange.intersect(getDateFacetRange(dateType, dateStart, dateEnd));
+        }
+        QueryResponse queryResponse = query(query, filterQuery, null, 0, max, dateType, dateStart, dateEnd,
+                                            null, null, false, facetMinCount, true, timeRange);
         if (queryResponse == null) {
             return new ObjectCount[0];
         }
@@ -1029,6 +1053,21 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                                String dateStart, String dateEnd, List<String> facetQueries, String sort,
                                boolean ascending, int facetMinCount, boolean defaultFilterQueries)
             throws SolrServerException, IOException {
+        return query(query, filterQuery, facetField, rows, max, dateType, dateStart, dateEnd, facetQueries, sort,
+                     ascending, facetMinCount, defaultFilterQueries, getTimeRange(query, filterQuery));
+    }
+
+    /**
+     * Query the statistics cores which may hold usage events of the given time range.
+     *
+     * @param timeRange the time range of the usage events which may match the query
+     * @see #query(String, String, String, int, int, String, String, String, List, String, boolean, int, boolean)
+     */
+    protected QueryResponse query(String query, String filterQuery, String facetField, int rows, int max,
+                                  String dateType, String dateStart, String dateEnd, List<String> facetQueries,
+                                  String sort, boolean ascending, int facetMinCount, boolean defaultFilterQueries,
+                                  TimeRange timeRange)
+            throws SolrServerException, IOException {
 
         if (solr == null) {
             return null;
@@ -1037,7 +1076,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         // System.out.println("QUERY");
         SolrQuery solrQuery = new SolrQuery().setRows(rows).setQuery(query)
                                              .setFacetMinCount(facetMinCount);
-        addAdditionalSolrYearCores(solrQuery);
+        addAdditionalSolrYearCores(solrQuery, timeRange);
 
         // Set the date facet if present
         if (dateType != null) {
@@ -1072,23 +1111,48 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             solrQuery.setFacetLimit(max);
         }
 
+        if (sort != null) {
+            solrQuery.addSort(sort, (ascending ? SolrQuery.ORDER.asc : SolrQuery.ORDER.desc));
+        }
+
+        if (defaultFilterQueries) {
+            addDefaultFilterQueries(solrQuery);
+        }
+
+        if (filterQuery != null) {
+            solrQuery.addFilterQuery(filterQuery);
+        }
+
+        QueryResponse response;
+        try {
+            // solr.set
+            response = solr.query(solrQuery);
+        } catch (SolrServerException | IOException e) {
+            log.error("Error searching Solr usage events using query {}", query, e);
+            throw e;
+        }
+        return response;
+    }
+
+    /**
+     * Add the filters applied by default to the queries on the usage events: robots and bitstreams of the bundles
+     * which are not configured to be counted are left out.
+     *
+     * @param solrQuery the query to filter
+     */
+    protected void addDefaultFilterQueries(SolrQuery solrQuery) {
         // A filter is used instead of a regular query to improve
         // performance and ensure the search result ordering will
         // not be influenced
 
         // Choose to filter by isBot field, may be overridden in future
         // to allow views on stats based on bots.
-        if (defaultFilterQueries && configurationService.getBooleanProperty(
-                "solr-statistics.query.filter.isBot", true)) {
+        if (configurationService.getBooleanProperty("solr-statistics.query.filter.isBot", true)) {
             solrQuery.addFilterQuery("-isBot:true");
         }
 
-        if (sort != null) {
-            solrQuery.addSort(sort, (ascending ? SolrQuery.ORDER.asc : SolrQuery.ORDER.desc));
-        }
-
         String[] bundles = configurationService.getArrayProperty("solr-statistics.query.filter.bundles");
-        if (defaultFilterQueries && bundles != null && bundles.length > 0) {
+        if (bundles != null && bundles.length > 0) {
 
             /**
              * The code below creates a query that will allow only records which do not have a bundle name
@@ -1109,20 +1173,38 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             solrQuery.addFilterQuery(bundleQuery.toString());
         }
+    }
 
+    @Override
+    public List<PivotField> queryFacetPivot(String query, String filterQuery, String... fields)
+            throws SolrServerException, IOException {
+        if (solr == null) {
+            return Collections.emptyList();
+        }
+        String pivot = String.join(",", fields);
+        SolrQuery solrQuery = new SolrQuery().setRows(0).setQuery(query)
+                                             .setFacet(true)
+                                             .setFacetMinCount(1)
+                                             .setFacetLimit(-1)
+                                             .setFacetMissing(true);
+        solrQuery.addFacetPivotField(pivot);
+        addAdditionalSolrYearCores(solrQuery, getTimeRange(query, filterQuery));
+        addDefaultFilterQueries(solrQuery);
         if (filterQuery != null) {
             solrQuery.addFilterQuery(filterQuery);
         }
 
         QueryResponse response;
         try {
-            // solr.set
             response = solr.query(solrQuery);
         } catch (SolrServerException | IOException e) {
             log.error("Error searching Solr usage events using query {}", query, e);
             throw e;
         }
-        return response;
+        if (response.getFacetPivot() == null || response.getFacetPivot().get(pivot) == null) {
+            return Collections.emptyList();
+        }
+        return response.getFacetPivot().get(pivot);
     }
 
     @Override
@@ -1490,6 +1572,10 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     @Override
     public void commit() throws IOException, SolrServerException {
         solr.commit();
+        initSolrYearCores();
+        for (SolrClient partition : statisticPartitions.values()) {
+            partition.commit();
+        }
     }
 
     protected void addDocumentsToFile(Context context, SolrDocumentList docs, File exportOutput)
@@ -1543,15 +1629,244 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     }
 
     protected void addAdditionalSolrYearCores(SolrQuery solrQuery) {
+        addAdditionalSolrYearCores(solrQuery, TimeRange.ALL);
+    }
+
+    /**
+     * Add the statistics cores which may hold usage events of the given time range to a query. The cores of the
+     * other years are left out.
+     *
+     * @param solrQuery the query
+     * @param timeRange the time range of the usage events which may match the query
+     */
+    protected void addAdditionalSolrYearCores(SolrQuery solrQuery, TimeRange timeRange) {
         //Only add if needed
         initSolrYearCores();
         if (0 < statisticYearCores.size()) {
+            List<String> shards = new ArrayList<>();
+            for (String shard : statisticYearCores) {
+                Integer year = getCoreYear(shard);
+                if (year == null || timeRange.overlaps(year)) {
+                    shards.add(shard);
+                }
+            }
             //The shards are a comma separated list of the urls to the cores
-            solrQuery.add(ShardParams.SHARDS, StringUtils.join(statisticYearCores.iterator(), ","));
+            solrQuery.add(ShardParams.SHARDS, StringUtils.join(shards.iterator(), ","));
         }
 
     }
 
+    /**
+     * @param core the name or url of a statistics core
+     * @return the year of the usage events held by the core, or null if it is the main statistics core
+     */
+    protected Integer getCoreYear(String core) {
+        if (statisticsCoreBase == null) {
+            return null;
+        }
+        String suffix = core.substring(core.lastIndexOf('/') + 1);
+        if (suffix.length() != statisticsCoreBase.length() + 5 || !suffix.startsWith(statisticsCoreBase + "-")) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(suffix.substring(statisticsCoreBase.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the time range of the usage events matching a query, from the "time:[start TO end]" clauses (as
+     * created by {@link org.dspace.statistics.content.filter.StatisticsSolrDateFilter}) of the query and filter
+     * query. Clauses which may be negated or combined with OR are ignored.
+     *
+     * @param queries the query and filter query, which may be null
+     * @return the time range, unbounded if it cannot be determined
+     */
+    protected TimeRange getTimeRange(String... queries) {
+        TimeRange timeRange = TimeRange.ALL;
+        for (String query : queries) {
+            if (query == null || query.contains(" OR ") || query.contains("NOT ")) {
+                continue;
+            }
+            Matcher matcher = TIME_RANGE_PATTERN.matcher(query);
+            while (matcher.find()) {
+                timeRange = timeRange.intersect(new TimeRange(parseTime(matcher.group(3)),
+                                                              parseTime(matcher.group(4))));
+            }
+        }
+        return timeRange;
+    }
+
+    private Instant parseTime(String time) {
+        try {
+            return "*".equals(time) ? null : Instant.parse(time.replace("\\", ""));
+        } catch (DateTimeParseException e) {
+            // Date math, such as NOW/MONTH, is not resolved
+            return null;
+        }
+    }
+
+    /**
+     * Get the time range of a date facet as passed to
+     * {@link #queryFacetDate(String, String, int, String, String, String, boolean, Context, int)}.
+     *
+     * @param dateType  DAY, MONTH or YEAR
+     * @param dateStart the start of the range, in dateType units relative to now
+     * @param dateEnd   the end of the range, in dateType units relative to now
+     * @return the time range, with a margin of one day, or unbounded if it cannot be determined
+     */
+    protected TimeRange getDateFacetRange(String dateType, String dateStart, String dateEnd) {
+        ChronoUnit unit;
+        LocalDate now = LocalDate.now(ZoneOffset.UTC);
+        if ("DAY".equals(dateType)) {
+            unit = ChronoUnit.DAYS;
+        } else if ("MONTH".equals(dateType)) {
+            unit = ChronoUnit.MONTHS;
+            now = now.withDayOfMonth(1);
+        } else if ("YEAR".equals(dateType)) {
+            unit = ChronoUnit.YEARS;
+            now = now.withDayOfYear(1);
+        } else {
+            return TimeRange.ALL;
+        }
+        try {
+            LocalDate start = now.plus(Integer.parseInt(dateStart), unit).minusDays(1);
+            LocalDate end = now.plus(Integer.parseInt(dateEnd), unit).plusDays(1);
+            return new TimeRange(start.atStartOfDay(ZoneOffset.UTC).toInstant(),
+                                 end.atStartOfDay(ZoneOffset.UTC).toInstant());
+        } catch (NumberFormatException e) {
+            return TimeRange.ALL;
+        }
+    }
+
+    /**
+     * A range of time, bounds included. A null bound is unbounded.
+     */
+    protected static class TimeRange {
+        public static final TimeRange ALL = new TimeRange(null, null);
+
+        private final Instant start;
+        private final Instant end;
+
+        public TimeRange(Instant start, Instant end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * @param other another time range
+         * @return the time range within both ranges
+         */
+        public TimeRange intersect(TimeRange other) {
+            Instant newStart = start == null || (other.start != null && other.start.isAfter(start))
+                ? other.start : start;
+            Instant newEnd = end == null || (other.end != null && other.end.isBefore(end)) ? other.end : end;
+            return new TimeRange(newStart, newEnd);
+        }
+
+        /**
+         * @param year a year (UTC)
+         * @return whether this range overlaps the year
+         */
+        public boolean overlaps(int year) {
+            Instant yearStart = LocalDate.of(year, 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            Instant yearEnd = LocalDate.of(year + 1, 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            return (start == null || start.isBefore(yearEnd)) && (end == null || !end.isBefore(yearStart));
+        }
+    }
+
+    /**
+     * Whether the usage events are stored in a statistics core per year, see "usage-statistics.partitioned".
+     *
+     * @return true if the usage events are partitioned by year
+     */
+    protected boolean isPartitioned() {
+        return solr instanceof HttpSolrClient && statisticsCoreBase != null
+            && configurationService.getBooleanProperty("usage-statistics.partitioned", false);
+    }
+
+    /**
+     * Get the statistics core to store a usage event in: the core of the year of the event when partitioned, the
+     * main statistics core otherwise.
+     *
+     * @param doc the usage event
+     * @return the statistics core
+     * @throws IOException         if the core of the year cannot be created
+     * @throws SolrServerException if the core of the year cannot be created
+     */
+    protected SolrClient getWriteClient(SolrInputDocument doc) throws IOException, SolrServerException {
+        if (!isPartitioned()) {
+            return solr;
+        }
+        Object time = doc.getFieldValue("time");
+        Instant instant;
+        if (time instanceof Date) {
+            instant = ((Date) time).toInstant();
+        } else if (time != null) {
+            instant = Instant.parse(time.toString());
+        } else {
+            instant = Instant.now();
+        }
+        return getPartition(instant.atZone(ZoneOffset.UTC).getYear());
+    }
+
+    /**
+     * Get the statistics core of a year, creating it if needed.
+     *
+     * @param year the year
+     * @return the statistics core of the year
+     * @throws IOException         if the core cannot be created
+     * @throws SolrServerException if the core cannot be created
+     */
+    protected SolrClient getPartition(int year) throws IOException, SolrServerException {
+        initSolrYearCores();
+        SolrClient partition = statisticPartitions.get(year);
+        if (partition == null) {
+            synchronized (statisticPartitions) {
+                partition = statisticPartitions.get(year);
+                if (partition == null) {
+                    String coreName = statisticsCoreBase + "-" + year;
+                    partition = createCore((HttpSolrClient) solr, coreName);
+                    String shard = ((HttpSolrClient) solr).getBaseURL().replace(statisticsCoreBase, coreName)
+                                                          .replace("http://", "").replace("https://", "");
+                    if (!statisticYearCores.contains(shard)) {
+                        statisticYearCores.add(shard);
+                    }
+                    statisticPartitions.put(year, partition);
+                }
+            }
+        }
+        return partition;
+    }
+
+    /**
+     * Delete the usage events matching a query from all the statistics cores.
+     *
+     * @param query the query
+     * @throws IOException         A general class of exceptions produced by failed or interrupted I/O operations.
+     * @throws SolrServerException Exception from the Solr server to the solrj Java client.
+     */
+    protected void deleteByQuery(String query) throws IOException, SolrServerException {
+        solr.deleteByQuery(query);
+        initSolrYearCores();
+        for (SolrClient partition : statisticPartitions.values()) {
+            partition.deleteByQuery(query);
+        }
+    }
+
+    @Override
+    public void optimizePartitions() throws IOException, SolrServerException {
+        initSolrYearCores();
+        int currentYear = Year.now(ZoneOffset.UTC).getValue();
+        for (Map.Entry<Integer, SolrClient> partition : statisticPartitions.entrySet()) {
+            if (partition.getKey() < currentYear) {
+                log.info("Optimizing the statistics core of {}", partition.getKey());
+                partition.getValue().optimize(true, true, 1);
+            }
+        }
+    }
+
     /*
      * The statistics shards should not be initialized until all tomcat webapps
      * are fully initialized.  DS-3457 uncovered an issue in DSpace 6x in which
@@ -1560,8 +1875,8 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
      * initialization at the same time.
      */
     protected synchronized void initSolrYearCores() {
-        if (statisticYearCoresInit || !(solr instanceof HttpSolrClient) || !configurationService.getBooleanProperty(
-            "usage-statistics.shardedByYear", false)) {
+        if (statisticYearCoresInit || !(solr instanceof HttpSolrClient) || (!configurationService.getBooleanProperty(
+            "usage-statistics.shardedByYear", false) && !isPartitioned())) {
             return;
         }
 
@@ -1586,7 +1901,11 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             for (String statCoreName : statCoreNames) {
                 log.info("Loading core with name: " + statCoreName);
 
-                createCore((HttpSolrClient) solr, statCoreName);
+                HttpSolrClient statCore = createCore((HttpSolrClient) solr, statCoreName);
+                Integer year = getCoreYear(statCoreName);
+                if (year != null) {
+                    statisticPartitions.put(year, statCore);
+                }
                 //Add it to our cores list so we can query it !
                 statisticYearCores
                     .add(baseSolrUrl.replace("http://", "").replace("https://", "") + statCoreName);
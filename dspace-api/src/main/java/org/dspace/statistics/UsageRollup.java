@@ -0,0 +1,124 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.core.HibernateProxyHelper;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * Class that represents the number of views of a DSpace object on one day, from one country and city. The usage
+ * reports are computed from these aggregates instead of the individual usage events of the statistics core, see
+ * {@link org.dspace.statistics.service.UsageRollupService}.
+ */
+@Entity
+@Table(name = "usage_rollup")
+public class UsageRollup implements ReloadableEntity<Long> {
+
+    @Id
+    @Column(name = "rollup_id")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usage_rollup_seq")
+    @SequenceGenerator(name = "usage_rollup_seq", sequenceName = "usage_rollup_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "dso_id", nullable = false)
+    private UUID dsoId;
+
+    @Column(name = "dso_type", nullable = false)
+    private int dsoType;
+
+    @Column(name = "country_code", length = 16)
+    private String countryCode;
+
+    @Column(name = "city", length = 256)
+    private String city;
+
+    @Column(name = "views", nullable = false)
+    private long views;
+
+    protected UsageRollup() {
+    }
+
+    /**
+     * Create the views of an object on one day, from one country and city.
+     *
+     * @param date        the day of the views (UTC)
+     * @param dsoId       the UUID of the viewed object
+     * @param dsoType     the type of the viewed object
+     * @param countryCode the code of the country of the views, or null if unknown
+     * @param city        the city of the views, or null if unknown
+     * @param views       the number of views
+     */
+    public UsageRollup(LocalDate date, UUID dsoId, int dsoType, String countryCode, String city, long views) {
+        this.date = date;
+        this.dsoId = dsoId;
+        this.dsoType = dsoType;
+        this.countryCode = countryCode;
+        this.city = city;
+        this.views = views;
+    }
+
+    @Override
+    public Long getID() {
+        return id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public UUID getDsoId() {
+        return dsoId;
+    }
+
+    public int getDsoType() {
+        return dsoType;
+    }
+
+    public String getCountryCode() {
+        return countryCode;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public long getViews() {
+        return views;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        Class<?> objClass = HibernateProxyHelper.getClassWithoutInitializingProxy(o);
+        if (getClass() != objClass) {
+            return false;
+        }
+        final UsageRollup that = (UsageRollup) o;
+        return this.getID() != null && this.getID().equals(that.getID());
+    }
+
+    @Override
+    public int hashCode() {
+        return getID() != null ? getID().hashCode() : 0;
+    }
+}
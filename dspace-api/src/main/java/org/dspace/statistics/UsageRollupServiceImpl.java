@@ -0,0 +1,213 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.PivotField;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.statistics.dao.UsageRollupDAO;
+import org.dspace.statistics.factory.StatisticsServiceFactory;
+import org.dspace.statistics.service.SolrLoggerService;
+import org.dspace.statistics.service.UsageRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Service implementation for the UsageRollup object.
+ * This class is responsible for all business logic calls for the UsageRollup object and is autowired by spring.
+ * This class should never be accessed directly.
+ * <p>
+ * Each day is aggregated with a single pivot facet query on the statistics core (type, id, countryCode, city) over
+ * the views of that day, with the same filters as the usage reports.
+ */
+public class UsageRollupServiceImpl implements UsageRollupService {
+
+    private static final Logger log = LogManager.getLogger();
+
+    /**
+     * Only count views, and also old events which have no statistics type (see StatisticsDataVisits)
+     */
+    private static final String VIEWS_FILTER_QUERY = "-(statistics_type:[* TO *] AND -statistics_type:"
+        + SolrLoggerServiceImpl.StatisticsType.VIEW.text() + ")";
+
+    @Autowired(required = true)
+    protected UsageRollupDAO usageRollupDAO;
+
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    protected UsageRollupServiceImpl() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("usage-statistics.rollup.enabled", false);
+    }
+
+    @Override
+    public void refresh(Context context, boolean rebuild) throws SQLException, SolrServerException, IOException {
+        LocalDate from = rebuild ? null : usageRollupDAO.getLastDate(context);
+        if (from == null) {
+            from = getFirstDate();
+            rebuild = true;
+        }
+        usageRollupDAO.deleteFrom(context, rebuild ? null : from);
+        if (from == null) {
+            log.info("No usage events to aggregate");
+            context.commit();
+            return;
+        }
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (LocalDate date = from; !date.isAfter(today); date = date.plusDays(1)) {
+            int rows = rollup(context, date);
+            context.commit();
+            log.info("Aggregated the views of {} into {} rows", date, rows);
+        }
+    }
+
+    /**
+     * Aggregate the views of one day. The aggregates of that day must have been deleted.
+     *
+     * @param context The relevant DSpace Context.
+     * @param date    the day to aggregate
+     * @return the number of aggregates created
+     */
+    protected int rollup(Context context, LocalDate date) throws SQLException, SolrServerException, IOException {
+        String query = "time:[" + date.atStartOfDay(ZoneOffset.UTC).toInstant() + " TO "
+            + date.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant() + "}";
+        int rows = 0;
+        for (PivotField type : getSolrLoggerService().queryFacetPivot(query, VIEWS_FILTER_QUERY,
+                                                                      "type", "id", "countryCode", "city")) {
+            if (type.getValue() == null || type.getPivot() == null) {
+                continue;
+            }
+            int dsoType = Integer.parseInt(String.valueOf(type.getValue()));
+            for (PivotField id : type.getPivot()) {
+                UUID dsoId = getUUID(id.getValue());
+                // Events of objects with legacy identifiers are left out
+                if (dsoId == null) {
+                    continue;
+                }
+                if (id.getPivot() == null || id.getPivot().isEmpty()) {
+                    create(context, date, dsoId, dsoType, null, null, id.getCount());
+                    rows++;
+                    continue;
+                }
+                for (PivotField country : id.getPivot()) {
+                    String countryCode = (String) country.getValue();
+                    if (country.getPivot() == null || country.getPivot().isEmpty()) {
+                        create(context, date, dsoId, dsoType, countryCode, null, country.getCount());
+                        rows++;
+                        continue;
+                    }
+                    for (PivotField city : country.getPivot()) {
+                        create(context, date, dsoId, dsoType, countryCode, (String) city.getValue(), city.getCount());
+                        rows++;
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public long getViews(Context context, DSpaceObject dso) throws SQLException {
+        return usageRollupDAO.countViews(context, dso.getID());
+    }
+
+    @Override
+    public List<ObjectCount> getViewsPerMonth(Context context, DSpaceObject dso, int months) throws SQLException {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        YearMonth first = current.minusMonths(months);
+        Map<String, Long> views = new HashMap<>();
+        for (ObjectCount count : usageRollupDAO.countViewsPerMonth(context, dso.getID(), first.atDay(1))) {
+            views.put(count.getValue(), count.getCount());
+        }
+        // Same labels as the month facets of the statistics core
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMMM yyyy");
+        List<ObjectCount> counts = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(current); month = month.plusMonths(1)) {
+            ObjectCount count = new ObjectCount();
+            count.setValue(formatter.format(month));
+            count.setCount(views.getOrDefault(month.toString(), 0L));
+            counts.add(count);
+        }
+        return counts;
+    }
+
+    @Override
+    public List<ObjectCount> getTopObjects(Context context, Collection<UUID> dsoIds, int limit) throws SQLException {
+        return usageRollupDAO.countViewsPerObject(context, dsoIds, limit);
+    }
+
+    @Override
+    public List<ObjectCount> getTopObjects(Context context, int dsoType, int limit) throws SQLException {
+        return usageRollupDAO.countViewsPerObject(context, dsoType, limit);
+    }
+
+    @Override
+    public List<ObjectCount> getTopCountries(Context context, DSpaceObject dso, int limit) throws SQLException {
+        return usageRollupDAO.countViewsPerCountry(context, dso.getID(), limit);
+    }
+
+    @Override
+    public List<ObjectCount> getTopCities(Context context, DSpaceObject dso, int limit) throws SQLException {
+        return usageRollupDAO.countViewsPerCity(context, dso.getID(), limit);
+    }
+
+    /**
+     * @return the day of the oldest usage event, or null if there are none
+     */
+    protected LocalDate getFirstDate() throws SolrServerException, IOException {
+        QueryResponse response = getSolrLoggerService().query("*:*", null, null, 1, -1, null, null, null, null,
+                                                              "time", true, 0);
+        if (response == null || response.getResults().isEmpty()) {
+            return null;
+        }
+        Date time = (Date) response.getResults().get(0).getFieldValue("time");
+        return time.toInstant().atZone(ZoneOffset.UTC).toLocalDate();
+    }
+
+    protected SolrLoggerService getSolrLoggerService() {
+        // The statistics core is only needed (and connected to) when refreshing
+        return StatisticsServiceFactory.getInstance().getSolrLoggerService();
+    }
+
+    private void create(Context context, LocalDate date, UUID dsoId, int dsoType, String countryCode, String city,
+                        long views) throws SQLException {
+        usageRollupDAO.create(context, new UsageRollup(date, dsoId, dsoType, StringUtils.truncate(countryCode, 16),
+                                                       StringUtils.truncate(city, 256), views));
+    }
+
+    private UUID getUUID(Object value) {
+        try {
+            return value != null ? UUID.fromString(value.toString()) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.dao;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.statistics.ObjectCount;
+import org.dspace.statistics.UsageRollup;
+
+/**
+ * Database Access Object interface class for the UsageRollup object.
+ * The implementation of this class is responsible for all database calls for the UsageRollup object and is autowired
+ * by spring
+ * This class should only be accessed from a single service and should never be exposed outside of the API
+ */
+public interface UsageRollupDAO extends GenericDAO<UsageRollup> {
+
+    /**
+     * @param context The relevant DSpace Context.
+     * @return the last day with aggregated views, or null if there are none
+     * @throws SQLException if database error
+     */
+    LocalDate getLastDate(Context context) throws SQLException;
+
+    /**
+     * Delete the aggregated views of the given day and of all the following days.
+     *
+     * @param context The relevant DSpace Context.
+     * @param date    the first day to delete, or null to delete all the days
+     * @return the number of deleted rows
+     * @throws SQLException if database error
+     */
+    int deleteFrom(Context context, LocalDate date) throws SQLException;
+
+    /**
+     * @param context The relevant DSpace Context.
+     * @param dsoId   the UUID of an object
+     * @return the total number of views of the object
+     * @throws SQLException if database error
+     */
+    long countViews(Context context, UUID dsoId) throws SQLException;
+
+    /**
+     * @param context The relevant DSpace Context.
+     * @param dsoId   the UUID of an object
+     * @param from    the first day to count
+     * @return the number of views of the object per month since the given day, with the month ("yyyy-MM") as value.
+     *         Months without views are left out.
+     * @throws SQLException if database error
+     */
+    List<ObjectCount> countViewsPerMonth(Context context, UUID dsoId, LocalDate from) throws SQLException;
+
+    /**
+     * @param context The relevant DSpace Context.
+     * @param dsoIds  the UUIDs of the objects
+     * @param limit   the maximum number of objects to return
+     * @return the objects with the most views among the given ones, with their UUID as value, most viewed first
+     * @throws SQLException if database error
+     */
+    List<ObjectCount> countViewsPerObject(Context context, Collection<UUID> dsoIds, int limit) throws SQLException;
+
+    /**
+     * @param context The relevant DSpace Context.
+     * @param dsoType the type of the objects
+     * @param limit   the maximum number of objects to return
+     * @return the objects of the given type with the most views, with their UUID as value, most viewed first
+     * @throws SQLException if database error
+     */
+    List<ObjectCount> countViewsPerObject(Context context, int dsoType, int limit) throws SQLException;
+
+    /**
+     * @param context The relevant DSpace Context.
+     * @param dsoId   the UUID of an object
+     * @param limit   the maximum number of countries to return
+     * @return the countries the object was viewed from most, with their code as value, most views first
+     * @throws SQLException if database error
+     */
+    List<ObjectCount> countViewsPerCountry(Context context, UUID dsoId, int limit) throws SQLException;
+
+    /**
+     * @param context The relevant DSpace Context.
+     * @param dsoId   the UUID of an object
+     * @param limit   the maximum number of cities to return
+     * @return the cities the object was viewed from most, with their name as value, most views first
+     * @throws SQLException if database error
+     */
+    List<ObjectCount> countViewsPerCity(Context context, UUID dsoId, int limit) throws SQLException;
+}
@@ -0,0 +1,136 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.dao.impl;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.Query;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.statistics.ObjectCount;
+import org.dspace.statistics.UsageRollup;
+import org.dspace.statistics.dao.UsageRollupDAO;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the UsageRollup object.
+ * This class is responsible for all database calls for the UsageRollup object and is autowired by spring
+ * This class should never be accessed directly.
+ */
+public class UsageRollupDAOImpl extends AbstractHibernateDAO<UsageRollup> implements UsageRollupDAO {
+
+    protected UsageRollupDAOImpl() {
+        super();
+    }
+
+    @Override
+    public LocalDate getLastDate(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT max(r.date) FROM UsageRollup r");
+        return (LocalDate) query.getSingleResult();
+    }
+
+    @Override
+    public int deleteFrom(Context context, LocalDate date) throws SQLException {
+        if (date == null) {
+            return createQuery(context, "DELETE FROM UsageRollup").executeUpdate();
+        }
+        Query query = createQuery(context, "DELETE FROM UsageRollup r WHERE r.date >= :date");
+        query.setParameter("date", date);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public long countViews(Context context, UUID dsoId) throws SQLException {
+        Query query = createQuery(context, "SELECT coalesce(sum(r.views), 0) FROM UsageRollup r " +
+            "WHERE r.dsoId = :dsoId");
+        query.setParameter("dsoId", dsoId);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    @Override
+    public List<ObjectCount> countViewsPerMonth(Context context, UUID dsoId, LocalDate from) throws SQLException {
+        Query query = createQuery(context, "SELECT year(r.date), month(r.date), sum(r.views) FROM UsageRollup r " +
+            "WHERE r.dsoId = :dsoId AND r.date >= :from " +
+            "GROUP BY year(r.date), month(r.date)");
+        query.setParameter("dsoId", dsoId);
+        query.setParameter("from", from);
+        List<ObjectCount> counts = new ArrayList<>();
+        for (Object[] row : getRows(query)) {
+            ObjectCount count = new ObjectCount();
+            count.setValue(String.format("%04d-%02d", ((Number) row[0]).intValue(), ((Number) row[1]).intValue()));
+            count.setCount(((Number) row[2]).longValue());
+            counts.add(count);
+        }
+        return counts;
+    }
+
+    @Override
+    public List<ObjectCount> countViewsPerObject(Context context, Collection<UUID> dsoIds, int limit)
+        throws SQLException {
+        if (dsoIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Query query = createQuery(context, "SELECT r.dsoId, sum(r.views) FROM UsageRollup r " +
+            "WHERE r.dsoId IN (:dsoIds) " +
+            "GROUP BY r.dsoId ORDER BY sum(r.views) DESC");
+        query.setParameter("dsoIds", dsoIds);
+        query.setMaxResults(limit);
+        return toObjectCounts(query);
+    }
+
+    @Override
+    public List<ObjectCount> countViewsPerObject(Context context, int dsoType, int limit) throws SQLException {
+        Query query = createQuery(context, "SELECT r.dsoId, sum(r.views) FROM UsageRollup r " +
+            "WHERE r.dsoType = :dsoType " +
+            "GROUP BY r.dsoId ORDER BY sum(r.views) DESC");
+        query.setParameter("dsoType", dsoType);
+        query.setMaxResults(limit);
+        return toObjectCounts(query);
+    }
+
+    @Override
+    public List<ObjectCount> countViewsPerCountry(Context context, UUID dsoId, int limit) throws SQLException {
+        Query query = createQuery(context, "SELECT r.countryCode, sum(r.views) FROM UsageRollup r " +
+            "WHERE r.dsoId = :dsoId AND r.countryCode IS NOT NULL " +
+            "GROUP BY r.countryCode ORDER BY sum(r.views) DESC");
+        query.setParameter("dsoId", dsoId);
+        query.setMaxResults(limit);
+        return toObjectCounts(query);
+    }
+
+    @Override
+    public List<ObjectCount> countViewsPerCity(Context context, UUID dsoId, int limit) throws SQLException {
+        Query query = createQuery(context, "SELECT r.city, sum(r.views) FROM UsageRollup r " +
+            "WHERE r.dsoId = :dsoId AND r.city IS NOT NULL " +
+            "GROUP BY r.city ORDER BY sum(r.views) DESC");
+        query.setParameter("dsoId", dsoId);
+        query.setMaxResults(limit);
+        return toObjectCounts(query);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> getRows(Query query) {
+        return query.getResultList();
+    }
+
+    private List<ObjectCount> toObjectCounts(Query query) {
+        List<ObjectCount> counts = new ArrayList<>();
+        for (Object[] row : getRows(query)) {
+            ObjectCount count = new ObjectCount();
+            count.setValue(String.valueOf(row[0]));
+            count.setCount(((Number) row[1]).longValue());
+            counts.add(count);
+        }
+        return counts;
+    }
+}
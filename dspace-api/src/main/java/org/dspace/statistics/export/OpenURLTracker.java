@@ -7,6 +7,7 @@
  */
 package org.dspace.statistics.export;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 import jakarta.persistence.Column;
@@ -39,6 +40,12 @@ public class OpenURLTracker implements ReloadableEntity<Integer> {
     @Column(name = "uploaddate")
     private LocalDate uploadDate;
 
+    @Column(name = "attempts")
+    private int attempts;
+
+    @Column(name = "next_attempt")
+    private Instant nextAttempt;
+
     protected OpenURLTracker() {
     }
 
@@ -83,6 +90,38 @@ public class OpenURLTracker implements ReloadableEntity<Integer> {
         this.uploadDate = uploadDate;
     }
 
+    /**
+     * Returns the number of failed attempts to send the url again
+     * @return number of failed attempts
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Set the number of failed attempts to send the url again
+     * @param attempts
+     */
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    /**
+     * Returns the time before which the url should not be sent again
+     * @return time of the next attempt, or null to send the url at the next retry
+     */
+    public Instant getNextAttempt() {
+        return nextAttempt;
+    }
+
+    /**
+     * Set the time before which the url should not be sent again
+     * @param nextAttempt
+     */
+    public void setNextAttempt(Instant nextAttempt) {
+        this.nextAttempt = nextAttempt;
+    }
+
     /**
      * Determines whether two objects of this class are equal by comparing the ID
      * @param o - object to compare
@@ -10,32 +10,76 @@ package org.dspace.statistics.export.service;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import jakarta.inject.Named;
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.core.Context;
+import org.dspace.service.impl.HttpConnectionPoolService;
+import org.dspace.services.ConfigurationService;
 import org.dspace.statistics.export.OpenURLTracker;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Implementation of the OpenUrlService interface
+ * <p>
+ * When "irus.statistics.tracker.async" is enabled, the urls are sent in the background by
+ * "irus.statistics.tracker.connections" threads, from a queue of at most "irus.statistics.tracker.async.queue-size"
+ * urls. The urls which could not be sent (or queued) are stored in batches for a later retry. Failed urls are
+ * retried in parallel, waiting twice as long after each failed attempt.
  */
-public class OpenUrlServiceImpl implements OpenUrlService {
+public class OpenUrlServiceImpl implements OpenUrlService, DisposableBean {
 
     private final Logger log = LogManager.getLogger();
 
+    /** The urls which could not be sent in the background are stored by batches of at most this size */
+    protected static final int FAILED_BATCH_SIZE = 100;
+
+    /** The urls which could not be sent in the background are stored at least this often: seconds */
+    protected static final int FAILED_FLUSH_INTERVAL = 10;
+
     @Autowired
     protected FailedOpenURLTrackerService failedOpenUrlTrackerService;
 
+    @Autowired
+    protected ConfigurationService configurationService;
+
+    @Autowired(required = false)
+    @Named("irusHttpConnectionPoolService")
+    protected HttpConnectionPoolService httpConnectionPoolService;
+
+    /** Sends the urls in the background, created on first use */
+    private ThreadPoolExecutor sender;
+
+    /** Stores the urls which could not be sent in the background */
+    private ScheduledExecutorService failureWriter;
+
+    /** The urls which could not be sent in the background and are not stored yet */
+    private final List<String> failedUrls = new ArrayList<>();
+
     /**
      * Processes the url
      * When the contacting the url fails, the url will be logged in a db table
@@ -47,16 +91,167 @@ public class OpenUrlServiceImpl implements OpenUrlService {
     public void processUrl(Context c, String urlStr) throws SQLException {
         log.debug("Prepared to send url to tracker URL: " + urlStr);
 
+        if (configurationService.getBooleanProperty("irus.statistics.tracker.async", false)) {
+            sendInBackground(urlStr);
+        } else if (!send(urlStr)) {
+            logfailed(c, urlStr);
+        }
+    }
+
+    /**
+     * Send the url
+     * @param urlStr - the url to be sent
+     * @return whether the url was sent successfully
+     */
+    protected boolean send(String urlStr) {
         try {
             int responseCode = getResponseCodeFromUrl(urlStr);
-            if (responseCode != HttpURLConnection.HTTP_OK) {
-                logfailed(c, urlStr);
-            } else if (log.isDebugEnabled()) {
-                log.debug("Successfully posted " + urlStr + " on " + Instant.now());
+            if (responseCode == HttpURLConnection.HTTP_OK) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Successfully posted " + urlStr + " on " + Instant.now());
+                }
+                return true;
             }
         } catch (Exception e) {
             log.error("Failed to send url to tracker URL: " + urlStr);
-            logfailed(c, urlStr);
+        }
+        return false;
+    }
+
+    /**
+     * Queue the url to be sent in the background. When the queue is full, the url is stored for a later retry
+     * instead, so that the tracker never slows down the requests.
+     * @param urlStr - the url to be sent
+     */
+    protected void sendInBackground(String urlStr) {
+        try {
+            getSender().execute(new SendTask(urlStr));
+        } catch (RejectedExecutionException e) {
+            log.warn("The queue of the tracker is full, storing " + urlStr + " for a later retry");
+            addFailed(urlStr);
+        }
+    }
+
+    private synchronized ThreadPoolExecutor getSender() {
+        if (sender == null) {
+            int connections = Math.max(1, getConnections());
+            int queueSize = configurationService.getIntProperty("irus.statistics.tracker.async.queue-size", 10000);
+            // Daemon threads, so that they never keep a command line script running; see destroy()
+            sender = new ThreadPoolExecutor(connections, connections, 0, TimeUnit.MILLISECONDS,
+                                            new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+                                            new BasicThreadFactory.Builder().namingPattern("irus-tracker-%d")
+                                                                            .daemon(true).build());
+            failureWriter = Executors.newSingleThreadScheduledExecutor(
+                new BasicThreadFactory.Builder().namingPattern("irus-tracker-failures").daemon(true).build());
+            failureWriter.scheduleWithFixedDelay(this::writeFailed, FAILED_FLUSH_INTERVAL, FAILED_FLUSH_INTERVAL,
+                                                 TimeUnit.SECONDS);
+        }
+        return sender;
+    }
+
+    /**
+     * @return the number of urls sent at the same time
+     */
+    protected int getConnections() {
+        return configurationService.getIntProperty("irus.statistics.tracker.connections", 4);
+    }
+
+    private void addFailed(String urlStr) {
+        boolean full;
+        synchronized (failedUrls) {
+            failedUrls.add(urlStr);
+            full = failedUrls.size() >= FAILED_BATCH_SIZE;
+        }
+        if (full) {
+            try {
+                failureWriter.execute(this::writeFailed);
+            } catch (RejectedExecutionException e) {
+                // Shutting down, the remaining urls are written by destroy()
+            }
+        }
+    }
+
+    private void writeFailed() {
+        while (true) {
+            List<String> batch;
+            synchronized (failedUrls) {
+                if (failedUrls.isEmpty()) {
+                    return;
+                }
+                List<String> head = failedUrls.subList(0, Math.min(FAILED_BATCH_SIZE, failedUrls.size()));
+                batch = new ArrayList<>(head);
+                head.clear();
+            }
+            try {
+                storeFailed(batch);
+            } catch (Exception e) {
+                log.error("Failed to store " + batch.size() + " urls which could not be sent to the tracker", e);
+            }
+        }
+    }
+
+    /**
+     * Store the urls which could not be sent in the background, in a context of their own
+     * @param urls - the urls to be stored
+     * @throws SQLException
+     */
+    protected void storeFailed(List<String> urls) throws SQLException {
+        Context context = new Context();
+        try {
+            for (String url : urls) {
+                logfailed(context, url);
+            }
+            context.complete();
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    /**
+     * Send the queued urls and store the urls which could not be sent before shutting down
+     */
+    @Override
+    public void destroy() {
+        ThreadPoolExecutor executor;
+        synchronized (this) {
+            executor = sender;
+        }
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                for (Runnable task : executor.shutdownNow()) {
+                    addFailed(((SendTask) task).url);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failureWriter.shutdown();
+        try {
+            failureWriter.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeFailed();
+    }
+
+    private class SendTask implements Runnable {
+        private final String url;
+
+        SendTask(String url) {
+            this.url = url;
+        }
+
+        @Override
+        public void run() {
+            if (!send(url)) {
+                addFailed(url);
+            }
         }
     }
 
@@ -70,12 +265,19 @@ public class OpenUrlServiceImpl implements OpenUrlService {
      */
     protected int getResponseCodeFromUrl(final String urlStr) throws IOException {
         HttpGet httpGet = new HttpGet(urlStr);
-        HttpClient httpClient = getHttpClient(getHttpClientRequestConfig());
+        RequestConfig requestConfig = getHttpClientRequestConfig();
+        httpGet.setConfig(requestConfig);
+        HttpClient httpClient = getHttpClient(requestConfig);
         HttpResponse httpResponse = httpClient.execute(httpGet);
+        // Release the connection to the pool
+        EntityUtils.consumeQuietly(httpResponse.getEntity());
         return httpResponse.getStatusLine().getStatusCode();
     }
 
     protected HttpClient getHttpClient(RequestConfig requestConfig) {
+        if (httpConnectionPoolService != null) {
+            return httpConnectionPoolService.getClient();
+        }
         return HttpClientBuilder.create()
             .setDefaultRequestConfig(requestConfig)
             .build();
@@ -84,6 +286,7 @@ public class OpenUrlServiceImpl implements OpenUrlService {
     protected RequestConfig getHttpClientRequestConfig() {
         return RequestConfig.custom()
             .setConnectTimeout(10 * 1000)
+            .setSocketTimeout(10 * 1000)
             .build();
     }
 
@@ -94,29 +297,43 @@ public class OpenUrlServiceImpl implements OpenUrlService {
      * @throws SQLException
      */
     protected void tryReprocessFailed(Context context, OpenURLTracker tracker) throws SQLException {
-        boolean success = false;
-        try {
-
-            int responseCode = getResponseCodeFromUrl(tracker.getUrl());
+        reprocessed(context, tracker, send(tracker.getUrl()));
+    }
 
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                success = true;
-            }
-        } catch (Exception e) {
-            success = false;
-        } finally {
-            if (success) {
-                failedOpenUrlTrackerService
-                        .remove(context, tracker);
-                // If the tracker was able to post successfully, we remove it from the database
-                log.info("Successfully posted " + tracker.getUrl() + " from " + tracker.getUploadDate());
-            } else {
-                // Still no luck - write an error msg but keep the entry in the table for future executions
-                log.error("Failed attempt from " + tracker.getUrl() + " originating from " + tracker.getUploadDate());
-            }
+    /**
+     * Update a failed url after an attempt to send it again
+     * @param context
+     * @param tracker - db object containing the failed url
+     * @param success - whether the url was sent successfully
+     * @throws SQLException
+     */
+    protected void reprocessed(Context context, OpenURLTracker tracker, boolean success) throws SQLException {
+        if (success) {
+            failedOpenUrlTrackerService
+                    .remove(context, tracker);
+            // If the tracker was able to post successfully, we remove it from the database
+            log.info("Successfully posted " + tracker.getUrl() + " from " + tracker.getUploadDate());
+        } else {
+            // Still no luck - write an error msg but keep the entry in the table for future executions, waiting
+            // twice as long before each new attempt
+            int attempts = tracker.getAttempts() + 1;
+            tracker.setAttempts(attempts);
+            tracker.setNextAttempt(Instant.now().plus(getBackoff(attempts)));
+            log.error("Failed attempt from " + tracker.getUrl() + " originating from " + tracker.getUploadDate());
         }
     }
 
+    /**
+     * @param attempts - the number of failed attempts to send a url again
+     * @return how long to wait before the next attempt
+     */
+    protected Duration getBackoff(int attempts) {
+        long base = configurationService.getLongProperty("irus.statistics.tracker.retry.backoff", 60);
+        long max = configurationService.getLongProperty("irus.statistics.tracker.retry.max-backoff", 7 * 24 * 60);
+        long backoff = base << Math.min(Math.max(attempts - 1, 0), 30);
+        return Duration.ofMinutes(Math.max(0, Math.min(backoff, max)));
+    }
+
     /**
      * Reprocess all url trackers present in the database
      * @param context
@@ -128,9 +345,40 @@ public class OpenUrlServiceImpl implements OpenUrlService {
             log.error("Error retrieving the \"failedOpenUrlTrackerService\" instance, aborting the processing");
             return;
         }
-        List<OpenURLTracker> openURLTrackers = failedOpenUrlTrackerService.findAll(context);
-        for (OpenURLTracker openURLTracker : openURLTrackers) {
-            tryReprocessFailed(context, openURLTracker);
+        Instant now = Instant.now();
+        List<OpenURLTracker> openURLTrackers = failedOpenUrlTrackerService.findAll(context).stream()
+            .filter(tracker -> tracker.getNextAttempt() == null || !tracker.getNextAttempt().isAfter(now))
+            .toList();
+        int connections = getConnections();
+        if (connections <= 1) {
+            for (OpenURLTracker openURLTracker : openURLTrackers) {
+                tryReprocessFailed(context, openURLTracker);
+            }
+            return;
+        }
+
+        // Send the urls in parallel, but update the trackers on this thread as the context is not thread safe
+        ExecutorService executor = Executors.newFixedThreadPool(connections);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>(openURLTrackers.size());
+            for (OpenURLTracker openURLTracker : openURLTrackers) {
+                String url = openURLTracker.getUrl();
+                results.add(executor.submit(() -> send(url)));
+            }
+            for (int i = 0; i < openURLTrackers.size(); i++) {
+                boolean success;
+                try {
+                    success = results.get(i).get();
+                } catch (ExecutionException e) {
+                    success = false;
+                }
+                reprocessed(context, openURLTrackers.get(i), success);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while sending the failed urls again, the remaining urls will be sent next time");
+        } finally {
+            executor.shutdownNow();
         }
     }
 
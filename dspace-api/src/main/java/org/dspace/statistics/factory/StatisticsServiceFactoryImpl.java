@@ -9,7 +9,9 @@ package org.dspace.statistics.factory;
 
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.statistics.service.SolrLoggerService;
+import org.dspace.statistics.service.UsageRollupService;
 import org.dspace.statistics.util.SpiderDetectorService;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Factory implementation to get services for the statistics package, use StatisticsServiceFactory.getInstance() to
@@ -19,6 +21,9 @@ import org.dspace.statistics.util.SpiderDetectorService;
  */
 public class StatisticsServiceFactoryImpl extends StatisticsServiceFactory {
 
+    @Autowired(required = true)
+    private UsageRollupService usageRollupService;
+
     @Override
     public SolrLoggerService getSolrLoggerService() {
         // In order to lazy load, we cannot autowire it and instead load it by name
@@ -31,4 +36,9 @@ public class StatisticsServiceFactoryImpl extends StatisticsServiceFactory {
         return DSpaceServicesFactory.getInstance().getServiceManager()
                                     .getServiceByName("spiderDetectorService", SpiderDetectorService.class);
     }
+
+    @Override
+    public UsageRollupService getUsageRollupService() {
+        return usageRollupService;
+    }
 }
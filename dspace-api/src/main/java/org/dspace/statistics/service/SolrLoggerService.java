@@ -15,6 +15,7 @@ import java.util.Map;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.PivotField;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.content.DSpaceObject;
@@ -208,6 +209,21 @@ public interface SolrLoggerService {
     public ObjectCount queryTotal(String query, String filterQuery, int facetMinCount)
         throws SolrServerException, IOException;
 
+    /**
+     * Query used to count the usage events matching a query for every combination of the values of several fields
+     * at once (pivot facet). All the combinations with at least one event are returned, including those where some
+     * of the fields have no value.
+     *
+     * @param query       the query to be used
+     * @param filterQuery filter query
+     * @param fields      the fields to facet on, outermost first
+     * @return the counts for each value of the first field, with nested counts for the following fields
+     * @throws SolrServerException Exception from the Solr server to the solrj Java client.
+     * @throws java.io.IOException passed through.
+     */
+    public List<PivotField> queryFacetPivot(String query, String filterQuery, String... fields)
+        throws SolrServerException, IOException;
+
     /**
      * Perform a solr query.
      *
@@ -264,6 +280,15 @@ public interface SolrLoggerService {
 
     public void shardSolrIndex() throws IOException, SolrServerException;
 
+    /**
+     * Optimize the statistics cores of the past years into a single segment. When the statistics are partitioned
+     * by year ("usage-statistics.partitioned"), these cores no longer receive new usage events.
+     *
+     * @throws SolrServerException Exception from the Solr server to the solrj Java client.
+     * @throws java.io.IOException passed through.
+     */
+    public void optimizePartitions() throws IOException, SolrServerException;
+
     public void reindexBitstreamHits(boolean removeDeletedBitstreams) throws Exception;
 
     /**
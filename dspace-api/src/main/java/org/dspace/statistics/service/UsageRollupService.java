@@ -0,0 +1,104 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.service;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.solr.client.solrj.SolrServerException;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Context;
+import org.dspace.statistics.ObjectCount;
+
+/**
+ * Service interface class for the usage rollups: daily aggregates of the views of every object, per country and
+ * city, computed from the usage events of the statistics core. Usage reports are much cheaper to compute from these
+ * aggregates than from the individual events, which can number in hundreds of millions.
+ * <p>
+ * The aggregates are refreshed incrementally by {@link #refresh(Context, boolean)}, which is meant to run
+ * periodically ("stats-util -R"). They are only used for the usage reports if "usage-statistics.rollup.enabled"
+ * is set.
+ */
+public interface UsageRollupService {
+
+    /**
+     * @return whether usage reports should be computed from the rollups
+     */
+    boolean isEnabled();
+
+    /**
+     * Aggregate the usage events which happened since the last refresh. The last aggregated day is aggregated again,
+     * as it may have been incomplete. Changing the filters of the usage events (robots, bundles) or importing events
+     * for days which were already aggregated requires a rebuild.
+     *
+     * @param context The relevant DSpace Context.
+     * @param rebuild whether to aggregate all the usage events again, instead of the new ones only
+     * @throws SQLException        if database error
+     * @throws SolrServerException Exception from the Solr server to the solrj Java client.
+     * @throws IOException         passed through.
+     */
+    void refresh(Context context, boolean rebuild) throws SQLException, SolrServerException, IOException;
+
+    /**
+     * @param context The relevant DSpace Context.
+     * @param dso     the viewed object
+     * @return the total number of views of the object
+     * @throws SQLException if database error
+     */
+    long getViews(Context context, DSpaceObject dso) throws SQLException;
+
+    /**
+     * @param context The relevant DSpace Context.
+     * @param dso     the viewed object
+     * @param months  the number of months to count before the current one
+     * @return the number of views of the object in each of the months, from the oldest to the current one, with the
+     *         month ("MMMM yyyy") as value
+     * @throws SQLException if database error
+     */
+    List<ObjectCount> getViewsPerMonth(Context context, DSpaceObject dso, int months) throws SQLException;
+
+    /**
+     * @param context The relevant DSpace Context.
+     * @param dsoIds  the UUIDs of the objects
+     * @param limit   the maximum number of objects to return
+     * @return the most viewed of the given objects, with their UUID as value, most viewed first. Objects which have
+     *         never been viewed are left out.
+     * @throws SQLException if database error
+     */
+    List<ObjectCount> getTopObjects(Context context, Collection<UUID> dsoIds, int limit) throws SQLException;
+
+    /**
+     * @param context The relevant DSpace Context.
+     * @param dsoType the type of the objects
+     * @param limit   the maximum number of objects to return
+     * @return the most viewed objects of the given type, with their UUID as value, most viewed first
+     * @throws SQLException if database error
+     */
+    List<ObjectCount> getTopObjects(Context context, int dsoType, int limit) throws SQLException;
+
+    /**
+     * @param context The relevant DSpace Context.
+     * @param dso     the viewed object
+     * @param limit   the maximum number of countries to return
+     * @return the countries the object was viewed from most, with their code as value, most views first
+     * @throws SQLException if database error
+     */
+    List<ObjectCount> getTopCountries(Context context, DSpaceObject dso, int limit) throws SQLException;
+
+    /**
+     * @param context The relevant DSpace Context.
+     * @param dso     the viewed object
+     * @param limit   the maximum number of cities to return
+     * @return the cities the object was viewed from most, with their name as value, most views first
+     * @throws SQLException if database error
+     */
+    List<ObjectCount> getTopCities(Context context, DSpaceObject dso, int limit) throws SQLException;
+}
@@ -18,6 +18,7 @@ import org.apache.commons.cli.Options;
 import org.apache.logging.log4j.Logger;
 import org.apache.tools.ant.Project;
 import org.apache.tools.ant.taskdefs.Get;
+import org.dspace.core.Context;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.statistics.factory.StatisticsServiceFactory;
 import org.dspace.statistics.service.SolrLoggerService;
@@ -73,6 +74,12 @@ public class StatisticsClient {
                           "While indexing the bundle names remove the statistics about deleted bitstreams");
         options.addOption("s", "shard-solr-index", false,
                           "Split the data from the main Solr core into separate Solr cores per year");
+        options.addOption("o", "optimize-partitions", false,
+                          "Optimize the Solr cores of the past years into a single segment");
+        options.addOption("R", "rollup", false,
+                          "Aggregate the new usage events into the rollups used by the usage reports");
+        options.addOption("A", "rebuild-rollup", false,
+                          "While aggregating the usage events, aggregate all of them again instead of the new ones");
         options.addOption("h", "help", false, "help");
 
         CommandLine line = parser.parse(options, args);
@@ -95,6 +102,18 @@ public class StatisticsClient {
             solrLoggerService.exportHits();
         } else if (line.hasOption('s')) {
             solrLoggerService.shardSolrIndex();
+        } else if (line.hasOption('o')) {
+            solrLoggerService.optimizePartitions();
+        } else if (line.hasOption('R')) {
+            Context context = new Context(Context.Mode.BULK);
+            try {
+                StatisticsServiceFactory.getInstance().getUsageRollupService().refresh(context, line.hasOption('A'));
+                context.complete();
+            } finally {
+                if (context.isValid()) {
+                    context.abort();
+                }
+            }
         } else {
             printHelp(options, 0);
         }
@@ -21,9 +21,11 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 
@@ -37,6 +39,7 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
 import org.apache.solr.common.SolrInputDocument;
@@ -68,6 +71,11 @@ import org.dspace.statistics.service.SolrLoggerService;
 public class StatisticsImporter {
     private static final Logger log = LogManager.getLogger(StatisticsImporter.class);
 
+    /**
+     * Number of usage events sent to Solr at once
+     */
+    static final int BATCH_SIZE = 1000;
+
     protected final SolrLoggerService solrLoggerService
             = StatisticsServiceFactory.getInstance().getSolrLoggerService();
     protected static final ConfigurationService configurationService
@@ -76,7 +84,7 @@ public class StatisticsImporter {
     /**
      * Solr server connection
      */
-    private static HttpSolrClient solr;
+    private static SolrClient solr;
 
     /**
      * GEOIP lookup service
@@ -113,6 +121,21 @@ public class StatisticsImporter {
      */
     private final boolean useLocal;
 
+    /**
+     * Reverse lookups of IP addresses, across all the files loaded. Failed lookups are cached as "".
+     */
+    private final DNSCache<String, String> dnsCache = new DNSCache<>(2500, 0.75f, 2500);
+
+    /**
+     * GeoIP lookups of IP addresses, across all the files loaded
+     */
+    private final DNSCache<String, Location> locationCache = new DNSCache<>(2500, 0.75f, 25000);
+
+    /**
+     * EPerson ids by email address, across all the files loaded. Unknown addresses are cached as null.
+     */
+    private final Map<String, UUID> epersonIds = new HashMap<>();
+
     protected final BitstreamService bitstreamService;
     protected final CollectionService collectionService;
     protected final CommunityService communityService;
@@ -192,6 +215,8 @@ public class StatisticsImporter {
         int counter = 0;
         int errors = 0;
         int searchengines = 0;
+        long start = System.currentTimeMillis();
+        List<SolrInputDocument> batch = new ArrayList<>(BATCH_SIZE);
 
         try {
             BufferedReader input;
@@ -212,17 +237,9 @@ public class StatisticsImporter {
             Instant date;
             String user;
             String ip;
-
-            String continent = "";
-            String country = "";
-            String countryCode = "";
-            double longitude = 0f;
-            double latitude = 0f;
-            String city = "";
+            Location location;
             String dns;
 
-            DNSCache dnsCache = new DNSCache(2500, 0.75f, 2500);
-            Object fromCache;
             Random rand = new Random();
 
             while ((line = input.readLine()) != null) {
@@ -246,16 +263,14 @@ public class StatisticsImporter {
                 dns = "";
                 if (!skipReverseDNS) {
                     // Is the IP address in the cache?
-                    fromCache = dnsCache.get(ip);
-                    if (fromCache != null) {
-                        dns = (String) fromCache;
-                    } else {
+                    dns = dnsCache.get(ip);
+                    if (dns == null) {
                         try {
                             dns = DnsLookup.reverseDns(ip);
-                            dnsCache.put(ip, dns);
                         } catch (IOException e) {
                             dns = "";
                         }
+                        dnsCache.put(ip, dns);
                     }
                 }
 
@@ -273,29 +288,23 @@ public class StatisticsImporter {
                 }
 
                 // Get the geo information for the user
-                try {
-                    InetAddress ipAddress = InetAddress.getByName(ip);
-                    CityResponse cityResponse = geoipLookup.city(ipAddress);
-                    city = cityResponse.getCity().getName();
-                    country = cityResponse.getCountry().getName();
-                    countryCode = cityResponse.getCountry().getIsoCode();
-                    longitude = cityResponse.getLocation().getLongitude();
-                    latitude = cityResponse.getLocation().getLatitude();
+                location = locationCache.get(ip);
+                if (location == null) {
+                    location = lookupLocation(ip);
+                    locationCache.put(ip, location);
+                }
+                if (location.found) {
                     if (verbose) {
-                        data += (", country = " + country);
-                        data += (", city = " + city);
+                        data += (", country = " + location.country);
+                        data += (", city = " + location.city);
                         System.out.println(data);
                     }
-                    try {
-                        continent = LocationUtils.getContinentCode(countryCode);
-                    } catch (Exception e) {
+                    if (location.continent == null) {
                         if (verbose) {
-                            System.out.println("Unknown country code: " + countryCode);
+                            System.out.println("Unknown country code: " + location.countryCode);
                         }
                         continue;
                     }
-                } catch (GeoIp2Exception | IOException e) {
-                    // No problem - just can't look them up
                 }
 
                 // Now find our dso
@@ -335,10 +344,14 @@ public class StatisticsImporter {
                 }
 
                 // Get the eperson details
-                EPerson eperson = EPersonServiceFactory.getInstance().getEPersonService().findByEmail(context, user);
-                UUID epersonId = null;
-                if (eperson != null) {
-                    epersonId = eperson.getID();
+                UUID epersonId;
+                if (epersonIds.containsKey(user)) {
+                    epersonId = epersonIds.get(user);
+                } else {
+                    EPerson eperson = EPersonServiceFactory.getInstance().getEPersonService()
+                                                          .findByEmail(context, user);
+                    epersonId = eperson != null ? eperson.getID() : null;
+                    epersonIds.put(user, epersonId);
                 }
 
                 // Save it in our server
@@ -347,21 +360,28 @@ public class StatisticsImporter {
                 sid.addField("type", dso.getType());
                 sid.addField("id", dso.getID().toString());
                 sid.addField("time", date.toString());
-                sid.addField("continent", continent);
-                sid.addField("country", country);
-                sid.addField("countryCode", countryCode);
-                sid.addField("city", city);
-                sid.addField("latitude", latitude);
-                sid.addField("longitude", longitude);
+                sid.addField("continent", location.continent);
+                sid.addField("country", location.country);
+                sid.addField("countryCode", location.countryCode);
+                sid.addField("city", location.city);
+                sid.addField("latitude", location.latitude);
+                sid.addField("longitude", location.longitude);
                 if (epersonId != null) {
                     sid.addField("epersonid", epersonId);
                 }
                 sid.addField("dns", dns.toLowerCase());
 
                 solrLoggerService.storeParents(sid, dso);
-                solr.add(sid);
+                batch.add(sid);
+                if (batch.size() >= BATCH_SIZE) {
+                    solr.add(batch);
+                    batch.clear();
+                }
                 errors--;
             }
+            if (!batch.isEmpty()) {
+                solr.add(batch);
+            }
 
         } catch (RuntimeException re) {
             throw re;
@@ -372,7 +392,9 @@ public class StatisticsImporter {
 
         DecimalFormat percentage = new DecimalFormat("##.###");
         int committed = counter - errors - searchengines;
-        System.out.println("Processed " + counter + " log lines");
+        long seconds = Math.max(1, (System.currentTimeMillis() - start) / 1000);
+        System.out.println("Processed " + counter + " log lines in " + seconds + " seconds ("
+                               + counter / seconds + " lines per second)");
         if (counter > 0) {
             Double committedpercentage = 100d * committed / counter;
             System.out
@@ -511,6 +533,60 @@ public class StatisticsImporter {
     }
 
 
+    /**
+     * Look up the location of an IP address in the GeoIP database.
+     *
+     * @param ip the IP address
+     * @return the location of the IP address, not {@link Location#found} if it is unknown
+     */
+    protected Location lookupLocation(String ip) {
+        if (geoipLookup == null) {
+            return Location.UNKNOWN;
+        }
+        try {
+            CityResponse cityResponse = geoipLookup.city(InetAddress.getByName(ip));
+            String countryCode = cityResponse.getCountry().getIsoCode();
+            String continent;
+            try {
+                continent = LocationUtils.getContinentCode(countryCode);
+            } catch (Exception e) {
+                continent = null;
+            }
+            return new Location(true, continent, cityResponse.getCountry().getName(), countryCode,
+                                cityResponse.getCity().getName(), cityResponse.getLocation().getLatitude(),
+                                cityResponse.getLocation().getLongitude());
+        } catch (GeoIp2Exception | IOException e) {
+            // No problem - just can't look them up
+            return Location.UNKNOWN;
+        }
+    }
+
+    /**
+     * Inner class to hold the location of an IP address
+     */
+    static class Location {
+        static final Location UNKNOWN = new Location(false, "", "", "", "", 0d, 0d);
+
+        final boolean found;
+        final String continent;
+        final String country;
+        final String countryCode;
+        final String city;
+        final double latitude;
+        final double longitude;
+
+        Location(boolean found, String continent, String country, String countryCode, String city,
+                 double latitude, double longitude) {
+            this.found = found;
+            this.continent = continent;
+            this.country = country;
+            this.countryCode = countryCode;
+            this.city = city;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+
     /**
      * Inner class to hold a cache of reverse lookups of IP addresses
      *
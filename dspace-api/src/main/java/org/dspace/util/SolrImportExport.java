@@ -11,14 +11,25 @@ import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -30,19 +41,24 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
-import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
 import org.apache.solr.client.solrj.request.ContentStreamUpdateRequest;
 import org.apache.solr.client.solrj.request.CoreAdminRequest;
 import org.apache.solr.client.solrj.request.LukeRequest;
+import org.apache.solr.client.solrj.request.schema.SchemaRequest;
 import org.apache.solr.client.solrj.response.CoreAdminResponse;
 import org.apache.solr.client.solrj.response.FieldStatsInfo;
 import org.apache.solr.client.solrj.response.LukeResponse;
+import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.RangeFacet;
+import org.apache.solr.client.solrj.util.ClientUtils;
+import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.luke.FieldFlag;
 import org.apache.solr.common.params.CoreAdminParams;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.FacetParams;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
@@ -63,9 +79,18 @@ public class SolrImportExport {
     private static final String INDEX_NAME_OPTION = "i";
     private static final String KEEP_OPTION = "k";
     private static final String LAST_OPTION = "l";
+    private static final String RESUME_OPTION = "r";
+    private static final String THREADS_OPTION = "t";
 
     public static final int ROWS_PER_FILE = 10_000;
 
+    /**
+     * Number of files imported between two commits. Only committed files are recorded in the checkpoint file.
+     */
+    public static final int FILES_PER_COMMIT = 10;
+
+    private static final String CHECKPOINT_SUFFIX = "_import.checkpoint";
+
     private static final String MULTIPLE_VALUES_SPLITTER = ",";
 
     private static final Logger log = LogManager.getLogger(SolrImportExport.class);
@@ -103,6 +128,8 @@ public class SolrImportExport {
             String directoryName = makeDirectoryName(line.getOptionValue(DIRECTORY_OPTION));
 
             String action = line.getOptionValue(ACTION_OPTION, "export");
+            int threads = Integer.parseInt(line.getOptionValue(THREADS_OPTION, "1"));
+            boolean resume = line.hasOption(RESUME_OPTION);
             if ("import".equals(action)) {
                 for (String indexName : indexNames) {
                     File importDir = new File(directoryName);
@@ -116,7 +143,7 @@ public class SolrImportExport {
                     try {
                         String solrUrl = makeSolrUrl(indexName);
                         boolean clear = line.hasOption(CLEAR_OPTION);
-                        importIndex(indexName, importDir, solrUrl, clear);
+                        importIndex(indexName, importDir, solrUrl, clear && !resume, threads, resume);
                     } catch (IOException | SolrServerException | SolrImportExportException e) {
                         System.err.println("Problem encountered while trying to import index " + indexName + ".");
                         e.printStackTrace(System.err);
@@ -146,7 +173,7 @@ public class SolrImportExport {
                         String solrUrl = makeSolrUrl(indexName);
                         String timeField = makeTimeField(indexName);
                         exportIndex(indexName, exportDir, solrUrl, timeField, lastValue,
-                                    line.hasOption(OVERWRITE_OPTION));
+                                    line.hasOption(OVERWRITE_OPTION), threads, resume);
                     } catch (SolrServerException | IOException | SolrImportExportException e) {
                         System.err.println("Problem encountered while trying to export index " + indexName + ".");
                         e.printStackTrace(System.err);
@@ -166,7 +193,7 @@ public class SolrImportExport {
                 System.err.println("Unknown action " + action + "; must be import, export or reindex.");
                 printHelpAndExit(options, 1);
             }
-        } catch (ParseException e) {
+        } catch (ParseException | NumberFormatException e) {
             System.err.println("Cannot read command options");
             printHelpAndExit(options, 1);
         }
@@ -197,6 +224,12 @@ public class SolrImportExport {
             " a number, in which case the last [number] of days are exported, through to now (use 0 for today's data)" +
             "." +
             " Date calculation is done in UTC. If omitted, all documents are exported.");
+        options.addOption(RESUME_OPTION, "resume", false, "Resume an interrupted import or export." +
+            " When exporting, the export files which already exist are kept." +
+            " When importing, the files recorded as imported in the checkpoint file of the index are skipped," +
+            " and the index is not cleared. Ignored when action is reindex.");
+        options.addOption(THREADS_OPTION, "threads", true, "The number of months exported, or files imported," +
+            " in parallel. Default: 1.");
         return options;
     }
 
@@ -387,6 +420,30 @@ public class SolrImportExport {
      */
     public static void importIndex(final String indexName, File fromDir, String solrUrl, boolean clear)
         throws IOException, SolrServerException, SolrImportExportException {
+        importIndex(indexName, fromDir, solrUrl, clear, 1, false);
+    }
+
+    /**
+     * Import previously exported documents (or externally created CSV files that have the appropriate structure)
+     * into the specified index, several files at a time.
+     * The files are committed every #FILES_PER_COMMIT files, and recorded in a checkpoint file in the source
+     * directory (if it is writable) once committed. The checkpoint file is removed when the import is complete.
+     *
+     * @param indexName the index to import.
+     * @param fromDir   the source directory. Must exist and be readable.
+     *                  The importer will look for files whose name starts with <pre>indexName</pre>
+     *                  and ends with .csv (to match what is generated by #makeExportFilename).
+     * @param solrUrl   The solr URL for the index to export. Must not be null.
+     * @param clear     if true, clear the index before importing.
+     * @param threads   the number of files to import in parallel.
+     * @param resume    if true, skip the files recorded in the checkpoint file of a previous, interrupted import.
+     * @throws IOException               if there is a problem reading the files or communicating with Solr.
+     * @throws SolrServerException       if there is a problem reading the files or communicating with Solr.
+     * @throws SolrImportExportException if there is a problem communicating with Solr.
+     */
+    public static void importIndex(final String indexName, File fromDir, String solrUrl, boolean clear,
+                                   int threads, boolean resume)
+        throws IOException, SolrServerException, SolrImportExportException {
         if (StringUtils.isBlank(solrUrl)) {
             throw new SolrImportExportException(
                 "Could not construct solr URL for index" + indexName + ", aborting export.");
@@ -407,6 +464,40 @@ public class SolrImportExport {
             clearIndex(solrUrl);
         }
 
+        List<File> files = getFilesToImport(indexName, fromDir, resume);
+        if (files == null) {
+            log.warn("No export files found in directory " + fromDir.getCanonicalPath() + " for index " + indexName);
+            return;
+        }
+
+        File checkpointFile = getCheckpointFile(indexName, fromDir);
+        ImportCheckpoint checkpoint = new ImportCheckpoint(solr, fromDir.canWrite() ? checkpointFile : null);
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (File file : files) {
+            tasks.add(() -> {
+                importFile(solr, file, multivaluedFields);
+                checkpoint.imported(file);
+                return null;
+            });
+        }
+        runInParallel(tasks, threads);
+
+        checkpoint.commit(true);
+        Files.deleteIfExists(checkpointFile.toPath());
+    }
+
+    /**
+     * List the export files of an index to import, in order. When resuming, the files recorded in the checkpoint
+     * file of the index are left out. Otherwise the checkpoint file of a previous import is removed.
+     *
+     * @param indexName the index to import.
+     * @param fromDir   the source directory.
+     * @param resume    if true, leave out the files recorded in the checkpoint file.
+     * @return the files to import, or null if the directory has no export file of the index.
+     * @throws IOException if the checkpoint file cannot be read or removed.
+     */
+    static List<File> getFilesToImport(String indexName, File fromDir, boolean resume) throws IOException {
         File[] files = fromDir.listFiles(new FilenameFilter() {
             @Override
             public boolean accept(File dir, String name) {
@@ -415,28 +506,145 @@ public class SolrImportExport {
         });
 
         if (files == null || files.length == 0) {
-            log.warn("No export files found in directory " + fromDir.getCanonicalPath() + " for index " + indexName);
-            return;
+            return null;
         }
 
         Arrays.sort(files);
 
+        File checkpointFile = getCheckpointFile(indexName, fromDir);
+        Set<String> imported = new HashSet<>();
+        if (resume && checkpointFile.exists()) {
+            imported.addAll(Files.readAllLines(checkpointFile.toPath(), StandardCharsets.UTF_8));
+        } else {
+            Files.deleteIfExists(checkpointFile.toPath());
+        }
+
+        List<File> toImport = new ArrayList<>();
         for (File file : files) {
-            log.info("Importing file " + file.getCanonicalPath());
-            ContentStreamUpdateRequest contentStreamUpdateRequest = new ContentStreamUpdateRequest("/update/csv");
-            contentStreamUpdateRequest.setParam("skip", "_version_");
-            for (String mvField : multivaluedFields) {
-                contentStreamUpdateRequest.setParam("f." + mvField + ".split", "true");
-                contentStreamUpdateRequest.setParam("f." + mvField + ".separator", MULTIPLE_VALUES_SPLITTER);
+            if (imported.contains(file.getName())) {
+                log.info("Skipping file " + file.getCanonicalPath() + ", which was already imported");
+            } else {
+                toImport.add(file);
             }
-            contentStreamUpdateRequest.setParam("stream.contentType", "text/csv;charset=utf-8");
-            contentStreamUpdateRequest.setAction(AbstractUpdateRequest.ACTION.COMMIT, true, true);
-            contentStreamUpdateRequest.addFile(file, "text/csv;charset=utf-8");
+        }
+        return toImport;
+    }
+
+    /**
+     * @param indexName the index imported.
+     * @param fromDir   the source directory.
+     * @return the file recording the files of the index already imported from the directory.
+     */
+    static File getCheckpointFile(String indexName, File fromDir) {
+        return new File(fromDir, indexName + CHECKPOINT_SUFFIX);
+    }
 
-            solr.request(contentStreamUpdateRequest);
+    /**
+     * Import one file, without committing it.
+     *
+     * @param solr              the solr server to import into.
+     * @param file              the file to import.
+     * @param multivaluedFields the multi-valued fields of the index.
+     * @throws IOException         if there is a problem reading the file or communicating with Solr.
+     * @throws SolrServerException if there is a problem communicating with Solr.
+     */
+    private static void importFile(HttpSolrClient solr, File file, List<String> multivaluedFields)
+        throws IOException, SolrServerException {
+        log.info("Importing file " + file.getCanonicalPath());
+        long start = System.currentTimeMillis();
+        ContentStreamUpdateRequest contentStreamUpdateRequest = new ContentStreamUpdateRequest("/update/csv");
+        contentStreamUpdateRequest.setParam("skip", "_version_");
+        for (String mvField : multivaluedFields) {
+            contentStreamUpdateRequest.setParam("f." + mvField + ".split", "true");
+            contentStreamUpdateRequest.setParam("f." + mvField + ".separator", MULTIPLE_VALUES_SPLITTER);
+        }
+        contentStreamUpdateRequest.setParam("stream.contentType", "text/csv;charset=utf-8");
+        contentStreamUpdateRequest.addFile(file, "text/csv;charset=utf-8");
+
+        solr.request(contentStreamUpdateRequest);
+
+        long millis = Math.max(1, System.currentTimeMillis() - start);
+        String message = String.format("Solr import of file [%s] complete.  Size [%s] Time [%d ms] Throughput [%s/s]",
+                                       file.getCanonicalPath(), FileUtils.byteCountToDisplaySize(file.length()),
+                                       millis, FileUtils.byteCountToDisplaySize(file.length() * 1000 / millis));
+        log.info(message);
+        System.out.println(message);
+    }
+
+    /**
+     * Records the files of an import once they are committed, so that an interrupted import can be resumed.
+     */
+    static class ImportCheckpoint {
+        private final SolrClient solr;
+        private final File checkpointFile;
+        private final List<String> pending = new ArrayList<>();
+
+        /**
+         * @param solr           the solr server imported into.
+         * @param checkpointFile the file recording the imported files, or null to not record them.
+         */
+        ImportCheckpoint(SolrClient solr, File checkpointFile) {
+            this.solr = solr;
+            this.checkpointFile = checkpointFile;
+        }
+
+        /**
+         * Note that a file has been imported, committing the imported files every #FILES_PER_COMMIT files.
+         */
+        synchronized void imported(File file) throws IOException, SolrServerException {
+            pending.add(file.getName());
+            if (pending.size() >= FILES_PER_COMMIT) {
+                commit(false);
+            }
+        }
+
+        /**
+         * Commit the imported files and record them in the checkpoint file.
+         */
+        synchronized void commit(boolean waitSearcher) throws IOException, SolrServerException {
+            solr.commit(true, waitSearcher);
+            if (checkpointFile != null && !pending.isEmpty()) {
+                Files.write(checkpointFile.toPath(), pending, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            pending.clear();
         }
+    }
 
-        solr.commit(true, true);
+    /**
+     * Run tasks on a pool of threads and wait for all of them to finish.
+     *
+     * @param tasks   the tasks to run.
+     * @param threads the number of tasks to run in parallel.
+     * @throws IOException               if a task failed with this exception.
+     * @throws SolrServerException       if a task failed with this exception.
+     * @throws SolrImportExportException if a task failed with another exception, or the wait was interrupted.
+     */
+    private static void runInParallel(List<Callable<Void>> tasks, int threads)
+        throws IOException, SolrServerException, SolrImportExportException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, tasks.size())));
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    } else if (cause instanceof SolrServerException) {
+                        throw (SolrServerException) cause;
+                    } else if (cause instanceof SolrImportExportException) {
+                        throw (SolrImportExportException) cause;
+                    }
+                    throw new SolrImportExportException(cause.getMessage(), cause);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SolrImportExportException("Interrupted while waiting for the import or export", e);
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     /**
@@ -497,6 +705,32 @@ public class SolrImportExport {
     public static void exportIndex(String indexName, File toDir, String solrUrl, String timeField, String fromWhen,
                                    boolean overwrite)
         throws SolrServerException, IOException, SolrImportExportException {
+        exportIndex(indexName, toDir, solrUrl, timeField, fromWhen, overwrite, 1, false);
+    }
+
+    /**
+     * Exports documents from the given index to the specified target directory in batches of #ROWS_PER_FILE,
+     * starting at fromWhen (or all documents), several months at a time.
+     * Each export file is written to a temporary file first, so that the export files which exist are complete.
+     * See #makeExportFilename for the file names that are generated.
+     *
+     * @param indexName The index to export.
+     * @param toDir     The target directory for the export. Will be created if it doesn't exist yet. The directory
+     *                  must be writeable.
+     * @param solrUrl   The solr URL for the index to export. Must not be null.
+     * @param timeField The time field to use for sorting the export. Must not be null.
+     * @param fromWhen  Optionally, from when to export. See options for allowed values. If null or empty, all
+     *                  documents will be exported.
+     * @param overwrite If set, allow export files to be overwritten
+     * @param threads   The number of months to export in parallel.
+     * @param resume    If set, keep the export files which already exist, e.g. from an interrupted export.
+     * @throws SolrServerException       if there is a problem with exporting the index.
+     * @throws IOException               if there is a problem creating the files or communicating with Solr.
+     * @throws SolrImportExportException if there is a problem in communicating with Solr.
+     */
+    public static void exportIndex(String indexName, File toDir, String solrUrl, String timeField, String fromWhen,
+                                   boolean overwrite, int threads, boolean resume)
+        throws SolrServerException, IOException, SolrImportExportException {
         log.info(String.format("Export Index [%s] to [%s] using [%s] Time Field[%s] FromWhen[%s]", indexName, toDir,
                                solrUrl, timeField, fromWhen));
         if (StringUtils.isBlank(solrUrl)) {
@@ -551,55 +785,149 @@ public class SolrImportExport {
         query.setFacetMinCount(1);
 
         List<RangeFacet.Count> monthFacets = solr.query(query).getFacetRanges().get(0).getCounts();
+        String uniqueKey = new SchemaRequest.UniqueKey().process(solr).getUniqueKey();
 
+        List<Callable<Void>> tasks = new ArrayList<>();
         for (RangeFacet.Count monthFacet : monthFacets) {
-            YearMonth monthStartDate;
-            String monthStart = monthFacet.getValue();
-            try {
-                monthStartDate = YearMonth.parse(monthStart);
-            } catch (DateTimeParseException e) {
-                throw new SolrImportExportException("Could not read start of month batch as date: " + monthStart, e);
-            }
-            int docsThisMonth = monthFacet.getCount();
-
-            SolrQuery monthQuery = new SolrQuery("*:*");
-            monthQuery.setRows(ROWS_PER_FILE);
-            monthQuery.set("wt", "csv");
-            monthQuery.set("fl", "*");
-            monthQuery.setParam("csv.mv.separator", MULTIPLE_VALUES_SPLITTER);
-
-            monthQuery.addFilterQuery(timeField + ":[" + monthStart + " TO " + monthStart + "+1MONTH]");
+            tasks.add(() -> {
+                exportMonth(indexName, toDir, solr, solrUrl, timeField, uniqueKey, monthFacet, overwrite, resume);
+                return null;
+            });
+        }
+        runInParallel(tasks, threads);
+    }
 
-            for (int i = 0; i < docsThisMonth; i += ROWS_PER_FILE) {
-                monthQuery.setStart(i);
+    /**
+     * Exports the documents of one month in batches of #ROWS_PER_FILE.
+     *
+     * @param indexName  The index to export.
+     * @param toDir      The target directory for the export.
+     * @param solr       The solr server of the index.
+     * @param solrUrl    The solr URL for the index to export.
+     * @param timeField  The time field of the index.
+     * @param uniqueKey  The unique key field of the index.
+     * @param monthFacet The month to export, with its number of documents.
+     * @param overwrite  If set, allow export files to be overwritten
+     * @param resume     If set, keep the export files which already exist.
+     * @throws SolrServerException       if there is a problem with exporting the index.
+     * @throws IOException               if there is a problem creating the files or communicating with Solr.
+     * @throws SolrImportExportException if an export file already exists.
+     */
+    private static void exportMonth(String indexName, File toDir, HttpSolrClient solr, String solrUrl,
+                                    String timeField, String uniqueKey, RangeFacet.Count monthFacet,
+                                    boolean overwrite, boolean resume)
+        throws SolrServerException, IOException, SolrImportExportException {
+        long start = System.currentTimeMillis();
+        YearMonth monthStartDate;
+        String monthStart = monthFacet.getValue();
+        try {
+            monthStartDate = YearMonth.parse(monthStart);
+        } catch (DateTimeParseException e) {
+            throw new SolrImportExportException("Could not read start of month batch as date: " + monthStart, e);
+        }
+        int docsThisMonth = monthFacet.getCount();
+        String monthFilter = timeField + ":[" + monthStart + " TO " + monthStart + "+1MONTH]";
+
+        SolrQuery monthQuery = new SolrQuery("*:*");
+        // Leave room for the documents added to a batch since its keys were read
+        monthQuery.setRows(2 * ROWS_PER_FILE);
+        monthQuery.set("wt", "csv");
+        monthQuery.set("fl", "*");
+        monthQuery.setParam("csv.mv.separator", MULTIPLE_VALUES_SPLITTER);
+
+        List<String> batchEnds = getBatchEnds(solr, monthFilter, uniqueKey, ROWS_PER_FILE);
+        String batchStart = null;
+        int exported = 0;
+        for (int batch = 0; batch < batchEnds.size(); batch++) {
+            int i = batch * ROWS_PER_FILE;
+            String batchEnd = batchEnds.get(batch);
+            monthQuery.setFilterQueries(monthFilter, makeBatchFilter(uniqueKey, batchStart, batchEnd));
+            batchStart = batchEnd;
+
+            File file = new File(toDir.getCanonicalPath(),
+                                 makeExportFilename(indexName, monthStartDate, docsThisMonth, i));
+            if (file.exists() && resume) {
+                log.info(String.format(
+                    "Solr export file [%s] already exists.  Skipping Index [%s] Month [%s] Batch [%d]",
+                    file.getCanonicalPath(), indexName, monthStart, i));
+            } else if (file.exists() && !overwrite) {
+                String message = String.format(
+                    "Solr export file [%s] already exists.  Export failed for Index [%s] Month [%s] Batch [%d] " +
+                        "Num Docs [%d]",
+                    file.getCanonicalPath(), indexName, monthStart, i, docsThisMonth);
+                throw new SolrImportExportException(message);
+            } else {
                 URL url = new URL(solrUrl + "/select?" + monthQuery.toString());
+                File tempFile = new File(file.getCanonicalPath() + ".tmp");
+                FileUtils.copyURLToFile(url, tempFile);
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+                exported += Math.max(0, Math.min(ROWS_PER_FILE, docsThisMonth - i));
+                String message = String.format(
+                    "Solr export to file [%s] complete.  Export for Index [%s] Month [%s] Batch [%d] Num Docs [%d]",
+                    file.getCanonicalPath(), indexName, monthStart, i, docsThisMonth);
+                log.info(message);
+            }
+        }
 
-                File file = new File(toDir.getCanonicalPath(),
-                                     makeExportFilename(indexName, monthStartDate, docsThisMonth, i));
-                if (file.createNewFile() || overwrite) {
-                    FileUtils.copyURLToFile(url, file);
-                    String message = String.format(
-                        "Solr export to file [%s] complete.  Export for Index [%s] Month [%s] Batch [%d] Num Docs [%d]",
-                        file.getCanonicalPath(), indexName, monthStart, i, docsThisMonth);
-                    log.info(message);
-                } else if (file.exists()) {
-                    String message = String.format(
-                        "Solr export file [%s] already exists.  Export failed for Index [%s] Month [%s] Batch [%d] " +
-                            "Num Docs [%d]",
-                        file.getCanonicalPath(), indexName, monthStart, i, docsThisMonth);
-                    throw new SolrImportExportException(message);
-                } else {
-                    String message = String.format(
-                        "Cannot create solr export file [%s].  Export failed for Index [%s] Month [%s] Batch [%d] Num" +
-                            " Docs [%d]",
-                        file.getCanonicalPath(), indexName, monthStart, i, docsThisMonth);
-                    throw new
-                        SolrImportExportException(message);
-                }
+        long millis = Math.max(1, System.currentTimeMillis() - start);
+        String message = String.format(
+            "Solr export for Index [%s] Month [%s] complete.  Num Docs [%d] Exported [%d] Time [%d ms] " +
+                "Throughput [%d docs/s]",
+            indexName, monthStart, docsThisMonth, exported, millis, exported * 1000L / millis);
+        log.info(message);
+        System.out.println(message);
+    }
+
+    /**
+     * Splits the documents matching a filter query into batches of documents with consecutive unique keys. Only the
+     * unique keys are read, with a cursor, so that reading a batch costs the same whatever its offset.
+     *
+     * @param solr        The solr server to query.
+     * @param filterQuery The filter query.
+     * @param uniqueKey   The unique key field.
+     * @param rows        The number of documents of a batch, #ROWS_PER_FILE for the export.
+     * @return the last unique key of each batch, in order.
+     * @throws SolrServerException if there is a problem in communicating with Solr.
+     * @throws IOException         if there is a problem in communicating with Solr.
+     */
+    static List<String> getBatchEnds(SolrClient solr, String filterQuery, String uniqueKey, int rows)
+        throws SolrServerException, IOException {
+        SolrQuery keyQuery = new SolrQuery("*:*");
+        keyQuery.addFilterQuery(filterQuery);
+        keyQuery.setFields(uniqueKey);
+        keyQuery.setRows(rows);
+        keyQuery.setSort(uniqueKey, SolrQuery.ORDER.asc);
+
+        List<String> batchEnds = new ArrayList<>();
+        String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        while (true) {
+            keyQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            QueryResponse response = solr.query(keyQuery);
+            SolrDocumentList keys = response.getResults();
+            if (!keys.isEmpty()) {
+                batchEnds.add(String.valueOf(keys.get(keys.size() - 1).getFieldValue(uniqueKey)));
+            }
+            if (keys.size() < rows || cursorMark.equals(response.getNextCursorMark())) {
+                return batchEnds;
             }
+            cursorMark = response.getNextCursorMark();
         }
     }
 
+    /**
+     * Return a filter query matching the documents of a batch, see #getBatchEnds.
+     *
+     * @param uniqueKey  The unique key field.
+     * @param batchStart The last unique key of the previous batch, or null for the first batch.
+     * @param batchEnd   The last unique key of the batch.
+     * @return a filter query matching the unique keys after batchStart, up to and including batchEnd.
+     */
+    static String makeBatchFilter(String uniqueKey, String batchStart, String batchEnd) {
+        return uniqueKey + ":" + (batchStart == null ? "[*" : "{" + ClientUtils.escapeQueryChars(batchStart))
+            + " TO " + ClientUtils.escapeQueryChars(batchEnd) + "]";
+    }
+
     /**
      * Return a filter query that represents the export date range passed in as lastValue
      *
@@ -9,8 +9,8 @@ package org.dspace.xmlworkflow.storedcomponents;
 
 import java.io.IOException;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -56,28 +56,19 @@ public class PoolTaskServiceImpl implements PoolTaskService {
     @Override
     public List<PoolTask> findByEperson(Context context, EPerson ePerson)
         throws SQLException, AuthorizeException, IOException {
-        List<PoolTask> result = poolTaskDAO.findByEPerson(context, ePerson);
-        //Get all PoolTasks for groups of which this eperson is a member
-        List<Group> groups = groupService.allMemberGroups(context, ePerson);
-        result.addAll(findByGroups(context, ePerson, groups));
-        return result;
-    }
-
-    protected List<PoolTask> findByGroups(Context context, EPerson ePerson, List<Group> groups) throws SQLException {
-        List<PoolTask> result = new ArrayList<PoolTask>();
-        for (Group group : groups) {
-            List<PoolTask> groupTasks = poolTaskDAO.findByGroup(context, group);
-            for (PoolTask poolTask : groupTasks) {
-                XmlWorkflowItem workflowItem = poolTask.getWorkflowItem();
-                if (inProgressUserService.findByWorkflowItemAndEPerson(context, workflowItem, ePerson) == null) {
-                    result.add(poolTask);
-                }
-            }
+        // The group memberships recorded in the database are resolved by the query itself, only the special groups
+        // and the anonymous group are passed in (see GroupService#allMemberGroupsSet)
+        Set<Group> extraGroups = new HashSet<>();
+        if (context.getCurrentUser() == null || context.getCurrentUser().equals(ePerson)) {
+            extraGroups.addAll(context.getSpecialGroups());
+        }
+        Group anonymous = groupService.findByName(context, Group.ANONYMOUS);
+        if (anonymous != null) {
+            extraGroups.add(anonymous);
         }
-        return result;
+        return poolTaskDAO.findByEPersonOrMemberGroups(context, ePerson, extraGroups);
     }
 
-
     @Override
     public List<PoolTask> find(Context context, XmlWorkflowItem workflowItem) throws SQLException {
         return poolTaskDAO.findByWorkflowItem(context, workflowItem);
@@ -9,6 +9,7 @@ package org.dspace.xmlworkflow.storedcomponents.dao;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Set;
 
 import org.dspace.core.Context;
 import org.dspace.core.GenericDAO;
@@ -31,6 +32,21 @@ public interface PoolTaskDAO extends GenericDAO<PoolTask> {
 
     public List<PoolTask> findByGroup(Context context, Group group) throws SQLException;
 
+    /**
+     * Find, in a single query, the pool tasks of an EPerson: the tasks assigned to the EPerson, and the tasks
+     * assigned to a group the EPerson is a member of (directly or through a subgroup), unless the EPerson is already
+     * working on their workflow item.
+     *
+     * @param context     DSpace context object
+     * @param ePerson     the EPerson
+     * @param extraGroups groups the EPerson is a member of which are not recorded in the database (special groups,
+     *                    anonymous group)
+     * @return the pool tasks
+     * @throws SQLException if database error
+     */
+    public List<PoolTask> findByEPersonOrMemberGroups(Context context, EPerson ePerson, Set<Group> extraGroups)
+        throws SQLException;
+
     public List<PoolTask> findByWorkflowItem(Context context, XmlWorkflowItem workflowItem) throws SQLException;
 
     public PoolTask findByWorkflowItemAndEPerson(Context context, XmlWorkflowItem workflowItem, EPerson ePerson)
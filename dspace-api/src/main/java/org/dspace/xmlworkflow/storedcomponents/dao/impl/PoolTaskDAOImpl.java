@@ -9,7 +9,9 @@ package org.dspace.xmlworkflow.storedcomponents.dao.impl;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Set;
 
+import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
@@ -55,6 +57,32 @@ public class PoolTaskDAOImpl extends AbstractHibernateDAO<PoolTask> implements P
         return list(context, criteriaQuery, false, PoolTask.class, -1, -1);
     }
 
+    @Override
+    public List<PoolTask> findByEPersonOrMemberGroups(Context context, EPerson ePerson, Set<Group> extraGroups)
+        throws SQLException {
+        StringBuilder membership = new StringBuilder()
+            .append("EXISTS (SELECT 1 FROM Group g JOIN g.epeople p WHERE g = pt.group AND p = :ePerson)")
+            .append(" OR EXISTS (SELECT 1 FROM Group2GroupCache gc JOIN gc.child child JOIN child.epeople cp")
+            .append(" WHERE gc.parent = pt.group AND cp = :ePerson)");
+        if (!extraGroups.isEmpty()) {
+            membership.append(" OR pt.group IN (:extraGroups)")
+                      .append(" OR EXISTS (SELECT 1 FROM Group2GroupCache egc")
+                      .append(" WHERE egc.parent = pt.group AND egc.child IN (:extraGroups))");
+        }
+        Query query = createQuery(context,
+                                  "SELECT pt FROM PoolTask pt " +
+                                      "WHERE pt.ePerson = :ePerson " +
+                                      "OR (pt.group IS NOT NULL AND (" + membership + ") " +
+                                      "AND NOT EXISTS (SELECT 1 FROM InProgressUser ipu " +
+                                      "WHERE ipu.workflowItem = pt.workflowItem AND ipu.ePerson = :ePerson)) " +
+                                      "ORDER BY pt.id");
+        query.setParameter("ePerson", ePerson);
+        if (!extraGroups.isEmpty()) {
+            query.setParameter("extraGroups", extraGroups);
+        }
+        return list(query);
+    }
+
     @Override
     public List<PoolTask> findByWorkflowItem(Context context, XmlWorkflowItem workflowItem) throws SQLException {
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
@@ -0,0 +1,26 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create the table recording changes to entities in the second level cache, used
+-- to invalidate the caches of the other DSpace instances sharing this database
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE cache_invalidation_id_seq;
+
+CREATE TABLE cache_invalidation
+(
+    id BIGINT NOT NULL,
+    node VARCHAR(36) NOT NULL,
+    entity_name VARCHAR(255) NOT NULL,
+    entity_id VARCHAR(64) NOT NULL,
+    created TIMESTAMP,
+    CONSTRAINT cache_invalidation_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX cache_invalidation_created_idx ON cache_invalidation(created);
@@ -0,0 +1,15 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Record the failed attempts to send the urls of the IRUS statistics tracker again,
+-- so that the retries back off exponentially
+-----------------------------------------------------------------------------------
+
+ALTER TABLE openurltracker ADD COLUMN attempts INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE openurltracker ADD COLUMN next_attempt TIMESTAMP;
@@ -0,0 +1,15 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Indexes matching the (item, relationship type, place, id) order used to page
+-- through and append to the relationships of a single item
+-----------------------------------------------------------------------------------
+
+CREATE INDEX relationship_left_type_place_idx ON relationship(left_id, type_id, left_place, id);
+CREATE INDEX relationship_right_type_place_idx ON relationship(right_id, type_id, right_place, id);
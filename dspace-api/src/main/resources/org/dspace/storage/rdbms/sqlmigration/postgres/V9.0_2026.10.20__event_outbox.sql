@@ -0,0 +1,33 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create the outbox of events waiting for delivery to asynchronous consumers
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE event_outbox_id_seq;
+
+CREATE TABLE event_outbox
+(
+    id INTEGER NOT NULL,
+    consumer VARCHAR(255) NOT NULL,
+    event_type INTEGER,
+    subject_type INTEGER,
+    subject_id UUID,
+    object_type INTEGER,
+    object_id UUID,
+    detail TEXT,
+    identifiers TEXT,
+    eperson_id UUID,
+    created TIMESTAMP,
+    attempts INTEGER,
+    next_attempt TIMESTAMP,
+    CONSTRAINT event_outbox_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX event_outbox_consumer_idx ON event_outbox(consumer, id);
@@ -0,0 +1,30 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create the table of the daily views of every object per country and city,
+-- aggregated from the usage events of the statistics core for the usage reports
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE usage_rollup_seq INCREMENT BY 50;
+
+CREATE TABLE usage_rollup
+(
+    rollup_id BIGINT NOT NULL,
+    rollup_date DATE NOT NULL,
+    dso_id UUID NOT NULL,
+    dso_type INTEGER NOT NULL,
+    country_code VARCHAR(16),
+    city VARCHAR(256),
+    views BIGINT NOT NULL,
+    CONSTRAINT usage_rollup_pkey PRIMARY KEY (rollup_id)
+);
+
+CREATE INDEX usage_rollup_dso_idx ON usage_rollup(dso_id, rollup_date);
+CREATE INDEX usage_rollup_date_idx ON usage_rollup(rollup_date);
+CREATE INDEX usage_rollup_type_idx ON usage_rollup(dso_type);
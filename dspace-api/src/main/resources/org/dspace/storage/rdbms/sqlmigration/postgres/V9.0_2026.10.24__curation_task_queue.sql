@@ -0,0 +1,28 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create the table of the curation tasks queued for the DBTaskQueue
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE curation_task_queue_id_seq;
+
+CREATE TABLE curation_task_queue
+(
+    id INTEGER NOT NULL,
+    queue_name VARCHAR(255) NOT NULL,
+    eperson VARCHAR(255),
+    submitted TIMESTAMP,
+    tasks TEXT,
+    object_id VARCHAR(255),
+    ticket BIGINT,
+    leased_until TIMESTAMP,
+    CONSTRAINT curation_task_queue_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX curation_task_queue_name_idx ON curation_task_queue(queue_name, id);
@@ -10,18 +10,27 @@ package org.dspace.app.itemexport;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import org.apache.commons.codec.CharEncoding;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.file.PathUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.itemexport.factory.ItemExportServiceFactory;
 import org.dspace.builder.BitstreamBuilder;
 import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
@@ -227,6 +236,67 @@ public class ItemExportCLIIT extends AbstractIntegrationTestWithDatabase {
         checkZip(zipFileName);
     }
 
+    @Test
+    public void exportZipWithoutCompressingCompressedFormats() throws Exception {
+        // create item with the same, highly compressible, content as a text and as a PDF bitstream
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection)
+                .withTitle(title)
+                .build();
+        String bitstreamContent = StringUtils.repeat("TEST ", 2000);
+        try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+            BitstreamBuilder.createBitstream(context, item, is)
+                    .withName("text.txt")
+                    .withMimeType("text/plain")
+                    .build();
+        }
+        try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+            BitstreamBuilder.createBitstream(context, item, is)
+                    .withName("document.pdf")
+                    .withMimeType("application/pdf")
+                    .build();
+        }
+        context.restoreAuthSystemState();
+
+        String[] args = new String[] { "export", "-t", "ITEM",
+                "-i", item.getHandle(), "-d", tempDir.toString(), "-z", zipFileName, "-n", "1" };
+        perfomExportScript(args);
+
+        checkZip(zipFileName);
+        try (ZipFile zipFile = new ZipFile(tempDir.resolve(zipFileName).toFile())) {
+            ZipEntry text = findEntry(zipFile, "/text.txt");
+            ZipEntry pdf = findEntry(zipFile, "/document.pdf");
+            assertEquals(bitstreamContent.length(), text.getSize());
+            assertEquals(bitstreamContent.length(), pdf.getSize());
+            // text is compressed, the PDF (an already compressed format) is stored as is
+            assertTrue(text.getCompressedSize() < text.getSize() / 10);
+            assertTrue(pdf.getCompressedSize() >= pdf.getSize());
+            try (InputStream is = zipFile.getInputStream(pdf)) {
+                assertEquals(bitstreamContent, IOUtils.toString(is, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void failedDownloadableExportLeavesNoFiles() throws Exception {
+        ItemExportServiceImpl itemExportService =
+                (ItemExportServiceImpl) ItemExportServiceFactory.getInstance().getItemExportService();
+        // an item which does not exist makes the export fail
+        Map<String, List<UUID>> itemsMap = Map.of("item_missing", List.of(UUID.randomUUID()));
+        File target = tempDir.resolve("download.zip").toFile();
+
+        try {
+            itemExportService.writeDownloadableExport(context, itemsMap, target, false);
+            fail("The export of a missing item should fail");
+        } catch (Exception e) {
+            // expected
+        }
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
     @Test
     public void migrateCollection() throws Exception {
         // create items
@@ -356,6 +426,19 @@ public class ItemExportCLIIT extends AbstractIntegrationTestWithDatabase {
         assertNotNull(itemService.find(context, item.getID()));
     }
 
+    /**
+     * Find the entry of a zip file whose name ends with the given suffix
+     * @param zipFile
+     * @param suffix
+     * @return the entry
+     */
+    private ZipEntry findEntry(ZipFile zipFile, String suffix) {
+        return zipFile.stream()
+                .filter(entry -> entry.getName().endsWith(suffix))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No zip entry " + suffix));
+    }
+
     private void perfomExportScript(String[] args)
             throws Exception {
         runDSpaceScript(args);
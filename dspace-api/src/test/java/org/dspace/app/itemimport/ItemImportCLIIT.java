@@ -8,17 +8,24 @@
 package org.dspace.app.itemimport;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.file.PathUtils;
 import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.itemimport.factory.ItemImportServiceFactory;
 import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
 import org.dspace.builder.EntityTypeBuilder;
@@ -30,6 +37,7 @@ import org.dspace.content.EntityType;
 import org.dspace.content.Item;
 import org.dspace.content.Relationship;
 import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.ItemService;
 import org.dspace.content.service.RelationshipService;
 import org.dspace.services.ConfigurationService;
@@ -53,6 +61,7 @@ public class ItemImportCLIIT extends AbstractIntegrationTestWithDatabase {
     private static final String personTitle = "Person Test";
 
     private ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+    private BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
     private RelationshipService relationshipService = ContentServiceFactory.getInstance().getRelationshipService();
     private ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
     private Collection collection;
@@ -236,6 +245,82 @@ public class ItemImportCLIIT extends AbstractIntegrationTestWithDatabase {
         assertTrue(workTempDir.exists());
     }
 
+    @Test
+    public void importItemByZipSafWithBitstreamsExtractedOnDemand() throws Exception {
+        configurationService.setProperty("org.dspace.app.batchitemimport.zip.extract-on-demand", true);
+        // use simple SAF in zip format
+        Files.copy(getClass().getResourceAsStream("saf-bitstreams.zip"),
+                Path.of(tempDir.toString() + "/" + ZIP_NAME));
+
+        String[] args = new String[] { "import", "-a", "-e", admin.getEmail(), "-c", collection.getID().toString(),
+                "-s", tempDir.toString(), "-z", ZIP_NAME, "-m", tempDir.toString() + "/mapfile.out" };
+        perfomImportScript(args);
+
+        checkMetadata();
+        checkMetadataWithAnotherSchema();
+        checkBitstream();
+    }
+
+    @Test
+    public void unzipSafExtractsBitstreamsOnDemand() throws Exception {
+        configurationService.setProperty("org.dspace.app.batchitemimport.zip.extract-on-demand", true);
+        ItemImportServiceImpl itemImportService =
+                (ItemImportServiceImpl) ItemImportServiceFactory.getInstance().getItemImportService();
+        Path zipFile = Path.of(tempDir.toString() + "/" + ZIP_NAME);
+        Files.copy(getClass().getResourceAsStream("saf-bitstreams.zip"), zipFile);
+
+        try {
+            String sourceDir = itemImportService.unzip(zipFile.toFile(), tempDir.toString() + "/work");
+
+            // only the files describing the item are extracted up front
+            File itemDir = new File(sourceDir, "item_000");
+            assertTrue(new File(itemDir, "dublin_core.xml").exists());
+            assertTrue(new File(itemDir, "metadata_dcterms.xml").exists());
+            assertTrue(new File(itemDir, "contents").exists());
+            File bitstreamFile = new File(itemDir, "file1.txt");
+            assertFalse(bitstreamFile.exists());
+
+            // the bitstreams are extracted when the item is imported, and deleted afterwards
+            itemImportService.extractDeferredContent("item_000");
+            assertEquals("TEST TEST TEST\n", Files.readString(bitstreamFile.toPath()));
+            itemImportService.deleteDeferredContent("item_000");
+            assertFalse(bitstreamFile.exists());
+        } finally {
+            itemImportService.closeDeferredZip();
+        }
+    }
+
+    @Test
+    public void importItemsByZipSafWithBitstreamsPrefetched() throws Exception {
+        configurationService.setProperty("org.dspace.app.batchitemimport.zip.extract-on-demand", true);
+        configurationService.setProperty("org.dspace.app.batchitemimport.zip.prefetch", 2);
+        // SAF in zip format with several items, each with its own bitstream
+        int itemCount = 5;
+        try (ZipOutputStream zip = new ZipOutputStream(
+                Files.newOutputStream(Path.of(tempDir.toString() + "/" + ZIP_NAME)))) {
+            for (int i = 0; i < itemCount; i++) {
+                String itemDir = "saf/item_00" + i + "/";
+                addZipEntry(zip, itemDir + "dublin_core.xml", "<dublin_core><dcvalue element=\"title\" "
+                        + "qualifier=\"none\">Prefetched " + i + "</dcvalue></dublin_core>");
+                addZipEntry(zip, itemDir + "contents", "content" + i + ".txt");
+                addZipEntry(zip, itemDir + "content" + i + ".txt", "Content of item " + i);
+            }
+        }
+
+        String[] args = new String[] { "import", "-a", "-e", admin.getEmail(), "-c", collection.getID().toString(),
+                "-s", tempDir.toString(), "-z", ZIP_NAME, "-m", tempDir.toString() + "/mapfile.out" };
+        perfomImportScript(args);
+
+        for (int i = 0; i < itemCount; i++) {
+            Item item = itemService.findByMetadataField(context, "dc", "title", null, "Prefetched " + i).next();
+            Bitstream bitstream = item.getBundles("ORIGINAL").get(0).getBitstreams().get(0);
+            assertEquals("content" + i + ".txt", bitstream.getName());
+            try (InputStream is = bitstreamService.retrieve(context, bitstream)) {
+                assertEquals("Content of item " + i, IOUtils.toString(is, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
     @Test
     public void importItemByZipSafWithRelationships() throws Exception {
         context.turnOffAuthorisationSystem();
@@ -597,6 +682,19 @@ public class ItemImportCLIIT extends AbstractIntegrationTestWithDatabase {
         assertEquals(item.getID(), relationships.get(0).getLeftItem().getID());
     }
 
+    /**
+     * Add an entry with the given text to a zip archive
+     * @param zip
+     * @param name
+     * @param text
+     * @throws Exception
+     */
+    private void addZipEntry(ZipOutputStream zip, String name, String text) throws Exception {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(text.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
     private void perfomImportScript(String[] args)
             throws Exception {
         runDSpaceScript(args);
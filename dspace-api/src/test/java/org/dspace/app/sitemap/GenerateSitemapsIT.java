@@ -0,0 +1,267 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.sitemap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Integration tests of the incremental update of the sitemaps by {@link GenerateSitemaps}.
+ */
+public class GenerateSitemapsIT extends AbstractIntegrationTestWithDatabase {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                   .getConfigurationService();
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private File outputDir;
+    private File manifestDir;
+
+    @Before
+    public void setUp() throws Exception {
+        outputDir = tempDir.getRoot();
+        manifestDir = new File(outputDir, GenerateSitemaps.MANIFEST_DIR);
+        configurationService.setProperty("sitemap.dir", outputDir.getCanonicalPath());
+        configurationService.setProperty("sitemap.compress", false);
+        configurationService.setProperty("sitemap.max-urls", 3);
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        for (int i = 0; i < 7; i++) {
+            ItemBuilder.createItem(context, collection)
+                       .withTitle("Item " + i)
+                       .build();
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+    }
+
+    @Test
+    public void testFullGeneration() throws Exception {
+        GenerateSitemaps.generateSitemaps(false, true, true);
+
+        SitemapManifest manifest = readManifest();
+        assertEquals(3, manifest.getFileCount());
+        assertEquals(3, manifest.getIds(0).size());
+        assertEquals(3, manifest.getIds(1).size());
+        assertEquals(1, manifest.getIds(2).size());
+        assertTrue(new File(outputDir, "sitemap_items2.xml").isFile());
+        assertFalse(new File(outputDir, "sitemap_items3.xml").exists());
+        assertTrue(new File(manifestDir, GenerateSitemaps.LAST_RUN_FILE).isFile());
+    }
+
+    @Test
+    public void testIncrementalUpdate() throws Exception {
+        GenerateSitemaps.generateSitemaps(false, true, true);
+        SitemapManifest previous = readManifest();
+        Instant written = setWritten();
+        // only the objects modified from now on are modified since the previous run
+        Thread.sleep(10);
+        setPreviousRun(Instant.now());
+        Thread.sleep(10);
+
+        // an item of the middle file is modified, and the middle file does not have room for all its items anymore
+        UUID modified = previous.getIds(1).get(0);
+        UUID overflowed = previous.getIds(1).get(2);
+        context.turnOffAuthorisationSystem();
+        Item item = itemService.find(context, modified);
+        itemService.addMetadata(context, item, "dc", "description", null, null, "Modified");
+        itemService.updateLastModified(context, item);
+        context.restoreAuthSystemState();
+        context.commit();
+        configurationService.setProperty("sitemap.max-urls", 2);
+
+        GenerateSitemaps.generateSitemaps(false, true, false);
+
+        SitemapManifest manifest = readManifest();
+        assertEquals(3, manifest.getFileCount());
+        // the first file is left untouched, with more items than a file can have now
+        assertEquals(previous.getIds(0), manifest.getIds(0));
+        assertEquals(written, lastModified("sitemap_items0.xml"));
+        // the middle file is written again with the items it still has room for
+        assertEquals(previous.getIds(1).subList(0, 2), manifest.getIds(1));
+        assertNotEquals(written, lastModified("sitemap_items1.xml"));
+        // the other items are carried into the last file
+        assertEquals(List.of(previous.getIds(2).get(0), overflowed), manifest.getIds(2));
+        assertNotEquals(written, lastModified("sitemap_items2.xml"));
+        assertTrue(Files.readString(new File(outputDir, "sitemap_items2.xml").toPath(), StandardCharsets.UTF_8)
+                        .contains("/items/" + overflowed + "</loc>"));
+        assertFalse(new File(outputDir, "sitemap_items3.xml").exists());
+        // the sitemaps of the communities and collections did not change
+        assertEquals(written, lastModified("sitemap_communities0.xml"));
+        assertEquals(written, lastModified("sitemap_collections0.xml"));
+
+        // the index gives the date each file was last written
+        String index = Files.readString(new File(outputDir, "sitemap_index.xml").toPath(), StandardCharsets.UTF_8);
+        String uiURL = configurationService.getProperty("dspace.ui.url");
+        String uiURLStem = uiURL.endsWith("/") ? uiURL : uiURL + '/';
+        assertTrue(index.contains("<loc>" + uiURLStem + "sitemap_items0.xml</loc><lastmod>"
+                                      + DateTimeFormatter.ISO_INSTANT.format(written) + "</lastmod>"));
+        assertTrue(index.contains("<loc>" + uiURLStem + "sitemap_items1.xml</loc><lastmod>"
+                                      + DateTimeFormatter.ISO_INSTANT.format(lastModified("sitemap_items1.xml"))
+                                      + "</lastmod>"));
+    }
+
+    @Test
+    public void testNewItemsAreAddedToTheLastFile() throws Exception {
+        GenerateSitemaps.generateSitemaps(false, true, true);
+        SitemapManifest previous = readManifest();
+        Instant written = setWritten();
+        setPreviousRun(Instant.now());
+
+        context.turnOffAuthorisationSystem();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item first = ItemBuilder.createItem(context, collection).withTitle("New item 1").build();
+        Item second = ItemBuilder.createItem(context, collection).withTitle("New item 2").build();
+        Item third = ItemBuilder.createItem(context, collection).withTitle("New item 3").build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        GenerateSitemaps.generateSitemaps(false, true, false);
+
+        SitemapManifest manifest = readManifest();
+        assertEquals(4, manifest.getFileCount());
+        // the full files are left untouched
+        assertEquals(previous.getIds(0), manifest.getIds(0));
+        assertEquals(previous.getIds(1), manifest.getIds(1));
+        assertEquals(written, lastModified("sitemap_items0.xml"));
+        assertEquals(written, lastModified("sitemap_items1.xml"));
+        // the last file is filled up, then a new one is started
+        assertEquals(3, manifest.getIds(2).size());
+        assertEquals(previous.getIds(2).get(0), manifest.getIds(2).get(0));
+        assertEquals(1, manifest.getIds(3).size());
+        Set<UUID> added = new HashSet<>(manifest.getIds(2).subList(1, 3));
+        added.addAll(manifest.getIds(3));
+        assertEquals(Set.of(first.getID(), second.getID(), third.getID()), added);
+        assertNotEquals(written, lastModified("sitemap_items2.xml"));
+        assertTrue(new File(outputDir, "sitemap_items3.xml").isFile());
+        // the new collection is added to the sitemap of the collections
+        assertNotEquals(written, lastModified("sitemap_collections0.xml"));
+        assertEquals(written, lastModified("sitemap_communities0.xml"));
+    }
+
+    @Test
+    public void testEmptyFilesAreLeftOut() throws Exception {
+        GenerateSitemaps.generateSitemaps(false, true, true);
+        SitemapManifest previous = readManifest();
+        setPreviousRun(Instant.now());
+
+        // all the items of the middle file are deleted
+        for (UUID id : previous.getIds(1)) {
+            ItemBuilder.deleteItem(id);
+        }
+
+        GenerateSitemaps.generateSitemaps(false, true, false);
+
+        SitemapManifest manifest = readManifest();
+        assertEquals(3, manifest.getFileCount());
+        assertEquals(previous.getIds(0), manifest.getIds(0));
+        assertTrue(manifest.getIds(1).isEmpty());
+        assertEquals(previous.getIds(2), manifest.getIds(2));
+        // the middle file is neither written nor listed in the index
+        assertFalse(new File(outputDir, "sitemap_items1.xml").exists());
+        assertTrue(new File(outputDir, "sitemap_items2.xml").isFile());
+        String index = Files.readString(new File(outputDir, "sitemap_index.xml").toPath(), StandardCharsets.UTF_8);
+        assertFalse(index.contains("sitemap_items1.xml"));
+        assertTrue(index.contains("sitemap_items2.xml"));
+    }
+
+    @Test
+    public void testFormatLeftOutIsGeneratedInFullNextTime() throws Exception {
+        GenerateSitemaps.generateSitemaps(true, true, true);
+        setPreviousRun(Instant.now());
+
+        // a run without the sitemaps.org sitemap leaves its manifests out of date, so they are removed
+        GenerateSitemaps.generateSitemaps(true, false, false);
+        assertFalse(new File(manifestDir, "sitemap_items.xml").exists());
+        assertTrue(new File(manifestDir, "sitemap_items.html").isFile());
+
+        context.turnOffAuthorisationSystem();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item added = ItemBuilder.createItem(context, collection).withTitle("New item").build();
+        context.restoreAuthSystemState();
+        context.commit();
+        Instant written = setWritten();
+
+        GenerateSitemaps.generateSitemaps(true, true, false);
+
+        // the sitemaps.org sitemap is generated in full, with the item added while it was not generated
+        SitemapManifest manifest = readManifest();
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < manifest.getFileCount(); i++) {
+            ids.addAll(manifest.getIds(i));
+        }
+        assertEquals(8, ids.size());
+        assertTrue(ids.contains(added.getID()));
+        assertNotEquals(written, lastModified("sitemap_items0.xml"));
+        assertNotEquals(written, lastModified("sitemap_communities0.xml"));
+    }
+
+    /**
+     * Date the sitemap files of the previous run, so that the files written again get another date.
+     *
+     * @return the date of the files
+     */
+    private Instant setWritten() {
+        Instant written = Instant.now().minus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        for (File file : outputDir.listFiles((dir, name) -> name.endsWith(".xml"))) {
+            assertTrue(file.setLastModified(written.toEpochMilli()));
+        }
+        return written;
+    }
+
+    /**
+     * Record the start of the previous run so that only the objects modified after the given date are considered
+     * modified since.
+     */
+    private void setPreviousRun(Instant modifiedSince) throws Exception {
+        Files.writeString(new File(manifestDir, GenerateSitemaps.LAST_RUN_FILE).toPath(),
+                          modifiedSince.plus(GenerateSitemaps.LAST_MODIFIED_OVERLAP).toString(),
+                          StandardCharsets.UTF_8);
+    }
+
+    private SitemapManifest readManifest() throws Exception {
+        return SitemapManifest.read(new File(manifestDir, "sitemap_items.xml"));
+    }
+
+    private Instant lastModified(String filename) {
+        return Instant.ofEpochMilli(new File(outputDir, filename).lastModified());
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.sitemap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests of {@link SitemapManifest}.
+ */
+public class SitemapManifestTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        SitemapManifest manifest = new SitemapManifest();
+        manifest.add(0, first);
+        manifest.add(0, second);
+        manifest.add(1, third);
+
+        File file = new File(tempDir.getRoot(), "sitemap_items.xml");
+        manifest.write(file);
+        SitemapManifest read = SitemapManifest.read(file);
+
+        assertEquals(2, read.getFileCount());
+        assertEquals(List.of(first, second), read.getIds(0));
+        assertEquals(List.of(third), read.getIds(1));
+        assertEquals(Integer.valueOf(0), read.getFileNumber(second));
+        assertEquals(Integer.valueOf(1), read.getFileNumber(third));
+        assertNull(read.getFileNumber(UUID.randomUUID()));
+        // the file is replaced through a temporary file
+        assertFalse(new File(tempDir.getRoot(), "sitemap_items.xml.tmp").exists());
+    }
+
+    @Test
+    public void testReadMissingFile() throws Exception {
+        assertNull(SitemapManifest.read(new File(tempDir.getRoot(), "sitemap_items.xml")));
+    }
+
+    @Test
+    public void testSetReplacesTheObjectsOfAFile() throws Exception {
+        UUID moved = UUID.randomUUID();
+        UUID kept = UUID.randomUUID();
+        UUID added = UUID.randomUUID();
+        SitemapManifest manifest = new SitemapManifest();
+        manifest.add(0, moved);
+        manifest.add(0, kept);
+        manifest.add(1, UUID.randomUUID());
+
+        // the object which no longer fits in the first file is moved to the last one
+        manifest.set(1, List.of(manifest.getIds(1).get(0), moved));
+        manifest.set(0, List.of(kept, added));
+
+        assertEquals(List.of(kept, added), manifest.getIds(0));
+        assertEquals(Integer.valueOf(1), manifest.getFileNumber(moved));
+        assertEquals(Integer.valueOf(0), manifest.getFileNumber(added));
+
+        File file = new File(tempDir.getRoot(), "sitemap_items.xml");
+        manifest.write(file);
+        SitemapManifest read = SitemapManifest.read(file);
+        assertEquals(manifest.getIds(0), read.getIds(0));
+        assertEquals(manifest.getIds(1), read.getIds(1));
+        assertEquals(Integer.valueOf(1), read.getFileNumber(moved));
+    }
+}
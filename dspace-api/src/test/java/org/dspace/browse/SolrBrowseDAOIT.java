@@ -0,0 +1,154 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.content.Collection;
+import org.dspace.discovery.DiscoverQuery;
+import org.dspace.discovery.DiscoverResult;
+import org.dspace.discovery.SearchService;
+import org.dspace.discovery.SearchUtils;
+import org.dspace.eperson.Group;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the counts of {@link SolrBrowseDAO} cached in the {@link BrowseCountCache}, with a mocked
+ * search service counting the queries sent to Solr.
+ */
+public class SolrBrowseDAOIT extends AbstractIntegrationTestWithDatabase {
+
+    private SearchService searcher;
+
+    private final List<DiscoverQuery> queries = new ArrayList<>();
+
+    private Collection collection;
+
+    private Collection otherCollection;
+
+    @Before
+    public void setUp() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        otherCollection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        context.restoreAuthSystemState();
+
+        searcher = mock(SearchService.class);
+        when(searcher.search(eq(context), any(DiscoverQuery.class))).thenAnswer(invocation -> {
+            queries.add(invocation.getArgument(1));
+            DiscoverResult result = new DiscoverResult();
+            result.setTotalSearchResults(5);
+            result.setTotalEntries(42);
+            return result;
+        });
+    }
+
+    @Test
+    public void offsetCountIsCached() throws Exception {
+        assertEquals(5, createDAO(collection).doOffsetQuery("title", "m", true));
+        assertEquals(5, createDAO(collection).doOffsetQuery("title", "m", true));
+        verify(searcher, times(1)).search(eq(context), any(DiscoverQuery.class));
+
+        // another value is another count
+        assertEquals(5, createDAO(collection).doOffsetQuery("title", "n", true));
+        verify(searcher, times(2)).search(eq(context), any(DiscoverQuery.class));
+    }
+
+    @Test
+    public void distinctCountIsCached() throws Exception {
+        assertEquals(42, createDistinctDAO().doCountQuery());
+        assertTrue(queries.get(0).getProperties().containsKey("json.facet"));
+
+        // the next page does not ask Solr for the number of distinct values again
+        when(searcher.search(eq(context), any(DiscoverQuery.class))).thenAnswer(invocation -> {
+            queries.add(invocation.getArgument(1));
+            return new DiscoverResult();
+        });
+        SolrBrowseDAO dao = createDistinctDAO();
+        dao.setOffset(20);
+        assertEquals(42, dao.doCountQuery());
+        assertFalse(queries.get(1).getProperties().containsKey("json.facet"));
+    }
+
+    @Test
+    public void cacheIsClearedOnDiscoveryCommit() throws Exception {
+        createDAO(collection).doOffsetQuery("title", "m", true);
+        SearchUtils.getSearchService().commit();
+        createDAO(collection).doOffsetQuery("title", "m", true);
+        verify(searcher, times(2)).search(eq(context), any(DiscoverQuery.class));
+    }
+
+    @Test
+    public void countsAreCachedPerScope() throws Exception {
+        createDAO(collection).doOffsetQuery("title", "m", true);
+        createDAO(otherCollection).doOffsetQuery("title", "m", true);
+        createDAO(null).doOffsetQuery("title", "m", true);
+        verify(searcher, times(3)).search(eq(context), any(DiscoverQuery.class));
+
+        createDAO(otherCollection).doOffsetQuery("title", "m", true);
+        verify(searcher, times(3)).search(eq(context), any(DiscoverQuery.class));
+    }
+
+    @Test
+    public void countsAreCachedPerUserAndGroups() throws Exception {
+        context.setCurrentUser(null);
+        createDAO(collection).doOffsetQuery("title", "m", true);
+        context.setCurrentUser(eperson);
+        createDAO(collection).doOffsetQuery("title", "m", true);
+        context.setCurrentUser(admin);
+        createDAO(collection).doOffsetQuery("title", "m", true);
+        verify(searcher, times(3)).search(eq(context), any(DiscoverQuery.class));
+
+        // the special groups change what the user may see too
+        context.turnOffAuthorisationSystem();
+        Group group = GroupBuilder.createGroup(context).build();
+        context.restoreAuthSystemState();
+        context.setSpecialGroup(group.getID());
+        createDAO(collection).doOffsetQuery("title", "m", true);
+        verify(searcher, times(4)).search(eq(context), any(DiscoverQuery.class));
+
+        createDAO(collection).doOffsetQuery("title", "m", true);
+        verify(searcher, times(4)).search(eq(context), any(DiscoverQuery.class));
+    }
+
+    private SolrBrowseDAO createDAO(Collection container) {
+        SolrBrowseDAO dao = new SolrBrowseDAO(context);
+        dao.searcher = searcher;
+        dao.setTable("title");
+        if (container != null) {
+            dao.setContainer(container);
+            dao.setContainerIDField("collection_id");
+        }
+        return dao;
+    }
+
+    private SolrBrowseDAO createDistinctDAO() {
+        SolrBrowseDAO dao = createDAO(collection);
+        dao.setDistinct(true);
+        dao.setTable("author");
+        dao.setLimit(20);
+        return dao;
+    }
+}
@@ -8,6 +8,7 @@
 package org.dspace.content.dao;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
@@ -138,6 +139,93 @@ public class RelationshipDAOImplIT extends AbstractIntegrationTest {
                 -1, -1, false));
     }
 
+    /**
+     * Test findByItemAfter should return our defined relationshipsList as the first page given our test Item
+     * itemOne, and nothing after the last relationship of that page.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFindByItemAfter() throws Exception {
+        assertEquals("TestFindByItemAfter 0", relationshipsList, relationshipService.findByItemAfter(context,
+                itemOne, null, 10, false, false));
+        assertEquals("TestFindByItemAfter 1", 0, relationshipService.findByItemAfter(context, itemOne,
+                relationship, 10, false, false).size());
+        assertEquals("TestFindByItemAfter 2", relationshipsList, relationshipService
+                .findByItemAndRelationshipTypeAfter(context, itemOne, relationshipType, true, null, 10, false));
+        assertEquals("TestFindByItemAfter 3", 0, relationshipService.findByItemAndRelationshipTypeAfter(context,
+                itemOne, relationshipType, true, relationship, 10, false).size());
+    }
+
+    /**
+     * Test that walking the relationships of itemOne page by page with findByItemAfter and
+     * findByItemAndRelationshipTypeAfter returns every relationship exactly once, in the same order as listing them
+     * all at once, across two relationship types.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFindByItemAfterPages() throws Exception {
+        context.turnOffAuthorisationSystem();
+        RelationshipType editorType = relationshipTypeService.create(context, entityTypeTwo, entityTypeOne,
+                "isEditorOfPublication", "isPublicationOfEditor", 0, 10, 0, 10);
+        List<Item> persons = new ArrayList<>();
+        List<Relationship> created = new ArrayList<>();
+        try {
+            for (int i = 0; i < 7; i++) {
+                WorkspaceItem workspaceItem = workspaceItemService.create(context, collection, false);
+                Item person = installItemService.installItem(context, workspaceItem);
+                itemService.addMetadata(context, person, "dspace", "entity", "type", null, "Person");
+                itemService.update(context, person);
+                persons.add(person);
+                created.add(relationshipService.create(context, itemOne, person,
+                        i % 2 == 0 ? relationshipType : editorType, -1, -1));
+            }
+            context.restoreAuthSystemState();
+
+            List<Relationship> all = relationshipService.findByItem(context, itemOne, -1, -1, false, false);
+            assertEquals("TestFindByItemAfterPages 0", 8, all.size());
+
+            List<Relationship> walked = new ArrayList<>();
+            Relationship after = null;
+            List<Relationship> page;
+            do {
+                page = relationshipService.findByItemAfter(context, itemOne, after, 3, false, false);
+                assertTrue("TestFindByItemAfterPages 1", page.size() <= 3);
+                walked.addAll(page);
+                after = page.isEmpty() ? null : page.get(page.size() - 1);
+            } while (page.size() == 3);
+            assertEquals("TestFindByItemAfterPages 2", all, walked);
+
+            List<Relationship> authors = relationshipService.findByItemAndRelationshipType(context, itemOne,
+                    relationshipType, true, -1, -1, false);
+            assertEquals("TestFindByItemAfterPages 3", 5, authors.size());
+            walked = new ArrayList<>();
+            after = null;
+            do {
+                page = relationshipService.findByItemAndRelationshipTypeAfter(context, itemOne, relationshipType,
+                        true, after, 2, false);
+                walked.addAll(page);
+                after = page.isEmpty() ? null : page.get(page.size() - 1);
+            } while (page.size() == 2);
+            assertEquals("TestFindByItemAfterPages 4", authors, walked);
+            for (int i = 1; i < walked.size(); i++) {
+                assertTrue("TestFindByItemAfterPages 5",
+                        walked.get(i - 1).getLeftPlace() < walked.get(i).getLeftPlace());
+            }
+        } finally {
+            context.turnOffAuthorisationSystem();
+            for (Relationship createdRelationship : created) {
+                relationshipService.delete(context, relationshipService.find(context, createdRelationship.getID()));
+            }
+            for (Item person : persons) {
+                itemService.delete(context, person);
+            }
+            relationshipTypeService.delete(context, editorType);
+            context.restoreAuthSystemState();
+        }
+    }
+
     /**
      * Test findByRelationshipType should return our defined relationshipsList given our test RelationshipType
      * relationshipType
@@ -20,7 +20,9 @@ import static org.junit.Assert.fail;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -60,12 +62,17 @@ import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.contentreport.QueryOperator;
 import org.dspace.contentreport.QueryPredicate;
 import org.dspace.core.Constants;
+import org.dspace.core.Context;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.GroupService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.versioning.Version;
 import org.dspace.versioning.factory.VersionServiceFactory;
 import org.dspace.versioning.service.VersioningService;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -1025,4 +1032,69 @@ public class ItemServiceIT extends AbstractIntegrationTestWithDatabase {
         context.turnOffAuthorisationSystem();
     }
 
+    @Test
+    public void testFindAllLoadsItemsInBatches() throws Exception {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        context.turnOffAuthorisationSystem();
+        for (int i = 0; i < 4; i++) {
+            ItemBuilder.createItem(context, collection1).withTitle("Item " + i).build();
+        }
+        context.commit();
+        context.restoreAuthSystemState();
+
+        List<UUID> expected = new ArrayList<>();
+        itemService.findAll(context, true).forEachRemaining(found -> expected.add(found.getID()));
+        assertTrue(expected.size() >= 5);
+
+        configurationService.setProperty("db.iterate.batch-size", 2);
+        Context.Mode originalMode = context.getCurrentMode();
+        try {
+            context.setMode(Context.Mode.BULK);
+            Iterator<Item> items = itemService.findAll(context, true);
+            List<Item> found = new ArrayList<>();
+            while (items.hasNext()) {
+                found.add(items.next());
+                if (found.size() == 1) {
+                    // Committing must not invalidate the iterator
+                    context.commit();
+                }
+            }
+            assertEquals(expected, found.stream().map(Item::getID).collect(Collectors.toList()));
+            // Items of the previous batches are no longer cached in BULK mode, the last batch still is
+            Session session = (Session) context.getDBConnection().getSession();
+            assertFalse(session.contains(found.get(2)));
+            assertTrue(session.contains(found.get(found.size() - 1)));
+        } finally {
+            configurationService.setProperty("db.iterate.batch-size", null);
+            context.setMode(originalMode);
+        }
+    }
+
+    @Test
+    public void testLoadBundles() throws Exception {
+        context.turnOffAuthorisationSystem();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Item item = ItemBuilder.createItem(context, collection1).withTitle("Item " + i).build();
+            BitstreamBuilder.createBitstream(context, item, InputStream.nullInputStream()).build();
+            ids.add(item.getID());
+        }
+        context.commit();
+        context.restoreAuthSystemState();
+
+        List<Item> items = new ArrayList<>();
+        for (UUID id : ids) {
+            items.add(itemService.find(context, id));
+        }
+        assertFalse(Hibernate.isInitialized(items.get(0).getBundles()));
+
+        itemService.loadBundles(context, items);
+
+        for (Item item : items) {
+            assertTrue(Hibernate.isInitialized(item.getBundles()));
+            Bundle original = item.getBundles("ORIGINAL").get(0);
+            assertTrue(Hibernate.isInitialized(original.getBitstreams()));
+            assertEquals(1, original.getBitstreams().size());
+        }
+    }
 }
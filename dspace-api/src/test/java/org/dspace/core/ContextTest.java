@@ -33,6 +33,7 @@ import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.EPersonService;
 import org.dspace.eperson.service.GroupService;
+import org.dspace.event.Event;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -583,4 +584,61 @@ public class ContextTest extends AbstractUnitTest {
         long newCacheSize = context.getDBConnection().getCacheSize();
         assertThat("Cache size should be reduced by one", newCacheSize, equalTo(oldCacheSize - 1));
     }
+
+    /**
+     * Test of addEvent method, of class Context: repeated events are merged before dispatch.
+     */
+    @Test
+    public void testAddEventMergesRepeatedEvents() throws Throwable {
+        Context instance = new Context();
+        UUID item = UUID.randomUUID();
+
+        instance.addEvent(new Event(Event.MODIFY_METADATA, Constants.ITEM, item, "dc.title"));
+        instance.addEvent(new Event(Event.MODIFY, Constants.ITEM, item, null));
+        instance.addEvent(new Event(Event.MODIFY_METADATA, Constants.ITEM, item, "dc.title, dc.date.issued"));
+        instance.addEvent(new Event(Event.MODIFY, Constants.ITEM, item, null));
+        instance.addEvent(new Event(Event.MODIFY, Constants.ITEM, UUID.randomUUID(), null));
+
+        assertThat("testAddEventMergesRepeatedEvents 0", instance.getRawEventCount(), equalTo(5));
+        assertThat("testAddEventMergesRepeatedEvents 1", instance.getCompactedEventCount(), equalTo(3));
+        Event event = instance.pollEvent();
+        assertThat("testAddEventMergesRepeatedEvents 2", event.getEventType(), equalTo(Event.MODIFY_METADATA));
+        assertThat("testAddEventMergesRepeatedEvents 3", event.getDetail(), equalTo("dc.title, dc.date.issued"));
+        assertThat("testAddEventMergesRepeatedEvents 4", instance.getEvents().size(), equalTo(2));
+
+        // An event which has already been polled for dispatch no longer absorbs repeated events
+        instance.addEvent(new Event(Event.MODIFY_METADATA, Constants.ITEM, item, "dc.subject"));
+        assertThat("testAddEventMergesRepeatedEvents 5", instance.getEvents().size(), equalTo(3));
+
+        // Cleanup our context
+        cleanupContext(instance);
+    }
+
+    /**
+     * Test of addEvent method, of class Context: only MODIFY and MODIFY_METADATA events are merged.
+     */
+    @Test
+    public void testAddEventKeepsRepeatedStructuralEvents() throws Throwable {
+        Context instance = new Context();
+        UUID item = UUID.randomUUID();
+        UUID bundle = UUID.randomUUID();
+
+        instance.addEvent(new Event(Event.ADD, Constants.ITEM, item, Constants.BUNDLE, bundle, "ORIGINAL"));
+        instance.addEvent(new Event(Event.REMOVE, Constants.ITEM, item, Constants.BUNDLE, bundle, "ORIGINAL"));
+        instance.addEvent(new Event(Event.ADD, Constants.ITEM, item, Constants.BUNDLE, bundle, "ORIGINAL"));
+        instance.addEvent(new Event(Event.DELETE, Constants.BUNDLE, bundle, null));
+        instance.addEvent(new Event(Event.DELETE, Constants.BUNDLE, bundle, null));
+
+        assertThat("testAddEventKeepsRepeatedStructuralEvents 0", instance.getRawEventCount(), equalTo(5));
+        assertThat("testAddEventKeepsRepeatedStructuralEvents 1", instance.getCompactedEventCount(), equalTo(5));
+        assertThat("testAddEventKeepsRepeatedStructuralEvents 2", instance.pollEvent().getEventType(),
+                   equalTo(Event.ADD));
+        assertThat("testAddEventKeepsRepeatedStructuralEvents 3", instance.pollEvent().getEventType(),
+                   equalTo(Event.REMOVE));
+        assertThat("testAddEventKeepsRepeatedStructuralEvents 4", instance.pollEvent().getEventType(),
+                   equalTo(Event.ADD));
+
+        // Cleanup our context
+        cleanupContext(instance);
+    }
 }
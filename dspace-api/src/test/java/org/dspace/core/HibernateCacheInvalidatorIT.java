@@ -0,0 +1,128 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamFormatBuilder;
+import org.dspace.builder.EntityTypeBuilder;
+import org.dspace.builder.RelationshipTypeBuilder;
+import org.dspace.content.BitstreamFormat;
+import org.dspace.content.EntityType;
+import org.dspace.content.RelationshipType;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamFormatService;
+import org.dspace.content.service.EntityTypeService;
+import org.dspace.content.service.RelationshipTypeService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of {@link HibernateCacheInvalidator}. Two invalidators sharing the test session factory stand for
+ * two DSpace instances: changes recorded and published by the first one must be evicted by the second one.
+ */
+public class HibernateCacheInvalidatorIT extends AbstractIntegrationTestWithDatabase {
+
+    /**
+     * The instance making the changes. Its listener cannot be removed from the session factory, so it is only
+     * registered once for all tests.
+     */
+    private static HibernateCacheInvalidator publisher;
+
+    private final BitstreamFormatService bitstreamFormatService = ContentServiceFactory.getInstance()
+                                                                                       .getBitstreamFormatService();
+    private final EntityTypeService entityTypeService = ContentServiceFactory.getInstance().getEntityTypeService();
+    private final RelationshipTypeService relationshipTypeService = ContentServiceFactory.getInstance()
+                                                                                         .getRelationshipTypeService();
+
+    private Cache cache;
+
+    /**
+     * The instance whose cache must be kept consistent
+     */
+    private HibernateCacheInvalidator subscriber;
+
+    @Before
+    public void setUp() throws Exception {
+        SessionFactoryImplementor sessionFactory = (SessionFactoryImplementor)
+            ((HibernateDBConnection) context.getDBConnection()).getSession().getSessionFactory();
+        cache = sessionFactory.getCache();
+        if (publisher == null) {
+            publisher = new HibernateCacheInvalidator(sessionFactory,
+                DSpaceServicesFactory.getInstance().getConfigurationService());
+            publisher.listen();
+        }
+        subscriber = new HibernateCacheInvalidator(sessionFactory,
+            DSpaceServicesFactory.getInstance().getConfigurationService());
+
+        // publish what the publisher recorded so far, then let the subscriber skip it: its cache starts up to date
+        publisher.synchronize();
+        subscriber.synchronize();
+    }
+
+    @Test
+    public void updatedBitstreamFormatIsEvicted() throws Exception {
+        context.turnOffAuthorisationSystem();
+        BitstreamFormat format = BitstreamFormatBuilder.createBitstreamFormat(context)
+                                                       .withMimeType("application/x-cache-test")
+                                                       .withShortDescription("Cache test")
+                                                       .build();
+        context.commit();
+        int id = format.getID();
+        publisher.synchronize();
+        subscriber.synchronize();
+
+        format = bitstreamFormatService.find(context, id);
+        format.setDescription("Changed by this instance");
+        bitstreamFormatService.update(context, format);
+        context.restoreAuthSystemState();
+        context.commit();
+        // cache the changed format
+        bitstreamFormatService.find(context, id);
+        assertTrue(cache.containsEntity(BitstreamFormat.class, id));
+
+        // the instance which made the change keeps its up to date cache
+        publisher.synchronize();
+        assertTrue(cache.containsEntity(BitstreamFormat.class, id));
+
+        // the other instance evicts it
+        subscriber.synchronize();
+        assertFalse(cache.containsEntity(BitstreamFormat.class, id));
+    }
+
+    @Test
+    public void createdRegistryEntriesAreEvicted() throws Exception {
+        context.turnOffAuthorisationSystem();
+        EntityType leftType = EntityTypeBuilder.createEntityTypeBuilder(context, "CacheTestLeft").build();
+        EntityType rightType = EntityTypeBuilder.createEntityTypeBuilder(context, "CacheTestRight").build();
+        RelationshipType relationshipType = RelationshipTypeBuilder
+            .createRelationshipTypeBuilder(context, leftType, rightType, "isCacheTestRightOf", "isCacheTestLeftOf",
+                                           null, null, null, null)
+            .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        int leftTypeId = leftType.getID();
+        int relationshipTypeId = relationshipType.getID();
+        entityTypeService.find(context, leftTypeId);
+        relationshipTypeService.find(context, relationshipTypeId);
+        assertTrue(cache.containsEntity(EntityType.class, leftTypeId));
+        assertTrue(cache.containsEntity(RelationshipType.class, relationshipTypeId));
+
+        publisher.synchronize();
+        subscriber.synchronize();
+
+        assertFalse(cache.containsEntity(EntityType.class, leftTypeId));
+        assertFalse(cache.containsEntity(RelationshipType.class, relationshipTypeId));
+    }
+}
@@ -11,13 +11,17 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.sql.SQLException;
 
 import org.dspace.AbstractUnitTest;
 import org.dspace.eperson.EPerson;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
+import org.hibernate.FlushMode;
 import org.hibernate.Session;
 import org.junit.Before;
 import org.junit.Test;
@@ -248,4 +252,66 @@ public class HibernateDBConnectionTest extends AbstractUnitTest {
         assertTrue("Current user should be cached back in session", dbConnection.getSession()
                                                                                 .contains(person));
     }
+
+    /**
+     * Test of setBulkConnectionMode method: BULK mode only flushes when needed and sends statements in JDBC batches
+     */
+    @Test
+    public void testBulkConnectionMode() throws SQLException {
+        HibernateDBConnection dbConnection = (HibernateDBConnection) context.getDBConnection();
+        int batchSize = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                             .getIntProperty("db.bulk.jdbc-batch-size", 100);
+        try {
+            context.setMode(Context.Mode.BULK);
+            assertEquals("BULK mode should flush only when a query needs it", FlushMode.AUTO,
+                         dbConnection.getSession().getHibernateFlushMode());
+            assertEquals("BULK mode should use the bulk JDBC batch size", Integer.valueOf(batchSize),
+                         dbConnection.getSession().getJdbcBatchSize());
+            assertFalse("BULK mode is not the BATCH_EDIT mode", dbConnection.isOptimizedForBatchProcessing());
+
+            context.setMode(Context.Mode.BATCH_EDIT);
+            assertEquals("BATCH_EDIT mode should flush before every query", FlushMode.ALWAYS,
+                         dbConnection.getSession().getHibernateFlushMode());
+            assertNull("BATCH_EDIT mode should use the default JDBC batch size",
+                       dbConnection.getSession().getJdbcBatchSize());
+        } finally {
+            context.setMode(Context.Mode.READ_WRITE);
+        }
+        assertEquals("READ_WRITE mode should flush only when a query needs it", FlushMode.AUTO,
+                     dbConnection.getSession().getHibernateFlushMode());
+        assertNull("READ_WRITE mode should use the default JDBC batch size",
+                   dbConnection.getSession().getJdbcBatchSize());
+    }
+
+    /**
+     * Test of the periodic flush of BULK mode: pending changes are flushed every "db.bulk.flush-interval" writes
+     */
+    @Test
+    public void testBulkModeFlushesPendingChanges() throws SQLException {
+        HibernateDBConnection dbConnection = (HibernateDBConnection) context.getDBConnection();
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        EPerson person = context.getCurrentUser();
+        try {
+            configurationService.setProperty("db.bulk.flush-interval", 2);
+            context.setMode(Context.Mode.BULK);
+
+            person.setCanLogIn(!person.canLogIn());
+            assertTrue("Change should be pending", dbConnection.getSession().isDirty());
+            context.entityWritten();
+            assertTrue("Change should still be pending after one write", dbConnection.getSession().isDirty());
+            context.entityWritten();
+            assertFalse("Change should be flushed after two writes", dbConnection.getSession().isDirty());
+
+            // READ_WRITE mode leaves flushing to Hibernate
+            context.setMode(Context.Mode.READ_WRITE);
+            person.setCanLogIn(!person.canLogIn());
+            context.entityWritten();
+            context.entityWritten();
+            assertTrue("Change should be pending in READ_WRITE mode", dbConnection.getSession().isDirty());
+        } finally {
+            configurationService.setProperty("db.bulk.flush-interval", null);
+            context.setMode(Context.Mode.READ_WRITE);
+        }
+        // the changes are rolled back when the context is aborted after the test
+    }
 }
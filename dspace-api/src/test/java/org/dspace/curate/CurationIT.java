@@ -7,21 +7,54 @@
  */
 package org.dspace.curate;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
 import org.apache.commons.cli.ParseException;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.app.scripts.handler.impl.TestDSpaceRunnableHandler;
 import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.core.factory.CoreServiceFactory;
 import org.dspace.scripts.DSpaceRunnable;
 import org.dspace.scripts.configuration.ScriptConfiguration;
 import org.dspace.scripts.factory.ScriptServiceFactory;
 import org.dspace.scripts.service.ScriptService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
 import org.junit.Test;
 
 public class CurationIT extends AbstractIntegrationTestWithDatabase {
 
+    private static final String P_TASK_DEF = "plugin.named." + CurationTask.class.getName();
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                   .getConfigurationService();
+
+    /**
+     * The task definitions replaced by a test, restored after it
+     */
+    private Object taskDefinitions;
+
+    @After
+    public void restoreTasks() {
+        if (taskDefinitions != null) {
+            configurationService.setProperty(P_TASK_DEF, taskDefinitions);
+            taskDefinitions = null;
+        }
+        // Remove the cached named plugins defined by a test
+        CoreServiceFactory.getInstance().getPluginService().clearNamedPluginClasses();
+    }
+
     @Test(expected = ParseException.class)
     public void curationWithoutEPersonParameterTest() throws Exception {
 
@@ -75,4 +108,42 @@ public class CurationIT extends AbstractIntegrationTestWithDatabase {
             }
         }
     }
+
+    @Test
+    public void curationInParallelTest() throws Exception {
+        // Must remove any cached named plugins before defining a new one
+        CoreServiceFactory.getInstance().getPluginService().clearNamedPluginClasses();
+        taskDefinitions = configurationService.getPropertyValue(P_TASK_DEF);
+        configurationService.setProperty(P_TASK_DEF, ThreadSafeDummyTask.class.getName() + " = threadsafe");
+
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .build();
+        Collection collection = CollectionBuilder.createCollection(context, community)
+                                                 .build();
+        Set<UUID> items = new HashSet<>();
+        for (int i = 0; i < 2 * Curator.PARALLEL_BATCH_SIZE + 1; i++) {
+            Item item = ItemBuilder.createItem(context, collection)
+                                   .withTitle("Item " + i)
+                                   .build();
+            items.add(item.getID());
+        }
+        context.restoreAuthSystemState();
+        // the items are curated in contexts of their own
+        context.commit();
+
+        context.setCurrentUser(admin);
+        ThreadSafeDummyTask.curatedItems.clear();
+        StringBuilder report = new StringBuilder();
+        Curator curator = new Curator();
+        curator.setReporter(report);
+        curator.setThreads(3);
+        curator.addTask("threadsafe");
+        curator.curate(context, collection);
+
+        assertEquals(Curator.CURATE_SUCCESS, curator.getStatus("threadsafe"));
+        assertEquals(items, ThreadSafeDummyTask.curatedItems.keySet());
+        assertTrue(new HashSet<>(ThreadSafeDummyTask.curatedItems.values()).size() > 1);
+        assertEquals(items.size(), report.toString().lines().count());
+    }
 }
@@ -0,0 +1,149 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.EPersonService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Test;
+
+public class DBTaskQueueIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService
+        = DSpaceServicesFactory.getInstance().getConfigurationService();
+    private final EPersonService ePersonService = EPersonServiceFactory.getInstance().getEPersonService();
+
+    @After
+    public void resetConfiguration() {
+        configurationService.setProperty("curate.taskqueue.dequeue-size", null);
+        configurationService.setProperty("curate.taskqueue.visibility-timeout", null);
+    }
+
+    @Test
+    public void dequeueInBatchesTest() throws Exception {
+        configurationService.setProperty("curate.taskqueue.dequeue-size", 2);
+        DBTaskQueue queue = new DBTaskQueue();
+        queue.enqueue(context, "batches", Set.of(entry("1")));
+        queue.enqueue(context, "batches", Set.of(entry("2")));
+        queue.enqueue(context, "batches", Set.of(entry("3")));
+        assertContextUsable();
+        context.commit();
+        assertEquals(3, queue.size(context, "batches"));
+        assertTrue(List.of(queue.queueNames()).contains("batches"));
+        assertContextUsable();
+
+        // concurrent readers get different entries, oldest first
+        assertEquals(Set.of("1", "2"), objectIds(queue.dequeue(context, "batches", 1L)));
+        assertContextUsable();
+        DBTaskQueue otherQueue = new DBTaskQueue();
+        assertEquals(Set.of("3"), objectIds(otherQueue.dequeue(context, "batches", 2L)));
+        assertEquals(Set.of(), objectIds(otherQueue.dequeue(context, "batches", 2L)));
+        assertContextUsable();
+
+        queue.release(context, "batches", 1L, true);
+        assertContextUsable();
+        assertEquals(1, queue.size(context, "batches"));
+
+        // released without removing, the entry can be dequeued again
+        otherQueue.release(context, "batches", 2L, false);
+        assertEquals(Set.of("3"), objectIds(queue.dequeue(context, "batches", 3L)));
+        queue.release(context, "batches", 3L, true);
+        assertEquals(0, queue.size(context, "batches"));
+        assertEquals(-1L, queue.oldestSubmitTime(context, "batches"));
+        assertContextUsable();
+    }
+
+    @Test
+    public void visibilityTimeoutTest() throws Exception {
+        configurationService.setProperty("curate.taskqueue.visibility-timeout", -1);
+        DBTaskQueue queue = new DBTaskQueue();
+        TaskQueueEntry entry = entry("1");
+        queue.enqueue(context, "timeout", Set.of(entry));
+        context.commit();
+        assertEquals(entry.getSubmitTime(), queue.oldestSubmitTime(context, "timeout"));
+
+        // the lease has already expired, so the entry is handed out again
+        assertEquals(Set.of("1"), objectIds(queue.dequeue(context, "timeout", 1L)));
+        DBTaskQueue otherQueue = new DBTaskQueue();
+        assertEquals(Set.of("1"), objectIds(otherQueue.dequeue(context, "timeout", 2L)));
+
+        // the first reader no longer owns the entry
+        queue.release(context, "timeout", 1L, true);
+        assertEquals(1, queue.size(context, "timeout"));
+        otherQueue.release(context, "timeout", 2L, true);
+        assertEquals(0, queue.size(context, "timeout"));
+        assertContextUsable();
+    }
+
+    @Test
+    public void enqueueInCallerTransactionTest() throws Exception {
+        DBTaskQueue queue = new DBTaskQueue();
+        queue.enqueue(context, "transaction", Set.of(entry("1")));
+        assertContextUsable();
+
+        // the entry is only visible to the readers once the caller commits
+        assertEquals(1, queue.size(context, "transaction"));
+        assertEquals(0, sizeInOtherThread(queue, "transaction"));
+        context.commit();
+        assertEquals(1, sizeInOtherThread(queue, "transaction"));
+
+        // the methods without a Context work on threads without one
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals(Set.of("1"), objectIds(executor.submit(() -> queue.dequeue("transaction", 1L)).get()));
+            executor.submit(() -> queue.release("transaction", 1L, true)).get();
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(0, queue.size(context, "transaction"));
+        assertContextUsable();
+    }
+
+    /**
+     * Check that the calls to the queue neither closed the database session of the test context nor detached its
+     * entities.
+     */
+    private void assertContextUsable() throws SQLException {
+        assertTrue(context.isValid());
+        assertTrue(context.getDBConnection().isSessionAlive());
+        assertEquals(admin, ePersonService.find(context, admin.getID()));
+    }
+
+    /**
+     * Count the entries of a queue in a Context of another thread, which only sees committed entries.
+     */
+    private long sizeInOtherThread(DBTaskQueue queue, String queueName) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(() -> queue.size(queueName)).get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private TaskQueueEntry entry(String objectId) {
+        return new TaskQueueEntry("test", System.currentTimeMillis(), List.of("noop", "marker"), objectId);
+    }
+
+    private Set<String> objectIds(Set<TaskQueueEntry> entries) {
+        return entries.stream().map(TaskQueueEntry::getObjectId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+
+/**
+ * Makes no model changes, but records which thread curated each item, and in which context.
+ */
+@ThreadSafe
+public class ThreadSafeDummyTask
+    extends AbstractCurationTask {
+
+    /**
+     * Names of the threads which curated each item.
+     */
+    static final Map<UUID, String> curatedItems = new ConcurrentHashMap<>();
+
+    @Override
+    public int perform(DSpaceObject dso)
+            throws IOException {
+        if (dso instanceof Item) {
+            try {
+                if (Curator.curationContext().getCurrentUser() == null) {
+                    return Curator.CURATE_ERROR;
+                }
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+            curatedItems.put(dso.getID(), Thread.currentThread().getName());
+            report("Curated " + dso.getID() + "\n");
+        }
+        return Curator.CURATE_SUCCESS;
+    }
+}
@@ -7,6 +7,7 @@
  */
 package org.dspace.discovery;
 
+import org.dspace.browse.BrowseCountCache;
 import org.dspace.solr.MockSolrServer;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
@@ -32,6 +33,7 @@ public class MockSolrSearchCore extends SolrSearchCore
      */
     public void reset() {
         mockSolrServer.reset();
+        BrowseCountCache.clear();
     }
 
     @Override
@@ -0,0 +1,183 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.core.Constants;
+import org.dspace.event.dao.OutboxEventDAO;
+import org.dspace.event.factory.EventServiceFactory;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the delivery of events to asynchronous consumers through the outbox. The tests use the
+ * "outbox-test" dispatcher and its "outboxtest" consumer ({@link OutboxTestConsumer}), see the test local.cfg.
+ */
+public class OutboxEventIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String CONSUMER = "outboxtest";
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                   .getConfigurationService();
+    private final EventServiceImpl eventService = (EventServiceImpl) EventServiceFactory.getInstance()
+                                                                                        .getEventService();
+    private final OutboxEventDAO outboxEventDAO = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                                       .getServicesByType(OutboxEventDAO.class)
+                                                                       .get(0);
+
+    @Before
+    public void setUp() throws Exception {
+        OutboxTestConsumer.reset();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        context.setDispatcher(null);
+        for (OutboxEvent outboxEvent : outboxEventDAO.findOldestByConsumer(context, CONSUMER, 1000)) {
+            outboxEventDAO.delete(context, outboxEvent);
+        }
+        context.commit();
+        OutboxTestConsumer.reset();
+    }
+
+    @Test
+    public void eventsAreStoredWithTheTransactionAndDeliveredAfterCommit() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        context.setDispatcher("outbox-test");
+        context.addEvent(new Event(Event.MODIFY, Constants.ITEM, first, null));
+        context.addEvent(new Event(Event.MODIFY_METADATA, Constants.ITEM, second, null));
+
+        context.dispatchEvents();
+
+        // stored in the outbox of the consumer, not consumed before the commit
+        assertThat(outboxEventDAO.findOldestByConsumer(context, CONSUMER, 10), hasSize(2));
+        assertThat(OutboxTestConsumer.delivered, empty());
+
+        context.commit();
+
+        // delivered in the background, in the order they were stored, and removed from the outbox
+        long deadline = System.currentTimeMillis() + 30000;
+        while (OutboxTestConsumer.delivered.size() < 2 || outboxEventDAO.findConsumers(context).contains(CONSUMER)) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("The outbox events were not delivered");
+            }
+            Thread.sleep(100);
+        }
+        assertThat(OutboxTestConsumer.delivered, contains(first, second));
+    }
+
+    @Test
+    public void failedBatchIsDeliveredAgainOneEventAtATime() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID failing = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        UUID fourth = UUID.randomUUID();
+        // fails in the batch only
+        OutboxTestConsumer.failures.put(failing, 1);
+        store(first, failing, third, fourth);
+
+        deliver();
+
+        // each event is delivered once, although the first one was consumed by the failed batch as well
+        assertThat(OutboxTestConsumer.delivered, contains(first, failing, third, fourth));
+        // the events are delivered one at a time up to the one which failed, then in batches again
+        assertThat(OutboxTestConsumer.batchSizes, contains(1, 1, 2));
+        assertThat(outboxEventDAO.findOldestByConsumer(context, CONSUMER, 10), empty());
+    }
+
+    @Test
+    public void failedEventIsPostponed() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID failing = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        // fails in the batch, then on its own
+        OutboxTestConsumer.failures.put(failing, 2);
+        store(first, failing, third);
+
+        deliver();
+
+        // the later events wait for the failed one
+        assertThat(OutboxTestConsumer.delivered, contains(first));
+        List<OutboxEvent> outbox = outboxEventDAO.findOldestByConsumer(context, CONSUMER, 10);
+        assertThat(outbox, hasSize(2));
+        assertEquals(failing, outbox.get(0).toEvent().getSubjectID());
+        assertEquals(1, outbox.get(0).getAttempts());
+        assertTrue(outbox.get(0).getNextAttempt().isAfter(Instant.now()));
+
+        // nothing is due yet
+        context.commit();
+        deliver();
+        assertThat(OutboxTestConsumer.delivered, contains(first));
+
+        outbox = outboxEventDAO.findOldestByConsumer(context, CONSUMER, 10);
+        outbox.get(0).setNextAttempt(Instant.now().minusSeconds(1));
+        outboxEventDAO.save(context, outbox.get(0));
+        context.commit();
+
+        deliver();
+
+        assertThat(OutboxTestConsumer.delivered, contains(first, failing, third));
+        assertThat(outboxEventDAO.findOldestByConsumer(context, CONSUMER, 10), empty());
+    }
+
+    @Test
+    public void poisonEventIsDropped() throws Exception {
+        configurationService.setProperty("event.outbox.retry-delay", 0);
+        configurationService.setProperty("event.outbox.max-attempts", 2);
+        UUID first = UUID.randomUUID();
+        UUID poison = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        OutboxTestConsumer.failures.put(poison, Integer.MAX_VALUE);
+        store(first, poison, third);
+
+        deliver();
+
+        assertThat(OutboxTestConsumer.delivered, contains(first, third));
+        assertThat(OutboxTestConsumer.batchSizes, contains(1, 1));
+        assertThat(outboxEventDAO.findOldestByConsumer(context, CONSUMER, 10), empty());
+    }
+
+    /**
+     * Store MODIFY events of the given items in the outbox of the consumer, without scheduling their delivery.
+     */
+    private void store(UUID... subjects) throws SQLException {
+        for (UUID subject : subjects) {
+            outboxEventDAO.create(context, new OutboxEvent(CONSUMER, new Event(Event.MODIFY, Constants.ITEM,
+                                                                                subject, null), null));
+        }
+        context.commit();
+    }
+
+    /**
+     * Deliver the outbox of the consumer and wait for the delivery to end. The delivery runs on its own thread, as
+     * it does in the worker of the consumer, because it uses its own Contexts.
+     */
+    private void deliver() throws Exception {
+        Thread thread = new Thread(eventService.getOutboxWorker(CONSUMER)::deliver);
+        thread.start();
+        thread.join(30000);
+        assertTrue("The delivery of the outbox did not end", !thread.isAlive());
+    }
+}
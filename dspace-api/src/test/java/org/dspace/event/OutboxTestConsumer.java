@@ -0,0 +1,71 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.dspace.core.Context;
+
+/**
+ * Asynchronous consumer used by {@link OutboxEventIT}. It collects the subjects of the events of a batch and only
+ * records them as delivered when the batch ends, like consumers which do their work in {@link #end(Context)}.
+ */
+public class OutboxTestConsumer implements Consumer {
+
+    /**
+     * Subjects of the delivered events, in the order they were delivered
+     */
+    public static final List<UUID> delivered = new CopyOnWriteArrayList<>();
+
+    /**
+     * Number of events delivered by each successful batch
+     */
+    public static final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    /**
+     * Number of times consuming an event fails, by subject
+     */
+    public static final Map<UUID, Integer> failures = new ConcurrentHashMap<>();
+
+    private final List<UUID> batch = new ArrayList<>();
+
+    public static void reset() {
+        delivered.clear();
+        batchSizes.clear();
+        failures.clear();
+    }
+
+    @Override
+    public void initialize() throws Exception {
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        Integer remaining = failures.computeIfPresent(event.getSubjectID(), (id, count) -> count - 1);
+        if (remaining != null && remaining >= 0) {
+            throw new IllegalStateException("Failing to consume " + event.getSubjectID());
+        }
+        batch.add(event.getSubjectID());
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        delivered.addAll(batch);
+        batchSizes.add(batch.size());
+        batch.clear();
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+    }
+}
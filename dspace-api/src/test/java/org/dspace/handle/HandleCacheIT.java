@@ -0,0 +1,121 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.handle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.UUID;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Constants;
+import org.dspace.handle.factory.HandleServiceFactory;
+import org.dspace.handle.service.HandleService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the invalidation of the {@link HandleCache} by the {@link HandleService} and by the
+ * {@link HandleCacheConsumer}.
+ */
+public class HandleCacheIT extends AbstractIntegrationTestWithDatabase {
+
+    private final HandleService handleService = HandleServiceFactory.getInstance().getHandleService();
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private Collection collection;
+
+    @Before
+    public void setUp() throws Exception {
+        HandleCache.clear();
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        HandleCache.clear();
+    }
+
+    @Test
+    public void notFoundHandleIsInvalidatedByCreateHandle() throws Exception {
+        String handle = "123456789/handle-cache-it";
+
+        assertNull(handleService.resolveToObject(context, handle));
+        assertTrue(HandleCache.get(handle).isNotFound());
+
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).build();
+        handleService.createHandle(context, item, handle);
+        context.restoreAuthSystemState();
+
+        assertNull(HandleCache.get(handle));
+        assertEquals(item, handleService.resolveToObject(context, handle));
+        assertEquals(item.getID(), HandleCache.get(handle).getID());
+    }
+
+    @Test
+    public void resolvedVersionHandleIsNotTheHandleOfTheObject() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).build();
+        String handle = item.getHandle();
+        String versionHandle = handle + ".2";
+        handleService.createHandle(context, item, versionHandle);
+        context.restoreAuthSystemState();
+        context.commit();
+        UUID id = item.getID();
+
+        assertEquals(item, handleService.resolveToObject(context, versionHandle));
+        assertEquals(id, HandleCache.get(versionHandle).getID());
+        assertNull(HandleCache.get(id));
+
+        // the handles of the object are not loaded, so its handle is looked up in the cache first
+        context.uncacheEntity(item);
+        assertEquals(handle, handleService.findHandle(context, itemService.find(context, id)));
+        assertEquals(handle, HandleCache.get(id).getHandle());
+        context.uncacheEntity(item);
+        assertEquals(handle, handleService.findHandle(context, itemService.find(context, id)));
+    }
+
+    @Test
+    public void deletedItemIsEvictedByConsumer() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).build();
+        context.restoreAuthSystemState();
+        context.commit();
+        String handle = item.getHandle();
+        UUID id = item.getID();
+
+        assertEquals(item, handleService.resolveToObject(context, handle));
+        assertNotNull(HandleCache.get(handle));
+
+        context.turnOffAuthorisationSystem();
+        itemService.delete(context, context.reloadEntity(item));
+        context.restoreAuthSystemState();
+        // another thread resolves the handle before the deletion is committed
+        HandleCache.put(handle, Constants.ITEM, id);
+
+        context.commit();
+
+        assertNull(HandleCache.get(handle));
+        assertNull(HandleCache.get(id));
+        assertNull(handleService.resolveToObject(context, handle));
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.handle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.UUID;
+
+import org.dspace.AbstractUnitTest;
+import org.dspace.core.Constants;
+import org.dspace.services.ConfigurationService;
+import org.dspace.utils.DSpace;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HandleCacheTest extends AbstractUnitTest {
+    protected ConfigurationService configurationService = new DSpace().getConfigurationService();
+
+    @Before
+    @Override
+    public void init() {
+        super.init();
+        HandleCache.clear();
+    }
+
+    @After
+    @Override
+    public void destroy() {
+        configurationService.setProperty("handle.cache.ttl", null);
+        configurationService.setProperty("handle.cache.negative-ttl", null);
+        configurationService.setProperty("handle.cache.size", null);
+        HandleCache.clear();
+        super.destroy();
+    }
+
+    @Test
+    public void testPutResolvesBothWays() {
+        UUID id = UUID.randomUUID();
+        HandleCache.put("123456789/1", Constants.ITEM, id);
+
+        HandleCache.Entry entry = HandleCache.get("123456789/1");
+        assertNotNull(entry);
+        assertEquals(Integer.valueOf(Constants.ITEM), entry.getType());
+        assertEquals(id, entry.getID());
+        assertEquals("123456789/1", HandleCache.get(id).getHandle());
+    }
+
+    @Test
+    public void testEvict() {
+        UUID id = UUID.randomUUID();
+        HandleCache.put("123456789/1", Constants.ITEM, id);
+        HandleCache.evict(id);
+        assertNull(HandleCache.get("123456789/1"));
+        assertNull(HandleCache.get(id));
+
+        HandleCache.put("123456789/1", Constants.ITEM, id);
+        HandleCache.evict("123456789/1");
+        assertNull(HandleCache.get("123456789/1"));
+        assertNull(HandleCache.get(id));
+    }
+
+    @Test
+    public void testNotFound() {
+        HandleCache.putNotFound("123456789/2");
+        assertTrue(HandleCache.get("123456789/2").isNotFound());
+
+        configurationService.setProperty("handle.cache.negative-ttl", 0);
+        HandleCache.putNotFound("123456789/3");
+        assertNull(HandleCache.get("123456789/3"));
+    }
+
+    @Test
+    public void testDisabled() {
+        configurationService.setProperty("handle.cache.ttl", 0);
+        HandleCache.put("123456789/1", Constants.ITEM, UUID.randomUUID());
+        assertNull(HandleCache.get("123456789/1"));
+    }
+
+    @Test
+    public void testBounded() {
+        configurationService.setProperty("handle.cache.size", 2);
+        HandleCache.put("123456789/1", Constants.ITEM, UUID.randomUUID());
+        HandleCache.put("123456789/2", Constants.ITEM, UUID.randomUUID());
+        HandleCache.get("123456789/1");
+        HandleCache.put("123456789/3", Constants.ITEM, UUID.randomUUID());
+
+        assertNotNull(HandleCache.get("123456789/1"));
+        assertNull(HandleCache.get("123456789/2"));
+        assertNotNull(HandleCache.get("123456789/3"));
+    }
+}
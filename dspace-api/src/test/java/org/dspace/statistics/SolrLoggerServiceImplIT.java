@@ -303,4 +303,31 @@ public class SolrLoggerServiceImplIT
         }
         assertEquals("Wrong number of documents remaining --", 1, nDocs);
     }
+
+    /**
+     * Test of getTimeRange method, of class SolrLoggerServiceImpl: the statistics cores of the years outside the
+     * time range of a query are not queried.
+     */
+    @Test
+    public void testGetTimeRange() {
+        SolrLoggerServiceImpl instance = new SolrLoggerServiceImpl();
+
+        SolrLoggerServiceImpl.TimeRange range = instance.getTimeRange("type:2",
+            "time:[2020-03-01T00:00:00Z TO 2021-02-01T00:00:00Z]");
+        assertFalse(range.overlaps(2019));
+        assertTrue(range.overlaps(2020));
+        assertTrue(range.overlaps(2021));
+        assertFalse(range.overlaps(2022));
+
+        range = instance.getTimeRange("time:[2020\\-03\\-01T00\\:00\\:00Z TO *]", null);
+        assertFalse(range.overlaps(2019));
+        assertTrue(range.overlaps(2030));
+
+        // Negated clauses, clauses combined with OR and date math do not restrict the range
+        range = instance.getTimeRange("-time:[2020-03-01T00:00:00Z TO 2021-02-01T00:00:00Z]",
+            "time:[2020-03-01T00:00:00Z TO 2021-02-01T00:00:00Z] OR type:2");
+        assertTrue(range.overlaps(2019));
+        range = instance.getTimeRange("time:[NOW/YEAR-1YEAR TO NOW]");
+        assertTrue(range.overlaps(2000));
+    }
 }
@@ -12,12 +12,15 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
 
 import java.io.IOException;
 import java.net.HttpURLConnection;
@@ -29,13 +32,18 @@ import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
 import org.apache.http.client.HttpClient;
 import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
 import org.dspace.statistics.export.OpenURLTracker;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.mockserver.client.MockServerClient;
+import org.mockserver.junit.MockServerRule;
+import org.mockserver.verify.VerificationTimes;
 
 /**
  * Test class for the OpenUrlServiceImpl
@@ -54,6 +62,17 @@ public class OpenUrlServiceImplTest {
     @Mock
     private HttpClient httpClient;
 
+    @Mock
+    private ConfigurationService configurationService;
+
+    /**
+     * Local stand-in for the tracker, for the tests which make real http requests.
+     */
+    @Rule
+    public MockServerRule mockServerRule = new MockServerRule(this);
+
+    private MockServerClient mockServerClient;
+
     @Before
     public void setUp() throws Exception {
         // spy on the class under test
@@ -61,6 +80,7 @@ public class OpenUrlServiceImplTest {
 
         // manually hook up dependencies (@autowire doesn't work when creating instances using Mockito)
         openUrlService.failedOpenUrlTrackerService = failedOpenURLTrackerService;
+        openUrlService.configurationService = configurationService;
 
         // IMPORTANT: mock http client to prevent making REAL http requests
         doReturn(httpClient).when(openUrlService).getHttpClient(any());
@@ -189,4 +209,36 @@ public class OpenUrlServiceImplTest {
         // 2. verify that getHttpClientRequestConfig sets the timeout
         assertThat(openUrlService.getHttpClientRequestConfig().getConnectTimeout(), is(10 * 1000));
     }
+
+    /**
+     * Test the processUrl method when the urls are sent in the background: the urls which could not be sent are
+     * stored in a batch
+     */
+    @Test
+    public void testProcessUrlAsync() throws Exception {
+        Context context = mock(Context.class);
+
+        when(configurationService.getBooleanProperty("irus.statistics.tracker.async", false)).thenReturn(true);
+        when(configurationService.getIntProperty("irus.statistics.tracker.connections", 4)).thenReturn(2);
+        when(configurationService.getIntProperty("irus.statistics.tracker.async.queue-size", 10000)).thenReturn(10);
+
+        // send real http requests, to the local stand-in for the tracker
+        doCallRealMethod().when(openUrlService).getHttpClient(any());
+        doNothing().when(openUrlService).storeFailed(any());
+        mockServerClient.when(request().withPath("/ok")).respond(response().withStatusCode(HttpURLConnection.HTTP_OK));
+        mockServerClient.when(request().withPath("/fail"))
+                        .respond(response().withStatusCode(HttpURLConnection.HTTP_INTERNAL_ERROR));
+
+        String baseUrl = "http://localhost:" + mockServerClient.getPort();
+        openUrlService.processUrl(context, baseUrl + "/ok");
+        openUrlService.processUrl(context, baseUrl + "/fail");
+
+        // waits for the queued urls to be sent and stores the failed ones
+        openUrlService.destroy();
+
+        mockServerClient.verify(request().withPath("/ok"), VerificationTimes.once());
+        mockServerClient.verify(request().withPath("/fail"), VerificationTimes.once());
+        verify(openUrlService).storeFailed(List.of(baseUrl + "/fail"));
+        verify(openUrlService, times(0)).logfailed(any(Context.class), anyString());
+    }
 }
@@ -0,0 +1,96 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Integration tests of the batching and the caches of {@link StatisticsImporter}.
+ */
+public class StatisticsImporterIT extends AbstractIntegrationTestWithDatabase {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test
+    public void linesAreAddedInBatches() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item item = ItemBuilder.createItem(context, collection).build();
+        context.restoreAuthSystemState();
+
+        int lines = 2 * StatisticsImporter.BATCH_SIZE + 5;
+        List<String> logLines = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            logLines.add(i + ",view_item," + item.getID() + ",2020-01-01T10:00:00,anonymous,127.0.0." + (i % 2));
+        }
+        File file = tempDir.newFile("statistics.log");
+        Files.write(file.toPath(), logLines);
+
+        SolrClient solr = mock(SolrClient.class);
+        // the importer reuses its batch, so its size is recorded when it is added
+        List<Integer> batchSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<SolrInputDocument> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            assertEquals(item.getID().toString(), batch.get(0).getFieldValue("id"));
+            return null;
+        }).when(solr).add(anyList());
+        List<String> lookedUp = new ArrayList<>();
+        StatisticsImporter importer = new StatisticsImporter(false) {
+            @Override
+            protected Location lookupLocation(String ip) {
+                lookedUp.add(ip);
+                return super.lookupLocation(ip);
+            }
+        };
+
+        Object previousSolr = ReflectionTestUtils.getField(StatisticsImporter.class, "solr");
+        Object previousSkipReverseDNS = ReflectionTestUtils.getField(StatisticsImporter.class, "skipReverseDNS");
+        try {
+            ReflectionTestUtils.setField(StatisticsImporter.class, "solr", solr);
+            ReflectionTestUtils.setField(StatisticsImporter.class, "skipReverseDNS", true);
+
+            importer.load(file.getCanonicalPath(), context, false);
+        } finally {
+            ReflectionTestUtils.setField(StatisticsImporter.class, "solr", previousSolr);
+            ReflectionTestUtils.setField(StatisticsImporter.class, "skipReverseDNS", previousSkipReverseDNS);
+        }
+
+        assertThat(batchSizes, contains(StatisticsImporter.BATCH_SIZE, StatisticsImporter.BATCH_SIZE, 5));
+        verify(solr, times(1)).commit();
+        // each address is located once
+        assertThat(lookedUp, contains("127.0.0.0", "127.0.0.1"));
+    }
+}
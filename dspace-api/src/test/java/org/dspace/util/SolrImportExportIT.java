@@ -0,0 +1,164 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.solr.MockSolrServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Integration tests of the batching and checkpoints of {@link SolrImportExport}, on the embedded statistics core.
+ */
+public class SolrImportExportIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String MONTH_FILTER = "time:[2020-01-01T00:00:00Z TO 2020-01-01T00:00:00Z+1MONTH]";
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    private MockSolrServer statisticsServer;
+
+    @Before
+    public void setUp() throws Exception {
+        statisticsServer = new MockSolrServer("statistics");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        statisticsServer.reset();
+        statisticsServer.destroy();
+    }
+
+    @Test
+    public void batchesCoverTheMonthWithoutOverlap() throws Exception {
+        SolrClient solr = statisticsServer.getSolrServer();
+        Set<String> january = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            january.add(addEvent(solr, "uid-" + i, "2020-01-" + (10 + i) + "T12:00:00Z"));
+        }
+        // outside of the month
+        addEvent(solr, "uid-8", "2020-02-01T12:00:00Z");
+        solr.commit();
+
+        List<String> batchEnds = SolrImportExport.getBatchEnds(solr, MONTH_FILTER, "uid", 3);
+
+        assertThat(batchEnds, contains("uid-2", "uid-5", "uid-7"));
+        List<Integer> batchSizes = new ArrayList<>();
+        Set<String> exported = new HashSet<>();
+        String batchStart = null;
+        for (String batchEnd : batchEnds) {
+            List<String> batch = getUids(solr, SolrImportExport.makeBatchFilter("uid", batchStart, batchEnd));
+            batchSizes.add(batch.size());
+            exported.addAll(batch);
+            batchStart = batchEnd;
+        }
+        assertThat(batchSizes, contains(3, 3, 2));
+        assertEquals(january, exported);
+    }
+
+    @Test
+    public void exactMultipleOfTheBatchSize() throws Exception {
+        SolrClient solr = statisticsServer.getSolrServer();
+        for (int i = 0; i < 6; i++) {
+            addEvent(solr, "uid-" + i, "2020-01-15T12:00:00Z");
+        }
+        solr.commit();
+
+        assertThat(SolrImportExport.getBatchEnds(solr, MONTH_FILTER, "uid", 3), contains("uid-2", "uid-5"));
+        assertTrue(SolrImportExport.getBatchEnds(solr, "time:[2021-01-01T00:00:00Z TO *]", "uid", 3).isEmpty());
+    }
+
+    @Test
+    public void importResumesAfterTheLastCommittedFile() throws Exception {
+        File fromDir = tempDir.getRoot();
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < SolrImportExport.FILES_PER_COMMIT + 2; i++) {
+            File file = new File(fromDir, String.format("statistics_export_2020-01_%02d.csv", i));
+            Files.writeString(file.toPath(), "uid,time\n");
+            files.add(file);
+        }
+        // not an export file of the index
+        Files.writeString(new File(fromDir, "authority_export_2020-01.csv").toPath(), "id\n");
+        File checkpointFile = SolrImportExport.getCheckpointFile("statistics", fromDir);
+
+        SolrClient solr = mock(SolrClient.class);
+        SolrImportExport.ImportCheckpoint checkpoint = new SolrImportExport.ImportCheckpoint(solr, checkpointFile);
+        for (int i = 0; i < SolrImportExport.FILES_PER_COMMIT - 1; i++) {
+            checkpoint.imported(files.get(i));
+        }
+        // nothing is recorded before it is committed
+        verify(solr, never()).commit(anyBoolean(), anyBoolean());
+        assertFalse(checkpointFile.exists());
+
+        checkpoint.imported(files.get(SolrImportExport.FILES_PER_COMMIT - 1));
+        checkpoint.imported(files.get(SolrImportExport.FILES_PER_COMMIT));
+        verify(solr, times(1)).commit(anyBoolean(), anyBoolean());
+        assertEquals(SolrImportExport.FILES_PER_COMMIT,
+                     Files.readAllLines(checkpointFile.toPath(), StandardCharsets.UTF_8).size());
+
+        // the import is interrupted here: resuming it imports the files which were not committed
+        assertEquals(files.subList(SolrImportExport.FILES_PER_COMMIT, files.size()),
+                     SolrImportExport.getFilesToImport("statistics", fromDir, true));
+        assertTrue(checkpointFile.exists());
+
+        // a new import starts from the first file again
+        assertEquals(files, SolrImportExport.getFilesToImport("statistics", fromDir, false));
+        assertFalse(checkpointFile.exists());
+
+        assertNull(SolrImportExport.getFilesToImport("statistics-2019", fromDir, false));
+    }
+
+    private String addEvent(SolrClient solr, String uid, String time) throws Exception {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField("uid", uid);
+        document.addField("time", time);
+        document.addField("type", 2);
+        document.addField("id", uid);
+        solr.add(document);
+        return uid;
+    }
+
+    private List<String> getUids(SolrClient solr, String batchFilter) throws Exception {
+        SolrQuery query = new SolrQuery("*:*");
+        query.setFilterQueries(MONTH_FILTER, batchFilter);
+        query.setRows(100);
+        List<String> uids = new ArrayList<>();
+        for (SolrDocument document : solr.query(query).getResults()) {
+            uids.add((String) document.getFieldValue("uid"));
+        }
+        return uids;
+    }
+}
@@ -7,6 +7,7 @@
  */
 package org.dspace.xmlworkflow;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -24,9 +25,12 @@ import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
 import org.dspace.builder.EPersonBuilder;
 import org.dspace.builder.GroupBuilder;
+import org.dspace.builder.PoolTaskBuilder;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.CollectionService;
 import org.dspace.core.Constants;
 import org.dspace.discovery.IndexingService;
 import org.dspace.eperson.EPerson;
@@ -40,6 +44,8 @@ import org.dspace.xmlworkflow.service.XmlWorkflowService;
 import org.dspace.xmlworkflow.state.Workflow;
 import org.dspace.xmlworkflow.state.actions.processingaction.SelectReviewerAction;
 import org.dspace.xmlworkflow.storedcomponents.ClaimedTask;
+import org.dspace.xmlworkflow.storedcomponents.PoolTask;
+import org.dspace.xmlworkflow.storedcomponents.service.PoolTaskService;
 import org.junit.After;
 import org.junit.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -57,6 +63,8 @@ public class XmlWorkflowServiceIT extends AbstractIntegrationTestWithDatabase {
                                                                  IndexingService.class);
     protected AuthorizeService authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
     protected GroupService groupService = EPersonServiceFactory.getInstance().getGroupService();
+    protected CollectionService collectionService = ContentServiceFactory.getInstance().getCollectionService();
+    protected PoolTaskService poolTaskService = XmlWorkflowServiceFactory.getInstance().getPoolTaskService();
     protected ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
 
     /**
@@ -197,6 +205,38 @@ public class XmlWorkflowServiceIT extends AbstractIntegrationTestWithDatabase {
         assertTrue(this.containsRPForUser(task.getWorkflowItem().getItem(), reviewer2, Constants.WRITE));
     }
 
+    /**
+     * Test to verify that the pool tasks of a workflow step are found for the members of the subgroups of the step
+     * group, and only for them
+     */
+    @Test
+    public void poolTasksOfSubgroupMembers() throws Exception {
+        context.turnOffAuthorisationSystem();
+        EPerson submitter = EPersonBuilder.createEPerson(context).withEmail("submitter@example.org").build();
+        context.setCurrentUser(submitter);
+        EPerson reviewer = EPersonBuilder.createEPerson(context).withEmail("reviewer@example.org").build();
+        EPerson other = EPersonBuilder.createEPerson(context).withEmail("other@example.org").build();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+        Collection colWithWorkflow = CollectionBuilder.createCollection(context, community)
+                                                      .withName("Collection WITH workflow")
+                                                      .withWorkflowGroup(1)
+                                                      .build();
+        Group stepGroup = collectionService.getWorkflowGroup(context, colWithWorkflow, 1);
+        Group reviewerTeam = GroupBuilder.createGroup(context).withName("Reviewer team").addMember(reviewer).build();
+        groupService.addMember(context, stepGroup, reviewerTeam);
+        groupService.update(context, stepGroup);
+        PoolTask task = PoolTaskBuilder.createPoolTask(context, colWithWorkflow, reviewer)
+                                       .withTitle("Test workflow item in the pool").build();
+        context.restoreAuthSystemState();
+
+        List<PoolTask> reviewerTasks = poolTaskService.findByEperson(context, reviewer);
+        assertEquals(1, reviewerTasks.size());
+        assertEquals(task.getID(), reviewerTasks.get(0).getID());
+        assertTrue(poolTaskService.findByEperson(context, other).isEmpty());
+    }
+
     private boolean containsRPForUser(Item item, EPerson user, int action) throws SQLException {
         List<ResourcePolicy> rps = authorizeService.getPolicies(context, item);
         for (ResourcePolicy rp : rps) {
@@ -28,6 +28,13 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import javax.xml.stream.XMLStreamException;
 
 import com.lyncode.xoai.dataprovider.exceptions.ConfigurationException;
@@ -107,7 +114,7 @@ public class XOAI {
 
     private List<XOAIExtensionItemCompilePlugin> extensionPlugins;
 
-    private List<String> getFileFormats(Item item) {
+    private List<String> getFileFormats(Context context, Item item) {
         List<String> formats = new ArrayList<>();
         try {
             for (Bundle b : itemService.getBundles(item, "ORIGINAL")) {
@@ -310,6 +317,10 @@ public class XOAI {
     }
 
     private int index(Iterator<Item> iterator) throws DSpaceSolrIndexerException {
+        int threads = configurationService.getIntProperty("oai.import.threads", 1);
+        if (threads > 1) {
+            return index(iterator, threads);
+        }
         try {
             int i = 0;
             int batchSize = configurationService.getIntProperty("oai.import.batch.size", 1000);
@@ -321,7 +332,7 @@ public class XOAI {
                     if (item.getHandle() == null) {
                         log.warn("Skipped item without handle: " + item.getID());
                     } else {
-                        list.add(this.index(item));
+                        list.add(this.index(context, item));
                     }
                     // Uncache the item to keep memory consumption low
                     context.uncacheEntity(item);
@@ -359,6 +370,165 @@ public class XOAI {
         }
     }
 
+    /**
+     * Pipelined variant of {@link #index(Iterator)}. The items are compiled into Solr documents by a pool of worker
+     * threads, each using its own read-only Context, while this thread acts as the single writer that sends the
+     * compiled documents to Solr in batches. Intermediate batches are not committed explicitly; they become visible
+     * through "oai.import.commit-within" (if set) and the final commit.
+     *
+     * @param iterator items to index
+     * @param threads number of worker threads compiling items
+     * @return number of items processed
+     * @throws DSpaceSolrIndexerException
+     */
+    private int index(Iterator<Item> iterator, int threads) throws DSpaceSolrIndexerException {
+        int batchSize = configurationService.getIntProperty("oai.import.batch.size", 1000);
+        int commitWithin = configurationService.getIntProperty("oai.import.commit-within", -1);
+        // Bound the number of items compiled ahead of the writer to keep memory consumption low
+        int maxPending = Math.max(batchSize, threads * 2);
+
+        // Each worker thread lazily opens its own Context, which is bound to the Hibernate session of that thread.
+        // It must therefore be closed on the same thread, when the worker thread terminates.
+        ThreadLocal<Context> workerContext = new ThreadLocal<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads, runnable -> new Thread(() -> {
+            try {
+                runnable.run();
+            } finally {
+                Context workerCtx = workerContext.get();
+                if (workerCtx != null && workerCtx.isValid()) {
+                    workerCtx.abort();
+                }
+                workerContext.remove();
+            }
+        }));
+        CompletionService<SolrInputDocument> completionService = new ExecutorCompletionService<>(executorService);
+
+        try {
+            int i = 0;
+            int pending = 0;
+            SolrClient server = solrServerResolver.getServer();
+            List<SolrInputDocument> list = new ArrayList<>();
+            while (iterator.hasNext()) {
+                Item item = iterator.next();
+                if (item.getHandle() == null) {
+                    log.warn("Skipped item without handle: " + item.getID());
+                } else {
+                    UUID itemId = item.getID();
+                    completionService.submit(() -> compile(workerContext, itemId));
+                    pending++;
+                }
+                // Uncache the item to keep memory consumption low, the workers load it in their own Context
+                context.uncacheEntity(item);
+                i++;
+                if (i % 1000 == 0) {
+                    System.out.println(i + " items imported so far...");
+                }
+
+                while (pending >= maxPending) {
+                    addCompiled(completionService.take(), list);
+                    pending--;
+                }
+                if (list.size() >= batchSize) {
+                    addBatch(server, list, commitWithin);
+                }
+            }
+            while (pending > 0) {
+                addCompiled(completionService.take(), list);
+                pending--;
+                if (list.size() >= batchSize) {
+                    addBatch(server, list, commitWithin);
+                }
+            }
+            System.out.println("Total: " + i + " items");
+            if (i > 0) {
+                addBatch(server, list, commitWithin);
+                server.commit(true, true);
+            }
+            return i;
+        } catch (SolrServerException | IOException | SQLException ex) {
+            throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
+        } finally {
+            executorService.shutdownNow();
+            awaitTermination(executorService);
+        }
+    }
+
+    /**
+     * Wait until the worker threads have terminated, and thus closed their Contexts.
+     *
+     * @param executorService the (shut down) executor of the worker threads
+     */
+    private void awaitTermination(ExecutorService executorService) {
+        try {
+            while (!executorService.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Waiting for the OAI import worker threads to terminate");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Compile a single item into a Solr document, using the Context of the calling worker thread. Like in
+     * {@link #index(Iterator)}, items which cannot be compiled are logged and skipped, while runtime exceptions
+     * are passed on to abort the import.
+     *
+     * @param workerContext the Context of the calling worker thread, opened if it is not set yet
+     * @param itemId the item to compile
+     * @return the Solr document, or null if the item could not be compiled
+     */
+    private SolrInputDocument compile(ThreadLocal<Context> workerContext, UUID itemId) {
+        Context workerCtx = workerContext.get();
+        if (workerCtx == null) {
+            workerCtx = new Context(Context.Mode.READ_ONLY);
+            workerContext.set(workerCtx);
+        }
+        try {
+            Item item = itemService.find(workerCtx, itemId);
+            return item != null ? this.index(workerCtx, item) : null;
+        } catch (SQLException | IOException | XMLStreamException | WritingXmlException ex) {
+            log.error(ex.getMessage(), ex);
+            return null;
+        } finally {
+            try {
+                workerCtx.uncacheEntities();
+            } catch (SQLException ex) {
+                log.error("Error uncaching entities", ex);
+            }
+        }
+    }
+
+    private void addCompiled(Future<SolrInputDocument> compiled, List<SolrInputDocument> list)
+            throws InterruptedException, DSpaceSolrIndexerException {
+        try {
+            SolrInputDocument doc = compiled.get();
+            if (doc != null) {
+                list.add(doc);
+            }
+        } catch (ExecutionException ex) {
+            // same as a failure of the sequential import
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new DSpaceSolrIndexerException(cause.getMessage(), cause);
+        }
+    }
+
+    private void addBatch(SolrClient server, List<SolrInputDocument> list, int commitWithin)
+            throws SolrServerException, IOException {
+        if (!list.isEmpty()) {
+            server.add(list, commitWithin);
+            list.clear();
+        }
+    }
+
     /**
      * Method to get the most recent date on which the item changed concerning the
      * OAI deleted status (policy start and end dates for all anonymous READ
@@ -368,7 +538,7 @@ public class XOAI {
      * @return date
      * @throws SQLException
      */
-    private Instant getMostRecentModificationDate(Item item) throws SQLException {
+    private Instant getMostRecentModificationDate(Context context, Item item) throws SQLException {
         List<Instant> dates = new LinkedList<>();
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
@@ -394,7 +564,7 @@ public class XOAI {
         return lastChange;
     }
 
-    private SolrInputDocument index(Item item)
+    private SolrInputDocument index(Context context, Item item)
             throws SQLException, IOException, XMLStreamException, WritingXmlException {
         SolrInputDocument doc = new SolrInputDocument();
         doc.addField("item.id", item.getID().toString());
@@ -402,7 +572,7 @@ public class XOAI {
         String handle = item.getHandle();
         doc.addField("item.handle", handle);
 
-        boolean isEmbargoed = !this.isPublic(item);
+        boolean isEmbargoed = !this.isPublic(context, item);
         boolean isCurrentlyVisible = this.checkIfVisibleInOAI(item);
         boolean isIndexed = this.checkIfIndexed(item);
 
@@ -425,7 +595,7 @@ public class XOAI {
         // if the visibility of the item will change in the future due to an
         // embargo, mark it as such.
 
-        doc.addField("item.willChangeStatus", willChangeStatus(item));
+        doc.addField("item.willChangeStatus", willChangeStatus(context, item));
 
         /*
          * Mark an item as deleted not only if it is withdrawn, but also if it is made
@@ -446,7 +616,7 @@ public class XOAI {
          * date and take the most recent of those which have already passed.
          */
         doc.addField("item.lastmodified",
-                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(item)));
+                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(context, item)));
 
         if (item.getSubmitter() != null) {
             doc.addField("item.submitter", item.getSubmitter().getEmail());
@@ -483,7 +653,7 @@ public class XOAI {
             }
         }
 
-        for (String f : getFileFormats(item)) {
+        for (String f : getFileFormats(context, item)) {
             doc.addField("metadata.dc.format.mimetype", f);
         }
 
@@ -513,7 +683,7 @@ public class XOAI {
         return doc;
     }
 
-    private boolean willChangeStatus(Item item) throws SQLException {
+    private boolean willChangeStatus(Context context, Item item) throws SQLException {
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
             if ((policy.getGroup() != null) && (policy.getGroup().getName().equals("Anonymous"))) {
@@ -529,7 +699,7 @@ public class XOAI {
         return false;
     }
 
-    private boolean isPublic(Item item) {
+    private boolean isPublic(Context context, Item item) {
         boolean pub = false;
         try {
             // Check if READ access allowed on this Item
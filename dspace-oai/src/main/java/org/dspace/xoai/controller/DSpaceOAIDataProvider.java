@@ -38,6 +38,7 @@ import org.dspace.xoai.services.api.context.ContextServiceException;
 import org.dspace.xoai.services.api.xoai.IdentifyResolver;
 import org.dspace.xoai.services.api.xoai.ItemRepositoryResolver;
 import org.dspace.xoai.services.api.xoai.SetRepositoryResolver;
+import org.dspace.xoai.services.impl.xoai.DSpaceResumptionCursor;
 import org.dspace.xoai.services.impl.xoai.DSpaceResumptionTokenFormatter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -115,11 +116,13 @@ public class DSpaceOAIDataProvider {
             String identification = xoaiContext + parameters.requestID();
 
             if (cacheService.isActive()) {
-                if (!cacheService.hasCache(identification)) {
+                if (!cacheService.handle(identification, out)) {
                     cacheService.store(identification, dataProvider.handle(parameters));
+                    if (!cacheService.handle(identification, out)) {
+                        // evicted as soon as it was stored
+                        dataProvider.handle(parameters, out);
+                    }
                 }
-
-                cacheService.handle(identification, out);
             } else {
                 dataProvider.handle(parameters, out);
             }
@@ -158,6 +161,7 @@ public class DSpaceOAIDataProvider {
                                "Unexpected error while writing the output. For more information visit the log files.");
         } finally {
             closeContext(context);
+            DSpaceResumptionCursor.clear();
         }
 
         return null; // response without content
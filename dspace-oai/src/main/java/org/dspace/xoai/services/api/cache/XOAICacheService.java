@@ -18,7 +18,16 @@ public interface XOAICacheService {
 
     boolean hasCache(String requestID);
 
-    void handle(String requestID, OutputStream out) throws IOException;
+    /**
+     * Write the cached response to the given request, if there is one.
+     *
+     * @param requestID the request
+     * @param out       the stream to write the response to
+     * @return true if the cached response was written, false if there is no (valid) cached response, in which case
+     *         nothing was written
+     * @throws IOException if the response cannot be written
+     */
+    boolean handle(String requestID, OutputStream out) throws IOException;
 
     void store(String requestID, OAIPMH response) throws IOException;
 
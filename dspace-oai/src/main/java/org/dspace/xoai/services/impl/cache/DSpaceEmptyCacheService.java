@@ -25,8 +25,8 @@ public class DSpaceEmptyCacheService implements XOAICacheService {
     }
 
     @Override
-    public void handle(String requestID, OutputStream out) throws IOException {
-
+    public boolean handle(String requestID, OutputStream out) throws IOException {
+        return false;
     }
 
     @Override
@@ -15,32 +15,84 @@ import static org.apache.commons.io.IOUtils.write;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.xml.stream.XMLStreamException;
 
 import com.lyncode.xoai.dataprovider.core.XOAIManager;
 import com.lyncode.xoai.dataprovider.exceptions.WritingXmlException;
 import com.lyncode.xoai.dataprovider.xml.XmlOutputContext;
 import com.lyncode.xoai.dataprovider.xml.oaipmh.OAIPMH;
-import com.lyncode.xoai.util.Base64Utils;
-import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.dspace.xoai.services.api.cache.XOAICacheService;
+import org.dspace.xoai.services.api.cache.XOAILastCompilationCacheService;
 import org.dspace.xoai.services.api.config.ConfigurationService;
 import org.dspace.xoai.util.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 
-
+/**
+ * Disk based cache of OAI-PMH responses.
+ * <p>
+ * Responses are stored in files named by the SHA-256 hash of the request id, spread over two levels of
+ * sub-directories so that no single directory grows too large. The cache is bounded: once it holds more than
+ * "oai.cache.max-size" megabytes or "oai.cache.max-entries" responses, the least recently used responses are
+ * evicted. Responses older than "oai.cache.ttl" seconds, or older than the last OAI import
+ * (see {@link XOAILastCompilationCacheService}), are considered stale and are never served. The date of the last
+ * import is read again at most every {@link #LAST_COMPILATION_CHECK_INTERVAL} milliseconds.
+ * <p>
+ * The files remain the source of truth, so the cache directory can still be shared with (and cleaned by) the
+ * command line tools; the in-memory index is only used to decide what to evict.
+ */
 public class DSpaceXOAICacheService implements XOAICacheService {
+    private static final Logger log = LogManager.getLogger(DSpaceXOAICacheService.class);
+
     private static final String REQUEST_DIR = File.separator + "requests";
+
+    /**
+     * Milliseconds during which the date of the last OAI import is not read again.
+     */
+    static final long LAST_COMPILATION_CHECK_INTERVAL = 10000;
     private static String baseDir;
     private static String staticHead;
 
     @Autowired
     ConfigurationService configurationService;
 
+    @Autowired
+    XOAILastCompilationCacheService xoaiLastCompilationCacheService;
+
+    /**
+     * Cached response file names in least recently used order, mapped to their size in bytes.
+     * Lazily loaded from disk on first use.
+     */
+    private LinkedHashMap<String, Long> entries;
+    private long totalBytes;
+
+    /**
+     * Date of the last OAI import in milliseconds (or -1 if there was none), and when it was read.
+     */
+    private volatile long lastCompilation = -1;
+    private volatile long lastCompilationCheckedAt = -1;
+
     private String getBaseDir() {
         if (baseDir == null) {
             String dir = configurationService.getProperty("oai.cache.dir") + REQUEST_DIR;
@@ -69,14 +121,63 @@ public class DSpaceXOAICacheService implements XOAICacheService {
         this.manager = manager;
     }
 
-    private File getCacheFile(String id) {
-        File dir = new File(getBaseDir());
-        if (!dir.exists()) {
-            dir.mkdirs();
+    private static String getCacheName(String id) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(id.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
+    }
 
-        String name = File.separator + Base64Utils.encode(id);
-        return new File(getBaseDir() + name);
+    private File getCacheFile(String name) {
+        return new File(getBaseDir() + File.separator + name.substring(0, 2) + File.separator
+                            + name.substring(2, 4) + File.separator + name);
+    }
+
+    private long getMaxBytes() {
+        long maxSize = configurationService.getLongProperty("oai.cache.max-size", 1024);
+        return maxSize > 0 ? maxSize * 1024 * 1024 : -1;
+    }
+
+    private long getMaxEntries() {
+        return configurationService.getLongProperty("oai.cache.max-entries", 100000);
+    }
+
+    /**
+     * A cached response is stale once it has outlived the configured time to live, or when items have been
+     * (re)indexed since it was stored.
+     *
+     * @param storedAt the modification time of the cached response file
+     */
+    private boolean isStale(long storedAt) {
+        long ttl = configurationService.getLongProperty("oai.cache.ttl", -1);
+        if (ttl > 0 && storedAt + ttl * 1000 < System.currentTimeMillis()) {
+            return true;
+        }
+        return storedAt < getLastCompilation();
+    }
+
+    /**
+     * Get the date of the last OAI import, which is written by the (separate) import process.
+     *
+     * @return the date in milliseconds, or -1 if it is unknown
+     */
+    private long getLastCompilation() {
+        long now = System.currentTimeMillis();
+        if (lastCompilationCheckedAt < 0 || now - lastCompilationCheckedAt > LAST_COMPILATION_CHECK_INTERVAL) {
+            long date = -1;
+            try {
+                if (xoaiLastCompilationCacheService.hasCache()) {
+                    date = xoaiLastCompilationCacheService.get().toEpochMilli();
+                }
+            } catch (IOException e) {
+                log.warn("Unable to read the last OAI compilation date", e);
+            }
+            lastCompilation = date;
+            lastCompilationCheckedAt = now;
+        }
+        return lastCompilation;
     }
 
     @Override
@@ -86,15 +187,53 @@ public class DSpaceXOAICacheService implements XOAICacheService {
 
     @Override
     public boolean hasCache(String requestID) {
-        return this.getCacheFile(requestID).exists();
+        String name = getCacheName(requestID);
+        return isValid(name, this.getCacheFile(name));
     }
 
     @Override
-    public void handle(String requestID, OutputStream out) throws IOException {
-        InputStream in = new FileInputStream(this.getCacheFile(requestID));
-        write(getStaticHead(manager, Instant.now()), out);
-        copy(in, out);
-        in.close();
+    public boolean handle(String requestID, OutputStream out) throws IOException {
+        String name = getCacheName(requestID);
+        File file = this.getCacheFile(name);
+        if (!isValid(name, file)) {
+            return false;
+        }
+        InputStream in;
+        try {
+            in = new FileInputStream(file);
+        } catch (FileNotFoundException e) {
+            // evicted (or cleaned) since it was checked; once opened the file can be read even if it is deleted
+            forget(name);
+            return false;
+        }
+        try (in) {
+            write(getStaticHead(manager, Instant.now()), out);
+            copy(in, out);
+        }
+        return true;
+    }
+
+    /**
+     * Check whether a cached response exists and is not stale, deleting it if it is stale.
+     *
+     * @param name the name of the cached response
+     * @param file the file of the cached response
+     * @return true if the response can be served
+     */
+    private boolean isValid(String name, File file) {
+        // 0 if the file does not exist
+        long storedAt = file.lastModified();
+        if (storedAt == 0) {
+            forget(name);
+            return false;
+        }
+        if (isStale(storedAt)) {
+            file.delete();
+            forget(name);
+            return false;
+        }
+        touch(name, file.length());
+        return true;
     }
 
     @Override
@@ -115,7 +254,18 @@ public class DSpaceXOAICacheService implements XOAICacheService {
                 xoaiResponse = xoaiResponse.substring(pos + (end.length()));
             }
 
-            FileUtils.write(this.getCacheFile(requestID), xoaiResponse);
+            String name = getCacheName(requestID);
+            File file = this.getCacheFile(name);
+            file.getParentFile().mkdirs();
+
+            // Write to a temporary file first, so that concurrent readers never see a partial response
+            byte[] bytes = xoaiResponse.getBytes(StandardCharsets.UTF_8);
+            Path tmp = Files.createTempFile(file.getParentFile().toPath(), name, ".tmp");
+            Files.write(tmp, bytes);
+            Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            touch(name, bytes.length);
+            evict();
         } catch (XMLStreamException e) {
             throw new IOException(e);
         } catch (WritingXmlException e) {
@@ -125,12 +275,86 @@ public class DSpaceXOAICacheService implements XOAICacheService {
 
     @Override
     public void delete(String requestID) {
-        this.getCacheFile(requestID).delete();
+        String name = getCacheName(requestID);
+        this.getCacheFile(name).delete();
+        forget(name);
     }
 
     @Override
-    public void deleteAll() throws IOException {
+    public synchronized void deleteAll() throws IOException {
         deleteDirectory(new File(getBaseDir()));
+        entries = null;
+        totalBytes = 0;
+    }
+
+    /**
+     * Mark the given response as most recently used.
+     */
+    private synchronized void touch(String name, long size) {
+        Long previous = getEntries().remove(name);
+        if (previous != null) {
+            totalBytes -= previous;
+        }
+        getEntries().put(name, size);
+        totalBytes += size;
+    }
+
+    private synchronized void forget(String name) {
+        if (entries != null) {
+            Long previous = entries.remove(name);
+            if (previous != null) {
+                totalBytes -= previous;
+            }
+        }
+    }
+
+    /**
+     * Remove the least recently used responses until the cache fits within its configured bounds again.
+     * The most recently stored response is always kept.
+     */
+    private synchronized void evict() {
+        long maxBytes = getMaxBytes();
+        long maxEntries = getMaxEntries();
+        Iterator<Map.Entry<String, Long>> iterator = getEntries().entrySet().iterator();
+        while (entries.size() > 1
+                && ((maxBytes > 0 && totalBytes > maxBytes) || (maxEntries > 0 && entries.size() > maxEntries))) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.getValue();
+            getCacheFile(eldest.getKey()).delete();
+        }
+    }
+
+    /**
+     * Get the in-memory index of cached responses, building it from the files on disk (oldest first) if needed.
+     * Responses cached by older versions, which were stored directly in the base directory, are deleted.
+     */
+    private synchronized LinkedHashMap<String, Long> getEntries() {
+        if (entries == null) {
+            entries = new LinkedHashMap<>(16, 0.75f, true);
+            totalBytes = 0;
+            Path dir = new File(getBaseDir()).toPath();
+            if (Files.isDirectory(dir)) {
+                try (Stream<Path> paths = Files.walk(dir, 3)) {
+                    List<File> files = paths.filter(path -> dir.relativize(path).getNameCount() != 2)
+                                            .map(Path::toFile)
+                                            .filter(File::isFile)
+                                            .collect(Collectors.toList());
+                    files.sort(Comparator.comparingLong(File::lastModified));
+                    for (File file : files) {
+                        if (dir.relativize(file.toPath()).getNameCount() == 1) {
+                            file.delete();
+                        } else if (!file.getName().endsWith(".tmp")) {
+                            entries.put(file.getName(), file.length());
+                            totalBytes += file.length();
+                        }
+                    }
+                } catch (IOException | UncheckedIOException e) {
+                    log.warn("Unable to read the OAI cache directory " + dir, e);
+                }
+            }
+        }
+        return entries;
     }
 
 }
@@ -57,4 +57,9 @@ public class DSpaceConfigurationService implements ConfigurationService {
     public boolean getBooleanProperty(String key, boolean defaultValue) {
         return configurationService.getBooleanProperty(key, defaultValue);
     }
+
+    @Override
+    public long getLongProperty(String key, long defaultValue) {
+        return configurationService.getLongProperty(key, defaultValue);
+    }
 }
@@ -0,0 +1,111 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.services.impl.xoai;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Carries the Solr cursorMark of an OAI-PMH list request between the {@link DSpaceResumptionTokenFormatter} and
+ * the {@link DSpaceItemSolrRepository}.
+ * <p>
+ * The XOAI library only passes an offset from the resumption token to the item repository. To avoid deep paging
+ * in Solr, the formatter additionally encodes the cursorMark of the next page in the token. Since both the token
+ * parsing/formatting and the item retrieval of a request happen on the request thread, the cursorMark is handed
+ * over through a thread local, keyed by the offset it belongs to. A cursorMark only depends on the sort values of
+ * the last returned document, so tokens stay valid across restarts and between nodes.
+ */
+public final class DSpaceResumptionCursor {
+
+    private static final ThreadLocal<DSpaceResumptionCursor> CURRENT = new ThreadLocal<>();
+
+    private Integer requestedOffset;
+    private String requestedCursorMark;
+    private Integer nextOffset;
+    private String nextCursorMark;
+
+    private DSpaceResumptionCursor() { }
+
+    private static DSpaceResumptionCursor current() {
+        DSpaceResumptionCursor cursor = CURRENT.get();
+        if (cursor == null) {
+            cursor = new DSpaceResumptionCursor();
+            CURRENT.set(cursor);
+        }
+        return cursor;
+    }
+
+    /**
+     * Record the cursorMark parsed from the resumption token of the current request.
+     *
+     * @param offset     offset of the page the cursorMark points to
+     * @param cursorMark Solr cursorMark
+     */
+    public static void setRequested(int offset, String cursorMark) {
+        DSpaceResumptionCursor cursor = current();
+        cursor.requestedOffset = offset;
+        cursor.requestedCursorMark = cursorMark;
+    }
+
+    /**
+     * @param offset offset of the page being retrieved
+     * @return the cursorMark received for the given offset in the current request, or null if there is none
+     */
+    public static String getRequested(int offset) {
+        DSpaceResumptionCursor cursor = CURRENT.get();
+        if (cursor != null && cursor.requestedOffset != null && cursor.requestedOffset == offset) {
+            return cursor.requestedCursorMark;
+        }
+        return null;
+    }
+
+    /**
+     * Record the cursorMark of the page following the one returned by the current request.
+     *
+     * @param offset     offset of the next page
+     * @param cursorMark Solr cursorMark of the next page
+     */
+    public static void setNext(int offset, String cursorMark) {
+        DSpaceResumptionCursor cursor = current();
+        cursor.nextOffset = offset;
+        cursor.nextCursorMark = cursorMark;
+    }
+
+    /**
+     * @param offset offset of the next page, as found in the resumption token being formatted
+     * @return the cursorMark of the next page, or null if it was not recorded for this offset
+     */
+    public static String getNext(int offset) {
+        DSpaceResumptionCursor cursor = CURRENT.get();
+        if (cursor != null && cursor.nextOffset != null && cursor.nextOffset == offset) {
+            return cursor.nextCursorMark;
+        }
+        return null;
+    }
+
+    /**
+     * Forget all cursor information of the current thread. Must be called at the end of each request.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Encode a cursorMark so that it can be embedded in a "/" separated resumption token.
+     */
+    public static String encode(String cursorMark) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursorMark.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursorMark encoded by {@link #encode(String)}.
+     */
+    public static String decode(String encoded) {
+        return new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+    }
+}
@@ -29,11 +29,15 @@ public class DSpaceResumptionTokenFormatter implements ResumptionTokenFormatter
             return new ResumptionToken();
         }
         String[] res = resumptionToken.split("/", -1);
-        if (res.length != 5) {
+        // Tokens either end with the offset, or with the offset followed by the Solr cursorMark of that page
+        if (res.length != 5 && res.length != 6) {
             throw new BadResumptionToken();
         } else {
             try {
                 int offset = Integer.parseInt(res[4]);
+                if (res.length == 6) {
+                    DSpaceResumptionCursor.setRequested(offset, DSpaceResumptionCursor.decode(res[5]));
+                }
                 String prefix = (res[0].equals("")) ? null : res[0];
                 String set = (res[3].equals("")) ? null : res[3];
                 java.util.Date from = (res[1].equals("")) ? null : java.util.Date.from(DateUtils.parse(res[1]));
@@ -67,6 +71,10 @@ public class DSpaceResumptionTokenFormatter implements ResumptionTokenFormatter
         }
         result += "/";
         result += resumptionToken.getOffset();
+        String cursorMark = DSpaceResumptionCursor.getNext(resumptionToken.getOffset());
+        if (cursorMark != null) {
+            result += "/" + DSpaceResumptionCursor.encode(cursorMark);
+        }
         return result;
     }
 
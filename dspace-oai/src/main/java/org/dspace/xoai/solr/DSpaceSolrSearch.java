@@ -17,6 +17,7 @@ import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.dspace.xoai.solr.exceptions.DSpaceSolrException;
 import org.dspace.xoai.solr.exceptions.SolrSearchEmptyException;
 
@@ -41,6 +42,28 @@ public class DSpaceSolrSearch {
         }
     }
 
+    /**
+     * Query one page of documents using Solr deep paging (cursorMark) instead of a start offset.
+     *
+     * @param server     the Solr server
+     * @param solrParams the query; its start parameter is ignored
+     * @param cursorMark the cursorMark of the page to retrieve, "*" for the first page
+     * @return the response, including the cursorMark of the next page
+     */
+    public static QueryResponse queryWithCursor(SolrClient server, SolrQuery solrParams, String cursorMark)
+        throws DSpaceSolrException, IOException {
+        try {
+            // cursors require a sort on the uniqueKey field to break ties
+            solrParams.addSort("item.id", ORDER.asc);
+            solrParams.addSort("item.handle", ORDER.asc);
+            solrParams.setStart(0);
+            solrParams.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            return server.query(solrParams);
+        } catch (SolrServerException ex) {
+            throw new DSpaceSolrException(ex.getMessage(), ex);
+        }
+    }
+
     public static SolrDocument querySingle(SolrClient server, SolrQuery solrParams)
         throws SolrSearchEmptyException, IOException {
         try {
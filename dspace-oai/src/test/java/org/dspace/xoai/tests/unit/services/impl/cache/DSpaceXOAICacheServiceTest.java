@@ -0,0 +1,201 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.tests.unit.services.impl.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.lyncode.xoai.dataprovider.core.XOAIManager;
+import com.lyncode.xoai.dataprovider.xml.XmlOutputContext;
+import com.lyncode.xoai.dataprovider.xml.oaipmh.OAIPMH;
+import org.dspace.xoai.services.api.cache.XOAILastCompilationCacheService;
+import org.dspace.xoai.services.api.config.ConfigurationService;
+import org.dspace.xoai.services.impl.cache.DSpaceXOAICacheService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class DSpaceXOAICacheServiceTest {
+
+    // The cache directory is kept in a static field of the service, so it is shared by all tests
+    @ClassRule
+    public static final TemporaryFolder cacheDir = new TemporaryFolder();
+
+    private final Map<String, Long> longProperties = new HashMap<>();
+    private XOAILastCompilationCacheService lastCompilationCacheService;
+    private DSpaceXOAICacheService cacheService;
+
+    @Before
+    public void setUp() throws Exception {
+        ConfigurationService configurationService = mock(ConfigurationService.class);
+        when(configurationService.getProperty("oai.cache.dir")).thenReturn(cacheDir.getRoot().getAbsolutePath());
+        when(configurationService.getBooleanProperty(anyString(), anyBoolean()))
+            .thenAnswer(invocation -> invocation.getArgument(1));
+        when(configurationService.getLongProperty(anyString(), anyLong()))
+            .thenAnswer(invocation -> longProperties.getOrDefault(invocation.getArgument(0),
+                                                                  invocation.getArgument(1)));
+
+        lastCompilationCacheService = mock(XOAILastCompilationCacheService.class);
+        when(lastCompilationCacheService.hasCache()).thenReturn(false);
+
+        cacheService = new DSpaceXOAICacheService(mock(XOAIManager.class));
+        ReflectionTestUtils.setField(cacheService, "configurationService", configurationService);
+        ReflectionTestUtils.setField(cacheService, "xoaiLastCompilationCacheService", lastCompilationCacheService);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cacheService.deleteAll();
+    }
+
+    @Test
+    public void storedResponseIsServed() throws Exception {
+        cacheService.store("request1", response("one"));
+
+        assertTrue(cacheService.hasCache("request1"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(cacheService.handle("request1", out));
+        String served = out.toString(StandardCharsets.UTF_8);
+        assertThat(served, containsString("<OAI-PMH"));
+        assertThat(served, containsString("<responseDate>"));
+        assertThat(served, endsWith("<GetRecord>one</GetRecord>"));
+    }
+
+    @Test
+    public void missingResponseIsAMiss() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertFalse(cacheService.hasCache("request1"));
+        assertFalse(cacheService.handle("request1", out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    public void responseDeletedAfterCheckIsAMiss() throws Exception {
+        cacheService.store("request1", response("one"));
+        assertTrue(cacheService.hasCache("request1"));
+
+        // e.g. evicted by a concurrent request, or removed by "oai clean-cache"
+        try (Stream<File> files = cachedFiles()) {
+            files.forEach(File::delete);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertFalse(cacheService.handle("request1", out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedResponseIsEvicted() throws Exception {
+        longProperties.put("oai.cache.max-entries", 2L);
+        cacheService.store("request1", response("one"));
+        cacheService.store("request2", response("two"));
+        // use request1, so that request2 is now the least recently used response
+        assertTrue(cacheService.handle("request1", new ByteArrayOutputStream()));
+
+        cacheService.store("request3", response("three"));
+
+        assertTrue(cacheService.hasCache("request1"));
+        assertFalse(cacheService.hasCache("request2"));
+        assertTrue(cacheService.hasCache("request3"));
+        try (Stream<File> files = cachedFiles()) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    public void responseStoredBeforeLastImportIsStale() throws Exception {
+        cacheService.store("request1", response("one"));
+        when(lastCompilationCacheService.hasCache()).thenReturn(true);
+        when(lastCompilationCacheService.get()).thenReturn(Instant.now().plusSeconds(60));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertFalse(cacheService.handle("request1", out));
+        assertEquals(0, out.size());
+        try (Stream<File> files = cachedFiles()) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void lastImportDateIsNotReadOnEveryRequest() throws Exception {
+        when(lastCompilationCacheService.hasCache()).thenReturn(true);
+        when(lastCompilationCacheService.get()).thenReturn(Instant.now().minusSeconds(60));
+        cacheService.store("request1", response("one"));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(cacheService.handle("request1", new ByteArrayOutputStream()));
+        }
+
+        verify(lastCompilationCacheService, times(1)).get();
+    }
+
+    @Test
+    public void responsesOfOlderVersionsAreDeleted() throws Exception {
+        File requestDir = new File(cacheDir.getRoot(), "requests");
+        requestDir.mkdirs();
+        File legacy = new File(requestDir, "b2FpX2RjL0lkZW50aWZ5");
+        Files.writeString(legacy.toPath(), "<Identify/>");
+
+        cacheService.store("request1", response("one"));
+
+        assertFalse(legacy.exists());
+        assertTrue(cacheService.hasCache("request1"));
+    }
+
+    /**
+     * @return the cached response files
+     */
+    private Stream<File> cachedFiles() throws Exception {
+        File requestDir = new File(cacheDir.getRoot(), "requests");
+        return Files.walk(requestDir.toPath()).map(path -> path.toFile()).filter(File::isFile);
+    }
+
+    /**
+     * Create a response whose body (after the response date) is a GetRecord element holding the given text.
+     */
+    private OAIPMH response(String text) throws Exception {
+        OAIPMH response = mock(OAIPMH.class);
+        doAnswer(invocation -> {
+            XmlOutputContext context = invocation.getArgument(0);
+            context.getWriter().writeStartElement("responseDate");
+            context.getWriter().writeCharacters("2026-01-01T00:00:00Z");
+            context.getWriter().writeEndElement();
+            context.getWriter().writeStartElement("GetRecord");
+            context.getWriter().writeCharacters(text);
+            context.getWriter().writeEndElement();
+            return null;
+        }).when(response).write(any(XmlOutputContext.class));
+        return response;
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.tests.unit.services.impl.xoai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.lyncode.xoai.dataprovider.core.ResumptionToken;
+import org.dspace.xoai.services.impl.xoai.DSpaceResumptionCursor;
+import org.dspace.xoai.services.impl.xoai.DSpaceResumptionTokenFormatter;
+import org.junit.After;
+import org.junit.Test;
+
+public class DSpaceResumptionTokenFormatterTest {
+    private final DSpaceResumptionTokenFormatter formatter = new DSpaceResumptionTokenFormatter();
+
+    @After
+    public void tearDown() {
+        DSpaceResumptionCursor.clear();
+    }
+
+    @Test
+    public void formatWithoutCursorUsesOffsetOnly() throws Exception {
+        ResumptionToken token = new ResumptionToken(100, "oai_dc", "col_123456789_1", null, null);
+
+        assertEquals("oai_dc///col_123456789_1/100", formatter.format(token));
+    }
+
+    @Test
+    public void parseOffsetOnlyToken() throws Exception {
+        ResumptionToken token = formatter.parse("oai_dc///col_123456789_1/100");
+
+        assertEquals(100, token.getOffset());
+        assertEquals("oai_dc", token.getMetadataPrefix());
+        assertEquals("col_123456789_1", token.getSet());
+        assertNull(DSpaceResumptionCursor.getRequested(100));
+    }
+
+    @Test
+    public void cursorMarkSurvivesFormatAndParse() throws Exception {
+        String cursorMark = "AoE/+c29tZQ==";
+        DSpaceResumptionCursor.setNext(100, cursorMark);
+        String formatted = formatter.format(new ResumptionToken(100, "oai_dc", null, null, null));
+
+        // simulate the next request, possibly handled by another node
+        DSpaceResumptionCursor.clear();
+        ResumptionToken token = formatter.parse(formatted);
+
+        assertEquals(100, token.getOffset());
+        assertEquals(cursorMark, DSpaceResumptionCursor.getRequested(100));
+        assertNull(DSpaceResumptionCursor.getRequested(200));
+    }
+}
@@ -51,6 +51,7 @@ import org.dspace.app.rest.model.hateoas.HALResource;
 import org.dspace.app.rest.model.patch.Patch;
 import org.dspace.app.rest.repository.DSpaceRestRepository;
 import org.dspace.app.rest.repository.LinkRestRepository;
+import org.dspace.app.rest.utils.ConditionalRequestUtils;
 import org.dspace.app.rest.utils.RestRepositoryUtils;
 import org.dspace.app.rest.utils.Utils;
 import org.dspace.authorize.AuthorizeException;
@@ -118,6 +119,9 @@ public class RestResourceController implements InitializingBean {
     @Autowired
     ConverterService converter;
 
+    @Autowired
+    ConditionalRequestUtils conditionalRequestUtils;
+
     @Override
     public void afterPropertiesSet() {
         List<Link> links = new ArrayList<>();
@@ -142,7 +146,9 @@ public class RestResourceController implements InitializingBean {
      *
      * Please see {@link RestResourceController#findOne(String, String, String)} for findOne with string as
      * identifier
-     * and see {@link RestResourceController#findOne(String, String, UUID)} for uuid as identifier
+     * and see
+     * {@link RestResourceController#findOne(HttpServletRequest, HttpServletResponse, String, String, UUID)}
+     * for uuid as identifier
      *
      * @param apiCategory category from request
      * @param model model from request
@@ -173,7 +179,9 @@ public class RestResourceController implements InitializingBean {
      *
      * Please see {@link RestResourceController#findOne(String, String, Integer)} for findOne with number as
      * identifier
-     * and see {@link RestResourceController#findOne(String, String, UUID)} for uuid as identifier
+     * and see
+     * {@link RestResourceController#findOne(HttpServletRequest, HttpServletResponse, String, String, UUID)}
+     * for uuid as identifier
      *
      * @param apiCategory category from request
      * @param model model from request
@@ -195,14 +203,23 @@ public class RestResourceController implements InitializingBean {
      * identifier
      * and see {@link RestResourceController#findOne(String, String, String)} for string as identifier
      *
+     * The response carries validators (see {@link ConditionalRequestUtils}), and nothing is returned if the
+     * representation the client already has is still valid.
+     *
+     * @param request current HTTPServletRequest
+     * @param response current HTTPServletResponse
      * @param apiCategory category from request
      * @param model model from request
      * @param uuid Identifier from request
-     * @return single DSpaceResource
+     * @return single DSpaceResource, or null if it was not modified
      */
     @RequestMapping(method = RequestMethod.GET, value = REGEX_REQUESTMAPPING_IDENTIFIER_AS_UUID)
-    public HALResource<RestAddressableModel> findOne(@PathVariable String apiCategory, @PathVariable String model,
+    public HALResource<RestAddressableModel> findOne(HttpServletRequest request, HttpServletResponse response,
+                                                        @PathVariable String apiCategory, @PathVariable String model,
                                                         @PathVariable UUID uuid) {
+        if (conditionalRequestUtils.checkNotModified(request, response, apiCategory, model, uuid)) {
+            return null;
+        }
         return findOneInternal(apiCategory, model, uuid);
     }
 
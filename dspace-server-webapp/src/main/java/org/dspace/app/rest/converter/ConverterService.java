@@ -32,6 +32,7 @@ import org.dspace.app.rest.projection.DefaultProjection;
 import org.dspace.app.rest.projection.Projection;
 import org.dspace.app.rest.repository.DSpaceRestRepository;
 import org.dspace.app.rest.security.WebSecurityExpressionEvaluator;
+import org.dspace.app.rest.utils.BatchLoader;
 import org.dspace.app.rest.utils.Utils;
 import org.dspace.services.RequestService;
 import org.springframework.aop.support.AopUtils;
@@ -88,6 +89,9 @@ public class ConverterService {
     @Autowired
     private RequestService requestService;
 
+    @Autowired
+    private BatchLoader batchLoader;
+
     /**
      * Converts the given model object to a rest object, using the appropriate {@link DSpaceConverter} and
      * the given projection.
@@ -125,6 +129,8 @@ public class ConverterService {
                 return null;
             }
         }
+        // Allow the embeds of this object to be loaded together with those of the other objects of the response
+        batchLoader.register(transformedModel);
         if (restObject instanceof RestModel) {
             return (R) projection.transformRest((RestModel) restObject);
         }
@@ -19,6 +19,7 @@ import org.dspace.access.status.service.AccessStatusService;
 import org.dspace.app.rest.model.AccessStatusRest;
 import org.dspace.app.rest.model.ItemRest;
 import org.dspace.app.rest.projection.Projection;
+import org.dspace.app.rest.utils.BatchLoader;
 import org.dspace.content.AccessStatus;
 import org.dspace.content.Item;
 import org.dspace.content.service.ItemService;
@@ -39,6 +40,9 @@ public class ItemAccessStatusLinkRepository extends AbstractDSpaceRestRepository
     @Autowired
     ItemService itemService;
 
+    @Autowired
+    BatchLoader batchLoader;
+
     @Autowired
     AccessStatusService accessStatusService;
 
@@ -53,6 +57,7 @@ public class ItemAccessStatusLinkRepository extends AbstractDSpaceRestRepository
             if (item == null) {
                 throw new ResourceNotFoundException("No such item: " + itemId);
             }
+            batchLoader.load(context, "bundles", item, itemService::loadBundles);
             AccessStatusRest accessStatusRest = new AccessStatusRest();
             AccessStatus accessStatus = accessStatusService.getAccessStatus(context, item);
             String status = accessStatus.getStatus();
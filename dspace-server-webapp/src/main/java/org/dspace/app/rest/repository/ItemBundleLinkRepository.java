@@ -15,6 +15,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.dspace.app.rest.model.BundleRest;
 import org.dspace.app.rest.model.ItemRest;
 import org.dspace.app.rest.projection.Projection;
+import org.dspace.app.rest.utils.BatchLoader;
 import org.dspace.content.Item;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
@@ -35,6 +36,9 @@ public class ItemBundleLinkRepository extends AbstractDSpaceRestRepository
     @Autowired
     ItemService itemService;
 
+    @Autowired
+    BatchLoader batchLoader;
+
     @PreAuthorize("hasPermission(#itemId, 'ITEM', 'READ')")
     public Page<BundleRest> getBundles(@Nullable HttpServletRequest request,
                                        UUID itemId,
@@ -46,6 +50,7 @@ public class ItemBundleLinkRepository extends AbstractDSpaceRestRepository
             if (item == null) {
                 throw new ResourceNotFoundException("No such item: " + itemId);
             }
+            batchLoader.load(context, "bundles", item, itemService::loadBundles);
             return converter.toRestPage(item.getBundles(), optionalPageable, projection);
         } catch (SQLException e) {
             throw new RuntimeException(e);
@@ -13,6 +13,8 @@ import java.util.UUID;
 
 import jakarta.annotation.Nullable;
 import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.app.rest.exception.DSpaceBadRequestException;
 import org.dspace.app.rest.model.ItemRest;
 import org.dspace.app.rest.model.RelationshipRest;
 import org.dspace.app.rest.projection.Projection;
@@ -30,6 +32,10 @@ import org.springframework.stereotype.Component;
 
 /**
  * Link repository for "relationships" subresource of an individual item.
+ * <p>
+ * Besides the usual page number, the relationships can be paged with an {@code after} parameter holding the id of
+ * the last relationship of the previous page. Such pages are found with a keyset query, so that deep pages of items
+ * with many relationships cost the same as the first one. The first page is always found that way.
  */
 @Component(ItemRest.CATEGORY + "." + ItemRest.PLURAL_NAME + "." + ItemRest.RELATIONSHIPS)
 public class ItemRelationshipLinkRepository extends AbstractDSpaceRestRepository
@@ -54,11 +60,47 @@ public class ItemRelationshipLinkRepository extends AbstractDSpaceRestRepository
             }
             int total = relationshipService.countByItem(context, item, true, true);
             Pageable pageable = utils.getPageable(optionalPageable);
-            List<Relationship> relationships = relationshipService.findByItem(context, item,
-                    pageable.getPageSize(), Math.toIntExact(pageable.getOffset()), true, true);
+            Relationship after = getAfter(context, request, item);
+            List<Relationship> relationships;
+            if (after != null || pageable.getOffset() == 0) {
+                relationships = relationshipService.findByItemAfter(context, item, after,
+                        pageable.getPageSize(), true, true);
+            } else {
+                relationships = relationshipService.findByItem(context, item,
+                        pageable.getPageSize(), Math.toIntExact(pageable.getOffset()), true, true);
+            }
             return converter.toRestPage(relationships, pageable, total, projection);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Get the relationship given by the {@code after} parameter of the request.
+     *
+     * @param context the DSpace context
+     * @param request the request, possibly null
+     * @param item    the item whose relationships are listed
+     * @return the relationship after which the page starts, or null if the parameter is absent
+     * @throws SQLException if database error
+     * @throws DSpaceBadRequestException if the parameter is not the id of a relationship of the item
+     */
+    private Relationship getAfter(Context context, HttpServletRequest request, Item item) throws SQLException {
+        String after = request == null ? null : request.getParameter("after");
+        if (StringUtils.isBlank(after)) {
+            return null;
+        }
+        Relationship relationship = null;
+        try {
+            relationship = relationshipService.find(context, Integer.parseInt(after));
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        if (relationship == null
+                || !item.equals(relationship.getLeftItem()) && !item.equals(relationship.getRightItem())) {
+            throw new DSpaceBadRequestException("The after parameter " + after
+                    + " is not a relationship of item " + item.getID());
+        }
+        return relationship;
+    }
 }
@@ -16,6 +16,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.dspace.app.rest.model.BitstreamRest;
 import org.dspace.app.rest.model.ItemRest;
 import org.dspace.app.rest.projection.Projection;
+import org.dspace.app.rest.utils.BatchLoader;
 import org.dspace.content.Item;
 import org.dspace.content.Thumbnail;
 import org.dspace.content.service.ItemService;
@@ -34,6 +35,9 @@ public class ItemThumbnailLinkRepository extends AbstractDSpaceRestRepository im
     @Autowired
     ItemService itemService;
 
+    @Autowired
+    BatchLoader batchLoader;
+
     @PreAuthorize("hasPermission(#itemId, 'ITEM', 'READ')")
     public BitstreamRest getThumbnail(@Nullable HttpServletRequest request,
                                       UUID itemId,
@@ -45,6 +49,7 @@ public class ItemThumbnailLinkRepository extends AbstractDSpaceRestRepository im
             if (item == null) {
                 throw new ResourceNotFoundException("No such item: " + itemId);
             }
+            batchLoader.load(context, "bundles", item, itemService::loadBundles);
             Thumbnail thumbnail = itemService.getThumbnail(context, item, false);
             if (thumbnail == null) {
                 return null;
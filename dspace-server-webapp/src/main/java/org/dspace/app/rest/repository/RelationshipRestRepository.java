@@ -10,6 +10,7 @@ package org.dspace.app.rest.repository;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -23,6 +24,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.rest.Parameter;
 import org.dspace.app.rest.SearchRestMethod;
+import org.dspace.app.rest.exception.DSpaceBadRequestException;
 import org.dspace.app.rest.exception.RepositoryMethodNotImplementedException;
 import org.dspace.app.rest.exception.UnprocessableEntityException;
 import org.dspace.app.rest.model.RelationshipRest;
@@ -340,6 +342,10 @@ public class RelationshipRestRepository extends DSpaceRestRepository<Relationshi
      * @param label     The label of a RelationshipType which the Relationships must have if they're to be returned
      * @param dsoId     The dsoId of the object that has to be a leftItem or rightItem if this parameter is present
      * @param relatedEntityType The entity type that the items who have a relationship with the given dso should have
+     * @param afterId   The id of the last relationship of the previous page, which requires a dso. The page is then
+     *                  found with keyset queries instead of the page offset: it holds the relationships which follow
+     *                  it within its relationship type, then those of the following matching relationship types,
+     *                  in the order of their ids
      * @param pageable  The page object
      * @return          A page with all the RelationshipRest objects that correspond to the constraints
      * @throws SQLException If something goes wrong
@@ -348,9 +354,14 @@ public class RelationshipRestRepository extends DSpaceRestRepository<Relationshi
     public Page<RelationshipRest> findByLabel(@Parameter(value = "label", required = true) String label,
                                               @Parameter(value = "dso", required = false) UUID dsoId,
                                               @Parameter(value = "relatedEntityType") String relatedEntityType,
+                                              @Parameter(value = "after") Integer afterId,
                                               Pageable pageable) throws SQLException {
         Context context = obtainContext();
 
+        if (afterId != null && dsoId == null) {
+            throw new DSpaceBadRequestException("The after parameter can only be used together with a dso");
+        }
+
         List<RelationshipType> relationshipTypeList =
             relationshipTypeService.findByLeftwardOrRightwardTypeName(context, label);
         List<Relationship> relationships = new LinkedList<>();
@@ -363,6 +374,15 @@ public class RelationshipRestRepository extends DSpaceRestRepository<Relationshi
                 throw new ResourceNotFoundException("The request DSO with id: " + dsoId + " was not found");
             }
 
+            Relationship after = null;
+            if (afterId != null) {
+                after = relationshipService.find(context, afterId);
+                if (after == null || !item.equals(after.getLeftItem()) && !item.equals(after.getRightItem())) {
+                    throw new DSpaceBadRequestException(String.format(
+                        "The relationship with id: %s is not a relationship of the DSO with id: %s", afterId, dsoId));
+                }
+            }
+
             EntityType dsoEntityType = itemService.getEntityType(context, item);
 
             if (dsoEntityType == null) {
@@ -370,12 +390,19 @@ public class RelationshipRestRepository extends DSpaceRestRepository<Relationshi
                     "The request DSO with id: %s doesn't have an entity type", dsoId));
             }
 
+            List<RelationshipType> matchingTypes = new ArrayList<>();
             for (RelationshipType relationshipType : relationshipTypeList) {
                 if (relatedEntityType == null ||
                     relationshipType.getRightType().getLabel().equals(dsoEntityType.getLabel()) &&
                         relationshipType.getLeftType().getLabel().equals(relatedEntityType) ||
                     relationshipType.getRightType().getLabel().equals(relatedEntityType) &&
                         relationshipType.getLeftType().getLabel().equals(dsoEntityType.getLabel())) {
+                    matchingTypes.add(relationshipType);
+                }
+            }
+
+            if (after == null) {
+                for (RelationshipType relationshipType : matchingTypes) {
                     boolean isLeft = relationshipType.getLeftwardType().equalsIgnoreCase(label);
                     total +=
                         relationshipService.countByItemAndRelationshipType(context, item, relationshipType, isLeft);
@@ -384,6 +411,29 @@ public class RelationshipRestRepository extends DSpaceRestRepository<Relationshi
                                                                           isLeft, pageable.getPageSize(),
                                                                           Math.toIntExact(pageable.getOffset())));
                 }
+            } else {
+                if (!matchingTypes.contains(after.getRelationshipType())) {
+                    throw new DSpaceBadRequestException(String.format(
+                        "The relationship with id: %s does not have the label: %s", afterId, label));
+                }
+                // the page continues from after within its type, then through the following types in a fixed order
+                matchingTypes.sort(Comparator.comparing(RelationshipType::getID));
+                Relationship typeAfter = after;
+                boolean started = false;
+                for (RelationshipType relationshipType : matchingTypes) {
+                    boolean isLeft = relationshipType.getLeftwardType().equalsIgnoreCase(label);
+                    total +=
+                        relationshipService.countByItemAndRelationshipType(context, item, relationshipType, isLeft);
+                    started = started || relationshipType.equals(after.getRelationshipType());
+                    int remaining = pageable.getPageSize() - relationships.size();
+                    if (started && remaining > 0) {
+                        relationships.addAll(
+                            relationshipService.findByItemAndRelationshipTypeAfter(context, item, relationshipType,
+                                                                                   isLeft, typeAfter, remaining,
+                                                                                   true));
+                        typeAfter = null;
+                    }
+                }
             }
         } else {
             for (RelationshipType relationshipType : relationshipTypeList) {
@@ -0,0 +1,157 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of the tokens which have already been verified, so that the tokens sent with every authenticated request
+ * are only decrypted and verified once.
+ * <p>
+ * Tokens are cached by hash, with their claims and the session salt of the EPerson they were signed with. A cached
+ * token is only valid as long as the session salt of its EPerson is unchanged, which is checked against the EPerson
+ * itself (kept in the second level cache): logging out or rotating the salt invalidates the cached tokens just like
+ * the tokens themselves. Entries expire after "jwt.cache.ttl" seconds (or when the token expires) and at most
+ * "jwt.cache.size" tokens are cached, least recently used first out.
+ */
+@Component
+public class JWTTokenCache {
+
+    private final LinkedHashMap<String, Entry> tokens = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    /**
+     * A verified token.
+     */
+    public static class Entry {
+        private final UUID ePersonId;
+        private final String sessionSalt;
+        private final JWTClaimsSet claimsSet;
+        private final long expires;
+
+        Entry(UUID ePersonId, String sessionSalt, JWTClaimsSet claimsSet, long expires) {
+            this.ePersonId = ePersonId;
+            this.sessionSalt = sessionSalt;
+            this.claimsSet = claimsSet;
+            this.expires = expires;
+        }
+
+        public UUID getEPersonId() {
+            return ePersonId;
+        }
+
+        public String getSessionSalt() {
+            return sessionSalt;
+        }
+
+        public JWTClaimsSet getClaimsSet() {
+            return claimsSet;
+        }
+    }
+
+    /**
+     * @param type  the type of the token, as tokens of different types are verified with different keys
+     * @param token the token
+     * @return the key of the token in this cache
+     */
+    public String getKey(String type, String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return type + ":" + HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param key the key of the token
+     * @return the cached token, or null if it was not verified recently
+     */
+    public Entry get(String key) {
+        synchronized (tokens) {
+            Entry entry = tokens.get(key);
+            if (entry != null && entry.expires < System.currentTimeMillis()) {
+                tokens.remove(key);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Cache a verified token.
+     *
+     * @param key         the key of the token
+     * @param ePersonId   the EPerson the token was issued to
+     * @param sessionSalt the session salt the token was signed with
+     * @param claimsSet   the claims of the token
+     */
+    public void put(String key, UUID ePersonId, String sessionSalt, JWTClaimsSet claimsSet) {
+        long ttl = configurationService.getLongProperty("jwt.cache.ttl", 60);
+        if (ttl <= 0) {
+            return;
+        }
+        long expires = System.currentTimeMillis() + ttl * 1000;
+        if (claimsSet.getExpirationTime() != null) {
+            expires = Math.min(expires, claimsSet.getExpirationTime().getTime());
+        }
+        synchronized (tokens) {
+            tokens.put(key, new Entry(ePersonId, sessionSalt, claimsSet, expires));
+            int maxSize = configurationService.getIntProperty("jwt.cache.size", 10000);
+            Iterator<String> iterator = tokens.keySet().iterator();
+            while (tokens.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Forget a token.
+     *
+     * @param key the key of the token
+     */
+    public void evict(String key) {
+        synchronized (tokens) {
+            tokens.remove(key);
+        }
+    }
+
+    /**
+     * Forget all the tokens of an EPerson, e.g. because they logged out.
+     *
+     * @param ePersonId the EPerson
+     */
+    public void evict(UUID ePersonId) {
+        synchronized (tokens) {
+            tokens.values().removeIf(entry -> entry.ePersonId.equals(ePersonId));
+        }
+    }
+
+    /**
+     * Forget all the tokens.
+     */
+    public void clear() {
+        synchronized (tokens) {
+            tokens.clear();
+        }
+    }
+}
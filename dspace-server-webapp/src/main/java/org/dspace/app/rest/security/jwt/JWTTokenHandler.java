@@ -76,6 +76,9 @@ public abstract class JWTTokenHandler {
     @Autowired
     private ClientInfoService clientInfoService;
 
+    @Autowired
+    private JWTTokenCache jwtTokenCache;
+
     private String generatedJwtKey;
     private String generatedEncryptionKey;
 
@@ -125,6 +128,19 @@ public abstract class JWTTokenHandler {
         if (StringUtils.isBlank(token)) {
             return null;
         }
+        // a token verified recently stays valid as long as the session salt it was signed with is unchanged
+        String cacheKey = jwtTokenCache.getKey(getTokenSecretConfigurationKey(), token);
+        JWTTokenCache.Entry cached = jwtTokenCache.get(cacheKey);
+        if (cached != null) {
+            EPerson ePerson = ePersonService.find(context, cached.getEPersonId());
+            if (ePerson != null && StringUtils.isNotBlank(ePerson.getSessionSalt())
+                && ePerson.getSessionSalt().equals(cached.getSessionSalt())) {
+                parseClaims(context, request, cached.getClaimsSet());
+                return ePerson;
+            }
+            jwtTokenCache.evict(cacheKey);
+        }
+
         // parse/decrypt the token
         SignedJWT signedJWT = getSignedJWT(token);
         // get the claims set from the parsed token
@@ -137,9 +153,8 @@ public abstract class JWTTokenHandler {
 
             log.debug("Received valid token for username: {}", ePerson::getEmail);
 
-            for (JWTClaimProvider jwtClaimProvider : jwtClaimProviders) {
-                jwtClaimProvider.parseClaim(context, request, jwtClaimsSet);
-            }
+            jwtTokenCache.put(cacheKey, ePerson.getID(), ePerson.getSessionSalt(), jwtClaimsSet);
+            parseClaims(context, request, jwtClaimsSet);
 
             return ePerson;
         } else {
@@ -148,6 +163,21 @@ public abstract class JWTTokenHandler {
         }
     }
 
+    /**
+     * Parse all the claims of a valid token into the current Context
+     *
+     * @param context current Context
+     * @param request current request
+     * @param jwtClaimsSet claims set of the token
+     * @throws SQLException
+     */
+    private void parseClaims(Context context, HttpServletRequest request, JWTClaimsSet jwtClaimsSet)
+        throws SQLException {
+        for (JWTClaimProvider jwtClaimProvider : jwtClaimProviders) {
+            jwtClaimProvider.parseClaim(context, request, jwtClaimsSet);
+        }
+    }
+
     /**
      * Create a JWT with the EPerson details in it
      *
@@ -198,6 +228,7 @@ public abstract class JWTTokenHandler {
             EPerson ePerson = parseEPersonFromToken(token, request, context);
             if (ePerson != null) {
                 ePerson.setSessionSalt("");
+                jwtTokenCache.evict(ePerson.getID());
             }
 
         }
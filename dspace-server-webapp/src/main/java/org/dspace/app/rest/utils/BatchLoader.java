@@ -0,0 +1,142 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.utils;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Context;
+import org.dspace.core.HibernateProxyHelper;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.RequestService;
+import org.dspace.services.model.Request;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Batches the lookups done by link repositories for the objects of a response.
+ * <p>
+ * The {@link org.dspace.app.rest.converter.ConverterService} registers every {@link DSpaceObject} it converts
+ * during a request. The rels of the resulting resources are embedded afterwards, one resource at a time. When a link
+ * repository needs some data for one object (e.g. the bundles of an item, to find its thumbnail), it asks this
+ * loader to {@link #load} it: the data is then loaded at once for that object and all the other objects of the same
+ * kind converted for this request that have not been loaded yet, at most "rest.batch-loading.size" at a time. The
+ * embeds of the other objects find their data already loaded, so that a page of N items costs a few queries instead
+ * of N times a few queries.
+ */
+@Component
+public class BatchLoader {
+
+    private static final String ATTRIBUTE = BatchLoader.class.getName();
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    /**
+     * Loads some data for a batch of objects. The data is expected to be attached to the objects themselves
+     * (e.g. by initializing their lazy collections) or to the session.
+     *
+     * @param <T> the type of the objects
+     */
+    @FunctionalInterface
+    public interface BatchFunction<T extends DSpaceObject> {
+        void load(Context context, List<T> objects) throws SQLException;
+    }
+
+    /**
+     * The objects registered and already loaded for the current request.
+     */
+    private static class State {
+        private final Map<Class<?>, Set<DSpaceObject>> registered = new HashMap<>();
+        private final Map<String, Set<DSpaceObject>> loaded = new HashMap<>();
+    }
+
+    /**
+     * Remember that an object is part of the current response, so that its data can be loaded together with the
+     * data of the other objects of the response.
+     *
+     * @param modelObject the converted object, ignored unless it is a {@link DSpaceObject}
+     */
+    public void register(Object modelObject) {
+        if (!(modelObject instanceof DSpaceObject) || getBatchSize() <= 1) {
+            return;
+        }
+        State state = getState(true);
+        if (state != null) {
+            state.registered.computeIfAbsent(HibernateProxyHelper.getClassWithoutInitializingProxy(modelObject),
+                                             c -> new LinkedHashSet<>())
+                            .add((DSpaceObject) modelObject);
+        }
+    }
+
+    /**
+     * Make sure that the data of the given kind is loaded for the given object, by loading it for a batch of
+     * registered objects of the same class if it was not already.
+     *
+     * @param context  the DSpace context
+     * @param kind     name of the data to load, e.g. "bundles"
+     * @param object   the object whose data is needed
+     * @param function loads the data for a batch of objects
+     * @param <T>      the type of the object
+     * @throws SQLException if a database error occurs
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends DSpaceObject> void load(Context context, String kind, T object, BatchFunction<T> function)
+        throws SQLException {
+        State state = getState(false);
+        if (state == null) {
+            function.load(context, Collections.singletonList(object));
+            return;
+        }
+        Set<DSpaceObject> loaded = state.loaded.computeIfAbsent(kind, k -> new LinkedHashSet<>());
+        if (loaded.contains(object)) {
+            return;
+        }
+        int batchSize = getBatchSize();
+        List<T> batch = new ArrayList<>();
+        batch.add(object);
+        Class<?> objectClass = HibernateProxyHelper.getClassWithoutInitializingProxy(object);
+        for (DSpaceObject registered : state.registered.getOrDefault(objectClass, Collections.emptySet())) {
+            if (batch.size() >= batchSize) {
+                break;
+            }
+            if (!loaded.contains(registered) && !registered.equals(object)) {
+                batch.add((T) registered);
+            }
+        }
+        function.load(context, batch);
+        loaded.addAll(batch);
+    }
+
+    private State getState(boolean create) {
+        Request request = requestService.getCurrentRequest();
+        if (request == null) {
+            return null;
+        }
+        State state = (State) request.getAttribute(ATTRIBUTE);
+        if (state == null && create) {
+            state = new State();
+            request.setAttribute(ATTRIBUTE, state);
+        }
+        return state;
+    }
+
+    private int getBatchSize() {
+        return configurationService.getIntProperty("rest.batch-loading.size", 100);
+    }
+}
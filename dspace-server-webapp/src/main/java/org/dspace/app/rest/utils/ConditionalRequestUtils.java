@@ -0,0 +1,133 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.dspace.app.rest.model.ItemRest;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.eperson.Group;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Support for HTTP conditional requests (ETag / If-None-Match and Last-Modified / If-Modified-Since) on single
+ * resources, so that clients can revalidate the representation they already have instead of downloading it again.
+ * <p>
+ * Validators are only computed for items, which record when they were last modified. Changes to their bundles,
+ * bitstreams and policies update that date too. As the representation of an item depends on who requests it, the
+ * ETag also covers the current user, their special groups and whether they administer the item, as well as its
+ * owning collection and the current date (embargoes are lifted per day). Last-Modified is only sent to anonymous
+ * users, since it cannot express these differences. The validators are checked before the item is converted, so a
+ * "304 Not Modified" response costs only a few queries.
+ * <p>
+ * Representations which depend on other objects are not validated: entity items, whose virtual metadata comes from
+ * the related items, and requests for embeds or a projection, which include related objects.
+ * <p>
+ * Conditional requests can be disabled with "rest.conditional-requests.enabled = false".
+ */
+@Component
+public class ConditionalRequestUtils {
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private AuthorizeService authorizeService;
+
+    /**
+     * Add the validators of the requested resource to the response, and check them against the conditional headers
+     * of the request.
+     *
+     * @param request     the current request
+     * @param response    the current response
+     * @param apiCategory category of the requested resource
+     * @param model       model of the requested resource
+     * @param uuid        identifier of the requested resource
+     * @return true if the client's representation is still valid: the response status has been set to 304 and no
+     *         content must be returned. False if the resource must be returned as usual.
+     */
+    public boolean checkNotModified(HttpServletRequest request, HttpServletResponse response,
+                                    String apiCategory, String model, UUID uuid) {
+        if (!configurationService.getBooleanProperty("rest.conditional-requests.enabled", true)
+            || !ItemRest.CATEGORY.equals(apiCategory) || !ItemRest.PLURAL_NAME.equals(model)
+            || hasEmbedsOrProjection(request)) {
+            return false;
+        }
+        try {
+            Context context = ContextUtil.obtainContext(request);
+            Item item = itemService.find(context, uuid);
+            // Leave unreadable items to the repository, which reports the appropriate error
+            if (item == null || item.getLastModified() == null || itemService.getEntityTypeLabel(item) != null
+                || !authorizeService.authorizeActionBoolean(context, item, Constants.READ)) {
+                return false;
+            }
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+            ServletWebRequest webRequest = new ServletWebRequest(request, response);
+            String etag = getETag(context, item);
+            if (context.getCurrentUser() == null) {
+                long today = LocalDate.now().atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+                return webRequest.checkNotModified(etag, Math.max(item.getLastModified().toEpochMilli(), today));
+            }
+            return webRequest.checkNotModified(etag);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return true if the request asks for embedded objects or for a projection
+     */
+    private boolean hasEmbedsOrProjection(HttpServletRequest request) {
+        return request.getParameterMap().keySet().stream()
+                      .anyMatch(name -> name.equals("projection") || name.startsWith("embed"));
+    }
+
+    private String getETag(Context context, Item item) throws SQLException {
+        Collection owningCollection = item.getOwningCollection();
+        StringBuilder key = new StringBuilder()
+            .append(item.getID()).append('|')
+            .append(item.getLastModified().toEpochMilli()).append('|')
+            .append(owningCollection != null ? owningCollection.getID() : "none").append('|')
+            .append(LocalDate.now()).append('|')
+            .append(context.getCurrentUser() != null ? context.getCurrentUser().getID() : "anonymous").append('|')
+            .append(authorizeService.isAdmin(context, item));
+        context.getSpecialGroups().stream()
+               .map(Group::getID)
+               .map(UUID::toString)
+               .sorted()
+               .forEach(id -> key.append('|').append(id));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -11,7 +11,10 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.client.solrj.SolrServerException;
@@ -21,25 +24,32 @@ import org.dspace.app.rest.model.UsageReportPointDateRest;
 import org.dspace.app.rest.model.UsageReportPointDsoTotalVisitsRest;
 import org.dspace.app.rest.model.UsageReportRest;
 import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.Site;
+import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.handle.service.HandleService;
 import org.dspace.statistics.Dataset;
+import org.dspace.statistics.ObjectCount;
 import org.dspace.statistics.content.DatasetDSpaceObjectGenerator;
 import org.dspace.statistics.content.DatasetTimeGenerator;
 import org.dspace.statistics.content.DatasetTypeGenerator;
 import org.dspace.statistics.content.StatisticsDataVisits;
 import org.dspace.statistics.content.StatisticsListing;
 import org.dspace.statistics.content.StatisticsTable;
+import org.dspace.statistics.service.UsageRollupService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.stereotype.Component;
 
 /**
  * This is the Service dealing with the {@link UsageReportRest} logic
+ * <p>
+ * The reports are computed from the statistics core, or from the daily aggregates of the {@link UsageRollupService}
+ * if "usage-statistics.rollup.enabled" is set.
  *
  * @author Maria Verdonck (Atmire) on 08/06/2020
  */
@@ -49,6 +59,12 @@ public class UsageReportUtils {
     @Autowired
     private HandleService handleService;
 
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UsageRollupService usageRollupService;
+
     public static final String TOTAL_VISITS_REPORT_ID = "TotalVisits";
     public static final String TOTAL_VISITS_PER_MONTH_REPORT_ID = "TotalVisitsPerMonth";
     public static final String TOTAL_DOWNLOADS_REPORT_ID = "TotalDownloads";
@@ -135,6 +151,22 @@ public class UsageReportUtils {
      */
     private UsageReportRest resolveGlobalUsageReport(Context context)
         throws SQLException, IOException, ParseException, SolrServerException {
+        if (usageRollupService.isEnabled()) {
+            UsageReportRest usageReportRest = new UsageReportRest();
+            for (ObjectCount count : usageRollupService.getTopObjects(context, Constants.ITEM, 10)) {
+                Item item = itemService.find(context, UUID.fromString(count.getValue()));
+                if (item != null) {
+                    UsageReportPointDsoTotalVisitsRest totalVisitPoint = new UsageReportPointDsoTotalVisitsRest();
+                    totalVisitPoint.setType("item");
+                    totalVisitPoint.setId(count.getValue());
+                    totalVisitPoint.setLabel(item.getName());
+                    totalVisitPoint.addValue("views", (int) count.getCount());
+                    usageReportRest.addPoint(totalVisitPoint);
+                }
+            }
+            usageReportRest.setReportType(TOTAL_VISITS_REPORT_ID);
+            return usageReportRest;
+        }
         StatisticsListing statListing = new StatisticsListing(
             new StatisticsDataVisits());
 
@@ -176,12 +208,18 @@ public class UsageReportUtils {
      */
     private UsageReportRest resolveTotalVisits(Context context, DSpaceObject dso)
         throws SQLException, IOException, ParseException, SolrServerException {
-        Dataset dataset = this.getDSOStatsDataset(context, dso, 1, dso.getType());
-
         UsageReportRest usageReportRest = new UsageReportRest();
         UsageReportPointDsoTotalVisitsRest totalVisitPoint = new UsageReportPointDsoTotalVisitsRest();
         totalVisitPoint.setType(StringUtils.substringAfterLast(dso.getClass().getName().toLowerCase(), "."));
         totalVisitPoint.setId(dso.getID().toString());
+        if (usageRollupService.isEnabled()) {
+            totalVisitPoint.setLabel(dso.getName());
+            totalVisitPoint.addValue("views", (int) usageRollupService.getViews(context, dso));
+            usageReportRest.addPoint(totalVisitPoint);
+            return usageReportRest;
+        }
+
+        Dataset dataset = this.getDSOStatsDataset(context, dso, 1, dso.getType());
         if (dataset.getColLabels().size() > 0) {
             totalVisitPoint.setLabel(dso.getName());
             totalVisitPoint.addValue("views", Integer.valueOf(dataset.getMatrix()[0][0]));
@@ -205,6 +243,16 @@ public class UsageReportUtils {
      */
     private UsageReportRest resolveTotalVisitsPerMonth(Context context, DSpaceObject dso)
         throws SQLException, IOException, ParseException, SolrServerException {
+        if (usageRollupService.isEnabled()) {
+            UsageReportRest usageReportRest = new UsageReportRest();
+            for (ObjectCount count : usageRollupService.getViewsPerMonth(context, dso, 6)) {
+                UsageReportPointDateRest monthPoint = new UsageReportPointDateRest();
+                monthPoint.setId(count.getValue());
+                monthPoint.addValue("views", (int) count.getCount());
+                usageReportRest.addPoint(monthPoint);
+            }
+            return usageReportRest;
+        }
         StatisticsTable statisticsTable = new StatisticsTable(new StatisticsDataVisits(dso));
         DatasetTimeGenerator timeAxis = new DatasetTimeGenerator();
         // TODO month start and end as request para?
@@ -244,6 +292,25 @@ public class UsageReportUtils {
             return this.resolveTotalVisits(context, dso);
         }
 
+        if (dso instanceof org.dspace.content.Item && usageRollupService.isEnabled()) {
+            Map<UUID, Bitstream> bitstreams = new HashMap<>();
+            for (Bundle bundle : ((Item) dso).getBundles()) {
+                for (Bitstream bitstream : bundle.getBitstreams()) {
+                    bitstreams.put(bitstream.getID(), bitstream);
+                }
+            }
+            UsageReportRest usageReportRest = new UsageReportRest();
+            for (ObjectCount count : usageRollupService.getTopObjects(context, bitstreams.keySet(), 10)) {
+                UsageReportPointDsoTotalVisitsRest totalDownloadsPoint = new UsageReportPointDsoTotalVisitsRest();
+                totalDownloadsPoint.setType("bitstream");
+                totalDownloadsPoint.setId(count.getValue());
+                totalDownloadsPoint.setLabel(bitstreams.get(UUID.fromString(count.getValue())).getName());
+                totalDownloadsPoint.addValue("views", (int) count.getCount());
+                usageReportRest.addPoint(totalDownloadsPoint);
+            }
+            return usageReportRest;
+        }
+
         if (dso instanceof org.dspace.content.Item) {
             Dataset dataset = this.getDSOStatsDataset(context, dso, 1, Constants.BITSTREAM);
 
@@ -275,6 +342,16 @@ public class UsageReportUtils {
      */
     private UsageReportRest resolveTopCountries(Context context, DSpaceObject dso)
         throws SQLException, IOException, ParseException, SolrServerException {
+        if (usageRollupService.isEnabled()) {
+            UsageReportRest usageReportRest = new UsageReportRest();
+            for (ObjectCount count : usageRollupService.getTopCountries(context, dso, 100)) {
+                UsageReportPointCountryRest countryPoint = new UsageReportPointCountryRest();
+                countryPoint.setId(count.getValue());
+                countryPoint.addValue("views", (int) count.getCount());
+                usageReportRest.addPoint(countryPoint);
+            }
+            return usageReportRest;
+        }
         Dataset dataset = this.getTypeStatsDataset(context, dso, "countryCode", 1);
 
         UsageReportRest usageReportRest = new UsageReportRest();
@@ -299,6 +376,16 @@ public class UsageReportUtils {
      */
     private UsageReportRest resolveTopCities(Context context, DSpaceObject dso)
         throws SQLException, IOException, ParseException, SolrServerException {
+        if (usageRollupService.isEnabled()) {
+            UsageReportRest usageReportRest = new UsageReportRest();
+            for (ObjectCount count : usageRollupService.getTopCities(context, dso, 100)) {
+                UsageReportPointCityRest cityPoint = new UsageReportPointCityRest();
+                cityPoint.setId(count.getValue());
+                cityPoint.addValue("views", (int) count.getCount());
+                usageReportRest.addPoint(cityPoint);
+            }
+            return usageReportRest;
+        }
         Dataset dataset = this.getTypeStatsDataset(context, dso, "city", 1);
 
         UsageReportRest usageReportRest = new UsageReportRest();
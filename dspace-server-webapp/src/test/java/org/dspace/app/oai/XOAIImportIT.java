@@ -0,0 +1,151 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.oai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.content.service.ItemService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.solr.MockSolrServer;
+import org.dspace.xoai.app.XOAI;
+import org.dspace.xoai.services.api.CollectionsService;
+import org.dspace.xoai.services.api.cache.XOAIItemCacheService;
+import org.dspace.xoai.services.api.cache.XOAILastCompilationCacheService;
+import org.dspace.xoai.services.api.solr.SolrServerResolver;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Integration test of the OAI import ({@link XOAI}) into an embedded OAI Solr core, in both its sequential and its
+ * parallel mode.
+ */
+@TestPropertySource(properties = {"oai.enabled = true"})
+public class XOAIImportIT extends AbstractControllerIntegrationTest {
+
+    @Autowired
+    private ConfigurationService configurationService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private XOAILastCompilationCacheService xoaiLastCompilationCacheService;
+    @Autowired
+    private XOAIItemCacheService xoaiItemCacheService;
+    @Autowired
+    private CollectionsService collectionsService;
+
+    private MockSolrServer oaiSolrServer;
+
+    private Set<String> itemIds = new HashSet<>();
+
+    @Before
+    public void setUp() throws Exception {
+        // The OAI beans are provided by the 'dspace-oai' module, see OAIpmhIT
+        try {
+            Class.forName("org.dspace.app.configuration.OAIWebConfig");
+        } catch (ClassNotFoundException ce) {
+            Assume.assumeNoException(ce);
+        }
+        oaiSolrServer = new MockSolrServer("oai");
+
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).withName("Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, community).withName("Collection").build();
+        for (int i = 0; i < 7; i++) {
+            Item item = ItemBuilder.createItem(context, collection).withTitle("Item " + i).build();
+            itemIds.add(item.getID().toString());
+        }
+        context.restoreAuthSystemState();
+        // the worker threads of the parallel import read the items through their own database connections
+        context.commit();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (oaiSolrServer != null) {
+            oaiSolrServer.reset();
+            oaiSolrServer.destroy();
+        }
+    }
+
+    @Test
+    public void sequentialImportTest() throws Exception {
+        configurationService.setProperty("oai.import.threads", 1);
+        configurationService.setProperty("oai.import.batch.size", 3);
+
+        assertEquals(7, createXOAI().index());
+        assertEquals(itemIds, getIndexedItemIds());
+        assertContextUsable();
+    }
+
+    @Test
+    public void parallelImportTest() throws Exception {
+        configurationService.setProperty("oai.import.threads", 3);
+        configurationService.setProperty("oai.import.batch.size", 3);
+
+        assertEquals(7, createXOAI().index());
+        assertEquals(itemIds, getIndexedItemIds());
+        // the worker Contexts are closed on their own threads, the Context of the import is left alone
+        assertContextUsable();
+
+        // a second run over the same items is an update of the same documents
+        assertEquals(7, createXOAI().index());
+        assertEquals(itemIds, getIndexedItemIds());
+        assertContextUsable();
+    }
+
+    private XOAI createXOAI() {
+        XOAI xoai = new XOAI(context, true, false);
+        SolrClient solrClient = oaiSolrServer.getSolrServer();
+        ReflectionTestUtils.setField(xoai, "solrServerResolver", (SolrServerResolver) () -> solrClient);
+        ReflectionTestUtils.setField(xoai, "xoaiLastCompilationCacheService", xoaiLastCompilationCacheService);
+        ReflectionTestUtils.setField(xoai, "xoaiItemCacheService", xoaiItemCacheService);
+        ReflectionTestUtils.setField(xoai, "collectionsService", collectionsService);
+        return xoai;
+    }
+
+    private Set<String> getIndexedItemIds() throws Exception {
+        SolrDocumentList documents = oaiSolrServer.getSolrServer()
+                .query(new SolrQuery("*:*").addField("item.id").setRows(100)).getResults();
+        Set<String> ids = new HashSet<>();
+        for (SolrDocument document : documents) {
+            ids.add(String.valueOf(document.getFieldValue("item.id")));
+        }
+        return ids;
+    }
+
+    private void assertContextUsable() throws Exception {
+        assertTrue(context.isValid());
+        for (String id : itemIds) {
+            Item item = itemService.find(context, UUID.fromString(id));
+            assertNotNull(item);
+            assertNotNull(item.getOwningCollection().getName());
+        }
+    }
+}
@@ -32,6 +32,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -88,6 +89,7 @@ import org.dspace.content.Relationship;
 import org.dspace.content.RelationshipType;
 import org.dspace.content.WorkspaceItem;
 import org.dspace.content.service.CollectionService;
+import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
@@ -113,6 +115,9 @@ public class ItemRestRepositoryIT extends AbstractControllerIntegrationTest {
     @Autowired
     private CollectionService collectionService;
 
+    @Autowired
+    private ItemService itemService;
+
     @Autowired
     private OrcidQueueService orcidQueueService;
 
@@ -425,6 +430,106 @@ public class ItemRestRepositoryIT extends AbstractControllerIntegrationTest {
                 .andExpect(jsonPath("$", publicItem1Matcher));
     }
 
+    @Test
+    public void findOneConditionalRequestTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1").build();
+        Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                      .withTitle("Public item 1")
+                                      .build();
+        context.restoreAuthSystemState();
+
+        MvcResult result = getClient().perform(get("/api/core/items/" + publicItem1.getID()))
+                                      .andExpect(status().isOk())
+                                      .andExpect(header().exists("ETag"))
+                                      .andExpect(header().exists("Last-Modified"))
+                                      .andReturn();
+        String etag = result.getResponse().getHeader("ETag");
+        String lastModified = result.getResponse().getHeader("Last-Modified");
+
+        // The client revalidates the representation it already has
+        getClient().perform(get("/api/core/items/" + publicItem1.getID())
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        getClient().perform(get("/api/core/items/" + publicItem1.getID())
+                .header("If-Modified-Since", lastModified))
+                .andExpect(status().isNotModified());
+
+        // The representation depends on the user, who must not be served the anonymous one
+        String token = getAuthToken(admin.getEmail(), password);
+        getClient(token).perform(get("/api/core/items/" + publicItem1.getID())
+                .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", Matchers.not(etag)))
+                .andExpect(header().doesNotExist("Last-Modified"));
+
+        // Any change to the item invalidates the representation
+        context.turnOffAuthorisationSystem();
+        itemService.addMetadata(context, publicItem1, "dc", "subject", null, null, "Modified");
+        itemService.update(context, publicItem1);
+        context.restoreAuthSystemState();
+        getClient().perform(get("/api/core/items/" + publicItem1.getID())
+                .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", Matchers.not(etag)));
+    }
+
+    @Test
+    public void findOneConditionalRequestNotValidatedTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1").build();
+        Collection publications = CollectionBuilder.createCollection(context, parentCommunity)
+                                                   .withName("Publications")
+                                                   .withEntityType("Publication")
+                                                   .build();
+        Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                      .withTitle("Public item 1")
+                                      .build();
+        Item publication = ItemBuilder.createItem(context, publications)
+                                      .withTitle("Publication 1")
+                                      .build();
+        context.restoreAuthSystemState();
+
+        // Embedded objects and projections include other objects, which the validators do not cover
+        getClient().perform(get("/api/core/items/" + publicItem1.getID())
+                .param("embed", "owningCollection"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(header().doesNotExist("Last-Modified"));
+        getClient().perform(get("/api/core/items/" + publicItem1.getID())
+                .param("projection", "full"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+
+        // The virtual metadata of entities comes from the related items
+        getClient().perform(get("/api/core/items/" + publication.getID()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(header().doesNotExist("Last-Modified"));
+
+        // Moving the item to another collection changes its representation, even without updating the item
+        String etag = getClient().perform(get("/api/core/items/" + publicItem1.getID()))
+                                 .andExpect(status().isOk())
+                                 .andReturn().getResponse().getHeader("ETag");
+        context.turnOffAuthorisationSystem();
+        Collection col2 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 2").build();
+        publicItem1 = context.reloadEntity(publicItem1);
+        publicItem1.setOwningCollection(col2);
+        context.commit();
+        context.restoreAuthSystemState();
+        getClient().perform(get("/api/core/items/" + publicItem1.getID())
+                .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", Matchers.not(etag)));
+    }
+
     @Test
     public void findOneFullProjectionTest() throws Exception {
         context.turnOffAuthorisationSystem();
@@ -2326,6 +2326,139 @@ public class RelationshipRestRepositoryIT extends AbstractEntityIntegrationTest
         ;
     }
 
+    @Test
+    public void findRelationshipsAfterTest() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+
+        RelationshipType isOrgUnitOfPersonRelationshipType = relationshipTypeService
+            .findbyTypesAndTypeName(context, entityTypeService.findByEntityType(context, "Person"),
+                                  entityTypeService.findByEntityType(context, "OrgUnit"),
+                                  "isOrgUnitOfPerson", "isPersonOfOrgUnit");
+        RelationshipType isAuthorOfPublicationRelationshipType = relationshipTypeService
+            .findbyTypesAndTypeName(context, entityTypeService.findByEntityType(context, "Publication"),
+                                  entityTypeService.findByEntityType(context, "Person"),
+                                  "isAuthorOfPublication", "isPublicationOfAuthor");
+
+        Relationship relationship1 = RelationshipBuilder
+            .createRelationshipBuilder(context, author1, orgUnit1, isOrgUnitOfPersonRelationshipType).build();
+        Relationship relationship2 = RelationshipBuilder
+            .createRelationshipBuilder(context, author1, orgUnit2, isOrgUnitOfPersonRelationshipType).build();
+        Relationship relationship3 = RelationshipBuilder
+            .createRelationshipBuilder(context, publication1, author1, isAuthorOfPublicationRelationshipType).build();
+
+        context.restoreAuthSystemState();
+
+        // the relationships of an item are ordered by relationship type, then by place
+        List<Relationship> ordered = isAuthorOfPublicationRelationshipType.getID()
+            < isOrgUnitOfPersonRelationshipType.getID()
+            ? List.of(relationship3, relationship1, relationship2)
+            : List.of(relationship1, relationship2, relationship3);
+        getClient().perform(get("/api/core/items/" + author1.getID() + "/relationships")
+                                .param("size", "2"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$._embedded.relationships", contains(
+                       RelationshipMatcher.matchRelationship(ordered.get(0)),
+                       RelationshipMatcher.matchRelationship(ordered.get(1))
+                   )))
+                   .andExpect(jsonPath("$.page.totalElements", is(3)));
+
+        // the next page starts right after the last relationship of the previous one
+        getClient().perform(get("/api/core/items/" + author1.getID() + "/relationships")
+                                .param("size", "2")
+                                .param("after", String.valueOf(ordered.get(1).getID())))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$._embedded.relationships", contains(
+                       RelationshipMatcher.matchRelationship(ordered.get(2))
+                   )));
+
+        // a relationship of another item cannot be used as the start of a page
+        getClient().perform(get("/api/core/items/" + orgUnit2.getID() + "/relationships")
+                                .param("after", String.valueOf(relationship1.getID())))
+                   .andExpect(status().isBadRequest());
+
+        getClient().perform(get("/api/core/relationships/search/byLabel")
+                                .param("label", "isOrgUnitOfPerson")
+                                .param("dso", author1.getID().toString())
+                                .param("after", String.valueOf(relationship1.getID())))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$._embedded.relationships", contains(
+                       RelationshipMatcher.matchRelationship(relationship2)
+                   )));
+
+        getClient().perform(get("/api/core/relationships/search/byLabel")
+                                .param("label", "isOrgUnitOfPerson")
+                                .param("dso", author1.getID().toString())
+                                .param("after", String.valueOf(relationship2.getID())))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$._embedded.relationships").doesNotExist());
+
+        // the start of a page must be a relationship of the dso with the label, and requires a dso
+        getClient().perform(get("/api/core/relationships/search/byLabel")
+                                .param("label", "isOrgUnitOfPerson")
+                                .param("dso", orgUnit2.getID().toString())
+                                .param("after", String.valueOf(relationship1.getID())))
+                   .andExpect(status().isBadRequest());
+
+        getClient().perform(get("/api/core/relationships/search/byLabel")
+                                .param("label", "isOrgUnitOfPerson")
+                                .param("dso", author1.getID().toString())
+                                .param("after", String.valueOf(relationship3.getID())))
+                   .andExpect(status().isBadRequest());
+
+        getClient().perform(get("/api/core/relationships/search/byLabel")
+                                .param("label", "isOrgUnitOfPerson")
+                                .param("after", String.valueOf(relationship1.getID())))
+                   .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void findRelationshipsByLabelAfterAcrossTypesTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        RelationshipType isAuthorOfPublicationRelationshipTypePerson = relationshipTypeService
+            .findbyTypesAndTypeName(context, entityTypeService.findByEntityType(context, "Publication"),
+                                    entityTypeService.findByEntityType(context, "Person"),
+                                    "isAuthorOfPublication", "isPublicationOfAuthor");
+        RelationshipType isAuthorOfPublicationRelationshipTypeOrgUnit = relationshipTypeService
+            .findbyTypesAndTypeName(context, entityTypeService.findByEntityType(context, "Publication"),
+                                    entityTypeService.findByEntityType(context, "OrgUnit"),
+                                    "isAuthorOfPublication", "isPublicationOfAuthor");
+
+        Relationship personRelationship = RelationshipBuilder
+            .createRelationshipBuilder(context, publication1, author1, isAuthorOfPublicationRelationshipTypePerson)
+            .build();
+        Relationship orgUnitRelationship = RelationshipBuilder
+            .createRelationshipBuilder(context, publication1, orgUnit1, isAuthorOfPublicationRelationshipTypeOrgUnit)
+            .build();
+        context.restoreAuthSystemState();
+
+        // both relationship types have the label, and are paged through in the order of their ids
+        boolean personFirst = isAuthorOfPublicationRelationshipTypePerson.getID()
+            < isAuthorOfPublicationRelationshipTypeOrgUnit.getID();
+        Relationship first = personFirst ? personRelationship : orgUnitRelationship;
+        Relationship second = personFirst ? orgUnitRelationship : personRelationship;
+
+        getClient().perform(get("/api/core/relationships/search/byLabel")
+                                .param("label", "isAuthorOfPublication")
+                                .param("dso", publication1.getID().toString())
+                                .param("size", "1")
+                                .param("after", String.valueOf(first.getID())))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$._embedded.relationships", contains(
+                       RelationshipMatcher.matchRelationship(second)
+                   )))
+                   .andExpect(jsonPath("$.page.totalElements", is(2)));
+
+        getClient().perform(get("/api/core/relationships/search/byLabel")
+                                .param("label", "isAuthorOfPublication")
+                                .param("dso", publication1.getID().toString())
+                                .param("size", "1")
+                                .param("after", String.valueOf(second.getID())))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$._embedded.relationships").doesNotExist())
+                   .andExpect(jsonPath("$.page.totalElements", is(2)));
+    }
+
     @Test
     public void findRelationshipByLabelWithRelatedEntityTypeTest() throws Exception {
         context.turnOffAuthorisationSystem();
@@ -8,16 +8,30 @@
 package org.dspace.app.rest;
 
 import static org.dspace.builder.ItemBuilder.createItem;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.IOUtils;
 import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
 import org.dspace.authorize.service.ResourcePolicyService;
 import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.Item;
@@ -61,6 +75,7 @@ public class SitemapRestControllerIT extends AbstractControllerIntegrationTest {
         super.setUp();
 
         configurationService.setProperty("sitemap.path", SITEMAPS_ENDPOINT);
+        configurationService.setProperty("sitemap.compress", false);
 
         context.turnOffAuthorisationSystem();
 
@@ -157,22 +172,28 @@ public class SitemapRestControllerIT extends AbstractControllerIntegrationTest {
                                       .andReturn();
 
         String response = result.getResponse().getContentAsString();
-        // contains a link to /sitemaps/sitemap0.html
-        assertTrue(response.contains("/sitemap0.html"));
+        // contains links to the sitemaps of each type of object
+        assertTrue(response.contains("/sitemap_communities0.html"));
+        assertTrue(response.contains("/sitemap_collections0.html"));
+        assertTrue(response.contains("/sitemap_items0.html"));
     }
 
     @Test
-    public void testSitemap_sitemap0Html() throws Exception {
-        //** WHEN **
-        //We retrieve sitemap0.html
-        MvcResult result = getClient().perform(get("/" + SITEMAPS_ENDPOINT + "/sitemap0.html"))
-                                      //** THEN **
-                                      .andExpect(status().isOk())
-                                      //We expect the content type to match
-                                      .andExpect(content().contentType("text/html;charset=UTF-8"))
-                                      .andReturn();
+    public void testSitemap_sitemapsHtml() throws Exception {
+        StringBuilder sitemaps = new StringBuilder();
+        for (String type : new String[] { "communities", "collections", "items" }) {
+            //** WHEN **
+            //We retrieve the first sitemap of each type of object, e.g. sitemap_items0.html
+            MvcResult result = getClient().perform(get("/" + SITEMAPS_ENDPOINT + "/sitemap_" + type + "0.html"))
+                                          //** THEN **
+                                          .andExpect(status().isOk())
+                                          //We expect the content type to match
+                                          .andExpect(content().contentType("text/html;charset=UTF-8"))
+                                          .andReturn();
+            sitemaps.append(result.getResponse().getContentAsString());
+        }
 
-        String response = result.getResponse().getContentAsString();
+        String response = sitemaps.toString();
         // contains a link to communities: [dspace.ui.url]/communities/<uuid>
         assertTrue(response
                 .contains(configurationService.getProperty("dspace.ui.url") + "/communities/" + community.getID()));
@@ -225,27 +246,33 @@ public class SitemapRestControllerIT extends AbstractControllerIntegrationTest {
                                       .andReturn();
 
         String response = result.getResponse().getContentAsString();
-        // contains a link to /sitemaps/sitemap0.html
-        assertTrue(response.contains("/sitemap0.xml"));
+        // contains links to the sitemaps of each type of object
+        assertTrue(response.contains("/sitemap_communities0.xml"));
+        assertTrue(response.contains("/sitemap_collections0.xml"));
+        assertTrue(response.contains("/sitemap_items0.xml"));
     }
 
     @Test
-    public void testSitemap_sitemap0Xml() throws Exception {
-        //** WHEN **
-        //We retrieve sitemap0.html
-        MvcResult result = getClient().perform(get("/" + SITEMAPS_ENDPOINT + "/sitemap0.xml"))
-                                      //** THEN **
-                                      .andExpect(status().isOk())
-                                      //We expect the content type to match
-                                      .andExpect(res -> {
-                                          String actual = res.getResponse().getContentType();
-                                          assertTrue("Content Type",
-                                                  "text/xml;charset=UTF-8".equals(actual) ||
-                                                          "application/xml;charset=UTF-8".equals(actual));
-                                      })
-                                      .andReturn();
+    public void testSitemap_sitemapsXml() throws Exception {
+        StringBuilder sitemaps = new StringBuilder();
+        for (String type : new String[] { "communities", "collections", "items" }) {
+            //** WHEN **
+            //We retrieve the first sitemap of each type of object, e.g. sitemap_items0.xml
+            MvcResult result = getClient().perform(get("/" + SITEMAPS_ENDPOINT + "/sitemap_" + type + "0.xml"))
+                                          //** THEN **
+                                          .andExpect(status().isOk())
+                                          //We expect the content type to match
+                                          .andExpect(res -> {
+                                              String actual = res.getResponse().getContentType();
+                                              assertTrue("Content Type",
+                                                      "text/xml;charset=UTF-8".equals(actual) ||
+                                                              "application/xml;charset=UTF-8".equals(actual));
+                                          })
+                                          .andReturn();
+            sitemaps.append(result.getResponse().getContentAsString());
+        }
 
-        String response = result.getResponse().getContentAsString();
+        String response = sitemaps.toString();
         // contains a link to communities: [dspace.ui.url]/communities/<uuid>
         assertTrue(response
                 .contains(configurationService.getProperty("dspace.ui.url") + "/communities/" + community.getID()));
@@ -279,4 +306,85 @@ public class SitemapRestControllerIT extends AbstractControllerIntegrationTest {
         assertFalse(response.contains(configurationService.getProperty("dspace.ui.url") + "/items/"
                 + entityPublicationUndiscoverable.getID()));
     }
+
+    @Test
+    public void testSitemap_compressedSitemapXml() throws Exception {
+        configurationService.setProperty("sitemap.compress", true);
+        runDSpaceScript("generate-sitemaps");
+
+        //** WHEN **
+        //We retrieve sitemap_index.xml
+        MvcResult result = getClient().perform(get("/" + SITEMAPS_ENDPOINT + "/sitemap_index.xml"))
+                                      .andExpect(status().isOk())
+                                      .andReturn();
+
+        //** THEN **
+        //The index is not compressed, and links to the compressed sitemaps
+        String response = result.getResponse().getContentAsString();
+        assertTrue(response.contains("/sitemap_items0.xml.gz"));
+        assertFalse(response.contains("/sitemap_items0.xml<"));
+
+        //** WHEN **
+        //We retrieve sitemap_items0.xml.gz
+        result = getClient().perform(get("/" + SITEMAPS_ENDPOINT + "/sitemap_items0.xml.gz"))
+                             .andExpect(status().isOk())
+                             .andReturn();
+
+        //** THEN **
+        //It contains the items, with their date of last modification
+        try (InputStream is = new GZIPInputStream(
+            new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            response = IOUtils.toString(is, StandardCharsets.UTF_8);
+        }
+        assertTrue(response.contains(configurationService.getProperty("dspace.ui.url") + "/items/" + item1.getID()
+                + "</loc><lastmod>"));
+        assertFalse(response
+                .contains(configurationService.getProperty("dspace.ui.url") + "/items/" + itemRestricted.getID()));
+
+        //The uncompressed sitemaps of the previous run are removed
+        getClient().perform(get("/" + SITEMAPS_ENDPOINT + "/sitemap_items0.xml"))
+                   .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testSitemap_incrementalUpdate() throws Exception {
+        //Date the sitemap files of the setup, to tell which ones are written again
+        File sitemapDir = new File(configurationService.getProperty("sitemap.dir"));
+        Instant written = Instant.now().minus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        for (File file : sitemapDir.listFiles((dir, name) -> name.endsWith(".xml"))) {
+            assertTrue(file.setLastModified(written.toEpochMilli()));
+        }
+
+        context.turnOffAuthorisationSystem();
+        Item item3 = createItem(context, collection)
+            .withTitle("Test 5")
+            .withIssueDate("2020-1-1")
+            .build();
+        context.restoreAuthSystemState();
+        ItemBuilder.deleteItem(item2.getID());
+
+        //** WHEN **
+        //We generate the sitemaps again, from the sitemaps of the setup
+        runDSpaceScript("generate-sitemaps");
+
+        //** THEN **
+        //The sitemap of the items lists the new item, but not the deleted one anymore
+        MvcResult result = getClient().perform(get("/" + SITEMAPS_ENDPOINT + "/sitemap_items0.xml"))
+                                      .andExpect(status().isOk())
+                                      .andReturn();
+        String response = result.getResponse().getContentAsString();
+        assertTrue(response.contains(configurationService.getProperty("dspace.ui.url") + "/items/" + item1.getID()));
+        assertTrue(response.contains(configurationService.getProperty("dspace.ui.url") + "/items/" + item3.getID()));
+        assertFalse(response.contains(configurationService.getProperty("dspace.ui.url") + "/items/" + item2.getID()));
+        assertTrue(response.contains(configurationService.getProperty("dspace.ui.url") + "/entities/publication/"
+                + entityPublication.getID()));
+        assertNotEquals(written.toEpochMilli(), new File(sitemapDir, "sitemap_items0.xml").lastModified());
+
+        //The sitemap of the communities did not change, so it is not written again and keeps its date in the index
+        assertEquals(written.toEpochMilli(), new File(sitemapDir, "sitemap_communities0.xml").lastModified());
+        getClient().perform(get("/" + SITEMAPS_ENDPOINT + "/sitemap_index.xml"))
+                   .andExpect(status().isOk())
+                   .andExpect(content().string(containsString("sitemap_communities0.xml</loc><lastmod>"
+                           + DateTimeFormatter.ISO_INSTANT.format(written) + "</lastmod>")));
+    }
 }
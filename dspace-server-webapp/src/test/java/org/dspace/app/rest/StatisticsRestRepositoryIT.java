@@ -58,6 +58,7 @@ import org.dspace.core.Constants;
 import org.dspace.eperson.EPerson;
 import org.dspace.services.ConfigurationService;
 import org.dspace.statistics.factory.StatisticsServiceFactory;
+import org.dspace.statistics.service.UsageRollupService;
 import org.hamcrest.Matchers;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -459,6 +460,61 @@ public class StatisticsRestRepositoryIT extends AbstractControllerIntegrationTes
                 )));
     }
 
+    @Test
+    public void totalVisitsReport_Item_Visited_FromRollups() throws Exception {
+        ViewEventRest viewEventRest = new ViewEventRest();
+        viewEventRest.setTargetType("item");
+        viewEventRest.setTargetId(itemVisited.getID());
+        for (int i = 0; i < 2; i++) {
+            getClient(loggedInToken).perform(post("/api/statistics/viewevents")
+                .content(mapper.writeValueAsBytes(viewEventRest))
+                .contentType(contentType))
+                                    .andExpect(status().isCreated());
+        }
+
+        UsageRollupService usageRollupService = StatisticsServiceFactory.getInstance().getUsageRollupService();
+        configurationService.setProperty("usage-statistics.rollup.enabled", true);
+        try {
+            usageRollupService.refresh(context, true);
+            getClient(adminToken).perform(
+                get("/api/statistics/usagereports/" + itemVisited.getID() + "_" + TOTAL_VISITS_REPORT_ID))
+                       .andExpect(status().isOk())
+                       .andExpect(jsonPath("$", Matchers.is(
+                           UsageReportMatcher.matchUsageReport(
+                               itemVisited.getID() + "_" + TOTAL_VISITS_REPORT_ID,
+                               TOTAL_VISITS_REPORT_ID,
+                               List.of(getExpectedDsoViews(itemVisited, 2))
+                           )
+                       )));
+            getClient(adminToken).perform(
+                get("/api/statistics/usagereports/" + itemNotVisitedWithBitstreams.getID() + "_"
+                        + TOTAL_VISITS_REPORT_ID))
+                       .andExpect(status().isOk())
+                       .andExpect(jsonPath("$", Matchers.is(
+                           UsageReportMatcher.matchUsageReport(
+                               itemNotVisitedWithBitstreams.getID() + "_" + TOTAL_VISITS_REPORT_ID,
+                               TOTAL_VISITS_REPORT_ID,
+                               List.of(getExpectedDsoViews(itemNotVisitedWithBitstreams, 0))
+                           )
+                       )));
+
+            // New views are only reported once the rollups are refreshed
+            getClient(loggedInToken).perform(post("/api/statistics/viewevents")
+                .content(mapper.writeValueAsBytes(viewEventRest))
+                .contentType(contentType))
+                                    .andExpect(status().isCreated());
+            getClient(adminToken).perform(
+                get("/api/statistics/usagereports/" + itemVisited.getID() + "_" + TOTAL_VISITS_REPORT_ID))
+                       .andExpect(jsonPath("$.points[0].values.views", Matchers.is(2)));
+            usageRollupService.refresh(context, false);
+            getClient(adminToken).perform(
+                get("/api/statistics/usagereports/" + itemVisited.getID() + "_" + TOTAL_VISITS_REPORT_ID))
+                       .andExpect(jsonPath("$.points[0].values.views", Matchers.is(3)));
+        } finally {
+            configurationService.setProperty("usage-statistics.rollup.enabled", null);
+        }
+    }
+
     @Test
     public void totalVisitsReport_Bitstream_Visited() throws Exception {
         // ** WHEN **
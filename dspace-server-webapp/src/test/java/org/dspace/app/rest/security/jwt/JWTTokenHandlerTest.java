@@ -8,7 +8,10 @@
 package org.dspace.app.rest.security.jwt;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.text.ParseException;
@@ -17,6 +20,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import java.util.UUID;
 
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
@@ -38,6 +42,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.crypto.keygen.KeyGenerators;
 import org.springframework.security.crypto.keygen.StringKeyGenerator;
+import org.springframework.test.util.ReflectionTestUtils;
 
 /**
  * @author Frederic Van Reet (frederic dot vanreet at atmire dot com)
@@ -74,6 +79,9 @@ public class JWTTokenHandlerTest {
     @Spy
     protected List<JWTClaimProvider> jwtClaimProviders = new ArrayList<>();
 
+    @Spy
+    protected JWTTokenCache jwtTokenCache = new JWTTokenCache();
+
     @Before
     public void setUp() throws Exception {
         when(ePerson.getSessionSalt()).thenReturn("01234567890123456789012345678901");
@@ -85,6 +93,11 @@ public class JWTTokenHandlerTest {
         jwtClaimProviders.add(ePersonClaimProvider);
     }
 
+    @Before
+    public void initTokenCache() {
+        ReflectionTestUtils.setField(jwtTokenCache, "configurationService", configurationService);
+    }
+
     @After
     public void tearDown() throws Exception {
     }
@@ -153,4 +166,29 @@ public class JWTTokenHandlerTest {
         assertEquals(null, parsed);
     }
 
+    @Test
+    public void testCachedToken() throws Exception {
+        UUID ePersonId = UUID.randomUUID();
+        when(configurationService.getLongProperty("jwt.cache.ttl", 60)).thenReturn(60L);
+        when(configurationService.getIntProperty("jwt.cache.size", 10000)).thenReturn(10000);
+        when(ePerson.getID()).thenReturn(ePersonId);
+        when(ePerson.getLastActive()).thenReturn(Instant.now());
+        when(ePersonService.find(context, ePersonId)).thenReturn(ePerson);
+        when(ePersonClaimProvider.getEPerson(any(Context.class), any(JWTClaimsSet.class))).thenReturn(ePerson);
+        Instant previous = Instant.now().minus(10000000000L, ChronoUnit.MILLIS);
+        String token = loginJWTTokenHandler
+            .createTokenForEPerson(context, new MockHttpServletRequest(), previous);
+
+        // The token is only verified once
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        verify(ePersonClaimProvider, times(1)).getEPerson(any(Context.class), any(JWTClaimsSet.class));
+        verify(ePersonClaimProvider, times(2)).parseClaim(any(Context.class), any(HttpServletRequest.class),
+                                                          any(JWTClaimsSet.class));
+
+        // Rotating the session salt invalidates the cached token too
+        when(ePerson.getSessionSalt()).thenReturn("98765432109876543210987654321098");
+        assertNull(loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+    }
+
 }
@@ -7,6 +7,7 @@
  */
 package org.dspace.discovery;
 
+import org.dspace.browse.BrowseCountCache;
 import org.dspace.solr.MockSolrServer;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
@@ -35,6 +36,7 @@ public class MockSolrSearchCore extends SolrSearchCore implements InitializingBe
     /** Clear all records from the search core. */
     public void reset() {
         mockSolrServer.reset();
+        BrowseCountCache.clear();
     }
 
     @Override
@@ -34,7 +34,10 @@ public class MockOpenUrlServiceImpl extends OpenUrlServiceImpl {
         if (StringUtils.contains(urlStr, "fail")) {
             return HttpURLConnection.HTTP_INTERNAL_ERROR;
         } else {
-            testProcessedUrls.add(urlStr);
+            // Urls are sent in parallel when retried
+            synchronized (testProcessedUrls) {
+                testProcessedUrls.add(urlStr);
+            }
             return HttpURLConnection.HTTP_OK;
         }
     }